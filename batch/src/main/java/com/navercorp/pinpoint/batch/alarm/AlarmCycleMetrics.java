@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.batch.alarm;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one alarm evaluation cycle.
+ * The cycle spans the whole alarm job, so the counts of every alarm step partition are summed up
+ * and logged once when the job completes.
+ */
+@Component
+public class AlarmCycleMetrics implements JobExecutionListener {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final LongAdder scheduledApplicationCount = new LongAdder();
+    private final LongAdder applicationCount = new LongAdder();
+    private final LongAdder checkerCount = new LongAdder();
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder agentIdTimeMillis = new LongAdder();
+    private final LongAdder collectTimeMillis = new LongAdder();
+
+    private volatile long cycleStartTime;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        startCycle();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        endCycle();
+    }
+
+    public void startCycle() {
+        scheduledApplicationCount.reset();
+        applicationCount.reset();
+        checkerCount.reset();
+        readCount.reset();
+        agentIdTimeMillis.reset();
+        collectTimeMillis.reset();
+        cycleStartTime = System.currentTimeMillis();
+        logger.info("alarm cycle started.");
+    }
+
+    public void recordScheduledApplications(int applications) {
+        scheduledApplicationCount.add(applications);
+    }
+
+    /**
+     * @param agentIdTime time spent looking up the active agents of the application
+     * @param collectTime time spent collecting the data of the checkers
+     */
+    public void recordApplication(int checkers, long reads, long agentIdTime, long collectTime) {
+        applicationCount.increment();
+        checkerCount.add(checkers);
+        readCount.add(reads);
+        agentIdTimeMillis.add(agentIdTime);
+        collectTimeMillis.add(collectTime);
+    }
+
+    public void recordReads(long reads) {
+        readCount.add(reads);
+    }
+
+    public long endCycle() {
+        long duration = System.currentTimeMillis() - cycleStartTime;
+        logger.info("alarm cycle completed. duration:{}ms scheduled:{} applications:{} checkers:{} reads:{} agentIdTime:{}ms collectTime:{}ms",
+                duration, getScheduledApplicationCount(), getApplicationCount(), getCheckerCount(), getReadCount(), getAgentIdTimeMillis(), getCollectTimeMillis());
+        return duration;
+    }
+
+    public long getScheduledApplicationCount() {
+        return scheduledApplicationCount.sum();
+    }
+
+    public long getApplicationCount() {
+        return applicationCount.sum();
+    }
+
+    public long getCheckerCount() {
+        return checkerCount.sum();
+    }
+
+    public long getReadCount() {
+        return readCount.sum();
+    }
+
+    public long getAgentIdTimeMillis() {
+        return agentIdTimeMillis.sum();
+    }
+
+    public long getCollectTimeMillis() {
+        return collectTimeMillis.sum();
+    }
+}
@@ -29,10 +29,15 @@ import com.navercorp.pinpoint.web.service.AgentInfoService;
 import com.navercorp.pinpoint.web.service.AlarmService;
 import com.navercorp.pinpoint.web.vo.Application;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -52,43 +57,84 @@ public class AlarmProcessor implements ItemProcessor<Application, AppAlarmChecke
 
     private final AgentInfoService agentInfoService;
 
+    private final AlarmCycleMetrics alarmCycleMetrics;
+
+    private final Executor collectorExecutor;
+
+    @Autowired
     public AlarmProcessor(
             DataCollectorFactory dataCollectorFactory,
             AlarmService alarmService,
             ApplicationIndexDao applicationIndexDao,
-            AgentInfoService agentInfoService
+            AgentInfoService agentInfoService,
+            AlarmCycleMetrics alarmCycleMetrics,
+            @Qualifier("alarmCollectorExecutor") Executor collectorExecutor
     ) {
         this.dataCollectorFactory = Objects.requireNonNull(dataCollectorFactory, "dataCollectorFactory");
         this.alarmService = Objects.requireNonNull(alarmService, "alarmService");
         this.applicationIndexDao = Objects.requireNonNull(applicationIndexDao, "applicationIndexDao");
         this.agentInfoService = Objects.requireNonNull(agentInfoService, "agentInfoService");
+        this.alarmCycleMetrics = Objects.requireNonNull(alarmCycleMetrics, "alarmCycleMetrics");
+        this.collectorExecutor = Objects.requireNonNull(collectorExecutor, "collectorExecutor");
     }
 
     public AppAlarmChecker process(@Nonnull Application application) {
-        List<AlarmChecker<?>> checkers = getAlarmCheckers(application);
-        if (CollectionUtils.isEmpty(checkers)) {
+        List<Rule> rules = alarmService.selectRuleByApplicationId(application.getName());
+        if (CollectionUtils.isEmpty(rules)) {
             return null;
         }
 
+        long now = System.currentTimeMillis();
+        List<String> agentIds = prepareActiveAgentIds(application, rules, now);
+        long collectStartTime = System.currentTimeMillis();
+        long agentIdTime = collectStartTime - now;
+
+        RuleTransformer transformer = new RuleTransformer(application, agentIds, now, dataCollectorFactory);
+        List<AlarmChecker<?>> checkers = new ArrayList<>(rules.size());
+        for (Rule rule: rules) {
+            checkers.add(transformer.apply(rule));
+        }
+
+        Collection<DataCollector> collectors = transformer.getCollectors();
+        collect(collectors);
+        long collectTime = System.currentTimeMillis() - collectStartTime;
+
         AppAlarmChecker appChecker = new AppAlarmChecker(checkers);
         appChecker.check();
 
+        alarmCycleMetrics.recordApplication(checkers.size(), countReads(collectors), agentIdTime, collectTime);
         return appChecker;
     }
 
-    private List<AlarmChecker<?>> getAlarmCheckers(Application application) {
-        List<Rule> rules = alarmService.selectRuleByApplicationId(application.getName());
-        List<AlarmChecker<?>> checkers = new ArrayList<>(rules.size());
-
-        long now = System.currentTimeMillis();
-        List<String> agentIds = prepareActiveAgentIds(application, rules, now);
+    /**
+     * Every data category of an application is collected once, concurrently, before its checkers are evaluated.
+     */
+    private void collect(Collection<DataCollector> collectors) {
+        if (collectors.size() == 1) {
+            collectors.iterator().next().collect();
+            return;
+        }
 
-        RuleTransformer transformer = new RuleTransformer(application, agentIds, now, dataCollectorFactory);
-        for (Rule rule: rules) {
-            checkers.add(transformer.apply(rule));
+        CompletableFuture<?>[] futures = collectors.stream()
+                .map(collector -> CompletableFuture.runAsync(collector::collect, collectorExecutor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
         }
+    }
 
-        return checkers;
+    private static long countReads(Collection<DataCollector> collectors) {
+        long reads = 0;
+        for (DataCollector collector : collectors) {
+            reads += collector.getReadCount();
+        }
+        return reads;
     }
 
     @Nullable
@@ -111,8 +157,10 @@ public class AlarmProcessor implements ItemProcessor<Application, AppAlarmChecke
     }
 
     private List<String> fetchActiveAgents(String applicationId, Range activeRange) {
-        return applicationIndexDao.selectAgentIds(applicationId)
-                .stream()
+        List<String> agentIds = applicationIndexDao.selectAgentIds(applicationId);
+        // selectAgentIds + isActiveAgent for each agent
+        alarmCycleMetrics.recordReads(1 + agentIds.size());
+        return agentIds.stream()
                 .filter(id -> agentInfoService.isActiveAgent(id, activeRange))
                 .collect(Collectors.toUnmodifiableList());
     }
@@ -155,6 +203,10 @@ public class AlarmProcessor implements ItemProcessor<Application, AppAlarmChecke
                     .getCheckerFactory(checkerCategory)
                     .createChecker(collector, rule);
         }
+
+        public Collection<DataCollector> getCollectors() {
+            return collectorMap.values();
+        }
     }
 
 }
@@ -23,12 +23,15 @@ import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
@@ -38,12 +41,15 @@ public class AlarmReader implements ItemReader<Application>, StepExecutionListen
 
     private final ApplicationIndexDao applicationIndexDao;
     private final AlarmService alarmService;
+    private final AlarmCycleMetrics alarmCycleMetrics;
 
     private Queue<Application> applicationQueue;
 
-    public AlarmReader(ApplicationIndexDao applicationIndexDao, AlarmService alarmService) {
+    @Autowired
+    public AlarmReader(ApplicationIndexDao applicationIndexDao, AlarmService alarmService, AlarmCycleMetrics alarmCycleMetrics) {
         this.applicationIndexDao = Objects.requireNonNull(applicationIndexDao, "applicationIndexDao");
         this.alarmService = Objects.requireNonNull(alarmService, "alarmService");
+        this.alarmCycleMetrics = Objects.requireNonNull(alarmCycleMetrics, "alarmCycleMetrics");
     }
     
     public Application read() {
@@ -52,12 +58,14 @@ public class AlarmReader implements ItemReader<Application>, StepExecutionListen
 
     @Override
     public void beforeStep(@Nonnull StepExecution stepExecution) {
-        this.applicationQueue = new ConcurrentLinkedQueue<>(fetchApplications());
+        List<Application> applications = fetchApplications();
+        this.applicationQueue = new ConcurrentLinkedQueue<>(applications);
+        this.alarmCycleMetrics.recordScheduledApplications(applications.size());
     }
 
     private List<Application> fetchApplications() {
         List<Application> applications = applicationIndexDao.selectAllApplicationNames();
-        List<String> validApplicationIds = alarmService.selectApplicationId();
+        Set<String> validApplicationIds = new HashSet<>(alarmService.selectApplicationId());
 
         List<Application> validApplications = new ArrayList<>(applications.size());
         for (Application application: applications) {
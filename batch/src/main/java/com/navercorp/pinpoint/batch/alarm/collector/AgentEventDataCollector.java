@@ -68,6 +68,7 @@ public class AgentEventDataCollector extends DataCollector {
 
         for (String agentId : agentIds) {
             List<AgentEventBo> agentEventBoList = agentEventDao.getAgentEvents(agentId, range, Collections.emptySet());
+            increaseReadCount();
             if (hasDeadlockEvent(agentEventBoList)) {
                 agentDeadlockEventDetected.put(agentId, true);
             }
@@ -70,7 +70,9 @@ public class AgentStatDataCollector extends DataCollector {
 
         for(String agentId : agentIds) {
             List<JvmGcBo> jvmGcBos = jvmGcDao.getAgentStatList(agentId, range);
+            increaseReadCount();
             List<CpuLoadBo> cpuLoadBos = cpuLoadDao.getAgentStatList(agentId, range);
+            increaseReadCount();
             long totalHeapSize = 0;
             long usedHeapSize = 0;
             long jvmCpuUsaged = 0;
@@ -24,6 +24,8 @@ import com.navercorp.pinpoint.web.alarm.DataCollectorCategory;
 public abstract class DataCollector {
     
     protected final DataCollectorCategory dataCollectorCategory;
+
+    private int readCount;
     
     public DataCollector(DataCollectorCategory dataCollectorCategory) {
         this.dataCollectorCategory = dataCollectorCategory;
@@ -35,6 +37,17 @@ public abstract class DataCollector {
         return dataCollectorCategory;
     }
 
+    protected void increaseReadCount() {
+        readCount++;
+    }
+
+    /**
+     * @return number of storage reads issued by {@link #collect()}
+     */
+    public int getReadCount() {
+        return readCount;
+    }
+
     protected long calculatePercent(long used, long total) {
         if (total == 0 || used == 0) {
             return 0;
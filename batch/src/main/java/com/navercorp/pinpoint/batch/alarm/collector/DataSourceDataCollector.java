@@ -69,6 +69,7 @@ public class DataSourceDataCollector extends DataCollector {
 
         for (String agentId : agentIds) {
             List<DataSourceListBo> dataSourceListBos = dataSourceDao.getAgentStatList(agentId, range);
+            increaseReadCount();
             MultiValueMap<Integer, DataSourceBo> partitions = partitionDataSourceId(dataSourceListBos);
 
             for (Map.Entry<Integer, List<DataSourceBo>> entry : partitions.entrySet()) {
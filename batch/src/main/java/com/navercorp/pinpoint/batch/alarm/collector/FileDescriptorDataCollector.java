@@ -62,6 +62,7 @@ public class FileDescriptorDataCollector extends DataCollector {
 
         for(String agentId : agentIds) {
             List<FileDescriptorBo> fileDescriptorBoList = fileDescriptorDao.getAgentStatList(agentId, range);
+            increaseReadCount();
 
             if (fileDescriptorBoList.size() == 0) {
                 continue;
@@ -57,6 +57,7 @@ public class MapStatisticsCallerDataCollector extends DataCollector {
         }
 
         LinkDataMap callerDataMap = mapStatisticsCallerDao.selectCaller(application, Range.between(timeSlotEndTime - slotInterval, timeSlotEndTime));
+        increaseReadCount();
 
         for (LinkData linkData : callerDataMap.getLinkDataList()) {
             LinkCallDataMap linkCallDataMap = linkData.getLinkCallDataMap();
@@ -62,6 +62,7 @@ public class ResponseTimeDataCollector extends DataCollector {
 
         Range range = Range.newUncheckedRange(timeSlotEndTime - slotInterval, timeSlotEndTime);
         List<ResponseTime> responseTimes = responseDao.selectResponseTime(application, range);
+        increaseReadCount();
 
         for (ResponseTime responseTime : responseTimes) {
             sum(responseTime.getAgentResponseHistogramList());
@@ -1,11 +1,17 @@
 package com.navercorp.pinpoint.batch.alarm;
 
 import com.navercorp.pinpoint.batch.alarm.collector.AgentStatDataCollector;
+import com.navercorp.pinpoint.batch.alarm.collector.MapStatisticsCallerDataCollector;
+import com.navercorp.pinpoint.batch.alarm.collector.ResponseTimeDataCollector;
 import com.navercorp.pinpoint.batch.alarm.vo.AppAlarmChecker;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.web.alarm.CheckerCategory;
+import com.navercorp.pinpoint.web.alarm.DataCollectorCategory;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
 import com.navercorp.pinpoint.web.alarm.vo.Rule;
 import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
+import com.navercorp.pinpoint.web.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.service.AgentInfoService;
 import com.navercorp.pinpoint.web.service.AlarmService;
 import com.navercorp.pinpoint.web.vo.Application;
@@ -16,6 +22,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +48,12 @@ public class AlarmProcessorTest {
     @Mock
     private AgentStatDataCollector agentStatDataCollector;
 
+    @Mock
+    private MapResponseDao mapResponseDao;
+
+    @Mock
+    private MapStatisticsCallerDao mapStatisticsCallerDao;
+
     private static final String SERVICE_NAME = "local_tomcat";
 
     private static final List<String> agentIds = List.of("agent0", "agent1", "agent2");
@@ -50,7 +64,7 @@ public class AlarmProcessorTest {
 
         when(alarmService.selectRuleByApplicationId(SERVICE_NAME)).thenReturn(List.of());
 
-        AlarmProcessor proc = new AlarmProcessor(dataCollectorFactory, alarmService, applicationIndexDao, agentInfoService);
+        AlarmProcessor proc = new AlarmProcessor(dataCollectorFactory, alarmService, applicationIndexDao, agentInfoService, new AlarmCycleMetrics(), Runnable::run);
         AppAlarmChecker checker = proc.process(app);
 
         assertNull(checker, "should be skipped");
@@ -74,7 +88,7 @@ public class AlarmProcessorTest {
         when(agentStatDataCollector.getHeapUsageRate()).thenReturn(heapUsageRate);
 
         // Executions
-        AlarmProcessor processor = new AlarmProcessor(dataCollectorFactory, alarmService, applicationIndexDao, agentInfoService);
+        AlarmProcessor processor = new AlarmProcessor(dataCollectorFactory, alarmService, applicationIndexDao, agentInfoService, new AlarmCycleMetrics(), Runnable::run);
         AppAlarmChecker appChecker = processor.process(application);
 
         // Validations
@@ -89,4 +103,45 @@ public class AlarmProcessorTest {
         assertFalse(appChecker.getChildren().get(1).isDetected());
     }
 
+    @Test
+    public void collectEachCategoryOnce() {
+        Application application = new Application(SERVICE_NAME, ServiceType.STAND_ALONE);
+        Rule slowCount = new Rule(SERVICE_NAME, ServiceType.STAND_ALONE.getName(), CheckerCategory.SLOW_COUNT.getName(), 10, "testGroup", false, false, false, "");
+        Rule errorCount = new Rule(SERVICE_NAME, ServiceType.STAND_ALONE.getName(), CheckerCategory.ERROR_COUNT.getName(), 10, "testGroup", false, false, false, "");
+        Rule totalCountToCallee = new Rule(SERVICE_NAME, ServiceType.STAND_ALONE.getName(), CheckerCategory.TOTAL_COUNT_TO_CALLEE.getName(), 10, "testGroup", false, false, false, "callee");
+
+        when(alarmService.selectRuleByApplicationId(SERVICE_NAME)).thenReturn(List.of(slowCount, errorCount, totalCountToCallee));
+        when(mapResponseDao.selectResponseTime(any(), any())).thenReturn(List.of());
+        when(mapStatisticsCallerDao.selectCaller(any(), any())).thenReturn(new LinkDataMap());
+        when(dataCollectorFactory.createDataCollector(any(), any(), any(), anyLong())).then(invocation -> {
+            CheckerCategory category = invocation.getArgument(0, CheckerCategory.class);
+            long timeSlotEndTime = invocation.getArgument(3, Long.class);
+            if (category.getDataCollectorCategory() == DataCollectorCategory.RESPONSE_TIME) {
+                return new ResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, application, mapResponseDao, timeSlotEndTime, DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+            }
+            return new MapStatisticsCallerDataCollector(DataCollectorCategory.CALLER_STAT, application, mapStatisticsCallerDao, timeSlotEndTime, DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+        });
+
+        AlarmCycleMetrics metrics = new AlarmCycleMetrics();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            metrics.startCycle();
+            AlarmProcessor processor = new AlarmProcessor(dataCollectorFactory, alarmService, applicationIndexDao, agentInfoService, metrics, executor);
+            AppAlarmChecker appChecker = processor.process(application);
+
+            assertEquals(3, appChecker.getChildren().size());
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(dataCollectorFactory, times(2)).createDataCollector(any(), any(), any(), anyLong());
+        verify(mapResponseDao, times(1)).selectResponseTime(any(), any());
+        verify(mapStatisticsCallerDao, times(1)).selectCaller(any(), any());
+        verify(applicationIndexDao, never()).selectAgentIds(anyString());
+
+        assertEquals(1, metrics.getApplicationCount());
+        assertEquals(3, metrics.getCheckerCount());
+        assertEquals(2, metrics.getReadCount());
+    }
+
 }
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 
 import java.util.List;
@@ -61,7 +62,7 @@ public class AlarmReaderTest {
         when(applicationIndexDao.selectAllApplicationNames()).thenReturn(mockApplications);
         when(alarmService.selectApplicationId()).thenReturn(applicationIds);
 
-        AlarmReader reader = new AlarmReader(applicationIndexDao, alarmService);
+        AlarmReader reader = new AlarmReader(applicationIndexDao, alarmService, new AlarmCycleMetrics());
         reader.beforeStep(stepExecution);
         for (int i = 0; i < 4; i++) {
             assertEquals(mockApplications.get(i), reader.read(), "polled application should be same");
@@ -73,8 +74,37 @@ public class AlarmReaderTest {
     public void pollingFromEmptyTest() {
         when(applicationIndexDao.selectAllApplicationNames()).thenReturn(List.of());
 
-        AlarmReader reader = new AlarmReader(applicationIndexDao, alarmService);
+        AlarmReader reader = new AlarmReader(applicationIndexDao, alarmService, new AlarmCycleMetrics());
         reader.beforeStep(stepExecution);
         assertNull(reader.read());
     }
+
+    @Test
+    public void cycleMetricsSpanPartitions() {
+        when(applicationIndexDao.selectAllApplicationNames()).thenReturn(mockApplications);
+        when(alarmService.selectApplicationId()).thenReturn(applicationIds);
+
+        AlarmCycleMetrics metrics = new AlarmCycleMetrics();
+        metrics.beforeJob(new JobExecution(1L));
+
+        // one step-scoped reader per partition
+        for (int partition = 0; partition < 2; partition++) {
+            AlarmReader reader = new AlarmReader(applicationIndexDao, alarmService, metrics);
+            reader.beforeStep(stepExecution);
+            Application application;
+            while ((application = reader.read()) != null) {
+                metrics.recordApplication(1, 2, 0, 0);
+            }
+            reader.afterStep(stepExecution);
+        }
+        metrics.afterJob(new JobExecution(1L));
+
+        assertEquals(8, metrics.getScheduledApplicationCount());
+        assertEquals(8, metrics.getApplicationCount());
+        assertEquals(8, metrics.getCheckerCount());
+        assertEquals(16, metrics.getReadCount());
+
+        metrics.beforeJob(new JobExecution(2L));
+        assertEquals(0, metrics.getApplicationCount());
+    }
 }
@@ -64,6 +64,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
     @Value("${profiler.jdbc.sqlcachesize}")
     private int jdbcSqlCacheSize = 1024;
+    @Value("${profiler.jdbc.parsedsqlcachelength}")
+    private int jdbcParsedSqlCacheLength = 1024 * 1024;
     @Value("${profiler.jdbc.tracesqlbindvalue}")
     private boolean traceSqlBindValue = false;
     @Value("${profiler.jdbc.maxsqlbindvaluesize}")
@@ -117,6 +119,11 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return jdbcSqlCacheSize;
     }
 
+    @Override
+    public int getJdbcParsedSqlCacheLength() {
+        return jdbcParsedSqlCacheLength;
+    }
+
     @Override
     public boolean isTraceSqlBindValue() {
         return traceSqlBindValue;
@@ -263,6 +270,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         sb.append(", logDirMaxBackupSize=").append(logDirMaxBackupSize);
         sb.append(", staticResourceCleanup=").append(staticResourceCleanup);
         sb.append(", jdbcSqlCacheSize=").append(jdbcSqlCacheSize);
+        sb.append(", jdbcParsedSqlCacheLength=").append(jdbcParsedSqlCacheLength);
         sb.append(", traceSqlBindValue=").append(traceSqlBindValue);
         sb.append(", maxSqlBindValueSize=").append(maxSqlBindValueSize);
         sb.append(", httpStatusCodeErrors=").append(httpStatusCodeErrors);
@@ -41,6 +41,8 @@ public interface ProfilerConfig {
 
     int getJdbcSqlCacheSize();
 
+    int getJdbcParsedSqlCacheLength();
+
     boolean isTraceSqlBindValue();
 
     int getMaxSqlBindValueSize();
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.interceptor.registry;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.LoggingInterceptor;
+
+/**
+ * Interceptors are kept in a flat array that grows by copy.
+ * <p>
+ * Registration is serialized and rare (class transformation), while {@link #getInterceptor(int)} runs on every
+ * intercepted invocation: it is a single volatile read of the array reference followed by a plain element read.
+ * Each registration republishes the array so a reader that sees the new reference also sees the new element.
+ */
+public final class DenseInterceptorRegistryAdaptor implements InterceptorRegistryAdaptor {
+    private static final LoggingInterceptor LOGGING_INTERCEPTOR = new LoggingInterceptor("com.navercorp.pinpoint.profiler.interceptor.LOGGING_INTERCEPTOR");
+
+    private static final int DEFAULT_MAX = 8192;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int registrySize;
+
+    private final Object addLock = new Object();
+    private int id = 0;
+
+    private volatile Interceptor[] index;
+
+    public DenseInterceptorRegistryAdaptor() {
+        this(DEFAULT_MAX);
+    }
+
+    public DenseInterceptorRegistryAdaptor(int maxRegistrySize) {
+        if (maxRegistrySize < 0) {
+            throw new IllegalArgumentException("negative maxRegistrySize:" + maxRegistrySize);
+        }
+        this.registrySize = maxRegistrySize;
+        this.index = new Interceptor[Math.min(INITIAL_CAPACITY, maxRegistrySize)];
+    }
+
+    @Override
+    public int addInterceptor(Interceptor interceptor) {
+        if (interceptor == null) {
+            return -1;
+        }
+
+        synchronized (addLock) {
+            final int newId = id;
+            if (newId >= registrySize) {
+                throw new IndexOutOfBoundsException("Interceptor registry size exceeded. Check the \"profiler.interceptorregistry.size\" setting. size=" + registrySize + " id=" + newId);
+            }
+            Interceptor[] array = this.index;
+            if (newId >= array.length) {
+                array = grow(array, newId + 1);
+            }
+            array[newId] = interceptor;
+            // publish
+            this.index = array;
+            this.id = newId + 1;
+            return newId;
+        }
+    }
+
+    private Interceptor[] grow(Interceptor[] array, int minCapacity) {
+        int newCapacity = Math.max(array.length << 1, minCapacity);
+        newCapacity = Math.min(newCapacity, registrySize);
+        final Interceptor[] newArray = new Interceptor[newCapacity];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    @Override
+    public Interceptor getInterceptor(int key) {
+        final Interceptor[] array = this.index;
+        if (key < 0 || key >= array.length) {
+            return LOGGING_INTERCEPTOR;
+        }
+        final Interceptor interceptor = array[key];
+        if (interceptor == null) {
+            return LOGGING_INTERCEPTOR;
+        }
+        return interceptor;
+    }
+}
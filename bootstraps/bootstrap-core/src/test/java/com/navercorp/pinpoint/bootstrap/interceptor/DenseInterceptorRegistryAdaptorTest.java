@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.DenseInterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistryAdaptor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+public class DenseInterceptorRegistryAdaptorTest {
+
+    @Test
+    public void indexSize_0() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DenseInterceptorRegistryAdaptor(-1));
+    }
+
+    @Test
+    public void indexSize_1() {
+        InterceptorRegistryAdaptor interceptorRegistry = new DenseInterceptorRegistryAdaptor(0);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> interceptorRegistry.addInterceptor(mock(StaticAroundInterceptor.class)));
+    }
+
+    @Test
+    public void indexSize_2() {
+        InterceptorRegistryAdaptor interceptorRegistry = new DenseInterceptorRegistryAdaptor(1);
+        interceptorRegistry.addInterceptor(mock(StaticAroundInterceptor.class));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> interceptorRegistry.addInterceptor(mock(StaticAroundInterceptor.class)));
+    }
+
+    @Test
+    public void addInterceptor() {
+        AroundInterceptor mock = mock(AroundInterceptor.class);
+
+        InterceptorRegistryAdaptor registry = new DenseInterceptorRegistryAdaptor();
+        int key = registry.addInterceptor(mock);
+
+        Assertions.assertSame(mock, registry.getInterceptor(key));
+        Assertions.assertEquals(-1, registry.addInterceptor(null));
+    }
+
+    @Test
+    public void unknownKey() {
+        InterceptorRegistryAdaptor registry = new DenseInterceptorRegistryAdaptor();
+        registry.addInterceptor(mock(AroundInterceptor.class));
+
+        Assertions.assertTrue(registry.getInterceptor(1) instanceof LoggingInterceptor);
+        Assertions.assertTrue(registry.getInterceptor(100000) instanceof LoggingInterceptor);
+        Assertions.assertTrue(registry.getInterceptor(-1) instanceof LoggingInterceptor);
+    }
+
+    @Test
+    public void grow() {
+        InterceptorRegistryAdaptor registry = new DenseInterceptorRegistryAdaptor(1000);
+        List<Interceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Interceptor interceptor = mock(AroundInterceptor.class);
+            interceptors.add(interceptor);
+            Assertions.assertEquals(i, registry.addInterceptor(interceptor));
+        }
+        for (int i = 0; i < interceptors.size(); i++) {
+            Assertions.assertSame(interceptors.get(i), registry.getInterceptor(i));
+        }
+    }
+
+    @Test
+    public void concurrentAdd() throws InterruptedException {
+        final InterceptorRegistryAdaptor registry = new DenseInterceptorRegistryAdaptor();
+        final int threads = 4;
+        final int perThread = 1000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final AtomicInteger failure = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        Interceptor interceptor = new LoggingInterceptor("test");
+                        int key = registry.addInterceptor(interceptor);
+                        if (registry.getInterceptor(key) != interceptor) {
+                            failure.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        Assertions.assertEquals(0, failure.get());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+            for (int i = 0; i < 8192; i++) {
+                registry.addInterceptor(mock(AroundInterceptor.class));
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.DefaultInterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.DenseInterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistryAdaptor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Dispatch cost per intercepted call, resolving each interceptor by id the way the generated bytecode does,
+ * with 1, 4 and 16 interceptors on the same method.
+ */
+@Disabled
+public class InterceptorRegistryDispatchBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int WARMUP_CALLS = 5_000_000;
+    private static final int CALLS = 20_000_000;
+    private static final int[] INTERCEPTORS = {1, 4, 16};
+
+    private long sink;
+
+    @Test
+    public void benchmark() {
+        for (int interceptorCount : INTERCEPTORS) {
+            run("default", new DefaultInterceptorRegistryAdaptor(), interceptorCount);
+            run("dense", new DenseInterceptorRegistryAdaptor(), interceptorCount);
+        }
+        logger.info("sink:{}", sink);
+    }
+
+    private void run(String name, InterceptorRegistryAdaptor registry, int interceptorCount) {
+        // occupy ids like a loaded plugin set.
+        for (int i = 0; i < 1000; i++) {
+            registry.addInterceptor(new CountingInterceptor());
+        }
+        final int[] ids = new int[interceptorCount];
+        for (int i = 0; i < interceptorCount; i++) {
+            ids[i] = registry.addInterceptor(new CountingInterceptor());
+        }
+
+        around(registry, ids, WARMUP_CALLS);
+        before(registry, ids, WARMUP_CALLS);
+        after(registry, ids, WARMUP_CALLS);
+
+        long startTime = System.nanoTime();
+        around(registry, ids, CALLS);
+        final long around = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        before(registry, ids, CALLS);
+        final long before = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        after(registry, ids, CALLS);
+        final long after = System.nanoTime() - startTime;
+
+        logger.info("{} interceptors:{} around:{}ns/call before:{}ns/call after:{}ns/call", name, interceptorCount,
+                (double) around / CALLS, (double) before / CALLS, (double) after / CALLS);
+    }
+
+    private void around(InterceptorRegistryAdaptor registry, int[] ids, int calls) {
+        final Object[] args = new Object[0];
+        for (int call = 0; call < calls; call++) {
+            for (int id : ids) {
+                ((AroundInterceptor) registry.getInterceptor(id)).before(this, args);
+            }
+            for (int id : ids) {
+                ((AroundInterceptor) registry.getInterceptor(id)).after(this, args, null, null);
+            }
+        }
+    }
+
+    private void before(InterceptorRegistryAdaptor registry, int[] ids, int calls) {
+        final Object[] args = new Object[0];
+        for (int call = 0; call < calls; call++) {
+            for (int id : ids) {
+                ((AroundInterceptor) registry.getInterceptor(id)).before(this, args);
+            }
+        }
+    }
+
+    private void after(InterceptorRegistryAdaptor registry, int[] ids, int calls) {
+        final Object[] args = new Object[0];
+        for (int call = 0; call < calls; call++) {
+            for (int id : ids) {
+                ((AroundInterceptor) registry.getInterceptor(id)).after(this, args, null, null);
+            }
+        }
+    }
+
+    private final class CountingInterceptor implements AroundInterceptor {
+        @Override
+        public void before(Object target, Object[] args) {
+            sink++;
+        }
+
+        @Override
+        public void after(Object target, Object[] args, Object result, Throwable throwable) {
+            sink--;
+        }
+    }
+}
@@ -16,17 +16,16 @@
 package com.navercorp.pinpoint.collector.cluster.flink;
 
 import com.navercorp.pinpoint.collector.cluster.connection.ClusterConnectionManager;
+import com.navercorp.pinpoint.collector.sender.AgentStatRecordSerializer;
 import com.navercorp.pinpoint.collector.sender.FlinkRequestFactory;
 import com.navercorp.pinpoint.collector.sender.FlinkTcpDataSender;
 import com.navercorp.pinpoint.collector.util.Address;
-import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.rpc.client.DefaultPinpointClientFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.SerializerFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.thrift.TBase;
 
 import java.util.List;
 import java.util.Objects;
@@ -40,13 +39,16 @@ public class FlinkClusterConnectionManager implements ClusterConnectionManager {
     private final TcpDataSenderRepository tcpDataSenderRepository;
     private final SerializerFactory<HeaderTBaseSerializer> flinkHeaderTBaseSerializerFactory;
     private final FlinkRequestFactory flinkRequestFactory;
+    private final AgentStatRecordSerializer agentStatRecordSerializer;
 
     public FlinkClusterConnectionManager(TcpDataSenderRepository tcpDataSenderRepository,
                                          SerializerFactory<HeaderTBaseSerializer> flinkHeaderTBaseSerializerFactory,
-                                         FlinkRequestFactory flinkRequestFactory) {
+                                         FlinkRequestFactory flinkRequestFactory,
+                                         AgentStatRecordSerializer agentStatRecordSerializer) {
         this.tcpDataSenderRepository = Objects.requireNonNull(tcpDataSenderRepository, "tcpDataSenderRepository");
         this.flinkHeaderTBaseSerializerFactory = Objects.requireNonNull(flinkHeaderTBaseSerializerFactory, "flinkHeaderTBaseSerializerFactory");
         this.flinkRequestFactory = Objects.requireNonNull(flinkRequestFactory, "flinkRequestFactory");
+        this.agentStatRecordSerializer = Objects.requireNonNull(agentStatRecordSerializer, "agentStatRecordSerializer");
         this.pinpointClientFactory = newPointClientFactory();
     }
 
@@ -116,7 +118,7 @@ public class FlinkClusterConnectionManager implements ClusterConnectionManager {
             final String host = address.getHost();
             final int port = address.getPort();
             HeaderTBaseSerializer serializer = flinkHeaderTBaseSerializerFactory.createSerializer();
-            TcpDataSender<TBase<?, ?>> tcpDataSender = new FlinkTcpDataSender("flink", host, port, pinpointClientFactory, serializer, flinkRequestFactory);
+            FlinkTcpDataSender tcpDataSender = new FlinkTcpDataSender("flink", host, port, pinpointClientFactory, serializer, flinkRequestFactory, agentStatRecordSerializer);
             return new SenderContext(tcpDataSender);
         } catch (Exception e) {
             logger.error("not create tcpDataSender for {}.", address, e);
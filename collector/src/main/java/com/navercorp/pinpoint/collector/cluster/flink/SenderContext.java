@@ -15,8 +15,7 @@
  */
 package com.navercorp.pinpoint.collector.cluster.flink;
 
-import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
-import org.apache.thrift.TBase;
+import com.navercorp.pinpoint.collector.sender.FlinkTcpDataSender;
 
 import java.util.Objects;
 
@@ -24,13 +23,13 @@ import java.util.Objects;
  * @author minwoo.jung
  */
 public class SenderContext {
-    private final TcpDataSender<TBase<?, ?>> flinkTcpDataSender;
+    private final FlinkTcpDataSender flinkTcpDataSender;
 
-    public SenderContext(TcpDataSender<TBase<?, ?>> tcpDataSender) {
+    public SenderContext(FlinkTcpDataSender tcpDataSender) {
         this.flinkTcpDataSender = Objects.requireNonNull(tcpDataSender, "flinkTcpDataSender");
     }
 
-    public TcpDataSender<TBase<?, ?>> getFlinkTcpDataSender() {
+    public FlinkTcpDataSender getFlinkTcpDataSender() {
         return flinkTcpDataSender;
     }
 
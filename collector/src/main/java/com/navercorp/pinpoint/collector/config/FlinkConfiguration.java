@@ -39,6 +39,9 @@ public class FlinkConfiguration {
     @Autowired
     private ZookeeperClusterConfiguration clusterConfiguration;
 
+    @Value("${flink.cluster.agentstat.binary.enable:false}")
+    private boolean agentStatBinaryEnable;
+
     public boolean isFlinkClusterEnable() {
         return clusterConfiguration.isEnable();
     }
@@ -55,6 +58,10 @@ public class FlinkConfiguration {
         return clusterConfiguration.getSessionTimeout();
     }
 
+    public boolean isAgentStatBinaryEnable() {
+        return agentStatBinaryEnable;
+    }
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -72,6 +79,7 @@ public class FlinkConfiguration {
                 ", flinkClusterZookeeperAddress='" + getFlinkClusterZookeeperAddress() + '\'' +
                 ", flinkZNodePath='" + getFlinkZNodePath() + '\'' +
                 ", flinkClusterSessionTimeout=" + getFlinkClusterSessionTimeout() +
+                ", agentStatBinaryEnable=" + agentStatBinaryEnable +
                 '}';
     }
 }
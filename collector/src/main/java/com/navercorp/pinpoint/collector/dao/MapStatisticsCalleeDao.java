@@ -25,4 +25,9 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapStatisticsCalleeDao extends CachedStatisticsDao {
     void update(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, int elapsed, boolean isError);
+
+    /**
+     * Records {@code count} calls falling into the same histogram slot at once.
+     */
+    void update(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short slotNumber, long count, long elapsedSum, int maxElapsed);
 }
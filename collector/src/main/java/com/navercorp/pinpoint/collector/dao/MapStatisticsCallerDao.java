@@ -25,4 +25,9 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapStatisticsCallerDao extends CachedStatisticsDao {
     void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, int elapsed, boolean isError);
+
+    /**
+     * Records {@code count} calls falling into the same histogram slot at once.
+     */
+    void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short slotNumber, long count, long elapsedSum, int maxElapsed);
 }
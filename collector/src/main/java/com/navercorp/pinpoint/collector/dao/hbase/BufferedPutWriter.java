@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers {@link Put}s and writes them through a {@link SimpleBatchWriter} in batches.
+ * Puts for the same row are merged into one multi-column put on flush.
+ * A flush is triggered by the caller once {@code flushSize} puts are pending, or by a scheduled {@link #flush()}.
+ * Above {@code limitSize} pending puts, writes bypass the buffer and are reported as write-through.
+ * Only puts the writer fails to accept are reported as rejected.
+ */
+public class BufferedPutWriter {
+
+    private final Logger logger;
+
+    private final SimpleBatchWriter writer;
+    private final int flushSize;
+    private final int limitSize;
+    private final BulkOperationReporter reporter;
+
+    private final Queue<TablePut> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final Lock flushLock = new ReentrantLock();
+
+    public BufferedPutWriter(String loggerName, SimpleBatchWriter writer, int flushSize, int limitSize, BulkOperationReporter reporter) {
+        this.logger = LogManager.getLogger(loggerName);
+        this.writer = Objects.requireNonNull(writer, "writer");
+        if (flushSize <= 0) {
+            throw new IllegalArgumentException("flushSize must be positive " + flushSize);
+        }
+        if (limitSize < flushSize) {
+            throw new IllegalArgumentException("limitSize must be greater than or equal to flushSize " + limitSize);
+        }
+        this.flushSize = flushSize;
+        this.limitSize = limitSize;
+        this.reporter = Objects.requireNonNull(reporter, "reporter");
+    }
+
+    public boolean write(TableName tableName, Put put) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(put, "put");
+
+        final int size = pendingSize.incrementAndGet();
+        if (size > limitSize) {
+            pendingSize.decrementAndGet();
+            // backpressure : write through instead of growing the buffer
+            reporter.reportWriteThrough();
+            final boolean success = writer.write(tableName, put);
+            if (!success) {
+                reporter.reportReject();
+            }
+            return success;
+        }
+        queue.offer(new TablePut(tableName, put));
+
+        if (size >= flushSize) {
+            tryFlush();
+        }
+        return true;
+    }
+
+    private void tryFlush() {
+        if (flushLock.tryLock()) {
+            try {
+                flush0();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flush0();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush0() {
+        final Map<TableName, Map<ByteBuffer, Put>> tableMap = new HashMap<>();
+        int count = 0;
+        TablePut tablePut;
+        while ((tablePut = queue.poll()) != null) {
+            pendingSize.decrementAndGet();
+            count++;
+
+            final Map<ByteBuffer, Put> rowMap = tableMap.computeIfAbsent(tablePut.tableName, tableName -> new LinkedHashMap<>());
+            final Put put = tablePut.put;
+            final ByteBuffer row = ByteBuffer.wrap(put.getRow());
+            final Put merged = rowMap.putIfAbsent(row, put);
+            if (merged != null) {
+                merge(merged, put);
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        for (Map.Entry<TableName, Map<ByteBuffer, Put>> entry : tableMap.entrySet()) {
+            final TableName tableName = entry.getKey();
+            final List<Put> puts = new ArrayList<>(entry.getValue().values());
+            if (logger.isDebugEnabled()) {
+                logger.debug("flush to [{}] buffered:{} Put:{}", tableName, count, puts.size());
+            }
+            if (!writer.write(tableName, puts)) {
+                reporter.reportReject(puts.size());
+                logger.warn("batch write rejected [{}] Put:{}", tableName, puts.size());
+            }
+        }
+        reporter.reportFlushAll();
+    }
+
+    private void merge(Put merged, Put put) {
+        for (List<Cell> cells : put.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                try {
+                    merged.add(cell);
+                } catch (IOException e) {
+                    // unreachable, both puts have the same row
+                    throw new IllegalStateException("merge fail", e);
+                }
+            }
+        }
+    }
+
+    int getPendingSize() {
+        return pendingSize.get();
+    }
+
+    private static class TablePut {
+        private final TableName tableName;
+        private final Put put;
+
+        private TablePut(TableName tableName, Put put) {
+            this.tableName = tableName;
+            this.put = put;
+        }
+    }
+}
@@ -26,6 +26,8 @@ public class BulkOperationReporter {
 
     private final LongAdder rejectedCount = new LongAdder();
 
+    private final LongAdder writeThroughCount = new LongAdder();
+
     private final AtomicLong flushCount = new AtomicLong();
 
     private volatile long lastFlushTimeMillis;
@@ -39,6 +41,14 @@ public class BulkOperationReporter {
         rejectedCount.increment();
     }
 
+    public void reportReject(int count) {
+        rejectedCount.add(count);
+    }
+
+    public void reportWriteThrough() {
+        writeThroughCount.increment();
+    }
+
     public long getFlushAllCount() {
         return flushCount.get();
     }
@@ -47,6 +57,10 @@ public class BulkOperationReporter {
         return rejectedCount.sum();
     }
 
+    public long getWriteThroughCount() {
+        return writeThroughCount.sum();
+    }
+
     public long getLastFlushTimeMillis() {
         return lastFlushTimeMillis;
     }
@@ -18,12 +18,14 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.navercorp.pinpoint.collector.config.ScatterConfiguration;
 import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkOperationReporterFactory;
 import com.navercorp.pinpoint.collector.util.CollectorUtils;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.HbaseTableConstants;
+import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.agent.ApplicationNameRowKeyEncoder;
@@ -38,8 +40,10 @@ import org.apache.hadoop.hbase.client.Put;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PreDestroy;
 import java.util.Objects;
 
 
@@ -69,16 +73,31 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     private final ApplicationNameRowKeyEncoder rowKeyEncoder = new ApplicationNameRowKeyEncoder();
 
+    // null if write-behind is disabled
+    private final BufferedPutWriter bufferedWriter;
+
     public HbaseApplicationTraceIndexDao(HbaseOperations2 hbaseTemplate,
                                          TableNameProvider tableNameProvider,
                                          @Qualifier("applicationTraceIndexDistributor") AbstractRowKeyDistributor rowKeyDistributor,
                                          AcceptedTimeService acceptedTimeService,
-                                         ScatterConfiguration scatterConfiguration) {
+                                         ScatterConfiguration scatterConfiguration,
+                                         SimpleBatchWriter writer,
+                                         BulkOperationReporterFactory bulkOperationReporterFactory,
+                                         @Value("${collector.application-trace-index.write-behind.enable:false}") boolean writeBehind,
+                                         @Value("${collector.application-trace-index.write-behind.flush-size:1000}") int flushSize,
+                                         @Value("${collector.application-trace-index.write-behind.limit:100000}") int limitSize) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
         this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.scatterConfiguration = Objects.requireNonNull(scatterConfiguration, "scatterConfiguration");
+        if (writeBehind) {
+            Objects.requireNonNull(writer, "writer");
+            BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter("applicationTraceIndexWriterReporter");
+            this.bufferedWriter = new BufferedPutWriter(this.getClass().getName() + "-writer", writer, flushSize, limitSize, reporter);
+        } else {
+            this.bufferedWriter = null;
+        }
     }
 
     @Override
@@ -108,7 +127,18 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         put.addColumn(META.getName(), qualifier, metaDataValue);
 
         final TableName applicationTraceIndexTableName = tableNameProvider.getTableName(INDEX.getTable());
-        hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
+        if (bufferedWriter != null) {
+            bufferedWriter.write(applicationTraceIndexTableName, put);
+        } else {
+            hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        if (bufferedWriter != null) {
+            bufferedWriter.flush();
+        }
     }
 
     private byte[] buildIndexValue(SpanBo span) {
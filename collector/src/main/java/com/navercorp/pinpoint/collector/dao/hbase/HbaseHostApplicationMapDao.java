@@ -31,12 +31,24 @@ import com.navercorp.pinpoint.common.util.TimeUtils;
 
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author netspider
@@ -48,6 +60,8 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
     private final Logger logger = LogManager.getLogger(this.getClass());
     private static final HbaseColumnFamily.HostStatMap DESCRIPTOR = HbaseColumnFamily.HOST_APPLICATION_MAP_VER2_MAP;
 
+    private static final int RECENT_MAPPING_SIZE = 1024;
+
     private final HbaseOperations2 hbaseTemplate;
 
     private final TableNameProvider tableNameProvider;
@@ -58,20 +72,35 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 
     private final AbstractRowKeyDistributor rowKeyDistributor;
 
-    // FIXME should modify to save a cachekey at each 30~50 seconds instead of saving at each time
+    // dedupes (host, app, parent) per time slot
     private final AtomicLongUpdateMap<CacheKey> updater = new AtomicLongUpdateMap<>();
+    // lossy hash-indexed copy of the last mappings, checked before a CacheKey is allocated
+    private final AtomicReferenceArray<SlotMapping> recentMappings = new AtomicReferenceArray<>(RECENT_MAPPING_SIZE);
+
+    private final boolean writeBehind;
+    private final int writeBehindLimit;
+    // new (host, app, parent, slot) tuples waiting for the next flush
+    private final Queue<SlotMapping> pendingQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
 
+    // new (host, app, parent, slot) tuples, each was a synchronous put before write-behind
+    private final LongAdder mappingCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
 
     public HbaseHostApplicationMapDao(HbaseOperations2 hbaseTemplate,
                                       TableNameProvider tableNameProvider,
                                       @Qualifier("acceptApplicationRowKeyDistributor") AbstractRowKeyDistributor rowKeyDistributor,
                                       AcceptedTimeService acceptedTimeService,
-                                      TimeSlot timeSlot) {
+                                      TimeSlot timeSlot,
+                                      @Value("${collector.host-application-map.write-behind.enable:false}") boolean writeBehind,
+                                      @Value("${collector.host-application-map.write-behind.limit:10000}") int writeBehindLimit) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
         this.acceptedTimeService = Objects.requireNonNull(acceptedTimeService, "acceptedTimeService");
         this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        this.writeBehind = writeBehind;
+        this.writeBehindLimit = writeBehindLimit;
     }
 
 
@@ -85,13 +114,95 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 
         final long statisticsRowSlot = getSlotTime();
 
+        final int recentIndex = recentIndex(CacheKey.hash(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType));
+        final SlotMapping recent = recentMappings.get(recentIndex);
+        if (recent != null && recent.statisticsRowSlot == statisticsRowSlot
+                && recent.cacheKey.matches(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType)) {
+            return;
+        }
+
         final CacheKey cacheKey = new CacheKey(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType);
         final boolean needUpdate = updater.update(cacheKey, statisticsRowSlot);
+        recentMappings.set(recentIndex, new SlotMapping(cacheKey, statisticsRowSlot));
         if (needUpdate) {
+            mappingCount.increment();
+            if (writeBehind && enqueue(cacheKey, statisticsRowSlot)) {
+                return;
+            }
             insertHostVer2(host, bindApplicationName, bindServiceType, statisticsRowSlot, parentApplicationName, parentServiceType);
         }
     }
 
+    private static int recentIndex(int hash) {
+        return (hash ^ (hash >>> 16)) & (RECENT_MAPPING_SIZE - 1);
+    }
+
+    private boolean enqueue(CacheKey cacheKey, long statisticsRowSlot) {
+        // bounded: fall back to a synchronous put when the flusher falls behind
+        if (pendingSize.incrementAndGet() > writeBehindLimit) {
+            pendingSize.decrementAndGet();
+            return false;
+        }
+        pendingQueue.offer(new SlotMapping(cacheKey, statisticsRowSlot));
+        return true;
+    }
+
+    /**
+     * Writes the pending host-application mappings in a single batched put.
+     * Columns sharing a parent row are merged into one {@link Put}.
+     */
+    @PreDestroy
+    public void flush() {
+        final Map<ParentRow, Put> putMap = new LinkedHashMap<>();
+        int count = 0;
+        SlotMapping pending;
+        while ((pending = pendingQueue.poll()) != null) {
+            pendingSize.decrementAndGet();
+            count++;
+
+            final CacheKey key = pending.cacheKey;
+            final ParentRow parentRow = new ParentRow(key.parentApplicationName, key.parentServiceType, pending.statisticsRowSlot);
+            Put put = putMap.get(parentRow);
+            if (put == null) {
+                final byte[] rowKey = createRowKey(key.parentApplicationName, key.parentServiceType, pending.statisticsRowSlot, null);
+                put = new Put(rowKey);
+                putMap.put(parentRow, put);
+            }
+            final byte[] columnName = createColumnName(key.host, key.applicationName, key.serviceType);
+            put.addColumn(DESCRIPTOR.getName(), columnName, null);
+        }
+        if (putMap.isEmpty()) {
+            return;
+        }
+
+        final List<Put> puts = new ArrayList<>(putMap.values());
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush host-application map. mappings:{} puts:{}", count, puts.size());
+        }
+        TableName hostApplicationMapTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        putCount.increment();
+        try {
+            hbaseTemplate.put(hostApplicationMapTableName, puts);
+        } catch (Exception ex) {
+            logger.warn("retry one. Caused:{}", ex.getCause(), ex);
+            hbaseTemplate.put(hostApplicationMapTableName, puts);
+        }
+    }
+
+
+    /**
+     * @return the number of new (host, app, parent) mappings per time slot, i.e. the puts issued without write-behind
+     */
+    public long getMappingCount() {
+        return mappingCount.sum();
+    }
+
+    /**
+     * @return the number of put calls issued to HBase
+     */
+    public long getPutCount() {
+        return putCount.sum();
+    }
 
     private long getSlotTime() {
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
@@ -113,6 +224,7 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
         byte[] columnName = createColumnName(host, bindApplicationName, bindServiceType);
 
         TableName hostApplicationMapTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        putCount.increment();
         try {
             hbaseTemplate.put(hostApplicationMapTableName, rowKey, DESCRIPTOR.getName(), columnName, null);
         } catch (Exception ex) {
@@ -151,6 +263,48 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
         return rowKeyBuffer.getBuffer();
     }
 
+    private static final class SlotMapping {
+        private final CacheKey cacheKey;
+        private final long statisticsRowSlot;
+
+        private SlotMapping(CacheKey cacheKey, long statisticsRowSlot) {
+            this.cacheKey = cacheKey;
+            this.statisticsRowSlot = statisticsRowSlot;
+        }
+    }
+
+    private static final class ParentRow {
+        private final String parentApplicationName;
+        private final short parentServiceType;
+        private final long statisticsRowSlot;
+
+        private ParentRow(String parentApplicationName, short parentServiceType, long statisticsRowSlot) {
+            this.parentApplicationName = parentApplicationName;
+            this.parentServiceType = parentServiceType;
+            this.statisticsRowSlot = statisticsRowSlot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ParentRow parentRow = (ParentRow) o;
+
+            if (parentServiceType != parentRow.parentServiceType) return false;
+            if (statisticsRowSlot != parentRow.statisticsRowSlot) return false;
+            return Objects.equals(parentApplicationName, parentRow.parentApplicationName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = parentApplicationName != null ? parentApplicationName.hashCode() : 0;
+            result = 31 * result + (int) parentServiceType;
+            result = 31 * result + Long.hashCode(statisticsRowSlot);
+            return result;
+        }
+    }
+
     private static final class CacheKey {
         private final String host;
         private final String applicationName;
@@ -188,6 +342,18 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
 
         @Override
         public int hashCode() {
+            return hash(host, applicationName, serviceType, parentApplicationName, parentServiceType);
+        }
+
+        private boolean matches(String host, String applicationName, short serviceType, String parentApplicationName, short parentServiceType) {
+            return this.serviceType == serviceType
+                    && this.parentServiceType == parentServiceType
+                    && this.host.equals(host)
+                    && this.applicationName.equals(applicationName)
+                    && Objects.equals(this.parentApplicationName, parentApplicationName);
+        }
+
+        private static int hash(String host, String applicationName, short serviceType, String parentApplicationName, short parentServiceType) {
             int result = host.hashCode();
             result = 31 * result + applicationName.hashCode();
             result = 31 * result + (int) serviceType;
@@ -71,12 +71,18 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
 
     @Override
     public void update(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, int elapsed, boolean isError) {
+        final short callerSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, callerSlotNumber, 1, elapsed, elapsed);
+    }
+
+    @Override
+    public void update(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short callerSlotNumber, long count, long elapsedSum, int maxElapsed) {
         Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
         Objects.requireNonNull(callerApplicationName, "callerApplicationName");
 
         if (logger.isDebugEnabled()) {
-            logger.debug("[Callee] {} ({}) <- {} ({})[{}]",
-                    calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost);
+            logger.debug("[Callee] {} ({}) <- {} ({})[{}] count:{}",
+                    calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, count);
         }
 
         // there may be no endpoint in case of httpclient
@@ -94,20 +100,18 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
         final RowKey calleeRowKey = new CallRowKey(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
 
-        final short callerSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-
         HistogramSchema histogramSchema = calleeServiceType.getHistogramSchema();
 
         final ColumnName callerColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, callerSlotNumber);
-        this.bulkWriter.increment(calleeRowKey, callerColumnName);
+        this.bulkWriter.increment(calleeRowKey, callerColumnName, count);
 
         if (mapLinkConfiguration.isEnableAvg()) {
             final ColumnName sumColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, histogramSchema.getSumStatSlot().getSlotTime());
-            this.bulkWriter.increment(calleeRowKey, sumColumnName, elapsed);
+            this.bulkWriter.increment(calleeRowKey, sumColumnName, elapsedSum);
         }
         if (mapLinkConfiguration.isEnableMax()) {
             final ColumnName maxColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, histogramSchema.getMaxStatSlot().getSlotTime());
-            this.bulkWriter.updateMax(calleeRowKey, maxColumnName, elapsed);
+            this.bulkWriter.updateMax(calleeRowKey, maxColumnName, maxElapsed);
         }
     }
 
@@ -68,13 +68,19 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     @Override
     public void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentid, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, int elapsed, boolean isError) {
+        final short calleeSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        update(callerApplicationName, callerServiceType, callerAgentid, calleeApplicationName, calleeServiceType, calleeHost, calleeSlotNumber, 1, elapsed, elapsed);
+    }
+
+    @Override
+    public void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentid, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short calleeSlotNumber, long count, long elapsedSum, int maxElapsed) {
         Objects.requireNonNull(callerApplicationName, "callerApplicationName");
         Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
 
 
         if (logger.isDebugEnabled()) {
-            logger.debug("[Caller] {} ({}) {} -> {} ({})[{}]", callerApplicationName, callerServiceType, callerAgentid,
-                    calleeApplicationName, calleeServiceType, calleeHost);
+            logger.debug("[Caller] {} ({}) {} -> {} ({})[{}] count:{}", callerApplicationName, callerServiceType, callerAgentid,
+                    calleeApplicationName, calleeServiceType, calleeHost, count);
         }
 
         // there may be no endpoint in case of httpclient
@@ -85,20 +91,18 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
         final RowKey callerRowKey = new CallRowKey(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
 
-        final short calleeSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-
         HistogramSchema histogramSchema = callerServiceType.getHistogramSchema();
 
         final ColumnName calleeColumnName = new CalleeColumnName(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, calleeSlotNumber);
-        this.bulkWriter.increment(callerRowKey, calleeColumnName);
+        this.bulkWriter.increment(callerRowKey, calleeColumnName, count);
 
         if (mapLinkConfiguration.isEnableAvg()) {
             final ColumnName sumColumnName = new CalleeColumnName(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, histogramSchema.getSumStatSlot().getSlotTime());
-            this.bulkWriter.increment(callerRowKey, sumColumnName, elapsed);
+            this.bulkWriter.increment(callerRowKey, sumColumnName, elapsedSum);
         }
         if (mapLinkConfiguration.isEnableMax()) {
             final ColumnName maxColumnName = new CalleeColumnName(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, histogramSchema.getMaxStatSlot().getSlotTime());
-            this.bulkWriter.updateMax(callerRowKey, maxColumnName, elapsed);
+            this.bulkWriter.updateMax(callerRowKey, maxColumnName, maxElapsed);
         }
 
     }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatRollupSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunction;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the running rollup of the current slot of each agent and creates the puts overwriting it.
+ * <p>
+ * Data points of a slot older than the current one are dropped, as are data points of an older agent life cycle.
+ * Rollups are written under a writer id unique to this instance, so partial rollups of the same slot written by
+ * another collector (or before a restart) are kept and merged on read.
+ */
+public class AgentStatRollupWriter<T extends AgentStatDataPoint> {
+
+    private static final Comparator<AgentStatDataPoint> TIMESTAMP_COMPARATOR = Comparator.comparingLong(AgentStatDataPoint::getTimestamp);
+
+    private static final long EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private final AgentStatRollupFunction<T> rollupFunction;
+    private final HbaseColumnFamily.AgentStatRollup[] columnFamilies;
+    private final AgentStatHbaseOperationFactory operations;
+    private final AgentStatRollupSerializer serializer;
+    private final int writerId;
+    private final long idleTimeout;
+
+    private final ConcurrentMap<String, AgentRollupState> agentStates = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictionTime = new AtomicLong(System.currentTimeMillis());
+
+    public AgentStatRollupWriter(AgentStatRollupFunction<T> rollupFunction,
+                                 List<HbaseColumnFamily.AgentStatRollup> columnFamilies,
+                                 AgentStatHbaseOperationFactory operations,
+                                 AgentStatRollupSerializer serializer) {
+        this.rollupFunction = Objects.requireNonNull(rollupFunction, "rollupFunction");
+        Objects.requireNonNull(columnFamilies, "columnFamilies");
+        this.columnFamilies = columnFamilies.toArray(new HbaseColumnFamily.AgentStatRollup[0]);
+        this.operations = Objects.requireNonNull(operations, "operations");
+        this.serializer = Objects.requireNonNull(serializer, "serializer");
+        this.writerId = ThreadLocalRandom.current().nextInt();
+        this.idleTimeout = getIdleTimeout(this.columnFamilies);
+    }
+
+    private static long getIdleTimeout(HbaseColumnFamily.AgentStatRollup[] columnFamilies) {
+        long maxGranularity = 0;
+        for (HbaseColumnFamily.AgentStatRollup columnFamily : columnFamilies) {
+            maxGranularity = Math.max(maxGranularity, columnFamily.getGranularity());
+        }
+        return maxGranularity * 2;
+    }
+
+    public List<Put> createPuts(String agentId, List<T> dataPoints) {
+        final long currentTime = System.currentTimeMillis();
+        evictIdleAgents(currentTime);
+
+        final List<T> sortedDataPoints = new ArrayList<>(dataPoints);
+        sortedDataPoints.sort(TIMESTAMP_COMPARATOR);
+
+        final AgentRollupState state = agentStates.computeIfAbsent(agentId, key -> new AgentRollupState(columnFamilies.length));
+        final List<Put> puts = new ArrayList<>();
+        synchronized (state) {
+            state.lastAccessTime = currentTime;
+            for (int i = 0; i < columnFamilies.length; i++) {
+                state.rollups[i] = rollup(agentId, columnFamilies[i], state.rollups[i], sortedDataPoints, puts);
+            }
+        }
+        return puts;
+    }
+
+    private AgentStatRollupBo rollup(String agentId, HbaseColumnFamily.AgentStatRollup columnFamily, AgentStatRollupBo rollup,
+                                     List<T> sortedDataPoints, List<Put> puts) {
+        AgentStatRollupBo updated = null;
+        for (T dataPoint : sortedDataPoints) {
+            final long slotTimestamp = AgentStatUtils.getBaseTimestamp(dataPoint.getTimestamp(), columnFamily.getGranularity());
+            final long startTimestamp = dataPoint.getStartTimestamp();
+            if (rollup == null || slotTimestamp > rollup.getTimestamp()
+                    || (slotTimestamp == rollup.getTimestamp() && startTimestamp > rollup.getStartTimestamp())) {
+                if (updated != null) {
+                    puts.add(createPut(agentId, columnFamily, updated));
+                }
+                rollup = newRollup(agentId, startTimestamp, slotTimestamp);
+            } else if (slotTimestamp < rollup.getTimestamp() || startTimestamp < rollup.getStartTimestamp()) {
+                continue;
+            }
+            rollupFunction.accumulate(rollup, dataPoint);
+            updated = rollup;
+        }
+        if (updated != null) {
+            puts.add(createPut(agentId, columnFamily, updated));
+        }
+        return rollup;
+    }
+
+    private AgentStatRollupBo newRollup(String agentId, long startTimestamp, long slotTimestamp) {
+        AgentStatRollupBo rollup = rollupFunction.newRollup();
+        rollup.setAgentId(agentId);
+        rollup.setStartTimestamp(startTimestamp);
+        rollup.setTimestamp(slotTimestamp);
+        return rollup;
+    }
+
+    private Put createPut(String agentId, HbaseColumnFamily.AgentStatRollup columnFamily, AgentStatRollupBo rollup) {
+        final long baseTimestamp = AgentStatUtils.getBaseTimestamp(rollup.getTimestamp(), columnFamily.getTimespan());
+        Put put = operations.createPut(agentId, rollupFunction.getAgentStatType(), baseTimestamp);
+        serializer.serialize(columnFamily, rollup, writerId, put);
+        return put;
+    }
+
+    private void evictIdleAgents(long currentTime) {
+        final long lastEvictionTime = this.lastEvictionTime.get();
+        if (currentTime - lastEvictionTime < EVICTION_INTERVAL) {
+            return;
+        }
+        if (this.lastEvictionTime.compareAndSet(lastEvictionTime, currentTime)) {
+            final long expireTime = currentTime - idleTimeout;
+            agentStates.values().removeIf(state -> state.lastAccessTime < expireTime);
+        }
+    }
+
+    private static class AgentRollupState {
+        private final AgentStatRollupBo[] rollups;
+        private volatile long lastAccessTime;
+
+        private AgentRollupState(int size) {
+            this.rollups = new AgentStatRollupBo[size];
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -27,6 +28,7 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
     private final TableNameProvider tableNameProvider;
     private final AgentStatHbaseOperationFactory operations;
     private final AgentStatSerializer<T> serializer;
+    private final AgentStatRollupWriter<T> rollupWriter;
 
     protected Function<List<T>, List<T>> preprocessor = Function.identity();
 
@@ -37,6 +39,20 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
                                TableNameProvider tableNameProvider,
                                AgentStatHbaseOperationFactory operations,
                                AgentStatSerializer<T> serializer) {
+        this(agentStatType, tableName, dataPointFunction, hbaseTemplate, tableNameProvider, operations, serializer, null);
+    }
+
+    /**
+     * @param rollupWriter writes rollups along with the raw data points, may be {@code null}
+     */
+    public DefaultAgentStatDao(AgentStatType agentStatType,
+                               HbaseTable tableName,
+                               Function<AgentStatBo, List<T>> dataPointFunction,
+                               HbaseOperations2 hbaseTemplate,
+                               TableNameProvider tableNameProvider,
+                               AgentStatHbaseOperationFactory operations,
+                               AgentStatSerializer<T> serializer,
+                               AgentStatRollupWriter<T> rollupWriter) {
         this.agentStatType = Objects.requireNonNull(agentStatType, "agentStatType");
         this.tableName = Objects.requireNonNull(tableName, "tableName");
         this.dataPointFunction = Objects.requireNonNull(dataPointFunction, "dataPointFunction");
@@ -45,6 +61,7 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.operations = Objects.requireNonNull(operations, "operations");
         this.serializer = Objects.requireNonNull(serializer, "serializer");
+        this.rollupWriter = rollupWriter;
     }
 
 
@@ -63,6 +80,15 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
 
         dataPoints = preprocessor.apply(dataPoints);
         List<Put> puts = this.operations.createPuts(agentId, agentStatType, dataPoints, this.serializer);
+        if (rollupWriter != null) {
+            List<Put> rollupPuts = rollupWriter.createPuts(agentId, dataPoints);
+            if (!rollupPuts.isEmpty()) {
+                List<Put> mergedPuts = new ArrayList<>(puts.size() + rollupPuts.size());
+                mergedPuts.addAll(puts);
+                mergedPuts.addAll(rollupPuts);
+                puts = mergedPuts;
+            }
+        }
         if (!puts.isEmpty()) {
             TableName tableName = tableNameProvider.getTableName(this.tableName);
             this.hbaseTemplate.asyncPut(tableName, puts);
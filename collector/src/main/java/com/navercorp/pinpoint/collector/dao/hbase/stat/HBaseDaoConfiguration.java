@@ -1,10 +1,12 @@
 package com.navercorp.pinpoint.collector.dao.hbase.stat;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDao;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.HbaseTable;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatRollupSerializer;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatSerializer;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
@@ -21,9 +23,13 @@ import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunction;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -35,11 +41,17 @@ public class HBaseDaoConfiguration {
     private final HbaseTable hbaseTable = HbaseTable.AGENT_STAT_VER2;
     private final TableNameProvider tableNameProvider;
     private final AgentStatHbaseOperationFactory operations;
+    private final AgentStatRollupSerializer rollupSerializer;
+    private final boolean rollupEnable;
 
-    public HBaseDaoConfiguration(HbaseOperations2 hbaseTemplate, TableNameProvider tableNameProvider, AgentStatHbaseOperationFactory operations) {
+    public HBaseDaoConfiguration(HbaseOperations2 hbaseTemplate, TableNameProvider tableNameProvider, AgentStatHbaseOperationFactory operations,
+                                 AgentStatRollupSerializer rollupSerializer,
+                                 @Value("${collector.agentstat.rollup.enable:false}") boolean rollupEnable) {
         this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.operations = Objects.requireNonNull(operations, "operations");
+        this.rollupSerializer = Objects.requireNonNull(rollupSerializer, "rollupSerializer");
+        this.rollupEnable = rollupEnable;
     }
 
     private <T extends AgentStatDataPoint> AgentStatDao<T> newAgentStatDao(AgentStatType agentStatType, Function<AgentStatBo, List<T>> dataPointFunction, AgentStatSerializer<T> serializer) {
@@ -47,6 +59,17 @@ public class HBaseDaoConfiguration {
                 hbaseTemplate, tableNameProvider, operations, serializer);
     }
 
+    private <T extends AgentStatDataPoint> AgentStatDao<T> newAgentStatDao(AgentStatType agentStatType, Function<AgentStatBo, List<T>> dataPointFunction, AgentStatSerializer<T> serializer,
+                                                                           AgentStatRollupFunction<T> rollupFunction) {
+        if (!rollupEnable) {
+            return newAgentStatDao(agentStatType, dataPointFunction, serializer);
+        }
+        List<HbaseColumnFamily.AgentStatRollup> columnFamilies = Arrays.asList(HbaseColumnFamily.AGENT_STAT_ROLLUP_MINUTE, HbaseColumnFamily.AGENT_STAT_ROLLUP_HOUR);
+        AgentStatRollupWriter<T> rollupWriter = new AgentStatRollupWriter<>(rollupFunction, columnFamilies, operations, rollupSerializer);
+        return new DefaultAgentStatDao<>(agentStatType, hbaseTable, dataPointFunction,
+                hbaseTemplate, tableNameProvider, operations, serializer, rollupWriter);
+    }
+
     @Bean
     public AgentStatDao<ActiveTraceBo> getActiveTraceDao(AgentStatSerializer<ActiveTraceBo> serializer) {
         return newAgentStatDao(AgentStatType.ACTIVE_TRACE, AgentStatBo::getActiveTraceBos, serializer);
@@ -54,7 +77,7 @@ public class HBaseDaoConfiguration {
 
     @Bean
     public AgentStatDao<CpuLoadBo> getCpuLoadDao(AgentStatSerializer<CpuLoadBo> serializer) {
-        return newAgentStatDao(AgentStatType.CPU_LOAD, AgentStatBo::getCpuLoadBos, serializer);
+        return newAgentStatDao(AgentStatType.CPU_LOAD, AgentStatBo::getCpuLoadBos, serializer, AgentStatRollupFunctions.CPU_LOAD);
     }
 
     @Bean
@@ -69,12 +92,12 @@ public class HBaseDaoConfiguration {
 
     @Bean
     public AgentStatDao<DirectBufferBo> getDirectBufferDao(AgentStatSerializer<DirectBufferBo> serializer) {
-        return newAgentStatDao(AgentStatType.DIRECT_BUFFER, AgentStatBo::getDirectBufferBos, serializer);
+        return newAgentStatDao(AgentStatType.DIRECT_BUFFER, AgentStatBo::getDirectBufferBos, serializer, AgentStatRollupFunctions.DIRECT_BUFFER);
     }
 
     @Bean
     public AgentStatDao<FileDescriptorBo> getFileDescriptorDao(AgentStatSerializer<FileDescriptorBo> serializer) {
-        return newAgentStatDao(AgentStatType.FILE_DESCRIPTOR, AgentStatBo::getFileDescriptorBos, serializer);
+        return newAgentStatDao(AgentStatType.FILE_DESCRIPTOR, AgentStatBo::getFileDescriptorBos, serializer, AgentStatRollupFunctions.FILE_DESCRIPTOR);
     }
 
     @Bean
@@ -89,7 +112,7 @@ public class HBaseDaoConfiguration {
 
     @Bean
     public AgentStatDao<LoadedClassBo> getLoadedClassDao(AgentStatSerializer<LoadedClassBo> serializer) {
-        return newAgentStatDao(AgentStatType.LOADED_CLASS, AgentStatBo::getLoadedClassBos, serializer);
+        return newAgentStatDao(AgentStatType.LOADED_CLASS, AgentStatBo::getLoadedClassBos, serializer, AgentStatRollupFunctions.LOADED_CLASS);
     }
 
     @Bean
@@ -99,11 +122,11 @@ public class HBaseDaoConfiguration {
 
     @Bean
     public AgentStatDao<TotalThreadCountBo> getTotalThreadCountDao(AgentStatSerializer<TotalThreadCountBo> serializer) {
-        return newAgentStatDao(AgentStatType.TOTAL_THREAD, AgentStatBo::getTotalThreadCountBos, serializer);
+        return newAgentStatDao(AgentStatType.TOTAL_THREAD, AgentStatBo::getTotalThreadCountBos, serializer, AgentStatRollupFunctions.TOTAL_THREAD);
     }
 
     @Bean
     public AgentStatDao<TransactionBo> getTransactionDao(AgentStatSerializer<TransactionBo> serializer) {
-        return newAgentStatDao(AgentStatType.TRANSACTION, AgentStatBo::getTransactionBos, serializer);
+        return newAgentStatDao(AgentStatType.TRANSACTION, AgentStatBo::getTransactionBos, serializer, AgentStatRollupFunctions.TRANSACTION);
     }
 }
@@ -37,15 +37,18 @@ public class BulkConfiguration {
 
     private final boolean enableBulk;
 
+    private final boolean enableStripedIncrementer;
 
     public BulkConfiguration(@Value("${collector.cachedStatDao.caller.limit:-1}") int callerLimitSize,
                              @Value("${collector.cachedStatDao.callee.limit:-1}") int calleeLimitSize,
                              @Value("${collector.cachedStatDao.self.limit:-1}") int selfLimitSize,
-                             @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk) {
+                             @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk,
+                             @Value("${collector.cachedStatDao.bulk.striped.enable:false}") boolean enableStripedIncrementer) {
         this.callerLimitSize = callerLimitSize;
         this.calleeLimitSize = calleeLimitSize;
         this.selfLimitSize = selfLimitSize;
         this.enableBulk = enableBulk;
+        this.enableStripedIncrementer = enableStripedIncrementer;
     }
 
     public int getCallerLimitSize() {
@@ -64,6 +67,10 @@ public class BulkConfiguration {
         return enableBulk;
     }
 
+    public boolean enableStripedIncrementer() {
+        return enableStripedIncrementer;
+    }
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -76,6 +83,7 @@ public class BulkConfiguration {
                 ", calleeLimitSize=" + calleeLimitSize +
                 ", selfLimitSize=" + selfLimitSize +
                 ", enableBulk=" + enableBulk +
+                ", enableStripedIncrementer=" + enableStripedIncrementer +
                 '}';
     }
 }
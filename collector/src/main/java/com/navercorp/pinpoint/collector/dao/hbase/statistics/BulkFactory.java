@@ -36,11 +36,17 @@ public class BulkFactory {
     private BulkIncrementer newBulkIncrementer(String reporterName, HbaseColumnFamily hbaseColumnFamily, int limitSize) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
         RowKeyMerge merge = new RowKeyMerge(hbaseColumnFamily);
-        BulkIncrementer bulkIncrementer = new DefaultBulkIncrementer(merge);
+        BulkIncrementer bulkIncrementer = newBulkIncrementer(merge);
 
         return bulkIncrementerFactory.wrap(bulkIncrementer, limitSize, reporter);
     }
 
+    private BulkIncrementer newBulkIncrementer(RowKeyMerge merge) {
+        if (bulkConfiguration.enableStripedIncrementer()) {
+            return new StripedBulkIncrementer(merge);
+        }
+        return new DefaultBulkIncrementer(merge);
+    }
 
     private BulkUpdater getBulkUpdater(String reporterName) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
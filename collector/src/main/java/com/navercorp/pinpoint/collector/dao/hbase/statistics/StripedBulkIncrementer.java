@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link BulkIncrementer} that accumulates into per-thread stripes instead of a single shared {@code AtomicLongMap}.
+ * <p>
+ * Each stripe owns a plain {@link HashMap} guarded by its own monitor. Lookups go through a reusable probe key,
+ * so a {@link RowInfo} and a counter are allocated only the first time a key is seen in a flush interval.
+ * Stripes are merged in {@link #getIncrements(RowKeyDistributorByHashPrefix)}.
+ */
+class StripedBulkIncrementer implements BulkIncrementer {
+
+    static final int DEFAULT_STRIPE_SIZE = 16;
+
+    private final RowKeyMerge rowKeyMerge;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    StripedBulkIncrementer(RowKeyMerge rowKeyMerge) {
+        this(rowKeyMerge, DEFAULT_STRIPE_SIZE);
+    }
+
+    StripedBulkIncrementer(RowKeyMerge rowKeyMerge, int stripeSize) {
+        this.rowKeyMerge = Objects.requireNonNull(rowKeyMerge, "rowKeyMerge");
+        Assert.isTrue(stripeSize > 0, "stripeSize must be ' > 0'");
+
+        final int size = powerOfTwo(stripeSize);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+    }
+
+    private static int powerOfTwo(int size) {
+        final int highestOneBit = Integer.highestOneBit(size);
+        if (highestOneBit == size) {
+            return size;
+        }
+        return highestOneBit << 1;
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
+        increment(tableName, rowKey, columnName, 1L);
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(rowKey, "rowKey");
+        Objects.requireNonNull(columnName, "columnName");
+
+        final Stripe stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        stripe.add(tableName, rowKey, columnName, addition);
+    }
+
+    @Override
+    public Map<TableName, List<Increment>> getIncrements(RowKeyDistributorByHashPrefix rowKeyDistributor) {
+        final Map<RowInfo, Long> snapshot = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            final Map<CounterKey, Counter> counters = stripe.swap();
+            for (Map.Entry<CounterKey, Counter> entry : counters.entrySet()) {
+                snapshot.merge(entry.getKey(), entry.getValue().value, Long::sum);
+            }
+        }
+        return rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributor);
+    }
+
+    /**
+     * Sum of the entries of all stripes.
+     * A key incremented from several threads is counted once per stripe, so the result may be larger than the merged size.
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static class Stripe {
+
+        private final CounterKey probe = new CounterKey();
+        private Map<CounterKey, Counter> counters = new HashMap<>();
+        private volatile int size;
+
+        synchronized void add(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+            final CounterKey probe = this.probe.set(tableName, rowKey, columnName);
+            final Counter counter = counters.get(probe);
+            probe.clear();
+            if (counter != null) {
+                counter.value += addition;
+                return;
+            }
+            counters.put(new CounterKey(tableName, rowKey, columnName), new Counter(addition));
+            size = counters.size();
+        }
+
+        synchronized Map<CounterKey, Counter> swap() {
+            final Map<CounterKey, Counter> copy = counters;
+            this.counters = new HashMap<>(Math.max(16, copy.size() * 4 / 3 + 1));
+            this.size = 0;
+            return copy;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static class Counter {
+        private long value;
+
+        private Counter(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Mutable only while used as a probe key inside {@link Stripe}; keys stored in a map are never modified.
+     */
+    private static class CounterKey implements RowInfo {
+
+        private TableName tableName;
+        private RowKey rowKey;
+        private ColumnName columnName;
+        private int hash;
+
+        private CounterKey() {
+        }
+
+        private CounterKey(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            set(tableName, rowKey, columnName);
+        }
+
+        private CounterKey set(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            this.tableName = tableName;
+            this.rowKey = rowKey;
+            this.columnName = columnName;
+            int result = tableName.hashCode();
+            result = 31 * result + rowKey.hashCode();
+            result = 31 * result + columnName.hashCode();
+            this.hash = result;
+            return this;
+        }
+
+        private void clear() {
+            this.tableName = null;
+            this.rowKey = null;
+            this.columnName = null;
+            this.hash = 0;
+        }
+
+        @Override
+        public TableName getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public RowKey getRowKey() {
+            return rowKey;
+        }
+
+        @Override
+        public ColumnName getColumnName() {
+            return columnName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CounterKey that = (CounterKey) o;
+
+            if (hash != that.hash) return false;
+            if (!tableName.equals(that.tableName)) return false;
+            if (!rowKey.equals(that.rowKey)) return false;
+            return columnName.equals(that.columnName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "CounterKey{" +
+                    "tableName=" + tableName +
+                    ", rowKey=" + rowKey +
+                    ", columnName=" + columnName +
+                    '}';
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class BulkOperationMetrics implements MetricSet {
     private static final String FLUSH_COUNT = ".flush.count";
     private static final String FLUSH_LAST_TIME_MILLIS = ".flush.lasttimemillis";
     private static final String INCREMENT_REJECT_COUNT= ".increment.reject.count";
+    private static final String WRITE_THROUGH_COUNT = ".writethrough.count";
 
     private final List<BulkOperationReporter> bulkOperationReporters;
 
@@ -77,6 +78,13 @@ public class BulkOperationMetrics implements MetricSet {
                 }
             });
 
+            metrics.put(clazzName + WRITE_THROUGH_COUNT, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return bulkOperationReporter.getWriteThroughCount();
+                }
+            });
+
         }
 
         return Collections.unmodifiableMap(metrics);
@@ -60,6 +60,7 @@ public class CollectorMetric {
 
     private final HBaseAsyncOperationMetrics hBaseAsyncOperationMetrics;
     private final BulkOperationMetrics bulkOperationMetrics;
+    private final HostApplicationMapMetrics hostApplicationMapMetrics;
 
     private List<Reporter> reporterList = new ArrayList<>(2);
 
@@ -68,11 +69,13 @@ public class CollectorMetric {
     public CollectorMetric(CollectorConfiguration collectorConfiguration,
                            MetricRegistry metricRegistry,
                            Optional<HBaseAsyncOperationMetrics> hBaseAsyncOperationMetrics,
-                           Optional<BulkOperationMetrics> cachedStatisticsDaoMetrics) {
+                           Optional<BulkOperationMetrics> cachedStatisticsDaoMetrics,
+                           Optional<HostApplicationMapMetrics> hostApplicationMapMetrics) {
         this.collectorConfiguration = Objects.requireNonNull(collectorConfiguration, "collectorConfiguration");
         this.metricRegistry = Objects.requireNonNull(metricRegistry, "metricRegistry");
         this.hBaseAsyncOperationMetrics = hBaseAsyncOperationMetrics.orElse(null);
         this.bulkOperationMetrics = cachedStatisticsDaoMetrics.orElse(null);
+        this.hostApplicationMapMetrics = hostApplicationMapMetrics.orElse(null);
     }
 
     @PostConstruct
@@ -114,6 +117,13 @@ public class CollectorMetric {
                 metricRegistry.register(metric.getKey(), metric.getValue());
             }
         }
+
+        if (hostApplicationMapMetrics != null) {
+            Map<String, Metric> metrics = hostApplicationMapMetrics.getMetrics();
+            for (Map.Entry<String, Metric> metric : metrics.entrySet()) {
+                metricRegistry.register(metric.getKey(), metric.getValue());
+            }
+        }
     }
 
     private void initReporters() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseHostApplicationMapDao;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class HostApplicationMapMetrics implements MetricSet {
+    private static final String HOST_APPLICATION_MAP = "hbase.hostapplicationmap";
+
+    private static final String MAPPING_COUNT = HOST_APPLICATION_MAP + ".mapping.count";
+    private static final String PUT_COUNT = HOST_APPLICATION_MAP + ".put.count";
+
+    private final HbaseHostApplicationMapDao hostApplicationMapDao;
+
+    public HostApplicationMapMetrics(HbaseHostApplicationMapDao hostApplicationMapDao) {
+        this.hostApplicationMapDao = Objects.requireNonNull(hostApplicationMapDao, "hostApplicationMapDao");
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>(2);
+        gauges.put(MAPPING_COUNT, new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return hostApplicationMapDao.getMappingCount();
+            }
+        });
+        gauges.put(PUT_COUNT, new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return hostApplicationMapDao.getPutCount();
+            }
+        });
+        return gauges;
+    }
+}
@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.collector.receiver;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import com.navercorp.pinpoint.io.request.ServerResponse;
 
+import java.util.List;
+
 /**
  * @author emeroad
  * @author koo.taejin
@@ -28,6 +30,16 @@ public interface DispatchHandler<REQ, RES> {
     // Separating Send and Request. That dose not be satisfied but try to change that later.
     void dispatchSendMessage(ServerRequest<REQ> serverRequest);
 
+    /**
+     * Dispatches a run of send messages received together.
+     * Implementations may override this to amortize per-dispatch work across the batch.
+     */
+    default void dispatchSendMessages(List<ServerRequest<REQ>> serverRequests) {
+        for (ServerRequest<REQ> serverRequest : serverRequests) {
+            dispatchSendMessage(serverRequest);
+        }
+    }
+
     void dispatchRequestMessage(ServerRequest<REQ> serverRequest, ServerResponse<RES> serverResponse);
 
 }
@@ -28,6 +28,7 @@ import io.grpc.Status;
 import io.grpc.StatusException;
 
 import java.net.InetSocketAddress;
+import java.util.Objects;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -39,6 +40,18 @@ public class DefaultServerRequestFactory implements ServerRequestFactory {
 
     @Override
     public <T> ServerRequest<T> newServerRequest(Message<T> message) throws StatusException {
+        final InetSocketAddress inetSocketAddress = getRemoteAddress();
+        ServerRequest<T> request = new DefaultServerRequest<>(message, inetSocketAddress.getHostString(), inetSocketAddress.getPort());
+        return request;
+    }
+
+    @Override
+    public ServerRequestFactory bindCurrentCall() throws StatusException {
+        final InetSocketAddress inetSocketAddress = getRemoteAddress();
+        return new CallServerRequestFactory(inetSocketAddress.getHostString(), inetSocketAddress.getPort());
+    }
+
+    private InetSocketAddress getRemoteAddress() throws StatusException {
         final Context current = Context.current();
         final Header header = ServerContext.getAgentInfo(current);
         if (header == null) {
@@ -49,10 +62,27 @@ public class DefaultServerRequestFactory implements ServerRequestFactory {
         if (transportMetadata == null) {
             throw Status.INTERNAL.withDescription("Not found transportMetadata").asException();
         }
+        return transportMetadata.getRemoteAddress();
+    }
+
+    private static class CallServerRequestFactory implements ServerRequestFactory {
+        private final String remoteAddress;
+        private final int remotePort;
+
+        private CallServerRequestFactory(String remoteAddress, int remotePort) {
+            this.remoteAddress = Objects.requireNonNull(remoteAddress, "remoteAddress");
+            this.remotePort = remotePort;
+        }
 
-        InetSocketAddress inetSocketAddress = transportMetadata.getRemoteAddress();
-        ServerRequest<T> request = new DefaultServerRequest<>(message, inetSocketAddress.getHostString(), inetSocketAddress.getPort());
-        return request;
+        @Override
+        public <T> ServerRequest<T> newServerRequest(Message<T> message) {
+            return new DefaultServerRequest<>(message, remoteAddress, remotePort);
+        }
+
+        @Override
+        public ServerRequestFactory bindCurrentCall() {
+            return this;
+        }
     }
 
 }
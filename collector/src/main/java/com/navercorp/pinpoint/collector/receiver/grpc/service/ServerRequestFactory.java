@@ -28,4 +28,12 @@ public interface ServerRequestFactory {
 
     <T> ServerRequest<T> newServerRequest(Message<T> message) throws StatusException;
 
+    /**
+     * Returns a factory bound to the call of the current {@link io.grpc.Context}.
+     * Stream observers resolve it once and reuse it for every message of the stream.
+     */
+    default ServerRequestFactory bindCurrentCall() throws StatusException {
+        return this;
+    }
+
 }
\ No newline at end of file
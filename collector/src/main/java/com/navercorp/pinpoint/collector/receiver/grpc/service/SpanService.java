@@ -42,13 +42,20 @@ import io.grpc.stub.StreamObserver;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author jaehong.kim
  */
 public class SpanService extends SpanGrpc.SpanImplBase {
+    private static final Header SPAN_HEADER = new HeaderV2(Header.SIGNATURE, HeaderV2.VERSION, DefaultTBaseLocator.SPAN);
+    private static final Header SPANCHUNK_HEADER = new HeaderV2(Header.SIGNATURE, HeaderV2.VERSION, DefaultTBaseLocator.SPANCHUNK);
+
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
     private final DispatchHandler<GeneratedMessageV3, GeneratedMessageV3> dispatchHandler;
@@ -62,6 +69,12 @@ public class SpanService extends SpanGrpc.SpanImplBase {
     @Override
     public StreamObserver<PSpanMessage> sendSpan(final StreamObserver<Empty> responseObserver) {
         StreamObserver<PSpanMessage> observer = new StreamObserver<PSpanMessage>() {
+            private volatile ServerRequestFactory callRequestFactory;
+            // messages of a stream run concurrently on the stream executor.
+            // the thread holding the drain flag dispatches everything queued so far as one batch
+            private final Queue<ServerRequest<GeneratedMessageV3>> pendingRequests = new ConcurrentLinkedQueue<>();
+            private final AtomicBoolean draining = new AtomicBoolean();
+
             @Override
             public void onNext(PSpanMessage spanMessage) {
                 if (isDebug) {
@@ -69,11 +82,11 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                 }
 
                 if (spanMessage.hasSpan()) {
-                    final Message<PSpan> message = newMessage(spanMessage.getSpan(), DefaultTBaseLocator.SPAN);
-                    send(message, responseObserver);
+                    final Message<PSpan> message = newMessage(spanMessage.getSpan(), SPAN_HEADER);
+                    send(message);
                 } else if (spanMessage.hasSpanChunk()) {
-                    final Message<PSpanChunk> message = newMessage(spanMessage.getSpanChunk(), DefaultTBaseLocator.SPANCHUNK);
-                    send(message, responseObserver);
+                    final Message<PSpanChunk> message = newMessage(spanMessage.getSpanChunk(), SPANCHUNK_HEADER);
+                    send(message);
                 } else {
                     if (isDebug) {
                         logger.debug("Found empty span message {}", MessageFormatUtils.debugLog(spanMessage));
@@ -81,6 +94,34 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                 }
             }
 
+            private void send(final Message<? extends GeneratedMessageV3> message) {
+                final ServerRequest<GeneratedMessageV3> request;
+                try {
+                    ServerRequestFactory requestFactory = this.callRequestFactory;
+                    if (requestFactory == null) {
+                        requestFactory = serverRequestFactory.bindCurrentCall();
+                        this.callRequestFactory = requestFactory;
+                    }
+                    request = (ServerRequest<GeneratedMessageV3>) requestFactory.newServerRequest(message);
+                } catch (Exception e) {
+                    logger.warn("Failed to request. message={}", message, e);
+                    onRequestError(e, responseObserver);
+                    return;
+                }
+                pendingRequests.offer(request);
+                drain();
+            }
+
+            private void drain() {
+                while (!pendingRequests.isEmpty() && draining.compareAndSet(false, true)) {
+                    try {
+                        dispatch(pendingRequests, responseObserver);
+                    } finally {
+                        draining.set(false);
+                    }
+                }
+            }
+
             @Override
             public void onError(Throwable throwable) {
                 com.navercorp.pinpoint.grpc.Header header = ServerContext.getAgentInfo();
@@ -106,25 +147,46 @@ public class SpanService extends SpanGrpc.SpanImplBase {
         return observer;
     }
 
-    private <T> Message<T> newMessage(T requestData, short serviceType) {
-        final Header header = new HeaderV2(Header.SIGNATURE, HeaderV2.VERSION, serviceType);
-        final HeaderEntity headerEntity = new HeaderEntity(new HashMap<>());
-        return new DefaultMessage<>(header, headerEntity, requestData);
+    private <T> Message<T> newMessage(T requestData, Header header) {
+        return new DefaultMessage<>(header, HeaderEntity.EMPTY_HEADER_ENTITY, requestData);
     }
 
-    private void send(final Message<? extends GeneratedMessageV3> message, StreamObserver<Empty> responseObserver) {
+    private void dispatch(Queue<ServerRequest<GeneratedMessageV3>> pendingRequests, StreamObserver<Empty> responseObserver) {
+        final ServerRequest<GeneratedMessageV3> first = pendingRequests.poll();
+        if (first == null) {
+            return;
+        }
+        ServerRequest<GeneratedMessageV3> next = pendingRequests.poll();
+        if (next == null) {
+            try {
+                this.dispatchHandler.dispatchSendMessage(first);
+            } catch (Exception e) {
+                logger.warn("Failed to request. message={}", first.getData(), e);
+                onRequestError(e, responseObserver);
+            }
+            return;
+        }
+
+        final List<ServerRequest<GeneratedMessageV3>> serverRequests = new ArrayList<>();
+        serverRequests.add(first);
+        do {
+            serverRequests.add(next);
+        } while ((next = pendingRequests.poll()) != null);
         try {
-            ServerRequest<GeneratedMessageV3> request = (ServerRequest<GeneratedMessageV3>) serverRequestFactory.newServerRequest(message);
-            this.dispatchHandler.dispatchSendMessage(request);
+            this.dispatchHandler.dispatchSendMessages(serverRequests);
         } catch (Exception e) {
-            logger.warn("Failed to request. message={}", message, e);
-            if (e instanceof StatusException || e instanceof StatusRuntimeException) {
-                responseObserver.onError(e);
-            } else {
-                // Avoid detailed exception
-                responseObserver.onError(Status.INTERNAL.withDescription("Bad Request").asException());
-            }
+            logger.warn("Failed to request. messages={}", serverRequests.size(), e);
+            onRequestError(e, responseObserver);
+        }
+    }
+
+    private void onRequestError(Exception e, StreamObserver<Empty> responseObserver) {
+        if (e instanceof StatusException || e instanceof StatusRuntimeException) {
+            responseObserver.onError(e);
+        } else {
+            // Avoid detailed exception
+            responseObserver.onError(Status.INTERNAL.withDescription("Bad Request").asException());
         }
     }
 
-}
\ No newline at end of file
+}
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.io.request.ServerResponse;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -56,6 +57,18 @@ public class DelegateDispatchHandler<REQ, RES> implements DispatchHandler<REQ, R
         this.delegate.dispatchSendMessage(serverRequest);
     }
 
+    @Override
+    public void dispatchSendMessages(List<ServerRequest<REQ>> serverRequests) {
+        acceptedTimeService.accept();
+
+        if (!checkAvailable()) {
+            logger.debug("Handler is disabled. Skipping send messages size={}.", serverRequests.size());
+            return;
+        }
+
+        this.delegate.dispatchSendMessages(serverRequests);
+    }
+
 
     @Override
     public void dispatchRequestMessage(ServerRequest<REQ> serverRequest, ServerResponse<RES> serverResponse) {
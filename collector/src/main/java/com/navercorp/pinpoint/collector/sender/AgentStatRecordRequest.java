@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sender;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+
+import java.util.Objects;
+
+/**
+ * agent stat sent to the flink cluster as a binary record instead of a TFAgentStatBatch
+ */
+public class AgentStatRecordRequest {
+
+    private final HeaderEntity headerEntity;
+    private final AgentStatBo agentStatBo;
+
+    public AgentStatRecordRequest(HeaderEntity headerEntity, AgentStatBo agentStatBo) {
+        this.headerEntity = Objects.requireNonNull(headerEntity, "headerEntity");
+        this.agentStatBo = Objects.requireNonNull(agentStatBo, "agentStatBo");
+    }
+
+    public HeaderEntity getHeaderEntity() {
+        return headerEntity;
+    }
+
+    public AgentStatBo getAgentStatBo() {
+        return agentStatBo;
+    }
+}
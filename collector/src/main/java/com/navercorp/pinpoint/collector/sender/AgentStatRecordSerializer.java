@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sender;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.record.AgentStatRecordCodec;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.io.header.ByteArrayHeaderWriter;
+import com.navercorp.pinpoint.io.header.Header;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+import com.navercorp.pinpoint.io.header.HeaderWriter;
+import com.navercorp.pinpoint.thrift.io.FlinkTBaseLocator;
+
+import java.util.Objects;
+
+/**
+ * Writes the flink header followed by an {@link AgentStatRecordCodec} body.
+ */
+public class AgentStatRecordSerializer {
+
+    private static final int DEFAULT_BUFFER_SIZE = 512;
+
+    private final Header header;
+    private final AgentStatRecordCodec codec;
+
+    public AgentStatRecordSerializer(FlinkTBaseLocator flinkTBaseLocator) {
+        this(flinkTBaseLocator, new AgentStatRecordCodec());
+    }
+
+    public AgentStatRecordSerializer(FlinkTBaseLocator flinkTBaseLocator, AgentStatRecordCodec codec) {
+        Objects.requireNonNull(flinkTBaseLocator, "flinkTBaseLocator");
+        this.header = flinkTBaseLocator.newHeader(FlinkTBaseLocator.AGENT_STAT_RECORD);
+        this.codec = Objects.requireNonNull(codec, "codec");
+    }
+
+    public byte[] serialize(AgentStatBo agentStatBo, HeaderEntity headerEntity) {
+        final HeaderWriter headerWriter = new ByteArrayHeaderWriter(header, headerEntity);
+        final byte[] headerBytes = headerWriter.writeHeader();
+
+        final Buffer buffer = new AutomaticBuffer(headerBytes.length + DEFAULT_BUFFER_SIZE);
+        buffer.putBytes(headerBytes);
+        codec.encode(buffer, agentStatBo);
+        return buffer.copyBuffer();
+    }
+}
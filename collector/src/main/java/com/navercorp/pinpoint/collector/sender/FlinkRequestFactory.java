@@ -15,6 +15,7 @@
  */
 package com.navercorp.pinpoint.collector.sender;
 
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.io.header.HeaderEntity;
 import com.navercorp.pinpoint.io.request.FlinkRequest;
 import org.apache.thrift.TBase;
@@ -29,4 +30,8 @@ public class FlinkRequestFactory {
     public FlinkRequest createFlinkRequest(TBase<?,?> data, Map<String, String> headerEntity) {
         return new FlinkRequest(new HeaderEntity(headerEntity), data);
     }
+
+    public AgentStatRecordRequest createAgentStatRecordRequest(AgentStatBo agentStatBo, Map<String, String> headerEntity) {
+        return new AgentStatRecordRequest(new HeaderEntity(headerEntity), agentStatBo);
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.navercorp.pinpoint.collector.sender;
 
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.io.request.FlinkRequest;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
@@ -36,8 +37,9 @@ public class FlinkTcpDataSender extends TcpDataSender<TBase<?, ?>> {
 
     private final TBaseSerializer flinkHeaderTBaseSerializer;
     private final FlinkRequestFactory flinkRequestFactory;
+    private final AgentStatRecordSerializer agentStatRecordSerializer;
 
-    public FlinkTcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, TBaseSerializer serializer, FlinkRequestFactory flinkRequestFactory) {
+    public FlinkTcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, TBaseSerializer serializer, FlinkRequestFactory flinkRequestFactory, AgentStatRecordSerializer agentStatRecordSerializer) {
         super(name, host, port, clientFactory);
 
         Assert.hasLength(name, "name");
@@ -46,6 +48,7 @@ public class FlinkTcpDataSender extends TcpDataSender<TBase<?, ?>> {
 
         this.flinkHeaderTBaseSerializer = Objects.requireNonNull(serializer, "serializer");
         this.flinkRequestFactory = Objects.requireNonNull(flinkRequestFactory, "clientFactory");
+        this.agentStatRecordSerializer = Objects.requireNonNull(agentStatRecordSerializer, "agentStatRecordSerializer");
     }
 
     @Override
@@ -54,6 +57,11 @@ public class FlinkTcpDataSender extends TcpDataSender<TBase<?, ?>> {
         return executor.execute(flinkRequest);
     }
 
+    public boolean send(AgentStatBo agentStatBo) {
+        AgentStatRecordRequest request = flinkRequestFactory.createAgentStatRecordRequest(agentStatBo, new HashMap<>(0));
+        return executor.execute(request);
+    }
+
     @Override
     protected void sendPacket(Object request) {
         try {
@@ -64,6 +72,10 @@ public class FlinkTcpDataSender extends TcpDataSender<TBase<?, ?>> {
                     return;
                 }
                 doSend(copy);
+            } else if (request instanceof AgentStatRecordRequest) {
+                AgentStatRecordRequest recordRequest = (AgentStatRecordRequest) request;
+                byte[] copy = agentStatRecordSerializer.serialize(recordRequest.getAgentStatBo(), recordRequest.getHeaderEntity());
+                doSend(copy);
             } else {
                 logger.error("sendPacket fail. invalid dto type:{}", request.getClass());
             }
@@ -30,11 +30,13 @@ import java.util.Objects;
 @Service("sendAgentStatService")
 public class SendAgentStatService implements AgentStatService {
     private final boolean flinkClusterEnable;
+    private final boolean agentStatBinaryEnable;
     private final SendDataToFlinkService flinkService;
     private final TFAgentStatBatchMapper tFAgentStatBatchMapper;
 
     public SendAgentStatService(FlinkConfiguration config, @Qualifier("sendDataToFlinkService") SendDataToFlinkService flinkService, TFAgentStatBatchMapper tFAgentStatBatchMapper) {
         this.flinkClusterEnable = config.isFlinkClusterEnable();
+        this.agentStatBinaryEnable = config.isAgentStatBinaryEnable();
         this.flinkService = Objects.requireNonNull(flinkService, "flinkService");
         this.tFAgentStatBatchMapper = Objects.requireNonNull(tFAgentStatBatchMapper, "tFAgentStatBatchMapper");
     }
@@ -45,6 +47,11 @@ public class SendAgentStatService implements AgentStatService {
             return;
         }
 
+        if (agentStatBinaryEnable) {
+            flinkService.sendAgentStat(agentStatBo);
+            return;
+        }
+
         TFAgentStatBatch tFAgentStatBatch = tFAgentStatBatchMapper.map(agentStatBo);
         flinkService.sendData(tFAgentStatBatch);
     }
@@ -15,7 +15,8 @@
  */
 package com.navercorp.pinpoint.collector.service;
 
-import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
+import com.navercorp.pinpoint.collector.sender.FlinkTcpDataSender;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import org.apache.thrift.TBase;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
@@ -30,11 +31,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SendDataToFlinkService {
     private final Logger logger = LogManager.getLogger(this.getClass());
 
-    private volatile List<TcpDataSender<TBase<?, ?>>> dataSenderList = new ArrayList<>();
+    private volatile List<FlinkTcpDataSender> dataSenderList = new ArrayList<>();
     private final AtomicInteger callCount = new AtomicInteger(1);
 
     protected void sendData(TBase<?, ?> data) {
-        TcpDataSender<TBase<?, ?>> tcpDataSender = roundRobinTcpDataSender();
+        FlinkTcpDataSender tcpDataSender = roundRobinTcpDataSender();
         if (tcpDataSender == null) {
             logger.warn("not send flink server. Because FlinkTcpDataSender is null.");
             return;
@@ -50,8 +51,25 @@ public class SendDataToFlinkService {
         }
     }
 
-    private TcpDataSender<TBase<?, ?>> roundRobinTcpDataSender() {
-        final List<TcpDataSender<TBase<?, ?>>> copyList = this.dataSenderList;
+    protected void sendAgentStat(AgentStatBo agentStatBo) {
+        FlinkTcpDataSender tcpDataSender = roundRobinTcpDataSender();
+        if (tcpDataSender == null) {
+            logger.warn("not send flink server. Because FlinkTcpDataSender is null.");
+            return;
+        }
+
+        try {
+            tcpDataSender.send(agentStatBo);
+            if (logger.isDebugEnabled()) {
+                logger.debug("send to flinkserver : {}", agentStatBo);
+            }
+        } catch (Exception e) {
+            logger.error("Error sending to flink server. Caused:{}", e.getMessage(), e);
+        }
+    }
+
+    private FlinkTcpDataSender roundRobinTcpDataSender() {
+        final List<FlinkTcpDataSender> copyList = this.dataSenderList;
         if (copyList.isEmpty()) {
             return null;
         }
@@ -68,7 +86,7 @@ public class SendDataToFlinkService {
         return null;
     }
 
-    public void replaceFlinkTcpDataSenderList(List<TcpDataSender<TBase<?, ?>>> flinkTcpDataSenderList) {
+    public void replaceFlinkTcpDataSenderList(List<FlinkTcpDataSender> flinkTcpDataSenderList) {
         this.dataSenderList = new ArrayList<>(flinkTcpDataSenderList);
     }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects the links of the span events of a single span or span chunk,
+ * so that calls sharing the same callee, host and histogram slot reach the statistics daos only once.
+ */
+class SpanEventStatisticsBatch {
+
+    private final Map<LinkKey, Link> links = new HashMap<>();
+
+    private Set<AcceptorHost> acceptorHosts;
+
+    void addLink(String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, int elapsed, boolean isError) {
+        final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        final LinkKey key = new LinkKey(calleeApplicationName, calleeServiceType.getCode(), calleeHost, slotNumber);
+        final Link link = links.get(key);
+        if (link == null) {
+            links.put(key, new Link(calleeApplicationName, calleeServiceType, calleeHost, slotNumber, elapsed));
+        } else {
+            link.add(elapsed);
+        }
+    }
+
+    /**
+     * @return {@code true} if the acceptor host was not added before
+     */
+    boolean addAcceptorHost(String host, String bindApplicationName, short bindServiceType) {
+        if (acceptorHosts == null) {
+            acceptorHosts = new HashSet<>();
+        }
+        return acceptorHosts.add(new AcceptorHost(host, bindApplicationName, bindServiceType));
+    }
+
+    Collection<Link> getLinks() {
+        if (links.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return links.values();
+    }
+
+    static class Link {
+        private final String calleeApplicationName;
+        private final ServiceType calleeServiceType;
+        private final String calleeHost;
+        private final short slotNumber;
+
+        private long count;
+        private long elapsedSum;
+        private int maxElapsed;
+
+        private Link(String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short slotNumber, int elapsed) {
+            this.calleeApplicationName = calleeApplicationName;
+            this.calleeServiceType = calleeServiceType;
+            this.calleeHost = calleeHost;
+            this.slotNumber = slotNumber;
+            this.count = 1;
+            this.elapsedSum = elapsed;
+            this.maxElapsed = elapsed;
+        }
+
+        private void add(int elapsed) {
+            this.count++;
+            this.elapsedSum += elapsed;
+            this.maxElapsed = Math.max(maxElapsed, elapsed);
+        }
+
+        String getCalleeApplicationName() {
+            return calleeApplicationName;
+        }
+
+        ServiceType getCalleeServiceType() {
+            return calleeServiceType;
+        }
+
+        String getCalleeHost() {
+            return calleeHost;
+        }
+
+        short getSlotNumber() {
+            return slotNumber;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getElapsedSum() {
+            return elapsedSum;
+        }
+
+        int getMaxElapsed() {
+            return maxElapsed;
+        }
+
+        @Override
+        public String toString() {
+            return "Link{" +
+                    "calleeApplicationName='" + calleeApplicationName + '\'' +
+                    ", calleeServiceType=" + calleeServiceType +
+                    ", calleeHost='" + calleeHost + '\'' +
+                    ", slotNumber=" + slotNumber +
+                    ", count=" + count +
+                    ", elapsedSum=" + elapsedSum +
+                    ", maxElapsed=" + maxElapsed +
+                    '}';
+        }
+    }
+
+    private static class LinkKey {
+        private final String calleeApplicationName;
+        private final short calleeServiceType;
+        private final String calleeHost;
+        private final short slotNumber;
+
+        private LinkKey(String calleeApplicationName, short calleeServiceType, String calleeHost, short slotNumber) {
+            this.calleeApplicationName = calleeApplicationName;
+            this.calleeServiceType = calleeServiceType;
+            this.calleeHost = calleeHost;
+            this.slotNumber = slotNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LinkKey linkKey = (LinkKey) o;
+
+            if (calleeServiceType != linkKey.calleeServiceType) return false;
+            if (slotNumber != linkKey.slotNumber) return false;
+            if (!Objects.equals(calleeApplicationName, linkKey.calleeApplicationName)) return false;
+            return Objects.equals(calleeHost, linkKey.calleeHost);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = calleeApplicationName != null ? calleeApplicationName.hashCode() : 0;
+            result = 31 * result + (int) calleeServiceType;
+            result = 31 * result + (calleeHost != null ? calleeHost.hashCode() : 0);
+            result = 31 * result + (int) slotNumber;
+            return result;
+        }
+    }
+
+    private static class AcceptorHost {
+        private final String host;
+        private final String bindApplicationName;
+        private final short bindServiceType;
+
+        private AcceptorHost(String host, String bindApplicationName, short bindServiceType) {
+            this.host = host;
+            this.bindApplicationName = bindApplicationName;
+            this.bindServiceType = bindServiceType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            AcceptorHost that = (AcceptorHost) o;
+
+            if (bindServiceType != that.bindServiceType) return false;
+            if (!host.equals(that.host)) return false;
+            return bindApplicationName.equals(that.bindApplicationName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = host.hashCode();
+            result = 31 * result + bindApplicationName.hashCode();
+            result = 31 * result + (int) bindServiceType;
+            return result;
+        }
+    }
+}
@@ -59,6 +59,14 @@ public class StatisticsService {
         mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, elapsed, isError);
     }
 
+    /**
+     * Batched form of {@link #updateCaller(String, ServiceType, String, String, ServiceType, String, int, boolean)}
+     * for {@code count} calls falling into the same histogram slot.
+     */
+    public void updateCaller(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short slotNumber, long count, long elapsedSum, int maxElapsed) {
+        mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, slotNumber, count, elapsedSum, maxElapsed);
+    }
+
     /**
      * Calling MySQL from Tomcat generates the following message for the callee(MySQL) :<br/>
      * MySQL_DB_ID (MYSQL) <- emeroad-app (TOMCAT)[localhost:8080] <br/>
@@ -77,6 +85,14 @@ public class StatisticsService {
         mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError);
     }
 
+    /**
+     * Batched form of {@link #updateCallee(String, ServiceType, String, ServiceType, String, int, boolean)}
+     * for {@code count} calls falling into the same histogram slot.
+     */
+    public void updateCallee(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short slotNumber, long count, long elapsedSum, int maxElapsed) {
+        mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, slotNumber, count, elapsedSum, maxElapsed);
+    }
+
     public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError) {
         mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
     }
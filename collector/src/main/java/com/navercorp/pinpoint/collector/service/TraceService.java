@@ -61,7 +61,6 @@ public class TraceService {
         final ServiceType applicationServiceType = getApplicationServiceType(spanChunkBo);
         final List<SpanEventBo> spanEventList = spanChunkBo.getSpanEventBoList();
         if (spanEventList != null) {
-            // TODO need to batch update later.
             insertSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint());
         }
     }
@@ -79,7 +78,7 @@ public class TraceService {
         insertSpanEventStat(spanBo);
     }
 
-    private void insertAcceptorHost(SpanEventBo spanEvent, String applicationId, ServiceType serviceType) {
+    private void insertAcceptorHost(SpanEventBo spanEvent, String applicationId, ServiceType serviceType, SpanEventStatisticsBatch batch) {
         final String endPoint = spanEvent.getEndPoint();
         if (endPoint == null) {
             logger.debug("endPoint is null. spanEvent:{}", spanEvent);
@@ -90,7 +89,10 @@ public class TraceService {
             logger.debug("destinationId is null. spanEvent:{}", spanEvent);
             return;
         }
-        hostApplicationMapDao.insert(endPoint, destinationId, spanEvent.getServiceType(), applicationId, serviceType.getCode());
+        // applicationId and serviceType are the same for every event of the span
+        if (batch.addAcceptorHost(endPoint, destinationId, spanEvent.getServiceType())) {
+            hostApplicationMapDao.insert(endPoint, destinationId, spanEvent.getServiceType(), applicationId, serviceType.getCode());
+        }
     }
 
     private void insertAcceptorHost(SpanBo span) {
@@ -193,17 +195,18 @@ public class TraceService {
         }
 
         final ServiceType applicationServiceType = getApplicationServiceType(span);
-        // TODO need to batch update later.
         insertSpanEventList(spanEventList, applicationServiceType, span.getApplicationId(), span.getAgentId(), span.getEndPoint());
     }
 
     private void insertSpanEventList(List<SpanEventBo> spanEventList, ServiceType applicationServiceType, String applicationId, String agentId, String endPoint) {
 
+        // group the links of the span events before touching the shared statistics incrementers
+        final SpanEventStatisticsBatch batch = new SpanEventStatisticsBatch();
         for (SpanEventBo spanEvent : spanEventList) {
             final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
 
             if (isAlias(spanEventType, spanEvent)) {
-                insertAcceptorHost(spanEvent, applicationId, applicationServiceType);
+                insertAcceptorHost(spanEvent, applicationId, applicationServiceType, batch);
                 continue;
             }
 
@@ -224,14 +227,20 @@ public class TraceService {
                 continue;
             }
 
-            /*
-             * save information to draw a server map based on statistics
-             */
+            batch.addLink(spanEventApplicationName, spanEventType, spanEventEndPoint, elapsed, hasException);
+        }
+
+        /*
+         * save information to draw a server map based on statistics
+         */
+        for (SpanEventStatisticsBatch.Link link : batch.getLinks()) {
             // save the information of caller (the spanevent that called span)
-            statisticsService.updateCaller(applicationId, applicationServiceType, agentId, spanEventApplicationName, spanEventType, spanEventEndPoint, elapsed, hasException);
+            statisticsService.updateCaller(applicationId, applicationServiceType, agentId, link.getCalleeApplicationName(), link.getCalleeServiceType(), link.getCalleeHost(),
+                    link.getSlotNumber(), link.getCount(), link.getElapsedSum(), link.getMaxElapsed());
 
             // save the information of callee (the span that spanevent called)
-            statisticsService.updateCallee(spanEventApplicationName, spanEventType, applicationId, applicationServiceType, endPoint, elapsed, hasException);
+            statisticsService.updateCallee(link.getCalleeApplicationName(), link.getCalleeServiceType(), applicationId, applicationServiceType, endPoint,
+                    link.getSlotNumber(), link.getCount(), link.getElapsedSum(), link.getMaxElapsed());
         }
     }
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BufferedPutWriterTest {
+
+    private static final TableName TABLE = TableName.valueOf("ApplicationTraceIndex");
+    private static final byte[] FAMILY = Bytes.toBytes("I");
+
+    @Test
+    public void mergeSameRow() {
+        SimpleBatchWriter writer = mock(SimpleBatchWriter.class);
+        when(writer.write(any(TableName.class), anyList())).thenReturn(true);
+        BulkOperationReporter reporter = new BulkOperationReporter();
+        BufferedPutWriter bufferedWriter = new BufferedPutWriter("test", writer, 100, 1000, reporter);
+
+        bufferedWriter.write(TABLE, newPut("row1", "q1"));
+        bufferedWriter.write(TABLE, newPut("row1", "q2"));
+        bufferedWriter.write(TABLE, newPut("row2", "q1"));
+        verify(writer, never()).write(any(TableName.class), anyList());
+        Assertions.assertEquals(3, bufferedWriter.getPendingSize());
+
+        bufferedWriter.flush();
+
+        List<Put> puts = captureWrite(writer, 1);
+        Assertions.assertEquals(2, puts.size());
+        Assertions.assertEquals(2, puts.get(0).size());
+        Assertions.assertEquals(1, puts.get(1).size());
+        Assertions.assertEquals(0, bufferedWriter.getPendingSize());
+        Assertions.assertEquals(1, reporter.getFlushAllCount());
+    }
+
+    @Test
+    public void flushSize() {
+        SimpleBatchWriter writer = mock(SimpleBatchWriter.class);
+        when(writer.write(any(TableName.class), anyList())).thenReturn(true);
+        BufferedPutWriter bufferedWriter = new BufferedPutWriter("test", writer, 3, 1000, new BulkOperationReporter());
+
+        bufferedWriter.write(TABLE, newPut("row1", "q1"));
+        bufferedWriter.write(TABLE, newPut("row2", "q1"));
+        verify(writer, never()).write(any(TableName.class), anyList());
+
+        bufferedWriter.write(TABLE, newPut("row3", "q1"));
+        List<Put> puts = captureWrite(writer, 1);
+        Assertions.assertEquals(3, puts.size());
+    }
+
+    @Test
+    public void limitSize_writeThrough() throws Exception {
+        final CountDownLatch flushEntered = new CountDownLatch(1);
+        final CountDownLatch flushRelease = new CountDownLatch(1);
+        SimpleBatchWriter writer = mock(SimpleBatchWriter.class);
+        when(writer.write(any(TableName.class), any(Put.class))).thenReturn(true);
+        when(writer.write(any(TableName.class), anyList())).thenAnswer(invocation -> {
+            flushEntered.countDown();
+            flushRelease.await(10, TimeUnit.SECONDS);
+            return true;
+        });
+        BulkOperationReporter reporter = new BulkOperationReporter();
+        BufferedPutWriter bufferedWriter = new BufferedPutWriter("test", writer, 2, 3, reporter);
+
+        // a slow flush holds the flush lock
+        bufferedWriter.write(TABLE, newPut("row0", "q1"));
+        Thread flusher = new Thread(bufferedWriter::flush);
+        flusher.start();
+        Assertions.assertTrue(flushEntered.await(10, TimeUnit.SECONDS));
+
+        bufferedWriter.write(TABLE, newPut("row1", "q1"));
+        bufferedWriter.write(TABLE, newPut("row2", "q1"));
+        bufferedWriter.write(TABLE, newPut("row3", "q1"));
+        Assertions.assertEquals(3, bufferedWriter.getPendingSize());
+        Assertions.assertEquals(0, reporter.getRejectedCount());
+
+        Put overflow = newPut("row4", "q1");
+        Assertions.assertTrue(bufferedWriter.write(TABLE, overflow));
+        verify(writer).write(TABLE, overflow);
+        Assertions.assertEquals(3, bufferedWriter.getPendingSize());
+        Assertions.assertEquals(1, reporter.getWriteThroughCount());
+        Assertions.assertEquals(0, reporter.getRejectedCount());
+
+        flushRelease.countDown();
+        flusher.join(10000);
+    }
+
+    @Test
+    public void rejected() {
+        SimpleBatchWriter writer = mock(SimpleBatchWriter.class);
+        when(writer.write(any(TableName.class), anyList())).thenReturn(false);
+        BulkOperationReporter reporter = new BulkOperationReporter();
+        BufferedPutWriter bufferedWriter = new BufferedPutWriter("test", writer, 100, 1000, reporter);
+
+        bufferedWriter.write(TABLE, newPut("row1", "q1"));
+        bufferedWriter.write(TABLE, newPut("row2", "q1"));
+        bufferedWriter.flush();
+
+        Assertions.assertEquals(2, reporter.getRejectedCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Put> captureWrite(SimpleBatchWriter writer, int times) {
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(times)).write(eq(TABLE), captor.capture());
+        return captor.getValue();
+    }
+
+    private Put newPut(String row, String qualifier) {
+        Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(FAMILY, Bytes.toBytes(qualifier), Bytes.toBytes("value"));
+        return put;
+    }
+}
@@ -18,15 +18,35 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
 import com.navercorp.pinpoint.common.hbase.HbaseTableConstants;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
 import com.navercorp.pinpoint.common.server.util.TimeSlot;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class HbaseHostApplicationMapDaoTest {
 
@@ -49,4 +69,95 @@ public class HbaseHostApplicationMapDaoTest {
         Assertions.assertEquals(code, ServiceType.STAND_ALONE.getCode(), "serviceType check");
         Assertions.assertEquals(statisticsRowSlot, time, "time check");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void writeBehind() {
+        HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class);
+        HbaseHostApplicationMapDao dao = newDao(hbaseTemplate, true, 100);
+
+        for (int i = 0; i < 10; i++) {
+            dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+            dao.insert("host2", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+            dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "otherParentApp", ServiceType.STAND_ALONE.getCode());
+        }
+        verify(hbaseTemplate, never()).put(any(TableName.class), any(byte[].class), any(byte[].class), any(byte[].class), isNull());
+        verify(hbaseTemplate, never()).put(any(TableName.class), anyList());
+
+        dao.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Put>> captor = ArgumentCaptor.forClass(List.class);
+        verify(hbaseTemplate, times(1)).put(any(TableName.class), captor.capture());
+        List<Put> puts = captor.getValue();
+        // one put per parent row, columns merged
+        Assertions.assertEquals(2, puts.size());
+        Assertions.assertEquals(3, puts.stream().mapToInt(Put::size).sum());
+
+        dao.flush();
+        verify(hbaseTemplate, times(1)).put(any(TableName.class), anyList());
+
+        // 3 synchronous puts without write-behind
+        Assertions.assertEquals(3, dao.getMappingCount());
+        Assertions.assertEquals(1, dao.getPutCount());
+    }
+
+    @Test
+    public void writeBehind_limit() {
+        HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class);
+        HbaseHostApplicationMapDao dao = newDao(hbaseTemplate, true, 1);
+
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        dao.insert("host2", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+
+        verify(hbaseTemplate, times(1)).put(any(TableName.class), any(byte[].class), any(byte[].class), any(byte[].class), isNull());
+    }
+
+    @Test
+    public void writeBehind_disable() {
+        HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class);
+        HbaseHostApplicationMapDao dao = newDao(hbaseTemplate, false, 100);
+
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+
+        verify(hbaseTemplate, times(1)).put(any(TableName.class), any(byte[].class), any(byte[].class), any(byte[].class), isNull());
+        dao.flush();
+        verify(hbaseTemplate, never()).put(any(TableName.class), anyList());
+        Assertions.assertEquals(1, dao.getMappingCount());
+        Assertions.assertEquals(1, dao.getPutCount());
+    }
+
+    @Test
+    public void newSlot() {
+        HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class);
+        AcceptedTimeService acceptedTimeService = mock(AcceptedTimeService.class);
+        final long time = System.currentTimeMillis();
+        when(acceptedTimeService.getAcceptedTime()).thenReturn(time);
+        HbaseHostApplicationMapDao dao = newDao(hbaseTemplate, acceptedTimeService, false, 100);
+
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        // the recently written mapping does not hide the next time slot
+        when(acceptedTimeService.getAcceptedTime()).thenReturn(time + TimeUnit.MINUTES.toMillis(5));
+        dao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+
+        verify(hbaseTemplate, times(2)).put(any(TableName.class), any(byte[].class), any(byte[].class), any(byte[].class), isNull());
+        Assertions.assertEquals(2, dao.getMappingCount());
+    }
+
+    private HbaseHostApplicationMapDao newDao(HbaseOperations2 hbaseTemplate, boolean writeBehind, int limit) {
+        AcceptedTimeService acceptedTimeService = mock(AcceptedTimeService.class);
+        when(acceptedTimeService.getAcceptedTime()).thenReturn(System.currentTimeMillis());
+        return newDao(hbaseTemplate, acceptedTimeService, writeBehind, limit);
+    }
+
+    private HbaseHostApplicationMapDao newDao(HbaseOperations2 hbaseTemplate, AcceptedTimeService acceptedTimeService, boolean writeBehind, int limit) {
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(any(HbaseTable.class))).thenReturn(TableName.valueOf("HostApplicationMap_Ver2"));
+
+        AbstractRowKeyDistributor rowKeyDistributor = mock(AbstractRowKeyDistributor.class);
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        return new HbaseHostApplicationMapDao(hbaseTemplate, tableNameProvider, rowKeyDistributor, acceptedTimeService, timeSlot, writeBehind, limit);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapResponseTimeDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCalleeDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCallerDao;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.common.trace.ServiceTypeProperty;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Drives the caller/callee/response time map DAOs with a realistic key cardinality
+ * and compares the {@link DefaultBulkIncrementer} with the {@link StripedBulkIncrementer}.
+ */
+@Disabled
+public class BulkIncrementerBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 200_000;
+    private static final int FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final int APPLICATIONS = 200;
+    private static final int AGENTS_PER_APPLICATION = 10;
+    private static final int HOSTS = 500;
+
+    private static final ServiceType WAS = ServiceTypeFactory.of(1010, "TOMCAT", ServiceTypeProperty.RECORD_STATISTICS);
+    private static final ServiceType DB = ServiceTypeFactory.of(2101, "MYSQL_EXECUTE_QUERY", ServiceTypeProperty.TERMINAL, ServiceTypeProperty.RECORD_STATISTICS);
+
+    @Test
+    public void defaultBulkIncrementer() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            run("default", DefaultBulkIncrementer::new);
+        }
+    }
+
+    @Test
+    public void stripedBulkIncrementer() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            run("striped", StripedBulkIncrementer::new);
+        }
+    }
+
+    private void run(String name, Function<RowKeyMerge, BulkIncrementer> incrementerFactory) throws Exception {
+        final MapLinkConfiguration mapLinkConfiguration = new MapLinkConfiguration(true, true);
+        final AcceptedTimeService acceptedTimeService = new AcceptedTimeService() {
+            @Override
+            public void accept() {
+            }
+
+            @Override
+            public void accept(long time) {
+            }
+
+            @Override
+            public long getAcceptedTime() {
+                return System.currentTimeMillis();
+            }
+        };
+        final TimeSlot timeSlot = new DefaultTimeSlot();
+
+        final List<BulkWriter> writers = new ArrayList<>();
+        final BulkWriter callerWriter = newBulkWriter(HbaseColumnFamily.MAP_STATISTICS_CALLEE_VER2_COUNTER, incrementerFactory);
+        final BulkWriter calleeWriter = newBulkWriter(HbaseColumnFamily.MAP_STATISTICS_CALLER_VER2_COUNTER, incrementerFactory);
+        final BulkWriter selfWriter = newBulkWriter(HbaseColumnFamily.MAP_STATISTICS_SELF_VER2_COUNTER, incrementerFactory);
+        writers.add(callerWriter);
+        writers.add(calleeWriter);
+        writers.add(selfWriter);
+
+        final HbaseMapStatisticsCallerDao callerDao = new HbaseMapStatisticsCallerDao(mapLinkConfiguration, acceptedTimeService, timeSlot, callerWriter);
+        final HbaseMapStatisticsCalleeDao calleeDao = new HbaseMapStatisticsCalleeDao(mapLinkConfiguration, (serviceType, host) -> false, acceptedTimeService, timeSlot, calleeWriter);
+        final HbaseMapResponseTimeDao responseTimeDao = new HbaseMapResponseTimeDao(mapLinkConfiguration, acceptedTimeService, timeSlot, selfWriter);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        final CountDownLatch latch = new CountDownLatch(THREADS);
+        final long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            final Random random = new Random(i);
+            executor.execute(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    final int caller = random.nextInt(APPLICATIONS);
+                    final int callee = random.nextInt(APPLICATIONS);
+                    final String callerApplicationName = "application-" + caller;
+                    final String callerAgentId = callerApplicationName + "-agent-" + random.nextInt(AGENTS_PER_APPLICATION);
+                    final String calleeApplicationName = "application-" + callee;
+                    final String host = "host-" + random.nextInt(HOSTS);
+                    final int elapsed = random.nextInt(3000);
+                    final boolean isError = random.nextInt(100) == 0;
+
+                    callerDao.update(callerApplicationName, WAS, callerAgentId, calleeApplicationName, DB, host, elapsed, isError);
+                    calleeDao.update(calleeApplicationName, WAS, callerApplicationName, WAS, host, elapsed, isError);
+                    responseTimeDao.received(callerApplicationName, WAS, callerAgentId, elapsed, isError);
+                }
+                latch.countDown();
+            });
+        }
+        executor.execute(() -> {
+            try {
+                while (!latch.await(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    writers.forEach(BulkWriter::flushLink);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        latch.await();
+        writers.forEach(BulkWriter::flushLink);
+        final long elapsed = System.nanoTime() - start;
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        final long events = (long) THREADS * EVENTS_PER_THREAD;
+        logger.info("{} events:{} elapsed:{}ms throughput:{}/s", name, events,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), events * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+
+    private BulkWriter newBulkWriter(HbaseColumnFamily columnFamily, Function<RowKeyMerge, BulkIncrementer> incrementerFactory) {
+        // stubOnly: do not record invocations in the measured path
+        final HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class, withSettings().stubOnly());
+        final RowKeyDistributorByHashPrefix rowKeyDistributor = mock(RowKeyDistributorByHashPrefix.class, withSettings().stubOnly());
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).then(invocation -> invocation.getArgument(0));
+        final TableName tableName = TableName.valueOf(columnFamily.getTable().getName());
+        final TableNameProvider tableNameProvider = new TableNameProvider() {
+            @Override
+            public TableName getTableName(HbaseTable hBaseTable) {
+                return tableName;
+            }
+
+            @Override
+            public TableName getTableName(String name) {
+                return tableName;
+            }
+
+            @Override
+            public boolean hasDefaultNameSpace() {
+                return true;
+            }
+        };
+
+        final BulkIncrementer bulkIncrementer = incrementerFactory.apply(new RowKeyMerge(columnFamily));
+        return new DefaultBulkWriter("benchmark", hbaseTemplate, rowKeyDistributor,
+                bulkIncrementer, new DefaultBulkUpdater(), columnFamily, tableNameProvider);
+    }
+}
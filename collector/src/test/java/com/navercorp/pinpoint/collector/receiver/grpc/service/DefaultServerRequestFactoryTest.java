@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.grpc.Header;
+import com.navercorp.pinpoint.grpc.server.DefaultTransportMetadata;
+import com.navercorp.pinpoint.grpc.server.ServerContext;
+import com.navercorp.pinpoint.grpc.server.TransportMetadata;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+import com.navercorp.pinpoint.io.header.v2.HeaderV2;
+import com.navercorp.pinpoint.io.request.DefaultMessage;
+import com.navercorp.pinpoint.io.request.Message;
+import com.navercorp.pinpoint.io.request.ServerRequest;
+import com.navercorp.pinpoint.thrift.io.DefaultTBaseLocator;
+import io.grpc.Context;
+import io.grpc.StatusException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+public class DefaultServerRequestFactoryTest {
+
+    private final ServerRequestFactory factory = new DefaultServerRequestFactory();
+
+    @Test
+    public void bindCurrentCall() throws Exception {
+        Context context = newContext("10.0.0.1", 9999);
+        Context previous = context.attach();
+        ServerRequestFactory callFactory;
+        try {
+            callFactory = factory.bindCurrentCall();
+        } finally {
+            context.detach(previous);
+        }
+
+        // bound factory no longer reads the grpc Context
+        ServerRequest<String> request = callFactory.newServerRequest(newMessage("data"));
+        Assertions.assertEquals("10.0.0.1", request.getRemoteAddress());
+        Assertions.assertEquals(9999, request.getRemotePort());
+        Assertions.assertEquals("data", request.getData());
+        Assertions.assertSame(callFactory, callFactory.bindCurrentCall());
+    }
+
+    @Test
+    public void bindCurrentCall_notFoundHeader() {
+        Assertions.assertThrows(StatusException.class, factory::bindCurrentCall);
+    }
+
+    @Test
+    public void newServerRequest() throws Exception {
+        Context context = newContext("10.0.0.2", 1234);
+        Context previous = context.attach();
+        try {
+            ServerRequest<String> request = factory.newServerRequest(newMessage("data"));
+            Assertions.assertEquals("10.0.0.2", request.getRemoteAddress());
+            Assertions.assertEquals(1234, request.getRemotePort());
+        } finally {
+            context.detach(previous);
+        }
+    }
+
+    private Message<String> newMessage(String data) {
+        HeaderV2 header = new HeaderV2(com.navercorp.pinpoint.io.header.Header.SIGNATURE, HeaderV2.VERSION, DefaultTBaseLocator.SPAN);
+        return new DefaultMessage<>(header, HeaderEntity.EMPTY_HEADER_ENTITY, data);
+    }
+
+    private Context newContext(String host, int port) {
+        Header header = new Header("name", "agentId", "agentName", "applicationName", ServiceType.UNKNOWN.getCode(),
+                System.currentTimeMillis(), Header.SOCKET_ID_NOT_EXIST, Collections.emptyList());
+        InetSocketAddress remoteAddress = InetSocketAddress.createUnresolved(host, port);
+        TransportMetadata transportMetadata = new DefaultTransportMetadata("test", remoteAddress, remoteAddress, 1, System.currentTimeMillis(), 1L);
+        return Context.ROOT.withValue(ServerContext.getAgentInfoKey(), header)
+                .withValue(ServerContext.getTransportMetadataKey(), transportMetadata);
+    }
+}
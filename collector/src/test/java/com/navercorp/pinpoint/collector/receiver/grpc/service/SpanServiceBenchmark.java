@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import com.google.protobuf.Empty;
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.grpc.Header;
+import com.navercorp.pinpoint.grpc.server.DefaultTransportMetadata;
+import com.navercorp.pinpoint.grpc.server.ServerContext;
+import com.navercorp.pinpoint.grpc.server.TransportMetadata;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
+import com.navercorp.pinpoint.io.request.ServerRequest;
+import com.navercorp.pinpoint.io.request.ServerResponse;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Messages/sec of {@link SpanService} on a single collector core, fed by an in-process agent simulator.
+ */
+@Disabled
+public class SpanServiceBenchmark {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int WARMUP = 200_000;
+    private static final int MESSAGES = 2_000_000;
+
+    @Test
+    public void sendSpan() throws Exception {
+        final String serverName = InProcessServerBuilder.generateName();
+        final CountingDispatchHandler dispatchHandler = new CountingDispatchHandler();
+        final SpanService spanService = new SpanService(dispatchHandler, new DefaultServerRequestFactory());
+
+        // directExecutor: the whole stream is handled on one thread
+        final Server server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(spanService, new AgentContextInterceptor()))
+                .build()
+                .start();
+        final ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        try {
+            final PSpanMessage message = newSpanMessage();
+
+            run(channel, message, WARMUP);
+            dispatchHandler.count.set(0);
+
+            long elapsed = run(channel, message, MESSAGES);
+            long perSecond = TimeUnit.SECONDS.toNanos(1) * dispatchHandler.count.get() / elapsed;
+            logger.info("dispatched:{} elapsed:{}ms messages/sec:{}", dispatchHandler.count.get(), TimeUnit.NANOSECONDS.toMillis(elapsed), perSecond);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private long run(ManagedChannel channel, PSpanMessage message, int count) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final SpanGrpc.SpanStub stub = SpanGrpc.newStub(channel);
+        final StreamObserver<PSpanMessage> requestObserver = stub.sendSpan(new StreamObserver<Empty>() {
+            @Override
+            public void onNext(Empty value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                latch.countDown();
+            }
+        });
+
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            requestObserver.onNext(message);
+        }
+        requestObserver.onCompleted();
+        latch.await(1, TimeUnit.MINUTES);
+        return System.nanoTime() - startTime;
+    }
+
+    private PSpanMessage newSpanMessage() {
+        PSpan span = PSpan.newBuilder()
+                .setSpanId(1)
+                .setStartTime(System.currentTimeMillis())
+                .setElapsed(10)
+                .setApiId(1)
+                .setServiceType(ServiceType.STAND_ALONE.getCode())
+                .build();
+        return PSpanMessage.newBuilder().setSpan(span).build();
+    }
+
+    private static class AgentContextInterceptor implements ServerInterceptor {
+        private final Header header = new Header("benchmark", "agentId", "agentName", "applicationName",
+                ServiceType.STAND_ALONE.getCode(), System.currentTimeMillis(), Header.SOCKET_ID_NOT_EXIST, Collections.emptyList());
+        private final InetSocketAddress remoteAddress = InetSocketAddress.createUnresolved("127.0.0.1", 9999);
+        private final TransportMetadata transportMetadata = new DefaultTransportMetadata("benchmark", remoteAddress, remoteAddress, 1, System.currentTimeMillis(), 1L);
+
+        @Override
+        public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+            Context context = Context.current()
+                    .withValue(ServerContext.getAgentInfoKey(), header)
+                    .withValue(ServerContext.getTransportMetadataKey(), transportMetadata);
+            return Contexts.interceptCall(context, call, headers, next);
+        }
+    }
+
+    private static class CountingDispatchHandler implements DispatchHandler<GeneratedMessageV3, GeneratedMessageV3> {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void dispatchSendMessage(ServerRequest<GeneratedMessageV3> serverRequest) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void dispatchRequestMessage(ServerRequest<GeneratedMessageV3> serverRequest, ServerResponse<GeneratedMessageV3> serverResponse) {
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
+import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.dao.hbase.BulkOperationReporter;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseHostApplicationMapDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapResponseTimeDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCalleeDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCallerDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkConfiguration;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkFactory;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerFactory;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkOperationReporterFactory;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkWriter;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.MapLinkConfiguration;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.common.trace.ServiceTypeProperty;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Replays a fixed set of spans through {@link TraceService#insertSpan(SpanBo)}
+ * backed by the hbase map statistics daos. Hbase access itself is stubbed out.
+ */
+@Disabled
+public class TraceServiceBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final long SEED = 20221017L;
+    private static final int SPANS = 20_000;
+    private static final int MAX_SPAN_EVENTS = 100;
+    private static final int APPLICATIONS = 50;
+    private static final int ITERATIONS = 10;
+
+    private static final ServiceType TOMCAT = ServiceTypeFactory.of(1010, "TOMCAT", ServiceTypeProperty.RECORD_STATISTICS);
+    private static final ServiceType SPRING_BEAN = ServiceTypeFactory.of(5071, "SPRING_BEAN");
+    private static final ServiceType MYSQL = ServiceTypeFactory.of(2101, "MYSQL_EXECUTE_QUERY", ServiceTypeProperty.TERMINAL, ServiceTypeProperty.RECORD_STATISTICS, ServiceTypeProperty.INCLUDE_DESTINATION_ID);
+    private static final ServiceType REDIS = ServiceTypeFactory.of(8203, "REDIS_LETTUCE", ServiceTypeProperty.TERMINAL, ServiceTypeProperty.RECORD_STATISTICS);
+    private static final ServiceType HTTP_CLIENT = ServiceTypeFactory.of(9055, "HTTP_CLIENT_4", ServiceTypeProperty.RECORD_STATISTICS);
+
+    private static final ServiceType[] SPAN_EVENT_TYPES = {SPRING_BEAN, SPRING_BEAN, MYSQL, MYSQL, REDIS, HTTP_CLIENT};
+
+    @Test
+    public void insertSpan() {
+        final List<SpanBo> spans = newSpanFixture();
+        final TraceService traceService = newTraceService();
+
+        long spanEvents = 0;
+        for (SpanBo span : spans) {
+            spanEvents += span.getSpanEventBoList().size();
+        }
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            for (SpanBo span : spans) {
+                traceService.insertSpan(span);
+            }
+            final long elapsed = System.nanoTime() - start;
+            logger.info("spans:{} spanEvents:{} elapsed:{}ms throughput:{} spanEvents/s", spans.size(), spanEvents,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), spanEvents * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        }
+    }
+
+    private List<SpanBo> newSpanFixture() {
+        final Random random = new Random(SEED);
+        final List<SpanBo> spans = new ArrayList<>(SPANS);
+        for (int i = 0; i < SPANS; i++) {
+            final int application = random.nextInt(APPLICATIONS);
+            final SpanBo span = new SpanBo();
+            span.setApplicationId("application-" + application);
+            span.setAgentId("application-" + application + "-agent-" + random.nextInt(4));
+            span.setServiceType(TOMCAT.getCode());
+            span.setApplicationServiceType(TOMCAT.getCode());
+            span.setEndPoint("10.0.0." + application + ":8080");
+            span.setParentSpanId(-1);
+            span.setElapsed(random.nextInt(5000));
+
+            final int spanEvents = random.nextInt(MAX_SPAN_EVENTS) + 1;
+            for (int j = 0; j < spanEvents; j++) {
+                final ServiceType spanEventType = SPAN_EVENT_TYPES[random.nextInt(SPAN_EVENT_TYPES.length)];
+                final SpanEventBo spanEvent = new SpanEventBo();
+                spanEvent.setSequence((short) j);
+                spanEvent.setServiceType(spanEventType.getCode());
+                spanEvent.setEndElapsed(random.nextInt(1000));
+                if (spanEventType == MYSQL) {
+                    spanEvent.setDestinationId("mysql-" + random.nextInt(3));
+                    spanEvent.setEndPoint("10.1.0." + random.nextInt(3) + ":3306");
+                } else if (spanEventType == REDIS) {
+                    spanEvent.setDestinationId("REDIS");
+                    spanEvent.setEndPoint("10.2.0." + random.nextInt(2) + ":6379");
+                } else if (spanEventType == HTTP_CLIENT) {
+                    final String host = "api-" + random.nextInt(5) + ".example.com";
+                    spanEvent.setDestinationId(host);
+                    spanEvent.setEndPoint(host);
+                }
+                if (random.nextInt(100) == 0) {
+                    spanEvent.setExceptionInfo(1, "error");
+                }
+                span.addSpanEvent(spanEvent);
+            }
+            spans.add(span);
+        }
+        return spans;
+    }
+
+    private TraceService newTraceService() {
+        final MapLinkConfiguration mapLinkConfiguration = new MapLinkConfiguration(true, true);
+        final AcceptedTimeService acceptedTimeService = new AcceptedTimeService() {
+            @Override
+            public void accept() {
+            }
+
+            @Override
+            public void accept(long time) {
+            }
+
+            @Override
+            public long getAcceptedTime() {
+                return System.currentTimeMillis();
+            }
+        };
+        final TimeSlot timeSlot = new DefaultTimeSlot();
+        final TableNameProvider tableNameProvider = new TableNameProvider() {
+            @Override
+            public TableName getTableName(HbaseTable hBaseTable) {
+                return TableName.valueOf(hBaseTable.getName());
+            }
+
+            @Override
+            public TableName getTableName(String tableName) {
+                return TableName.valueOf(tableName);
+            }
+
+            @Override
+            public boolean hasDefaultNameSpace() {
+                return true;
+            }
+        };
+        // stubOnly: do not record invocations in the measured path
+        final HbaseOperations2 hbaseTemplate = mock(HbaseOperations2.class, withSettings().stubOnly());
+        final RowKeyDistributorByHashPrefix rowKeyDistributor = mock(RowKeyDistributorByHashPrefix.class, withSettings().stubOnly());
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).then(invocation -> invocation.getArgument(0));
+        final BulkOperationReporterFactory reporterFactory = mock(BulkOperationReporterFactory.class, withSettings().stubOnly());
+        when(reporterFactory.getBulkOperationReporter(anyString())).thenReturn(new BulkOperationReporter());
+
+        final BulkConfiguration bulkConfiguration = new BulkConfiguration(-1, -1, -1, true, false);
+        final BulkFactory bulkFactory = new BulkFactory(bulkConfiguration, new BulkIncrementerFactory(), reporterFactory);
+        final BulkWriter callerWriter = bulkFactory.newCallerBulkWriter(hbaseTemplate, tableNameProvider, rowKeyDistributor,
+                bulkFactory.getCallerBulkIncrementer(), bulkFactory.getCallerBulkUpdater());
+        final BulkWriter calleeWriter = bulkFactory.newCalleeBulkWriter(hbaseTemplate, tableNameProvider, rowKeyDistributor,
+                bulkFactory.getCalleeBulkIncrementer(), bulkFactory.getCalleeBulkUpdater());
+        final BulkWriter selfWriter = bulkFactory.newSelfBulkWriter(hbaseTemplate, tableNameProvider, rowKeyDistributor,
+                bulkFactory.getSelfBulkIncrementer(), bulkFactory.getSelfBulkUpdater());
+
+        final StatisticsService statisticsService = new StatisticsService(
+                new HbaseMapStatisticsCalleeDao(mapLinkConfiguration, (serviceType, host) -> false, acceptedTimeService, timeSlot, calleeWriter),
+                new HbaseMapStatisticsCallerDao(mapLinkConfiguration, acceptedTimeService, timeSlot, callerWriter),
+                new HbaseMapResponseTimeDao(mapLinkConfiguration, acceptedTimeService, timeSlot, selfWriter));
+
+        final AbstractRowKeyDistributor acceptApplicationRowKeyDistributor = mock(AbstractRowKeyDistributor.class, withSettings().stubOnly());
+        when(acceptApplicationRowKeyDistributor.getDistributedKey(any(byte[].class))).then(invocation -> invocation.getArgument(0));
+        final HostApplicationMapDao hostApplicationMapDao = new HbaseHostApplicationMapDao(hbaseTemplate, tableNameProvider,
+                acceptApplicationRowKeyDistributor, acceptedTimeService, timeSlot, false, 10000);
+
+        return new TraceService(mock(TraceDao.class, withSettings().stubOnly()),
+                mock(ApplicationTraceIndexDao.class, withSettings().stubOnly()),
+                hostApplicationMapDao, statisticsService, newServiceTypeRegistry());
+    }
+
+    private ServiceTypeRegistryService newServiceTypeRegistry() {
+        final Map<Short, ServiceType> serviceTypes = new HashMap<>();
+        for (ServiceType serviceType : new ServiceType[]{TOMCAT, SPRING_BEAN, MYSQL, REDIS, HTTP_CLIENT, ServiceType.USER}) {
+            serviceTypes.put(serviceType.getCode(), serviceType);
+        }
+        return new ServiceTypeRegistryService() {
+            @Override
+            public ServiceType findServiceType(short serviceType) {
+                return serviceTypes.getOrDefault(serviceType, ServiceType.UNDEFINED);
+            }
+
+            @Override
+            public ServiceType findServiceTypeByName(String typeName) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<ServiceType> findDesc(String desc) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
+import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.common.trace.ServiceTypeProperty;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TraceServiceTest {
+
+    private static final ServiceType TOMCAT = ServiceTypeFactory.of(1010, "TOMCAT", ServiceTypeProperty.RECORD_STATISTICS);
+    private static final ServiceType MYSQL = ServiceTypeFactory.of(2101, "MYSQL_EXECUTE_QUERY", ServiceTypeProperty.TERMINAL, ServiceTypeProperty.RECORD_STATISTICS, ServiceTypeProperty.INCLUDE_DESTINATION_ID);
+    private static final ServiceType ALIAS = ServiceTypeFactory.of(9999, "ALIAS_TEST", ServiceTypeProperty.ALIAS);
+
+    @Mock
+    private TraceDao traceDao;
+    @Mock
+    private ApplicationTraceIndexDao applicationTraceIndexDao;
+    @Mock
+    private HostApplicationMapDao hostApplicationMapDao;
+    @Mock
+    private StatisticsService statisticsService;
+    @Mock
+    private ServiceTypeRegistryService registry;
+
+    private TraceService traceService;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(registry.findServiceType(TOMCAT.getCode())).thenReturn(TOMCAT);
+        lenient().when(registry.findServiceType(MYSQL.getCode())).thenReturn(MYSQL);
+        lenient().when(registry.findServiceType(ALIAS.getCode())).thenReturn(ALIAS);
+        traceService = new TraceService(traceDao, applicationTraceIndexDao, hostApplicationMapDao, statisticsService, registry);
+    }
+
+    @Test
+    public void insertSpanChunk_groupLinks() {
+        SpanChunkBo spanChunk = newSpanChunk();
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(MYSQL, "mysql", "10.0.0.1:3306", 10)));
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(MYSQL, "mysql", "10.0.0.1:3306", 30)));
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(MYSQL, "mysql", "10.0.0.1:3306", 20)));
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(MYSQL, "mysql", "10.0.0.2:3306", 40)));
+
+        traceService.insertSpanChunk(spanChunk);
+
+        short slot = ApplicationMapStatisticsUtils.getSlotNumber(MYSQL, 10, false);
+        verify(statisticsService).updateCaller("app", TOMCAT, "agent", "mysql", MYSQL, "10.0.0.1:3306", slot, 3L, 60L, 30);
+        verify(statisticsService).updateCallee("mysql", MYSQL, "app", TOMCAT, "10.0.1.1:8080", slot, 3L, 60L, 30);
+        verify(statisticsService).updateCaller("app", TOMCAT, "agent", "mysql", MYSQL, "10.0.0.2:3306", slot, 1L, 40L, 40);
+        verify(statisticsService).updateCallee("mysql", MYSQL, "app", TOMCAT, "10.0.1.1:8080", slot, 1L, 40L, 40);
+        verify(statisticsService, times(2)).updateCaller(anyString(), eq(TOMCAT), anyString(), anyString(), eq(MYSQL), anyString(), anyShort(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void insertSpanChunk_splitSlot() {
+        SpanChunkBo spanChunk = newSpanChunk();
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(MYSQL, "mysql", "10.0.0.1:3306", 10)));
+        SpanEventBo error = newSpanEvent(MYSQL, "mysql", "10.0.0.1:3306", 10);
+        error.setExceptionInfo(1, "error");
+        spanChunk.addSpanEventBoList(Collections.singletonList(error));
+
+        traceService.insertSpanChunk(spanChunk);
+
+        short slot = ApplicationMapStatisticsUtils.getSlotNumber(MYSQL, 10, false);
+        short errorSlot = ApplicationMapStatisticsUtils.getSlotNumber(MYSQL, 10, true);
+        verify(statisticsService).updateCaller("app", TOMCAT, "agent", "mysql", MYSQL, "10.0.0.1:3306", slot, 1L, 10L, 10);
+        verify(statisticsService).updateCaller("app", TOMCAT, "agent", "mysql", MYSQL, "10.0.0.1:3306", errorSlot, 1L, 10L, 10);
+    }
+
+    @Test
+    public void insertSpanChunk_collapseAcceptorHost() {
+        SpanChunkBo spanChunk = newSpanChunk();
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(ALIAS, "alias", "10.0.0.3:80", 10)));
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(ALIAS, "alias", "10.0.0.3:80", 20)));
+        spanChunk.addSpanEventBoList(Collections.singletonList(newSpanEvent(ALIAS, "alias", "10.0.0.4:80", 20)));
+
+        traceService.insertSpanChunk(spanChunk);
+
+        verify(hostApplicationMapDao, times(1)).insert("10.0.0.3:80", "alias", ALIAS.getCode(), "app", TOMCAT.getCode());
+        verify(hostApplicationMapDao, times(1)).insert("10.0.0.4:80", "alias", ALIAS.getCode(), "app", TOMCAT.getCode());
+    }
+
+    private SpanChunkBo newSpanChunk() {
+        SpanChunkBo spanChunk = new SpanChunkBo();
+        spanChunk.setApplicationId("app");
+        spanChunk.setAgentId("agent");
+        spanChunk.setApplicationServiceType(TOMCAT.getCode());
+        spanChunk.setEndPoint("10.0.1.1:8080");
+        return spanChunk;
+    }
+
+    private SpanEventBo newSpanEvent(ServiceType serviceType, String destinationId, String endPoint, int elapsed) {
+        SpanEventBo spanEvent = new SpanEventBo();
+        spanEvent.setServiceType(serviceType.getCode());
+        spanEvent.setDestinationId(destinationId);
+        spanEvent.setEndPoint(endPoint);
+        spanEvent.setEndElapsed(elapsed);
+        return spanEvent;
+    }
+}
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.common.util.Assert;
 import org.apache.hadoop.hbase.util.Bytes;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Taejin Koo
@@ -63,6 +64,33 @@ public class HbaseColumnFamily {
         }
     }
 
+    public static final AgentStatRollup AGENT_STAT_ROLLUP_MINUTE = new AgentStatRollup(HbaseTable.AGENT_STAT_VER2, Bytes.toBytes("M"), TimeUnit.MINUTES.toMillis(1), TimeUnit.HOURS.toMillis(1));
+    public static final AgentStatRollup AGENT_STAT_ROLLUP_HOUR = new AgentStatRollup(HbaseTable.AGENT_STAT_VER2, Bytes.toBytes("H"), TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1));
+    public static class AgentStatRollup extends HbaseColumnFamily {
+        private final long granularity;
+        private final long timespan;
+
+        private AgentStatRollup(HbaseTable hBaseTable, byte[] columnFamilyName, long granularity, long timespan) {
+            super(hBaseTable, columnFamilyName);
+            this.granularity = granularity;
+            this.timespan = timespan;
+        }
+
+        /**
+         * @return the time range aggregated into a single rollup value
+         */
+        public long getGranularity() {
+            return granularity;
+        }
+
+        /**
+         * @return the time range covered by a single row
+         */
+        public long getTimespan() {
+            return timespan;
+        }
+    }
+
     public static final AgentUriStatStatistics AGENT_URI_STAT_STATISTICS = new AgentUriStatStatistics(HbaseTable.AGENT_URI_STAT, Bytes.toBytes("Uri"));
     public static class AgentUriStatStatistics extends HbaseColumnFamily {
         public static final int TIMESPAN_MS = 5 * 60 * 1000;
@@ -3,8 +3,18 @@ package com.navercorp.pinpoint.common.hbase;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 
+import java.util.List;
+
 
 public interface SimpleBatchWriter {
 
     boolean write(TableName tableName, Put mutation);
+
+    default boolean write(TableName tableName, List<Put> mutations) {
+        boolean success = true;
+        for (Put mutation : mutations) {
+            success &= write(tableName, mutation);
+        }
+        return success;
+    }
 }
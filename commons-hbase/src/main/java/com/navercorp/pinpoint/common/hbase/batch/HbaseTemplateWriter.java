@@ -2,9 +2,11 @@ package com.navercorp.pinpoint.common.hbase.batch;
 
 import com.navercorp.pinpoint.common.hbase.HbaseTemplate2;
 import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 
+import java.util.List;
 import java.util.Objects;
 
 public class HbaseTemplateWriter implements SimpleBatchWriter {
@@ -19,4 +21,10 @@ public class HbaseTemplateWriter implements SimpleBatchWriter {
     public boolean write(TableName tableName, Put mutation) {
         return hbaseTemplate2.asyncPut(tableName, mutation);
     }
+
+    @Override
+    public boolean write(TableName tableName, List<Put> mutations) {
+        final List<Put> failed = hbaseTemplate2.asyncPut(tableName, mutations);
+        return CollectionUtils.isEmpty(failed);
+    }
 }
@@ -4,6 +4,7 @@ import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 
+import java.util.List;
 import java.util.Objects;
 
 public class SimpleBufferWriter implements SimpleBatchWriter {
@@ -17,4 +18,9 @@ public class SimpleBufferWriter implements SimpleBatchWriter {
     public boolean write(TableName tableName, Put mutation) {
         return batchWriter.write(tableName, mutation);
     }
+
+    @Override
+    public boolean write(TableName tableName, List<Put> mutations) {
+        return batchWriter.write(tableName, mutations);
+    }
 }
@@ -2,9 +2,11 @@ package com.navercorp.pinpoint.common.hbase.batch;
 
 import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
 import com.navercorp.pinpoint.common.hbase.SimpleBatchWriter;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 
+import java.util.List;
 import java.util.Objects;
 
 public class TableMultiplexerWriter implements SimpleBatchWriter {
@@ -19,4 +21,10 @@ public class TableMultiplexerWriter implements SimpleBatchWriter {
     public boolean write(TableName tableName, Put mutation) {
         return hbaseAsyncOperation.put(tableName, mutation);
     }
+
+    @Override
+    public boolean write(TableName tableName, List<Put> mutations) {
+        final List<Put> failed = hbaseAsyncOperation.put(tableName, mutations);
+        return CollectionUtils.isEmpty(failed);
+    }
 }
@@ -13,6 +13,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -162,4 +163,16 @@ public class AgentStatCoderConfiguration {
     public AgentStatEncoder<TransactionBo> getAgentTransactionEncoder(AgentStatCodec<TransactionBo> codec) {
         return new AgentStatEncoder<>(codec);
     }
+
+    // ----------------
+
+    @Bean
+    public AgentStatDecoder<AgentStatRollupBo> getAgentStatRollupDecoder(List<AgentStatCodec<AgentStatRollupBo>> codecs) {
+        return new AgentStatDecoder<>(codecs);
+    }
+
+    @Bean
+    public AgentStatEncoder<AgentStatRollupBo> getAgentStatRollupEncoder(AgentStatCodec<AgentStatRollupBo> codec) {
+        return new AgentStatEncoder<>(codec);
+    }
 }
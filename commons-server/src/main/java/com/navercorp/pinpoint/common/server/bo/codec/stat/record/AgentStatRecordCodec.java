@@ -0,0 +1,353 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.record;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceHistogram;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDoubleFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinFileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinIntFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinLoadedClassBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinLongFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTotalThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import com.navercorp.pinpoint.common.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binary record format for agent stats sent from the collector to the flink cluster.
+ * <p>
+ * The collector encodes an {@link AgentStatBo} and flink decodes it straight into a {@link JoinAgentStatBo},
+ * with the same values the thrift path produces through TFAgentStatBatch.
+ * Only the fields the join uses are written. Timestamps are written as deltas from the earliest data point.
+ * <pre>
+ * byte      version
+ * string    agentId
+ * vlong     agentStartTimestamp
+ * svlong    baseTimestamp (earliest data point)
+ * section[] one per stat type, in JoinAgentStatBo order : vint count, then per data point svlong timestamp delta and values
+ * </pre>
+ */
+public class AgentStatRecordCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 512;
+
+    public byte[] encode(AgentStatBo agentStatBo) {
+        final Buffer buffer = new AutomaticBuffer(DEFAULT_BUFFER_SIZE);
+        encode(buffer, agentStatBo);
+        return buffer.copyBuffer();
+    }
+
+    public void encode(Buffer buffer, AgentStatBo agentStatBo) {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(agentStatBo, "agentStatBo");
+
+        final long baseTimestamp = getBaseTimestamp(agentStatBo);
+
+        buffer.putByte(VERSION);
+        buffer.putPrefixedString(agentStatBo.getAgentId());
+        buffer.putVLong(agentStatBo.getStartTimestamp());
+        buffer.putSVLong(baseTimestamp);
+
+        encodeSection(buffer, baseTimestamp, agentStatBo.getCpuLoadBos(), (buf, cpuLoad) -> {
+            buf.putDouble(cpuLoad.getJvmCpuLoad());
+            buf.putDouble(cpuLoad.getSystemCpuLoad());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getJvmGcBos(), (buf, jvmGc) -> {
+            buf.putSVLong(jvmGc.getHeapUsed());
+            buf.putSVLong(jvmGc.getNonHeapUsed());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getTransactionBos(), (buf, transaction) -> {
+            buf.putSVLong(transaction.getCollectInterval());
+            buf.putSVLong(getTotalCount(transaction));
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getActiveTraceBos(), (buf, activeTrace) -> {
+            buf.putShort(activeTrace.getVersion());
+            buf.putSVInt(activeTrace.getHistogramSchemaType());
+            buf.putSVInt(getTotalCount(activeTrace.getActiveTraceHistogram()));
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getResponseTimeBos(), (buf, responseTime) -> {
+            buf.putSVLong(responseTime.getAvg());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getDataSourceListBos(), (buf, dataSourceList) -> {
+            final List<DataSourceBo> dataSourceBoList = dataSourceList.getList();
+            buf.putVInt(dataSourceBoList.size());
+            for (DataSourceBo dataSourceBo : dataSourceBoList) {
+                buf.putShort(dataSourceBo.getServiceTypeCode());
+                buf.putPrefixedString(dataSourceBo.getJdbcUrl());
+                buf.putSVInt(dataSourceBo.getActiveConnectionSize());
+            }
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getFileDescriptorBos(), (buf, fileDescriptor) -> {
+            buf.putSVLong(fileDescriptor.getOpenFileDescriptorCount());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getDirectBufferBos(), (buf, directBuffer) -> {
+            buf.putSVLong(directBuffer.getDirectCount());
+            buf.putSVLong(directBuffer.getDirectMemoryUsed());
+            buf.putSVLong(directBuffer.getMappedCount());
+            buf.putSVLong(directBuffer.getMappedMemoryUsed());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getTotalThreadCountBos(), (buf, totalThreadCount) -> {
+            buf.putSVLong(totalThreadCount.getTotalThreadCount());
+        });
+        encodeSection(buffer, baseTimestamp, agentStatBo.getLoadedClassBos(), (buf, loadedClass) -> {
+            buf.putSVLong(loadedClass.getLoadedClassCount());
+            buf.putSVLong(loadedClass.getUnloadedClassCount());
+        });
+    }
+
+    private long getBaseTimestamp(AgentStatBo agentStatBo) {
+        long baseTimestamp = Long.MAX_VALUE;
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getCpuLoadBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getJvmGcBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getTransactionBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getActiveTraceBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getResponseTimeBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getDataSourceListBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getFileDescriptorBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getDirectBufferBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getTotalThreadCountBos());
+        baseTimestamp = minTimestamp(baseTimestamp, agentStatBo.getLoadedClassBos());
+        if (baseTimestamp == Long.MAX_VALUE) {
+            // same as the thrift path when the batch has no data point
+            return Long.MIN_VALUE;
+        }
+        return baseTimestamp;
+    }
+
+    private long minTimestamp(long timestamp, List<? extends AgentStatDataPoint> dataPointList) {
+        for (AgentStatDataPoint dataPoint : nullToEmpty(dataPointList)) {
+            timestamp = Math.min(timestamp, dataPoint.getTimestamp());
+        }
+        return timestamp;
+    }
+
+    private long getTotalCount(TransactionBo transactionBo) {
+        return transactionBo.getSampledNewCount()
+                + transactionBo.getSampledContinuationCount()
+                + transactionBo.getUnsampledNewCount()
+                + transactionBo.getUnsampledContinuationCount()
+                + transactionBo.getSkippedNewSkipCount()
+                + transactionBo.getSkippedContinuationCount();
+    }
+
+    private int getTotalCount(ActiveTraceHistogram histogram) {
+        if (histogram == null) {
+            return 0;
+        }
+        return histogram.getFastCount() + histogram.getNormalCount() + histogram.getSlowCount() + histogram.getVerySlowCount();
+    }
+
+    private <T extends AgentStatDataPoint> void encodeSection(Buffer buffer, long baseTimestamp, List<T> dataPointList, ValueEncoder<T> valueEncoder) {
+        final List<T> list = nullToEmpty(dataPointList);
+        buffer.putVInt(list.size());
+        for (T dataPoint : list) {
+            buffer.putSVLong(dataPoint.getTimestamp() - baseTimestamp);
+            valueEncoder.encode(buffer, dataPoint);
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return list;
+    }
+
+    public JoinAgentStatBo decode(Buffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        final byte version = buffer.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported agent stat record version:" + version);
+        }
+
+        final String agentId = buffer.readPrefixedString();
+        final long agentStartTimestamp = buffer.readVLong();
+        final long baseTimestamp = buffer.readSVLong();
+        if (StringUtils.isEmpty(agentId)) {
+            return JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO;
+        }
+
+        final JoinAgentStatBo.Builder builder = JoinAgentStatBo.newBuilder(agentId, agentStartTimestamp, baseTimestamp);
+        final DecodingContext context = new DecodingContext(buffer, agentId, baseTimestamp);
+
+        context.decodeSection(timestamp -> {
+            final double jvmCpuLoad = buffer.readDouble();
+            final double systemCpuLoad = buffer.readDouble();
+            final JoinCpuLoadBo joinCpuLoadBo = new JoinCpuLoadBo();
+            joinCpuLoadBo.setId(agentId);
+            joinCpuLoadBo.setTimestamp(timestamp);
+            joinCpuLoadBo.setJvmCpuLoadJoinValue(new JoinDoubleFieldBo(jvmCpuLoad, jvmCpuLoad, agentId, jvmCpuLoad, agentId));
+            joinCpuLoadBo.setSystemCpuLoadJoinValue(new JoinDoubleFieldBo(systemCpuLoad, systemCpuLoad, agentId, systemCpuLoad, agentId));
+            builder.addCpuLoadBo(joinCpuLoadBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinMemoryBo joinMemoryBo = new JoinMemoryBo();
+            joinMemoryBo.setId(agentId);
+            joinMemoryBo.setTimestamp(timestamp);
+            joinMemoryBo.setHeapUsedJoinValue(context.readLongFieldBo());
+            joinMemoryBo.setNonHeapUsedJoinValue(context.readLongFieldBo());
+            builder.addMemory(joinMemoryBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinTransactionBo joinTransactionBo = new JoinTransactionBo();
+            joinTransactionBo.setId(agentId);
+            joinTransactionBo.setTimestamp(timestamp);
+            joinTransactionBo.setCollectInterval(buffer.readSVLong());
+            joinTransactionBo.setTotalCountJoinValue(context.readLongFieldBo());
+            builder.addTransaction(joinTransactionBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinActiveTraceBo joinActiveTraceBo = new JoinActiveTraceBo();
+            joinActiveTraceBo.setId(agentId);
+            joinActiveTraceBo.setTimestamp(timestamp);
+            joinActiveTraceBo.setVersion(buffer.readShort());
+            joinActiveTraceBo.setHistogramSchemaType(buffer.readSVInt());
+            joinActiveTraceBo.setTotalCountJoinValue(context.readIntFieldBo());
+            builder.addActiveTrace(joinActiveTraceBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinResponseTimeBo joinResponseTimeBo = new JoinResponseTimeBo();
+            joinResponseTimeBo.setId(agentId);
+            joinResponseTimeBo.setTimestamp(timestamp);
+            joinResponseTimeBo.setResponseTimeJoinValue(context.readLongFieldBo());
+            builder.addResponseTime(joinResponseTimeBo);
+        });
+        context.decodeSection(timestamp -> {
+            final int size = buffer.readVInt();
+            final List<JoinDataSourceBo> joinDataSourceBoList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final JoinDataSourceBo joinDataSourceBo = new JoinDataSourceBo();
+                joinDataSourceBo.setServiceTypeCode(buffer.readShort());
+                joinDataSourceBo.setUrl(buffer.readPrefixedString());
+                joinDataSourceBo.setActiveConnectionSizeJoinValue(context.readIntFieldBo());
+                joinDataSourceBoList.add(joinDataSourceBo);
+            }
+            if (joinDataSourceBoList.isEmpty()) {
+                return;
+            }
+            final JoinDataSourceListBo joinDataSourceListBo = new JoinDataSourceListBo();
+            joinDataSourceListBo.setId(agentId);
+            joinDataSourceListBo.setTimestamp(timestamp);
+            joinDataSourceListBo.setJoinDataSourceBoList(joinDataSourceBoList);
+            builder.addDataSourceListBo(joinDataSourceListBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinFileDescriptorBo joinFileDescriptorBo = new JoinFileDescriptorBo();
+            joinFileDescriptorBo.setId(agentId);
+            joinFileDescriptorBo.setTimestamp(timestamp);
+            joinFileDescriptorBo.setOpenFdCountJoinValue(context.readLongFieldBo());
+            builder.addFileDescriptor(joinFileDescriptorBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinDirectBufferBo joinDirectBufferBo = new JoinDirectBufferBo();
+            joinDirectBufferBo.setId(agentId);
+            joinDirectBufferBo.setTimestamp(timestamp);
+            joinDirectBufferBo.setDirectCountJoinValue(context.readLongFieldBo());
+            joinDirectBufferBo.setDirectMemoryUsedJoinValue(context.readLongFieldBo());
+            joinDirectBufferBo.setMappedCountJoinValue(context.readLongFieldBo());
+            joinDirectBufferBo.setMappedMemoryUsedJoinValue(context.readLongFieldBo());
+            builder.addDirectBuffer(joinDirectBufferBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinTotalThreadCountBo joinTotalThreadCountBo = new JoinTotalThreadCountBo();
+            joinTotalThreadCountBo.setId(agentId);
+            joinTotalThreadCountBo.setTimestamp(timestamp);
+            joinTotalThreadCountBo.setTotalThreadCountJoinValue(context.readLongFieldBo());
+            builder.addTotalThreadCount(joinTotalThreadCountBo);
+        });
+        context.decodeSection(timestamp -> {
+            final JoinLoadedClassBo joinLoadedClassBo = new JoinLoadedClassBo();
+            joinLoadedClassBo.setId(agentId);
+            joinLoadedClassBo.setTimestamp(timestamp);
+            joinLoadedClassBo.setLoadedClassJoinValue(context.readLongFieldBo());
+            joinLoadedClassBo.setUnloadedClassJoinValue(context.readLongFieldBo());
+            builder.addLoadedClass(joinLoadedClassBo);
+        });
+
+        return builder.build();
+    }
+
+    @FunctionalInterface
+    private interface ValueEncoder<T> {
+        void encode(Buffer buffer, T dataPoint);
+    }
+
+    @FunctionalInterface
+    private interface ValueDecoder {
+        void decode(long timestamp);
+    }
+
+    private static class DecodingContext {
+        private final Buffer buffer;
+        private final String agentId;
+        private final long baseTimestamp;
+
+        private DecodingContext(Buffer buffer, String agentId, long baseTimestamp) {
+            this.buffer = buffer;
+            this.agentId = agentId;
+            this.baseTimestamp = baseTimestamp;
+        }
+
+        private void decodeSection(ValueDecoder valueDecoder) {
+            final int count = buffer.readVInt();
+            for (int i = 0; i < count; i++) {
+                final long timestamp = baseTimestamp + buffer.readSVLong();
+                valueDecoder.decode(timestamp);
+            }
+        }
+
+        private JoinLongFieldBo readLongFieldBo() {
+            final long value = buffer.readSVLong();
+            return new JoinLongFieldBo(value, value, agentId, value, agentId);
+        }
+
+        private JoinIntFieldBo readIntFieldBo() {
+            final int value = buffer.readSVInt();
+            return new JoinIntFieldBo(value, value, agentId, value, agentId);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.CodecFactory;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFieldBo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes rollups of any agent stat type.<br>
+ * Each field is written as 4 value columns (count, min, max, sum), preceded by the stat type code and the field count.
+ */
+@Component
+public class AgentStatRollupCodecV2 extends AgentStatCodecV2<AgentStatRollupBo> {
+
+    private static final int VALUES_PER_FIELD = 4;
+
+    public AgentStatRollupCodecV2(AgentStatDataPointCodec codec) {
+        super(new AgentStatRollupCodecFactory(codec));
+    }
+
+
+    private static class AgentStatRollupCodecFactory implements CodecFactory<AgentStatRollupBo> {
+
+        private final AgentStatDataPointCodec codec;
+
+        private AgentStatRollupCodecFactory(AgentStatDataPointCodec codec) {
+            this.codec = Objects.requireNonNull(codec, "codec");
+        }
+
+        @Override
+        public AgentStatDataPointCodec getCodec() {
+            return codec;
+        }
+
+        @Override
+        public CodecEncoder<AgentStatRollupBo> createCodecEncoder() {
+            return new AgentStatRollupCodecEncoder(codec);
+        }
+
+        @Override
+        public CodecDecoder<AgentStatRollupBo> createCodecDecoder() {
+            return new AgentStatRollupCodecDecoder(codec);
+        }
+    }
+
+    public static class AgentStatRollupCodecEncoder implements AgentStatCodec.CodecEncoder<AgentStatRollupBo> {
+
+        private final AgentStatDataPointCodec codec;
+
+        private AgentStatType agentStatType;
+        private List<UnsignedLongEncodingStrategy.Analyzer.Builder> analyzerBuilders;
+
+        public AgentStatRollupCodecEncoder(AgentStatDataPointCodec codec) {
+            this.codec = Objects.requireNonNull(codec, "codec");
+        }
+
+        @Override
+        public void addValue(AgentStatRollupBo rollupBo) {
+            final List<AgentStatRollupFieldBo> fields = rollupBo.getFields();
+            if (analyzerBuilders == null) {
+                this.agentStatType = rollupBo.getAgentStatType();
+                this.analyzerBuilders = new ArrayList<>(fields.size() * VALUES_PER_FIELD);
+                for (int i = 0; i < fields.size() * VALUES_PER_FIELD; i++) {
+                    analyzerBuilders.add(new UnsignedLongEncodingStrategy.Analyzer.Builder());
+                }
+            } else if (agentStatType != rollupBo.getAgentStatType() || analyzerBuilders.size() != fields.size() * VALUES_PER_FIELD) {
+                throw new IllegalArgumentException("rollups of a different layout can not be encoded together : " + rollupBo);
+            }
+            int index = 0;
+            for (AgentStatRollupFieldBo field : fields) {
+                analyzerBuilders.get(index++).addValue(field.getCount());
+                analyzerBuilders.get(index++).addValue(field.getMin());
+                analyzerBuilders.get(index++).addValue(field.getMax());
+                analyzerBuilders.get(index++).addValue(field.getSum());
+            }
+        }
+
+        @Override
+        public void encode(Buffer valueBuffer) {
+            final List<StrategyAnalyzer<Long>> analyzers = new ArrayList<>(analyzerBuilders.size());
+            for (UnsignedLongEncodingStrategy.Analyzer.Builder analyzerBuilder : analyzerBuilders) {
+                analyzers.add(analyzerBuilder.build());
+            }
+
+            // encode header
+            AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+            for (StrategyAnalyzer<Long> analyzer : analyzers) {
+                headerEncoder.addCode(analyzer.getBestStrategy().getCode());
+            }
+            final byte[] header = headerEncoder.getHeader();
+            valueBuffer.putPrefixedBytes(header);
+            // encode layout
+            valueBuffer.putByte(agentStatType.getRawTypeCode());
+            valueBuffer.putVInt(analyzers.size() / VALUES_PER_FIELD);
+            // encode values
+            for (StrategyAnalyzer<Long> analyzer : analyzers) {
+                this.codec.encodeValues(valueBuffer, analyzer.getBestStrategy(), analyzer.getValues());
+            }
+        }
+
+    }
+
+    public static class AgentStatRollupCodecDecoder implements AgentStatCodec.CodecDecoder<AgentStatRollupBo> {
+
+        private final AgentStatDataPointCodec codec;
+
+        private AgentStatType agentStatType;
+        private int fieldCount;
+        private List<List<Long>> values;
+
+        public AgentStatRollupCodecDecoder(AgentStatDataPointCodec codec) {
+            this.codec = Objects.requireNonNull(codec, "codec");
+        }
+
+        @Override
+        public void decode(Buffer valueBuffer, AgentStatHeaderDecoder headerDecoder, int valueSize) {
+            this.agentStatType = AgentStatType.fromTypeCode(valueBuffer.readByte());
+            this.fieldCount = valueBuffer.readVInt();
+
+            final int columnCount = fieldCount * VALUES_PER_FIELD;
+            final List<EncodingStrategy<Long>> encodingStrategies = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                encodingStrategies.add(UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode()));
+            }
+            // decode values
+            this.values = new ArrayList<>(columnCount);
+            for (EncodingStrategy<Long> encodingStrategy : encodingStrategies) {
+                this.values.add(this.codec.decodeValues(valueBuffer, encodingStrategy, valueSize));
+            }
+        }
+
+        @Override
+        public AgentStatRollupBo getValue(int index) {
+            final List<AgentStatRollupFieldBo> fields = new ArrayList<>(fieldCount);
+            int column = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                final long count = values.get(column++).get(index);
+                final long min = values.get(column++).get(index);
+                final long max = values.get(column++).get(index);
+                final long sum = values.get(column++).get(index);
+                fields.add(new AgentStatRollupFieldBo(count, min, max, sum));
+            }
+            AgentStatRollupBo rollupBo = new AgentStatRollupBo();
+            rollupBo.setAgentStatType(agentStatType);
+            rollupBo.setFields(fields);
+            return rollupBo;
+        }
+
+    }
+
+}
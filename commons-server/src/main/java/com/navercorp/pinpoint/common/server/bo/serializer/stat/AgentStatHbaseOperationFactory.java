@@ -65,20 +65,30 @@ public class AgentStatHbaseOperationFactory {
             long baseTimestamp = timeslot.getKey();
             List<T> slottedAgentStatDataPoints = timeslot.getValue();
 
-            final AgentStatRowKeyComponent rowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, baseTimestamp);
-            byte[] rowKey = this.rowKeyEncoder.encodeRowKey(rowKeyComponent);
-            byte[] distributedRowKey = this.rowKeyDistributor.getDistributedKey(rowKey);
-
-            Put put = new Put(distributedRowKey);
+            Put put = createPut(agentId, agentStatType, baseTimestamp);
             agentStatSerializer.serialize(slottedAgentStatDataPoints, put, null);
             puts.add(put);
         }
         return puts;
     }
 
+    public Put createPut(String agentId, AgentStatType agentStatType, long baseTimestamp) {
+        final AgentStatRowKeyComponent rowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, baseTimestamp);
+        byte[] rowKey = this.rowKeyEncoder.encodeRowKey(rowKeyComponent);
+        byte[] distributedRowKey = this.rowKeyDistributor.getDistributedKey(rowKey);
+        return new Put(distributedRowKey);
+    }
+
     public Scan createScan(String agentId, AgentStatType agentStatType, long startTimestamp, long endTimestamp) {
-        final AgentStatRowKeyComponent startRowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, AgentStatUtils.getBaseTimestamp(endTimestamp));
-        final AgentStatRowKeyComponent endRowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, AgentStatUtils.getBaseTimestamp(startTimestamp) - HbaseColumnFamily.AGENT_STAT_STATISTICS.TIMESPAN_MS);
+        return createScan(agentId, agentStatType, startTimestamp, endTimestamp, HbaseColumnFamily.AGENT_STAT_STATISTICS.TIMESPAN_MS);
+    }
+
+    /**
+     * @param timespan time range covered by a single row of the scanned column family
+     */
+    public Scan createScan(String agentId, AgentStatType agentStatType, long startTimestamp, long endTimestamp, long timespan) {
+        final AgentStatRowKeyComponent startRowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, AgentStatUtils.getBaseTimestamp(endTimestamp, timespan));
+        final AgentStatRowKeyComponent endRowKeyComponent = new AgentStatRowKeyComponent(agentId, agentStatType, AgentStatUtils.getBaseTimestamp(startTimestamp, timespan) - timespan);
         byte[] startRowKey = this.rowKeyEncoder.encodeRowKey(startRowKeyComponent);
         byte[] endRowKey = this.rowKeyEncoder.encodeRowKey(endRowKeyComponent);
         Scan scan = new Scan();
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.serializer.stat;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatEncoder;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Writes a single rollup slot as one cell.<br>
+ * The qualifier is the slot's timestamp delta followed by the writer id, so that collectors
+ * receiving the same agent never overwrite each other's partial rollups.
+ */
+public class AgentStatRollupSerializer {
+
+    private final AgentStatEncoder<AgentStatRollupBo> encoder;
+
+    public AgentStatRollupSerializer(AgentStatEncoder<AgentStatRollupBo> encoder) {
+        this.encoder = Objects.requireNonNull(encoder, "encoder");
+    }
+
+    public void serialize(HbaseColumnFamily.AgentStatRollup columnFamily, AgentStatRollupBo rollupBo, int writerId, Put put) {
+        Objects.requireNonNull(columnFamily, "columnFamily");
+        Objects.requireNonNull(rollupBo, "rollupBo");
+
+        final long timestamp = rollupBo.getTimestamp();
+        final long timestampDelta = timestamp - AgentStatUtils.getBaseTimestamp(timestamp, columnFamily.getTimespan());
+
+        Buffer qualifierBuffer = new AutomaticBuffer(9);
+        qualifierBuffer.putVLong(timestampDelta);
+        qualifierBuffer.putInt(writerId);
+
+        ByteBuffer valueBuffer = this.encoder.encodeValue(Collections.singletonList(rollupBo));
+        put.addColumn(columnFamily.getName(), qualifierBuffer.wrapByteBuffer(), HConstants.LATEST_TIMESTAMP, valueBuffer);
+    }
+}
@@ -13,6 +13,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -77,4 +78,9 @@ public class AgentStatSerializerConfiguration {
     public AgentStatSerializer<TransactionBo> getAgentTransactionSerializer(AgentStatEncoder<TransactionBo> coder) {
         return new AgentStatSerializer<>(coder);
     }
+
+    @Bean
+    public AgentStatRollupSerializer getAgentStatRollupSerializer(AgentStatEncoder<AgentStatRollupBo> coder) {
+        return new AgentStatRollupSerializer(coder);
+    }
 }
@@ -55,4 +55,8 @@ public class AgentStatUtils {
     public static long getBaseTimestamp(long timestamp) {
         return CLOCK.tick(timestamp);
     }
+
+    public static long getBaseTimestamp(long timestamp, long timespan) {
+        return timestamp - (timestamp % timespan);
+    }
 }
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.join;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo.DataSourceKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Folds {@link JoinApplicationStatBo}s one at a time into per time-slice accumulators.
+ * {@link #build()} returns the same result as {@link JoinApplicationStatBo#joinApplicationStatBoByTimeSlice(List)}
+ * over every added value in insertion order, while the retained state only grows with the number of time slices.
+ */
+public class JoinApplicationStatAccumulator {
+
+    private static final StatFolder<JoinCpuLoadBo> CPU_LOAD = new StatFolder<>(
+            Arrays.asList(JoinCpuLoadBo::getJvmCpuLoadJoinValue, JoinCpuLoadBo::getSystemCpuLoadJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinCpuLoadBo joinCpuLoadBo = new JoinCpuLoadBo();
+                joinCpuLoadBo.setId(first.getId());
+                joinCpuLoadBo.setTimestamp(timestamp);
+                joinCpuLoadBo.setJvmCpuLoadJoinValue((JoinDoubleFieldBo) fields.get(0));
+                joinCpuLoadBo.setSystemCpuLoadJoinValue((JoinDoubleFieldBo) fields.get(1));
+                return joinCpuLoadBo;
+            });
+
+    private static final StatFolder<JoinMemoryBo> MEMORY = new StatFolder<>(
+            Arrays.asList(JoinMemoryBo::getHeapUsedJoinValue, JoinMemoryBo::getNonHeapUsedJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinMemoryBo joinMemoryBo = new JoinMemoryBo();
+                joinMemoryBo.setId(first.getId());
+                joinMemoryBo.setTimestamp(timestamp);
+                joinMemoryBo.setHeapUsedJoinValue((JoinLongFieldBo) fields.get(0));
+                joinMemoryBo.setNonHeapUsedJoinValue((JoinLongFieldBo) fields.get(1));
+                return joinMemoryBo;
+            });
+
+    private static final StatFolder<JoinTransactionBo> TRANSACTION = new StatFolder<>(
+            Arrays.asList(JoinTransactionBo::getTotalCountJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinTransactionBo joinTransactionBo = new JoinTransactionBo();
+                joinTransactionBo.setId(first.getId());
+                joinTransactionBo.setTimestamp(timestamp);
+                joinTransactionBo.setCollectInterval(first.getCollectInterval());
+                joinTransactionBo.setTotalCountJoinValue((JoinLongFieldBo) fields.get(0));
+                return joinTransactionBo;
+            });
+
+    private static final StatFolder<JoinActiveTraceBo> ACTIVE_TRACE = new StatFolder<>(
+            Arrays.asList(JoinActiveTraceBo::getTotalCountJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinActiveTraceBo joinActiveTraceBo = new JoinActiveTraceBo();
+                joinActiveTraceBo.setId(first.getId());
+                joinActiveTraceBo.setTimestamp(timestamp);
+                joinActiveTraceBo.setHistogramSchemaType(first.getHistogramSchemaType());
+                joinActiveTraceBo.setVersion(first.getVersion());
+                joinActiveTraceBo.setTotalCountJoinValue((JoinIntFieldBo) fields.get(0));
+                return joinActiveTraceBo;
+            });
+
+    private static final StatFolder<JoinResponseTimeBo> RESPONSE_TIME = new StatFolder<>(
+            Arrays.asList(JoinResponseTimeBo::getResponseTimeJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinResponseTimeBo joinResponseTimeBo = new JoinResponseTimeBo();
+                joinResponseTimeBo.setId(first.getId());
+                joinResponseTimeBo.setTimestamp(timestamp);
+                joinResponseTimeBo.setResponseTimeJoinValue((JoinLongFieldBo) fields.get(0));
+                return joinResponseTimeBo;
+            });
+
+    private static final StatFolder<JoinDataSourceBo> DATA_SOURCE = new StatFolder<>(
+            Arrays.asList(JoinDataSourceBo::getActiveConnectionSizeJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinDataSourceBo joinDataSourceBo = new JoinDataSourceBo();
+                joinDataSourceBo.setServiceTypeCode(first.getServiceTypeCode());
+                joinDataSourceBo.setUrl(first.getUrl());
+                joinDataSourceBo.setActiveConnectionSizeJoinValue((JoinIntFieldBo) fields.get(0));
+                return joinDataSourceBo;
+            });
+
+    private static final StatFolder<JoinFileDescriptorBo> FILE_DESCRIPTOR = new StatFolder<>(
+            Arrays.asList(JoinFileDescriptorBo::getOpenFdCountJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinFileDescriptorBo joinFileDescriptorBo = new JoinFileDescriptorBo();
+                joinFileDescriptorBo.setId(first.getId());
+                joinFileDescriptorBo.setTimestamp(timestamp);
+                joinFileDescriptorBo.setOpenFdCountJoinValue((JoinLongFieldBo) fields.get(0));
+                return joinFileDescriptorBo;
+            });
+
+    private static final StatFolder<JoinDirectBufferBo> DIRECT_BUFFER = new StatFolder<>(
+            Arrays.asList(JoinDirectBufferBo::getDirectCountJoinValue, JoinDirectBufferBo::getDirectMemoryUsedJoinValue,
+                    JoinDirectBufferBo::getMappedCountJoinValue, JoinDirectBufferBo::getMappedMemoryUsedJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinDirectBufferBo joinDirectBufferBo = new JoinDirectBufferBo();
+                joinDirectBufferBo.setId(first.getId());
+                joinDirectBufferBo.setTimestamp(timestamp);
+                joinDirectBufferBo.setDirectCountJoinValue((JoinLongFieldBo) fields.get(0));
+                joinDirectBufferBo.setDirectMemoryUsedJoinValue((JoinLongFieldBo) fields.get(1));
+                joinDirectBufferBo.setMappedCountJoinValue((JoinLongFieldBo) fields.get(2));
+                joinDirectBufferBo.setMappedMemoryUsedJoinValue((JoinLongFieldBo) fields.get(3));
+                return joinDirectBufferBo;
+            });
+
+    private static final StatFolder<JoinTotalThreadCountBo> TOTAL_THREAD_COUNT = new StatFolder<>(
+            Arrays.asList(JoinTotalThreadCountBo::getTotalThreadCountJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinTotalThreadCountBo joinTotalThreadCountBo = new JoinTotalThreadCountBo();
+                joinTotalThreadCountBo.setId(first.getId());
+                joinTotalThreadCountBo.setTimestamp(timestamp);
+                joinTotalThreadCountBo.setTotalThreadCountJoinValue((JoinLongFieldBo) fields.get(0));
+                return joinTotalThreadCountBo;
+            });
+
+    private static final StatFolder<JoinLoadedClassBo> LOADED_CLASS = new StatFolder<>(
+            Arrays.asList(JoinLoadedClassBo::getLoadedClassJoinValue, JoinLoadedClassBo::getUnloadedClassJoinValue),
+            (first, timestamp, fields) -> {
+                final JoinLoadedClassBo joinLoadedClassBo = new JoinLoadedClassBo();
+                joinLoadedClassBo.setId(first.getId());
+                joinLoadedClassBo.setTimestamp(timestamp);
+                joinLoadedClassBo.setLoadedClassJoinValue((JoinLongFieldBo) fields.get(0));
+                joinLoadedClassBo.setUnloadedClassJoinValue((JoinLongFieldBo) fields.get(1));
+                return joinLoadedClassBo;
+            });
+
+    private String applicationId;
+    private long minTimestamp = Long.MAX_VALUE;
+
+    // HashMap keeps the slice iteration order of JoinApplicationStatBo.Joiner
+    private final Map<Long, StatSlice<JoinCpuLoadBo>> cpuLoadSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinMemoryBo>> memorySlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinTransactionBo>> transactionSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinActiveTraceBo>> activeTraceSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinResponseTimeBo>> responseTimeSlices = new HashMap<>();
+    private final Map<Long, DataSourceListSlice> dataSourceListSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinFileDescriptorBo>> fileDescriptorSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinDirectBufferBo>> directBufferSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinTotalThreadCountBo>> totalThreadCountSlices = new HashMap<>();
+    private final Map<Long, StatSlice<JoinLoadedClassBo>> loadedClassSlices = new HashMap<>();
+
+    public void add(JoinApplicationStatBo joinApplicationStatBo) {
+        Objects.requireNonNull(joinApplicationStatBo, "joinApplicationStatBo");
+        if (applicationId == null) {
+            applicationId = joinApplicationStatBo.getId();
+        }
+
+        add(cpuLoadSlices, CPU_LOAD, joinApplicationStatBo.getJoinCpuLoadBoList());
+        add(memorySlices, MEMORY, joinApplicationStatBo.getJoinMemoryBoList());
+        add(transactionSlices, TRANSACTION, joinApplicationStatBo.getJoinTransactionBoList());
+        add(activeTraceSlices, ACTIVE_TRACE, joinApplicationStatBo.getJoinActiveTraceBoList());
+        add(responseTimeSlices, RESPONSE_TIME, joinApplicationStatBo.getJoinResponseTimeBoList());
+        for (JoinDataSourceListBo joinDataSourceListBo : joinApplicationStatBo.getJoinDataSourceListBoList()) {
+            final long timestamp = updateTimestamp(joinDataSourceListBo);
+            dataSourceListSlices.computeIfAbsent(timestamp, k -> new DataSourceListSlice(joinDataSourceListBo.getId()))
+                    .add(joinDataSourceListBo);
+        }
+        add(fileDescriptorSlices, FILE_DESCRIPTOR, joinApplicationStatBo.getJoinFileDescriptorBoList());
+        add(directBufferSlices, DIRECT_BUFFER, joinApplicationStatBo.getJoinDirectBufferBoList());
+        add(totalThreadCountSlices, TOTAL_THREAD_COUNT, joinApplicationStatBo.getJoinTotalThreadCountBoList());
+        add(loadedClassSlices, LOADED_CLASS, joinApplicationStatBo.getJoinLoadedClassBoList());
+    }
+
+    private <T extends JoinStatBo> void add(Map<Long, StatSlice<T>> slices, StatFolder<T> folder, List<T> statList) {
+        for (T statBo : statList) {
+            final long timestamp = updateTimestamp(statBo);
+            slices.computeIfAbsent(timestamp, k -> new StatSlice<>()).add(folder, statBo);
+        }
+    }
+
+    private long updateTimestamp(JoinStatBo statBo) {
+        final long timestamp = statBo.getTimestamp();
+        minTimestamp = Math.min(timestamp, minTimestamp);
+        return JoinApplicationStatBo.shiftTimestamp(timestamp);
+    }
+
+    /**
+     * Appends {@code other} as if its values had been added after the values of this accumulator.
+     */
+    public void merge(JoinApplicationStatAccumulator other) {
+        Objects.requireNonNull(other, "other");
+        if (other.applicationId == null) {
+            return;
+        }
+        if (applicationId == null) {
+            applicationId = other.applicationId;
+        }
+        minTimestamp = Math.min(minTimestamp, other.minTimestamp);
+
+        merge(cpuLoadSlices, other.cpuLoadSlices);
+        merge(memorySlices, other.memorySlices);
+        merge(transactionSlices, other.transactionSlices);
+        merge(activeTraceSlices, other.activeTraceSlices);
+        merge(responseTimeSlices, other.responseTimeSlices);
+        for (Map.Entry<Long, DataSourceListSlice> entry : other.dataSourceListSlices.entrySet()) {
+            final DataSourceListSlice otherSlice = entry.getValue();
+            dataSourceListSlices.computeIfAbsent(entry.getKey(), k -> new DataSourceListSlice(otherSlice.id))
+                    .merge(otherSlice);
+        }
+        merge(fileDescriptorSlices, other.fileDescriptorSlices);
+        merge(directBufferSlices, other.directBufferSlices);
+        merge(totalThreadCountSlices, other.totalThreadCountSlices);
+        merge(loadedClassSlices, other.loadedClassSlices);
+    }
+
+    private static <T extends JoinStatBo> void merge(Map<Long, StatSlice<T>> slices, Map<Long, StatSlice<T>> otherSlices) {
+        for (Map.Entry<Long, StatSlice<T>> entry : otherSlices.entrySet()) {
+            slices.computeIfAbsent(entry.getKey(), k -> new StatSlice<>()).merge(entry.getValue());
+        }
+    }
+
+    public JoinApplicationStatBo build() {
+        if (applicationId == null) {
+            return JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO;
+        }
+        final JoinApplicationStatBo.Builder builder = JoinApplicationStatBo.newBuilder(applicationId, minTimestamp);
+
+        build(cpuLoadSlices, CPU_LOAD).forEach(builder::addCpuLoad);
+        build(memorySlices, MEMORY).forEach(builder::addMemory);
+        build(transactionSlices, TRANSACTION).forEach(builder::addTransaction);
+        build(activeTraceSlices, ACTIVE_TRACE).forEach(builder::addActiveTrace);
+        build(responseTimeSlices, RESPONSE_TIME).forEach(builder::addResponseTime);
+        for (Map.Entry<Long, DataSourceListSlice> entry : dataSourceListSlices.entrySet()) {
+            builder.addDataSourceList(entry.getValue().build(entry.getKey()));
+        }
+        build(fileDescriptorSlices, FILE_DESCRIPTOR).forEach(builder::addFileDescriptor);
+        build(directBufferSlices, DIRECT_BUFFER).forEach(builder::addDirectBuffer);
+        build(totalThreadCountSlices, TOTAL_THREAD_COUNT).forEach(builder::addTotalThreadCount);
+        build(loadedClassSlices, LOADED_CLASS).forEach(builder::addLoadedClass);
+
+        return builder.build();
+    }
+
+    private static <T extends JoinStatBo> List<T> build(Map<Long, StatSlice<T>> slices, StatFolder<T> folder) {
+        final List<T> result = new ArrayList<>(slices.size());
+        for (Map.Entry<Long, StatSlice<T>> entry : slices.entrySet()) {
+            result.add(entry.getValue().build(folder, entry.getKey()));
+        }
+        return result;
+    }
+
+    private static class StatFolder<T extends JoinStatBo> {
+        private final List<Function<T, JoinFieldBo<?>>> fieldGetters;
+        private final StatFactory<T> factory;
+
+        StatFolder(List<Function<T, JoinFieldBo<?>>> fieldGetters, StatFactory<T> factory) {
+            this.fieldGetters = Objects.requireNonNull(fieldGetters, "fieldGetters");
+            this.factory = Objects.requireNonNull(factory, "factory");
+        }
+    }
+
+    private interface StatFactory<T extends JoinStatBo> {
+        T newStatBo(T first, long timestamp, List<JoinFieldBo<?>> fields);
+    }
+
+    /**
+     * Keeps the first value of a slice for its identifying attributes, plus one accumulator per join field.
+     */
+    private static class StatSlice<T extends JoinStatBo> {
+        private T first;
+        private final List<JoinFieldAccumulator<?>> fields = new ArrayList<>();
+
+        void add(StatFolder<T> folder, T statBo) {
+            final List<Function<T, JoinFieldBo<?>>> fieldGetters = folder.fieldGetters;
+            if (first == null) {
+                first = statBo;
+                for (Function<T, JoinFieldBo<?>> fieldGetter : fieldGetters) {
+                    fields.add(JoinFieldAccumulator.newAccumulator(fieldGetter.apply(statBo)));
+                }
+            }
+            for (int i = 0; i < fieldGetters.size(); i++) {
+                fields.get(i).add(fieldGetters.get(i).apply(statBo));
+            }
+        }
+
+        void merge(StatSlice<T> other) {
+            if (other.first == null) {
+                return;
+            }
+            if (first == null) {
+                first = other.first;
+                for (JoinFieldAccumulator<?> field : other.fields) {
+                    fields.add(field.copy());
+                }
+                return;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                fields.get(i).merge(other.fields.get(i));
+            }
+        }
+
+        T build(StatFolder<T> folder, long timestamp) {
+            final List<JoinFieldBo<?>> fieldBoList = new ArrayList<>(fields.size());
+            for (JoinFieldAccumulator<?> field : fields) {
+                fieldBoList.add(field.build());
+            }
+            return folder.factory.newStatBo(first, timestamp, fieldBoList);
+        }
+    }
+
+    private static class DataSourceListSlice {
+        private final String id;
+        private final Map<DataSourceKey, StatSlice<JoinDataSourceBo>> dataSources = new HashMap<>();
+
+        DataSourceListSlice(String id) {
+            this.id = Objects.requireNonNull(id, "id");
+        }
+
+        void add(JoinDataSourceListBo joinDataSourceListBo) {
+            for (JoinDataSourceBo joinDataSourceBo : joinDataSourceListBo.getJoinDataSourceBoList()) {
+                final DataSourceKey dataSourceKey = new DataSourceKey(joinDataSourceBo.getUrl(), joinDataSourceBo.getServiceTypeCode());
+                dataSources.computeIfAbsent(dataSourceKey, k -> new StatSlice<>()).add(DATA_SOURCE, joinDataSourceBo);
+            }
+        }
+
+        void merge(DataSourceListSlice other) {
+            for (Map.Entry<DataSourceKey, StatSlice<JoinDataSourceBo>> entry : other.dataSources.entrySet()) {
+                dataSources.computeIfAbsent(entry.getKey(), k -> new StatSlice<>()).merge(entry.getValue());
+            }
+        }
+
+        JoinDataSourceListBo build(long timestamp) {
+            final List<JoinDataSourceBo> joinDataSourceBoList = new ArrayList<>(dataSources.size());
+            for (StatSlice<JoinDataSourceBo> slice : dataSources.values()) {
+                joinDataSourceBoList.add(slice.build(DATA_SOURCE, timestamp));
+            }
+            final JoinDataSourceListBo joinDataSourceListBo = new JoinDataSourceListBo();
+            joinDataSourceListBo.setId(id);
+            joinDataSourceListBo.setTimestamp(timestamp);
+            joinDataSourceListBo.setJoinDataSourceBoList(joinDataSourceBoList);
+            return joinDataSourceListBo;
+        }
+    }
+}
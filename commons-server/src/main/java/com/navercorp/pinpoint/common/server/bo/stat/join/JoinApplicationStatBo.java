@@ -188,7 +188,7 @@ public class JoinApplicationStatBo implements JoinStatBo {
         return minTimestamp;
     }
 
-    private static long shiftTimestamp(long timestamp) {
+    static long shiftTimestamp(long timestamp) {
         return timestamp - (timestamp % SHIFT_RANGE);
     }
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.join;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+
+/**
+ * Incremental counterpart of {@link JoinIntFieldBo#merge}, {@link JoinLongFieldBo#merge} and {@link JoinDoubleFieldBo#merge}.
+ * The average is folded with the same summary statistics the merge streams use, and the first minimum/maximum wins on ties.
+ */
+abstract class JoinFieldAccumulator<V extends Number & Comparable<V>> {
+
+    V minValue;
+    String minAgentId;
+    V maxValue;
+    String maxAgentId;
+
+    static JoinFieldAccumulator<?> newAccumulator(JoinFieldBo<?> joinFieldBo) {
+        Objects.requireNonNull(joinFieldBo, "joinFieldBo");
+        if (joinFieldBo instanceof JoinIntFieldBo) {
+            return new IntFieldAccumulator();
+        }
+        if (joinFieldBo instanceof JoinLongFieldBo) {
+            return new LongFieldAccumulator();
+        }
+        if (joinFieldBo instanceof JoinDoubleFieldBo) {
+            return new DoubleFieldAccumulator();
+        }
+        throw new IllegalArgumentException("unsupported joinFieldBo:" + joinFieldBo.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    void add(JoinFieldBo<?> joinFieldBo) {
+        final JoinFieldBo<V> fieldBo = (JoinFieldBo<V>) joinFieldBo;
+        addAvg(fieldBo.getAvg());
+        updateMin(fieldBo.getMin(), fieldBo.getMinAgentId());
+        updateMax(fieldBo.getMax(), fieldBo.getMaxAgentId());
+    }
+
+    @SuppressWarnings("unchecked")
+    void merge(JoinFieldAccumulator<?> accumulator) {
+        final JoinFieldAccumulator<V> other = (JoinFieldAccumulator<V>) accumulator;
+        combineAvg(other);
+        if (other.minValue != null) {
+            updateMin(other.minValue, other.minAgentId);
+        }
+        if (other.maxValue != null) {
+            updateMax(other.maxValue, other.maxAgentId);
+        }
+    }
+
+    JoinFieldAccumulator<V> copy() {
+        final JoinFieldAccumulator<V> copy = newInstance();
+        copy.merge(this);
+        return copy;
+    }
+
+    private void updateMin(V value, String agentId) {
+        if (minValue == null || value.compareTo(minValue) < 0) {
+            this.minValue = value;
+            this.minAgentId = agentId;
+        }
+    }
+
+    private void updateMax(V value, String agentId) {
+        if (maxValue == null || value.compareTo(maxValue) > 0) {
+            this.maxValue = value;
+            this.maxAgentId = agentId;
+        }
+    }
+
+    protected abstract JoinFieldAccumulator<V> newInstance();
+
+    protected abstract void addAvg(V avg);
+
+    protected abstract void combineAvg(JoinFieldAccumulator<V> other);
+
+    abstract JoinFieldBo<V> build();
+
+    static class IntFieldAccumulator extends JoinFieldAccumulator<Integer> {
+        private final IntSummaryStatistics avg = new IntSummaryStatistics();
+
+        @Override
+        protected IntFieldAccumulator newInstance() {
+            return new IntFieldAccumulator();
+        }
+
+        @Override
+        protected void addAvg(Integer avg) {
+            this.avg.accept(avg);
+        }
+
+        @Override
+        protected void combineAvg(JoinFieldAccumulator<Integer> other) {
+            this.avg.combine(((IntFieldAccumulator) other).avg);
+        }
+
+        @Override
+        JoinIntFieldBo build() {
+            return new JoinIntFieldBo((int) avg.getAverage(), minValue, minAgentId, maxValue, maxAgentId);
+        }
+    }
+
+    static class LongFieldAccumulator extends JoinFieldAccumulator<Long> {
+        private final LongSummaryStatistics avg = new LongSummaryStatistics();
+
+        @Override
+        protected LongFieldAccumulator newInstance() {
+            return new LongFieldAccumulator();
+        }
+
+        @Override
+        protected void addAvg(Long avg) {
+            this.avg.accept(avg);
+        }
+
+        @Override
+        protected void combineAvg(JoinFieldAccumulator<Long> other) {
+            this.avg.combine(((LongFieldAccumulator) other).avg);
+        }
+
+        @Override
+        JoinLongFieldBo build() {
+            return new JoinLongFieldBo((long) avg.getAverage(), minValue, minAgentId, maxValue, maxAgentId);
+        }
+    }
+
+    static class DoubleFieldAccumulator extends JoinFieldAccumulator<Double> {
+        private final DoubleSummaryStatistics avg = new DoubleSummaryStatistics();
+
+        @Override
+        protected DoubleFieldAccumulator newInstance() {
+            return new DoubleFieldAccumulator();
+        }
+
+        @Override
+        protected void addAvg(Double avg) {
+            this.avg.accept(avg);
+        }
+
+        @Override
+        protected void combineAvg(JoinFieldAccumulator<Double> other) {
+            this.avg.combine(((DoubleFieldAccumulator) other).avg);
+        }
+
+        @Override
+        JoinDoubleFieldBo build() {
+            return new JoinDoubleFieldBo(avg.getAverage(), minValue, minAgentId, maxValue, maxAgentId);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pre-aggregated values of an agent stat over a single rollup slot.
+ * <p>
+ * {@code timestamp} is the start of the slot and {@code fields} follow the order defined by the
+ * {@link AgentStatRollupFunction} of {@code agentStatType}.
+ */
+public class AgentStatRollupBo implements AgentStatDataPoint {
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+    private AgentStatType agentStatType = AgentStatType.UNKNOWN;
+    private List<AgentStatRollupFieldBo> fields = new ArrayList<>();
+
+    public AgentStatRollupBo() {
+    }
+
+    public AgentStatRollupBo(AgentStatType agentStatType, int fieldCount) {
+        this.agentStatType = Objects.requireNonNull(agentStatType, "agentStatType");
+        this.fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            this.fields.add(new AgentStatRollupFieldBo());
+        }
+    }
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return agentStatType;
+    }
+
+    public void setAgentStatType(AgentStatType agentStatType) {
+        this.agentStatType = Objects.requireNonNull(agentStatType, "agentStatType");
+    }
+
+    public List<AgentStatRollupFieldBo> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<AgentStatRollupFieldBo> fields) {
+        this.fields = Objects.requireNonNull(fields, "fields");
+    }
+
+    public AgentStatRollupFieldBo getField(int index) {
+        return fields.get(index);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("AgentStatRollupBo{");
+        sb.append("agentId='").append(agentId).append('\'');
+        sb.append(", startTimestamp=").append(startTimestamp);
+        sb.append(", timestamp=").append(timestamp);
+        sb.append(", agentStatType=").append(agentStatType);
+        sb.append(", fields=").append(fields);
+        sb.append('}');
+        return sb.toString();
+    }
+}
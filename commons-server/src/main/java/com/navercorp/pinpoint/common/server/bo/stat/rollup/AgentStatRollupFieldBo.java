@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+/**
+ * count / min / max / sum of a single metric over a rollup slot.
+ */
+public class AgentStatRollupFieldBo {
+
+    private long count;
+    private long min;
+    private long max;
+    private long sum;
+
+    public AgentStatRollupFieldBo() {
+    }
+
+    public AgentStatRollupFieldBo(long count, long min, long max, long sum) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+    }
+
+    public void accept(long value) {
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        sum += value;
+        count++;
+    }
+
+    public void merge(AgentStatRollupFieldBo other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        sum += other.sum;
+        count += other.count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("AgentStatRollupFieldBo{");
+        sb.append("count=").append(count);
+        sb.append(", min=").append(min);
+        sb.append(", max=").append(max);
+        sb.append(", sum=").append(sum);
+        sb.append('}');
+        return sb.toString();
+    }
+}
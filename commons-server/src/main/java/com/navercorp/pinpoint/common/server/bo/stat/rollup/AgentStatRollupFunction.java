@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Extracts the metrics of an agent stat data point that are folded into rollups.
+ * Extractors return {@link #UNCOLLECTED_VALUE} for values that must not be counted.
+ */
+public class AgentStatRollupFunction<T extends AgentStatDataPoint> {
+
+    public static final long UNCOLLECTED_VALUE = -1L;
+
+    private final AgentStatType agentStatType;
+    private final List<ToLongFunction<T>> fieldExtractors;
+
+    public AgentStatRollupFunction(AgentStatType agentStatType, List<ToLongFunction<T>> fieldExtractors) {
+        this.agentStatType = Objects.requireNonNull(agentStatType, "agentStatType");
+        this.fieldExtractors = Objects.requireNonNull(fieldExtractors, "fieldExtractors");
+    }
+
+    public AgentStatType getAgentStatType() {
+        return agentStatType;
+    }
+
+    public int getFieldCount() {
+        return fieldExtractors.size();
+    }
+
+    public AgentStatRollupBo newRollup() {
+        return new AgentStatRollupBo(agentStatType, fieldExtractors.size());
+    }
+
+    public void accumulate(AgentStatRollupBo rollup, T dataPoint) {
+        final List<AgentStatRollupFieldBo> fields = rollup.getFields();
+        for (int i = 0; i < fieldExtractors.size(); i++) {
+            final long value = fieldExtractors.get(i).applyAsLong(dataPoint);
+            if (value != UNCOLLECTED_VALUE) {
+                fields.get(i).accept(value);
+            }
+        }
+    }
+}
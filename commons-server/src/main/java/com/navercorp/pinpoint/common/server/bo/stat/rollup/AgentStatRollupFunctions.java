@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Rollup functions of the agent stats whose chart values only depend on the data point itself.
+ * <p>
+ * Fields are declared in the order of the matching sampled chart values.
+ * Ratios and rates are stored as fixed-point values, see {@link #toFixedPoint(double)}.
+ */
+public final class AgentStatRollupFunctions {
+
+    public static final int TPS_NUM_DECIMAL_PLACES = 1;
+
+    /**
+     * jvmCpuLoad, systemCpuLoad
+     */
+    public static final AgentStatRollupFunction<CpuLoadBo> CPU_LOAD = new AgentStatRollupFunction<>(AgentStatType.CPU_LOAD, Arrays.asList(
+            cpuLoad(CpuLoadBo::getJvmCpuLoad),
+            cpuLoad(CpuLoadBo::getSystemCpuLoad)
+    ));
+
+    /**
+     * sampledNew, sampledContinuation, unsampledNew, unsampledContinuation, skippedNew, skippedContinuation, total (tps)
+     */
+    public static final AgentStatRollupFunction<TransactionBo> TRANSACTION = new AgentStatRollupFunction<>(AgentStatType.TRANSACTION, Arrays.asList(
+            tps(TransactionBo::getSampledNewCount),
+            tps(TransactionBo::getSampledContinuationCount),
+            tps(TransactionBo::getUnsampledNewCount),
+            tps(TransactionBo::getUnsampledContinuationCount),
+            tps(TransactionBo::getSkippedNewSkipCount),
+            tps(TransactionBo::getSkippedContinuationCount),
+            AgentStatRollupFunctions::totalTps
+    ));
+
+    /**
+     * totalThreadCount
+     */
+    public static final AgentStatRollupFunction<TotalThreadCountBo> TOTAL_THREAD = new AgentStatRollupFunction<>(AgentStatType.TOTAL_THREAD, Collections.singletonList(
+            TotalThreadCountBo::getTotalThreadCount
+    ));
+
+    /**
+     * loadedClassCount, unloadedClassCount
+     */
+    public static final AgentStatRollupFunction<LoadedClassBo> LOADED_CLASS = new AgentStatRollupFunction<>(AgentStatType.LOADED_CLASS, Arrays.asList(
+            LoadedClassBo::getLoadedClassCount,
+            LoadedClassBo::getUnloadedClassCount
+    ));
+
+    /**
+     * openFileDescriptorCount
+     */
+    public static final AgentStatRollupFunction<FileDescriptorBo> FILE_DESCRIPTOR = new AgentStatRollupFunction<>(AgentStatType.FILE_DESCRIPTOR, Collections.singletonList(
+            FileDescriptorBo::getOpenFileDescriptorCount
+    ));
+
+    /**
+     * directCount, directMemoryUsed, mappedCount, mappedMemoryUsed
+     */
+    public static final AgentStatRollupFunction<DirectBufferBo> DIRECT_BUFFER = new AgentStatRollupFunction<>(AgentStatType.DIRECT_BUFFER, Arrays.asList(
+            DirectBufferBo::getDirectCount,
+            DirectBufferBo::getDirectMemoryUsed,
+            DirectBufferBo::getMappedCount,
+            DirectBufferBo::getMappedMemoryUsed
+    ));
+
+    private AgentStatRollupFunctions() {
+    }
+
+    public static long toFixedPoint(double value) {
+        return Math.round(value * AgentStatUtils.CONVERT_VALUE);
+    }
+
+    public static double fromFixedPoint(double value) {
+        return value / AgentStatUtils.CONVERT_VALUE;
+    }
+
+    private static ToLongFunction<CpuLoadBo> cpuLoad(ToDoubleFunction<CpuLoadBo> function) {
+        return cpuLoadBo -> {
+            final double cpuLoad = function.applyAsDouble(cpuLoadBo);
+            if (cpuLoad == CpuLoadBo.UNCOLLECTED_VALUE) {
+                return AgentStatRollupFunction.UNCOLLECTED_VALUE;
+            }
+            return toFixedPoint(cpuLoad);
+        };
+    }
+
+    private static ToLongFunction<TransactionBo> tps(ToLongFunction<TransactionBo> function) {
+        return transactionBo -> {
+            final long collectInterval = transactionBo.getCollectInterval();
+            if (collectInterval <= 0) {
+                return AgentStatRollupFunction.UNCOLLECTED_VALUE;
+            }
+            final long count = function.applyAsLong(transactionBo);
+            if (count == TransactionBo.UNCOLLECTED_VALUE) {
+                return AgentStatRollupFunction.UNCOLLECTED_VALUE;
+            }
+            return toTps(count, collectInterval);
+        };
+    }
+
+    private static long totalTps(TransactionBo transactionBo) {
+        final long collectInterval = transactionBo.getCollectInterval();
+        if (collectInterval <= 0) {
+            return AgentStatRollupFunction.UNCOLLECTED_VALUE;
+        }
+        boolean isTransactionCollected = false;
+        long totalCount = 0;
+        final long[] counts = {
+                transactionBo.getSampledNewCount(),
+                transactionBo.getSampledContinuationCount(),
+                transactionBo.getUnsampledNewCount(),
+                transactionBo.getUnsampledContinuationCount(),
+                transactionBo.getSkippedNewSkipCount(),
+                transactionBo.getSkippedContinuationCount()
+        };
+        for (long count : counts) {
+            if (count != TransactionBo.UNCOLLECTED_VALUE) {
+                isTransactionCollected = true;
+                totalCount += count;
+            }
+        }
+        if (!isTransactionCollected) {
+            return AgentStatRollupFunction.UNCOLLECTED_VALUE;
+        }
+        return toTps(totalCount, collectInterval);
+    }
+
+    private static long toTps(long count, long collectInterval) {
+        final double tps = AgentStatUtils.calculateRate(count, collectInterval, TPS_NUM_DECIMAL_PLACES, 0);
+        return toFixedPoint(tps);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunction;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class AgentStatRollupCodecV2Test extends AgentStatCodecTestBase<AgentStatRollupBo> {
+
+    @Autowired
+    private AgentStatCodecV2<AgentStatRollupBo> codec;
+
+    @Override
+    protected List<AgentStatRollupBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        final AgentStatRollupFunction<TransactionBo> function = AgentStatRollupFunctions.TRANSACTION;
+        final List<TransactionBo> transactionBos = TestAgentStatFactory.createTransactionBos(agentId, startTimestamp, initialTimestamp);
+        final List<AgentStatRollupBo> rollupBos = new ArrayList<>(transactionBos.size());
+        for (TransactionBo transactionBo : transactionBos) {
+            AgentStatRollupBo rollupBo = function.newRollup();
+            rollupBo.setAgentId(agentId);
+            rollupBo.setStartTimestamp(transactionBo.getStartTimestamp());
+            rollupBo.setTimestamp(transactionBo.getTimestamp());
+            function.accumulate(rollupBo, transactionBo);
+            for (TransactionBo other : transactionBos) {
+                function.accumulate(rollupBo, other);
+            }
+            rollupBos.add(rollupBo);
+        }
+        return rollupBos;
+    }
+
+    @Override
+    protected AgentStatCodec<AgentStatRollupBo> getCodec() {
+        return codec;
+    }
+
+    @Override
+    protected void verify(AgentStatRollupBo expected, AgentStatRollupBo actual) {
+        Assertions.assertEquals(expected.getAgentId(), actual.getAgentId(), "agentId");
+        Assertions.assertEquals(expected.getStartTimestamp(), actual.getStartTimestamp(), "startTimestamp");
+        Assertions.assertEquals(expected.getTimestamp(), actual.getTimestamp(), "timestamp");
+        Assertions.assertEquals(expected.getAgentStatType(), actual.getAgentStatType(), "agentStatType");
+        Assertions.assertEquals(expected.getFields().size(), actual.getFields().size(), "fields");
+        for (int i = 0; i < expected.getFields().size(); i++) {
+            AgentStatRollupFieldBo expectedField = expected.getField(i);
+            AgentStatRollupFieldBo actualField = actual.getField(i);
+            Assertions.assertEquals(expectedField.getCount(), actualField.getCount(), "count");
+            Assertions.assertEquals(expectedField.getMin(), actualField.getMin(), "min");
+            Assertions.assertEquals(expectedField.getMax(), actualField.getMax(), "max");
+            Assertions.assertEquals(expectedField.getSum(), actualField.getSum(), "sum");
+        }
+    }
+}
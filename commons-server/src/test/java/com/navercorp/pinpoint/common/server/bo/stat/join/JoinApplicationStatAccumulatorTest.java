@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.stat.join;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JoinApplicationStatAccumulatorTest {
+
+    private static final long CURRENT_TIME = 1487149800000L;
+
+    private final Random random = new Random(1234);
+    // combining compensated double sums may differ from a sequential sum in the last ulp
+    private boolean integralDouble = false;
+
+    @Test
+    public void empty() {
+        JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        assertSame(JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO, accumulator.build());
+    }
+
+    @Test
+    public void sameAsJoinByTimeSlice() {
+        List<JoinApplicationStatBo> joinApplicationStatBoList = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            joinApplicationStatBoList.add(createJoinApplicationStatBo("agent" + i, CURRENT_TIME + random.nextInt(10000)));
+        }
+
+        JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        joinApplicationStatBoList.forEach(accumulator::add);
+
+        assertJoinApplicationStatBo(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList), accumulator.build());
+    }
+
+    @Test
+    public void merge() {
+        integralDouble = true;
+        List<JoinApplicationStatBo> joinApplicationStatBoList = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            joinApplicationStatBoList.add(createJoinApplicationStatBo("agent" + i, CURRENT_TIME + random.nextInt(10000)));
+        }
+
+        JoinApplicationStatAccumulator first = new JoinApplicationStatAccumulator();
+        joinApplicationStatBoList.subList(0, 20).forEach(first::add);
+        JoinApplicationStatAccumulator second = new JoinApplicationStatAccumulator();
+        joinApplicationStatBoList.subList(20, 50).forEach(second::add);
+        first.merge(second);
+
+        assertJoinApplicationStatBo(sort(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList)), sort(first.build()));
+    }
+
+    @Test
+    public void mergeIntoEmpty() {
+        List<JoinApplicationStatBo> joinApplicationStatBoList = Collections.singletonList(createJoinApplicationStatBo("agent", CURRENT_TIME));
+
+        JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        joinApplicationStatBoList.forEach(accumulator::add);
+        JoinApplicationStatAccumulator empty = new JoinApplicationStatAccumulator();
+        empty.merge(accumulator);
+
+        assertJoinApplicationStatBo(sort(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList)), sort(empty.build()));
+    }
+
+    private void assertJoinApplicationStatBo(JoinApplicationStatBo expected, JoinApplicationStatBo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(expected.getStatType(), actual.getStatType());
+        assertEquals(expected.getJoinCpuLoadBoList(), actual.getJoinCpuLoadBoList());
+        assertEquals(expected.getJoinMemoryBoList(), actual.getJoinMemoryBoList());
+        assertEquals(expected.getJoinTransactionBoList(), actual.getJoinTransactionBoList());
+        assertEquals(expected.getJoinActiveTraceBoList(), actual.getJoinActiveTraceBoList());
+        assertEquals(expected.getJoinResponseTimeBoList(), actual.getJoinResponseTimeBoList());
+        assertEquals(expected.getJoinDataSourceListBoList(), actual.getJoinDataSourceListBoList());
+        assertEquals(expected.getJoinFileDescriptorBoList(), actual.getJoinFileDescriptorBoList());
+        assertEquals(expected.getJoinDirectBufferBoList(), actual.getJoinDirectBufferBoList());
+        assertEquals(expected.getJoinTotalThreadCountBoList(), actual.getJoinTotalThreadCountBoList());
+        assertEquals(expected.getJoinLoadedClassBoList(), actual.getJoinLoadedClassBoList());
+    }
+
+    // merged slices may iterate in a different order
+    private JoinApplicationStatBo sort(JoinApplicationStatBo joinApplicationStatBo) {
+        final Comparator<JoinStatBo> timestampComparator = Comparator.comparingLong(JoinStatBo::getTimestamp);
+        joinApplicationStatBo.getJoinCpuLoadBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinMemoryBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinTransactionBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinActiveTraceBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinResponseTimeBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinDataSourceListBoList().sort(timestampComparator);
+        for (JoinDataSourceListBo joinDataSourceListBo : joinApplicationStatBo.getJoinDataSourceListBoList()) {
+            joinDataSourceListBo.getJoinDataSourceBoList().sort(Comparator.comparing(JoinDataSourceBo::getUrl));
+        }
+        joinApplicationStatBo.getJoinFileDescriptorBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinDirectBufferBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinTotalThreadCountBoList().sort(timestampComparator);
+        joinApplicationStatBo.getJoinLoadedClassBoList().sort(timestampComparator);
+        return joinApplicationStatBo;
+    }
+
+    private JoinApplicationStatBo createJoinApplicationStatBo(String agentId, long timestamp) {
+        JoinApplicationStatBo.Builder builder = JoinApplicationStatBo.newBuilder("application", timestamp);
+        for (int i = 0; i < 3; i++) {
+            final long time = timestamp + i * 5000;
+            builder.addCpuLoad(new JoinCpuLoadBo(agentId, doubleField(agentId), doubleField(agentId), time));
+            builder.addMemory(new JoinMemoryBo(agentId, time, longField(agentId), longField(agentId)));
+            builder.addTransaction(new JoinTransactionBo(agentId, 5000, longField(agentId), time));
+            builder.addActiveTrace(new JoinActiveTraceBo(agentId, 1, (short) 1, intField(agentId), time));
+            builder.addResponseTime(new JoinResponseTimeBo(agentId, time, longField(agentId)));
+            builder.addDataSourceList(new JoinDataSourceListBo(agentId, createJoinDataSourceBoList(agentId), time));
+            builder.addFileDescriptor(new JoinFileDescriptorBo(agentId, longField(agentId), time));
+            builder.addDirectBuffer(new JoinDirectBufferBo(agentId, longField(agentId), longField(agentId), longField(agentId), longField(agentId), time));
+            builder.addTotalThreadCount(new JoinTotalThreadCountBo(agentId, time, longField(agentId)));
+            builder.addLoadedClass(new JoinLoadedClassBo(agentId, longField(agentId), longField(agentId), time));
+        }
+        return builder.build();
+    }
+
+    private List<JoinDataSourceBo> createJoinDataSourceBoList(String agentId) {
+        List<JoinDataSourceBo> joinDataSourceBoList = new ArrayList<>();
+        for (int i = 0; i < random.nextInt(3); i++) {
+            joinDataSourceBoList.add(new JoinDataSourceBo((short) 1000, "jdbc:mysql://localhost/db" + i, intField(agentId)));
+        }
+        return joinDataSourceBoList;
+    }
+
+    // narrow ranges so that min/max ties between agents are common
+    private JoinIntFieldBo intField(String agentId) {
+        return new JoinIntFieldBo(random.nextInt(100), random.nextInt(10), agentId, 100 + random.nextInt(10), agentId);
+    }
+
+    private JoinLongFieldBo longField(String agentId) {
+        return new JoinLongFieldBo((long) random.nextInt(10000), (long) random.nextInt(10), agentId, 10000L + random.nextInt(10), agentId);
+    }
+
+    private JoinDoubleFieldBo doubleField(String agentId) {
+        final double avg = integralDouble ? random.nextInt(100) : random.nextDouble() * 100;
+        return new JoinDoubleFieldBo(avg, (double) random.nextInt(10), agentId, 100.0 + random.nextInt(10), agentId);
+    }
+}
@@ -22,6 +22,7 @@ package com.navercorp.pinpoint.flink;
 import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
 import com.navercorp.pinpoint.flink.dao.hbase.StatisticsDao;
 import com.navercorp.pinpoint.flink.function.AgentStatTimestampAssigner;
+import com.navercorp.pinpoint.flink.function.ApplicationStatBoAggregateFunction;
 import com.navercorp.pinpoint.flink.function.ApplicationStatBoWindow;
 import com.navercorp.pinpoint.flink.function.ApplicationStatBoFilter;
 import com.navercorp.pinpoint.flink.function.ApplicationStatKeySelector;
@@ -70,7 +71,7 @@ public class StatStreamingVer2Job implements Serializable {
             .keyBy(new ApplicationStatKeySelector())
             .window(TumblingEventTimeWindows.of(Time.milliseconds(ApplicationStatBoWindow.WINDOW_SIZE)))
             .allowedLateness(Time.milliseconds(ApplicationStatBoWindow.ALLOWED_LATENESS))
-            .apply(new ApplicationStatBoWindow());
+            .aggregate(new ApplicationStatBoAggregateFunction(), new ApplicationStatBoWindow());
             applicationStatAggregationData.addSink(statisticsDao);
 
         // 1-2. aggregate application stat data
@@ -27,14 +27,15 @@ import org.apache.flink.util.Collector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.List;
 
 /**
+ * Emits the {@link JoinApplicationStatBo} already folded by {@link ApplicationStatBoAggregateFunction}.
+ *
  * @author minwoo.jung
  */
-public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, JoinStatBo, Long>, Tuple3<String, JoinStatBo, Long>, String, TimeWindow> {
+public class ApplicationStatBoWindow extends RichWindowFunction<JoinApplicationStatBo, Tuple3<String, JoinStatBo, Long>, String, TimeWindow> {
     public static final int WINDOW_SIZE = 10000;
     public static final int ALLOWED_LATENESS = 45000;
 
@@ -50,10 +51,10 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
     }
 
     @Override
-    public void apply(String groupingKey, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
-        applicationStatBoWindowInterceptor.before(values);
+    public void apply(String groupingKey, TimeWindow window, Iterable<JoinApplicationStatBo> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
+        final JoinApplicationStatBo joinApplicationStatBo = values.iterator().next();
+        applicationStatBoWindowInterceptor.before(Collections.singletonList(new Tuple3<>(groupingKey, joinApplicationStatBo, joinApplicationStatBo.getTimestamp())));
         try {
-            JoinApplicationStatBo joinApplicationStatBo = join(values);
             long delayTime = new Date().getTime() - joinApplicationStatBo.getTimestamp();
             if (delayTime > 35000) {
                 if (logger.isDebugEnabled()) {
@@ -85,15 +86,4 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
             applicationStatBoWindowInterceptor.after();
         }
     }
-
-    private JoinApplicationStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
-        List<JoinApplicationStatBo> joinApplicaitonStatBoList = new ArrayList<>();
-
-        for (Tuple3<String, JoinStatBo, Long> value : values) {
-            joinApplicaitonStatBoList.add((JoinApplicationStatBo) value.f1);
-        }
-
-        return JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicaitonStatBoList);
-
-    }
 }
\ No newline at end of file
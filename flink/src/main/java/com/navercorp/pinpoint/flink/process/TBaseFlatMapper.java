@@ -70,7 +70,8 @@ public class TBaseFlatMapper extends RichFlatMapFunction<RawData, Tuple3<String,
     @Override
     public void flatMap(RawData rawData, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
         final TBase<?, ?> tBase = rawData.getData();
-        if (tBase == null) {
+        final JoinAgentStatBo decodedJoinAgentStatBo = rawData.getJoinAgentStatBo();
+        if (tBase == null && decodedJoinAgentStatBo == null) {
             logger.error("tBase is null");
             return;
         }
@@ -78,7 +79,12 @@ public class TBaseFlatMapper extends RichFlatMapFunction<RawData, Tuple3<String,
         tBaseFlatMapperInterceptor.before(rawData);
 
         try {
-            List<Tuple3<String, JoinStatBo, Long>> outData = serverRequestFlatMap(tBase);
+            List<Tuple3<String, JoinStatBo, Long>> outData;
+            if (decodedJoinAgentStatBo != null) {
+                outData = joinAgentStatBoFlatMap(decodedJoinAgentStatBo);
+            } else {
+                outData = serverRequestFlatMap(tBase);
+            }
             if (outData.isEmpty()) {
                 return;
             }
@@ -94,51 +100,56 @@ public class TBaseFlatMapper extends RichFlatMapFunction<RawData, Tuple3<String,
     }
 
     private List<Tuple3<String, JoinStatBo, Long>> serverRequestFlatMap(TBase<?, ?> tBase) {
-        List<Tuple3<String, JoinStatBo, Long>> outData = new ArrayList<>(5);
-
         if (tBase instanceof TFAgentStatBatch) {
             if (logger.isDebugEnabled()) {
                 logger.debug("raw data : {}", tBase);
             }
 
-            final long time = new Date().getTime() + 3600000;
             final TFAgentStatBatch tFAgentStatBatch = (TFAgentStatBatch) tBase;
             final JoinAgentStatBo joinAgentStatBo;
             try {
                 joinAgentStatBo = joinAgentStatBoMapper.map(tFAgentStatBatch);
-
-                if (joinAgentStatBo == JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO) {
-                    return EMPTY_LIST;
-                }
-
-                if (joinAgentStatBo.getTimestamp() >= time) {
-                    logger.error("timestamp is too big !! {}" , joinAgentStatBo.toString());
-                    return EMPTY_LIST;
-                }
             } catch (Exception e) {
                 logger.error("can't create joinAgentStatBo object {}", tFAgentStatBatch, e);
                 return EMPTY_LIST;
             }
 
-            outData.add(new Tuple3<>(joinAgentStatBo.getId(), joinAgentStatBo, joinAgentStatBo.getTimestamp()));
+            return joinAgentStatBoFlatMap(joinAgentStatBo);
+        }
 
-            final ApplicationCache.ApplicationKey applicationKey = new ApplicationCache.ApplicationKey(joinAgentStatBo.getId(), joinAgentStatBo.getAgentStartTimestamp());
-            final String applicationId = applicationCache.findApplicationId(applicationKey);
+        return EMPTY_LIST;
+    }
 
-            if (ApplicationCache.NOT_FOUND_APP_ID.equals(applicationId)) {
-                logger.warn("can't found application id. agent id : {}, start time : {}.", joinAgentStatBo.getId(), joinAgentStatBo.getAgentStartTimestamp());
-                return EMPTY_LIST;
-            }
+    private List<Tuple3<String, JoinStatBo, Long>> joinAgentStatBoFlatMap(JoinAgentStatBo joinAgentStatBo) {
+        if (joinAgentStatBo == JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO) {
+            return EMPTY_LIST;
+        }
+
+        final long time = new Date().getTime() + 3600000;
+        if (joinAgentStatBo.getTimestamp() >= time) {
+            logger.error("timestamp is too big !! {}" , joinAgentStatBo.toString());
+            return EMPTY_LIST;
+        }
+
+        List<Tuple3<String, JoinStatBo, Long>> outData = new ArrayList<>(5);
+        outData.add(new Tuple3<>(joinAgentStatBo.getId(), joinAgentStatBo, joinAgentStatBo.getTimestamp()));
 
-            List<JoinApplicationStatBo> joinApplicationStatBoList = JoinApplicationStatBo.createJoinApplicationStatBo(applicationId, joinAgentStatBo, ApplicationStatBoWindow.WINDOW_SIZE);
+        final ApplicationCache.ApplicationKey applicationKey = new ApplicationCache.ApplicationKey(joinAgentStatBo.getId(), joinAgentStatBo.getAgentStartTimestamp());
+        final String applicationId = applicationCache.findApplicationId(applicationKey);
 
-            for (JoinApplicationStatBo joinApplicationStatBo : joinApplicationStatBoList) {
-                if (joinApplicationStatBo.getTimestamp() >= time) {
-                    logger.error("timestamp is too big !! {}" , joinApplicationStatBo.toString());
-                    return EMPTY_LIST;
-                }
-                outData.add(new Tuple3<>(applicationId, joinApplicationStatBo, joinApplicationStatBo.getTimestamp()));
+        if (ApplicationCache.NOT_FOUND_APP_ID.equals(applicationId)) {
+            logger.warn("can't found application id. agent id : {}, start time : {}.", joinAgentStatBo.getId(), joinAgentStatBo.getAgentStartTimestamp());
+            return EMPTY_LIST;
+        }
+
+        List<JoinApplicationStatBo> joinApplicationStatBoList = JoinApplicationStatBo.createJoinApplicationStatBo(applicationId, joinAgentStatBo, ApplicationStatBoWindow.WINDOW_SIZE);
+
+        for (JoinApplicationStatBo joinApplicationStatBo : joinApplicationStatBoList) {
+            if (joinApplicationStatBo.getTimestamp() >= time) {
+                logger.error("timestamp is too big !! {}" , joinApplicationStatBo.toString());
+                return EMPTY_LIST;
             }
+            outData.add(new Tuple3<>(applicationId, joinApplicationStatBo, joinApplicationStatBo.getTimestamp()));
         }
 
         return outData;
@@ -17,7 +17,9 @@ package com.navercorp.pinpoint.flink.receiver;
 
 
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
 import com.navercorp.pinpoint.flink.vo.RawData;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import org.apache.flink.streaming.api.functions.source.SourceFunction.SourceContext;
 import org.apache.thrift.TBase;
@@ -40,6 +42,16 @@ public class AgentStatHandler extends SourceContextManager implements SimpleHand
         final TBase<?, ?> tBase = serverRequest.getData();
         final Map<String, String> metaInfo = new HashMap<>(serverRequest.getHeaderEntity().getEntityAll());
         final RawData rawData = new RawData(tBase, metaInfo);
+        collect(rawData);
+    }
+
+    public void handleAgentStatRecord(JoinAgentStatBo joinAgentStatBo, HeaderEntity headerEntity) {
+        final Map<String, String> metaInfo = new HashMap<>(headerEntity.getEntityAll());
+        final RawData rawData = new RawData(joinAgentStatBo, metaInfo);
+        collect(rawData);
+    }
+
+    private void collect(RawData rawData) {
         final SourceContext sourceContext = roundRobinSourceContext();
 
         if (sourceContext == null) {
@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.thrift.tcp.DefaultTCPPacketHandler;
 import com.navercorp.pinpoint.collector.receiver.thrift.tcp.TCPPacketHandler;
 import com.navercorp.pinpoint.collector.receiver.thrift.tcp.TCPPacketHandlerFactory;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.record.AgentStatRecordCodec;
 import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
@@ -39,19 +40,23 @@ public class FlinkPacketHandlerFactory implements TCPPacketHandlerFactory<TBase<
 
     private final SerializerFactory<HeaderTBaseSerializer> cachedSerializer;
     private final DeserializerFactory<HeaderTBaseDeserializer> cachedDeserializer;
+    private final AgentStatHandler agentStatHandler;
+    private final AgentStatRecordCodec agentStatRecordCodec = new AgentStatRecordCodec();
 
-    public FlinkPacketHandlerFactory(HeaderTBaseSerializerFactory flinkHeaderTBaseSerializerFactory, HeaderTBaseDeserializerFactory flinkHeaderTBaseDeserializerFactory) {
+    public FlinkPacketHandlerFactory(HeaderTBaseSerializerFactory flinkHeaderTBaseSerializerFactory, HeaderTBaseDeserializerFactory flinkHeaderTBaseDeserializerFactory, AgentStatHandler agentStatHandler) {
         Objects.requireNonNull(flinkHeaderTBaseSerializerFactory, "flinkHeaderTBaseSerializerFactory");
         Objects.requireNonNull(flinkHeaderTBaseDeserializerFactory, "flinkHeaderTBaseDeserializerFactory");
 
         this.cachedSerializer = new ThreadLocalHeaderTBaseSerializerFactory<>(flinkHeaderTBaseSerializerFactory);
 
         this.cachedDeserializer = new ThreadLocalHeaderTBaseDeserializerFactory<>(flinkHeaderTBaseDeserializerFactory);
+        this.agentStatHandler = Objects.requireNonNull(agentStatHandler, "agentStatHandler");
     }
 
     @Override
     public TCPPacketHandler build(DispatchHandler<TBase<?, ?>, TBase<?, ?>> dispatchHandler) {
         Objects.requireNonNull(dispatchHandler, "dispatchHandler");
-        return new DefaultTCPPacketHandler(dispatchHandler, cachedSerializer, cachedDeserializer);
+        TCPPacketHandler thriftPacketHandler = new DefaultTCPPacketHandler(dispatchHandler, cachedSerializer, cachedDeserializer);
+        return new FlinkTCPPacketHandler(thriftPacketHandler, agentStatHandler, agentStatRecordCodec);
     }
 }
\ No newline at end of file
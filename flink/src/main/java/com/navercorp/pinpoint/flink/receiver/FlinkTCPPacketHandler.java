@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.receiver;
+
+import com.navercorp.pinpoint.collector.receiver.thrift.tcp.TCPPacketHandler;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.record.AgentStatRecordCodec;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.io.header.ByteArrayHeaderReader;
+import com.navercorp.pinpoint.io.header.Header;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+import com.navercorp.pinpoint.io.header.HeaderReader;
+import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.packet.RequestPacket;
+import com.navercorp.pinpoint.rpc.packet.SendPacket;
+import com.navercorp.pinpoint.thrift.io.FlinkTBaseLocator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+
+/**
+ * Decodes binary agent stat records straight into {@link JoinAgentStatBo} and hands them to the {@link AgentStatHandler}.
+ * Every other packet goes to the thrift packet handler.
+ */
+public class FlinkTCPPacketHandler implements TCPPacketHandler {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TCPPacketHandler thriftPacketHandler;
+    private final AgentStatHandler agentStatHandler;
+    private final AgentStatRecordCodec codec;
+
+    public FlinkTCPPacketHandler(TCPPacketHandler thriftPacketHandler, AgentStatHandler agentStatHandler, AgentStatRecordCodec codec) {
+        this.thriftPacketHandler = Objects.requireNonNull(thriftPacketHandler, "thriftPacketHandler");
+        this.agentStatHandler = Objects.requireNonNull(agentStatHandler, "agentStatHandler");
+        this.codec = Objects.requireNonNull(codec, "codec");
+    }
+
+    @Override
+    public void handleSend(SendPacket packet, PinpointSocket pinpointSocket) {
+        Objects.requireNonNull(packet, "packet");
+        Objects.requireNonNull(pinpointSocket, "pinpointSocket");
+
+        final byte[] payload = Objects.requireNonNull(packet.getPayload(), "payload");
+        if (!isAgentStatRecord(payload)) {
+            thriftPacketHandler.handleSend(packet, pinpointSocket);
+            return;
+        }
+
+        try {
+            final HeaderReader reader = new ByteArrayHeaderReader(payload);
+            final Header header = reader.readHeader();
+            final HeaderEntity headerEntity = reader.readHeaderEntity(header);
+
+            final Buffer buffer = new OffsetFixedBuffer(payload, reader.getOffset(), reader.getRemaining());
+            final JoinAgentStatBo joinAgentStatBo = codec.decode(buffer);
+            agentStatHandler.handleAgentStatRecord(joinAgentStatBo, headerEntity);
+        } catch (Exception e) {
+            logger.warn("agent stat record decode error. remote:{} cause:{}", pinpointSocket.getRemoteAddress(), e.getMessage(), e);
+        }
+    }
+
+    private boolean isAgentStatRecord(byte[] payload) {
+        try {
+            final Header header = new ByteArrayHeaderReader(payload).readHeader();
+            return header.getType() == FlinkTBaseLocator.AGENT_STAT_RECORD;
+        } catch (Exception e) {
+            // invalid headers are reported by the thrift packet handler
+            return false;
+        }
+    }
+
+    @Override
+    public void handleRequest(RequestPacket packet, PinpointSocket pinpointSocket) {
+        thriftPacketHandler.handleRequest(packet, pinpointSocket);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.navercorp.pinpoint.flink.vo;
 
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
 import org.apache.thrift.TBase;
 
 import java.util.Map;
@@ -26,17 +27,38 @@ import java.util.Objects;
 public class RawData {
 
     private final TBase<?, ?> data;
+    private final JoinAgentStatBo joinAgentStatBo;
     private final Map<String, String> metaInfo;
 
     public RawData(TBase<?, ?> data, Map<String,String> metaInfo) {
         this.data = Objects.requireNonNull(data, "data");
+        this.joinAgentStatBo = null;
         this.metaInfo = Objects.requireNonNull(metaInfo, "metaInfo");
     }
 
+    /**
+     * agent stat already decoded from a binary record
+     */
+    public RawData(JoinAgentStatBo joinAgentStatBo, Map<String,String> metaInfo) {
+        this.data = null;
+        this.joinAgentStatBo = Objects.requireNonNull(joinAgentStatBo, "joinAgentStatBo");
+        this.metaInfo = Objects.requireNonNull(metaInfo, "metaInfo");
+    }
+
+    /**
+     * @return null if this is a decoded agent stat record
+     */
     public TBase<?, ?> getData() {
         return data;
     }
 
+    /**
+     * @return null if this is a thrift message
+     */
+    public JoinAgentStatBo getJoinAgentStatBo() {
+        return joinAgentStatBo;
+    }
+
     public String getMetaInfo(String key) {
         return metaInfo.get(key);
     }
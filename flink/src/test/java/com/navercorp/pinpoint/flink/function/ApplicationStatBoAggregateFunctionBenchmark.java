@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatAccumulator;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDoubleFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinIntFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinLongFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.streaming.api.datastream.KeyedStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.SinkFunction;
+import org.apache.flink.streaming.api.functions.windowing.WindowFunction;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
+import org.apache.flink.util.Collector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the buffering window join with the incremental {@link ApplicationStatBoAggregateFunction}
+ * on a local MiniCluster for one application with many agents.
+ */
+@Disabled
+public class ApplicationStatBoAggregateFunctionBenchmark {
+
+    private static final int AGENT_COUNT = 10000;
+    private static final long WINDOW_START = 1487149800000L;
+
+    private static final Map<String, JoinApplicationStatBo> RESULTS = new ConcurrentHashMap<>();
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    @Test
+    public void benchmark() throws Exception {
+        final List<Tuple3<String, JoinStatBo, Long>> values = createValues();
+
+        final JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        values.forEach(value -> accumulator.add((JoinApplicationStatBo) value.f1));
+        final TypeSerializer<Tuple3<String, JoinStatBo, Long>> valueSerializer = TypeInformation.of(new TypeHint<Tuple3<String, JoinStatBo, Long>>() {})
+                .createSerializer(StreamExecutionEnvironment.getExecutionEnvironment().getConfig());
+        final TypeSerializer<JoinApplicationStatAccumulator> accumulatorSerializer = TypeInformation.of(JoinApplicationStatAccumulator.class)
+                .createSerializer(StreamExecutionEnvironment.getExecutionEnvironment().getConfig());
+        long bufferedStateSize = 0;
+        for (Tuple3<String, JoinStatBo, Long> value : values) {
+            bufferedStateSize += serializedSize(valueSerializer, value);
+        }
+        logger.info("agents:{} buffered window state:{} bytes, accumulator state:{} bytes",
+                AGENT_COUNT, bufferedStateSize, serializedSize(accumulatorSerializer, accumulator));
+
+        for (int i = 0; i < 3; i++) {
+            run("buffered", values, false);
+            run("aggregate", values, true);
+        }
+
+        final JoinApplicationStatBo buffered = RESULTS.get("buffered");
+        final JoinApplicationStatBo aggregate = RESULTS.get("aggregate");
+        assertEquals(sort(buffered.getJoinCpuLoadBoList()), sort(aggregate.getJoinCpuLoadBoList()));
+        assertEquals(sort(buffered.getJoinMemoryBoList()), sort(aggregate.getJoinMemoryBoList()));
+        assertEquals(sort(buffered.getJoinTransactionBoList()), sort(aggregate.getJoinTransactionBoList()));
+        assertEquals(sort(buffered.getJoinActiveTraceBoList()), sort(aggregate.getJoinActiveTraceBoList()));
+        assertEquals(sort(buffered.getJoinResponseTimeBoList()), sort(aggregate.getJoinResponseTimeBoList()));
+    }
+
+    private void run(String name, List<Tuple3<String, JoinStatBo, Long>> values, boolean aggregate) throws Exception {
+        final StreamExecutionEnvironment env = StreamExecutionEnvironment.createLocalEnvironment(1);
+        final KeyedStream<Tuple3<String, JoinStatBo, Long>, String> keyedStream = env.fromCollection(values)
+                .assignTimestampsAndWatermarks(WatermarkStrategy.<Tuple3<String, JoinStatBo, Long>>forMonotonousTimestamps()
+                        .withTimestampAssigner(new AgentStatTimestampAssigner()))
+                .keyBy(new ApplicationStatKeySelector());
+        final ResultSink sink = new ResultSink(name);
+        if (aggregate) {
+            keyedStream.window(TumblingEventTimeWindows.of(Time.milliseconds(ApplicationStatBoWindow.WINDOW_SIZE)))
+                    .aggregate(new ApplicationStatBoAggregateFunction())
+                    .addSink(sink);
+        } else {
+            keyedStream.window(TumblingEventTimeWindows.of(Time.milliseconds(ApplicationStatBoWindow.WINDOW_SIZE)))
+                    .apply(new JoinWindowFunction())
+                    .addSink(sink);
+        }
+
+        final long start = System.nanoTime();
+        env.execute(name);
+        final long elapsed = System.nanoTime() - start;
+        logger.info("{} values:{} elapsed:{}ms values/sec:{}", name, values.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                values.size() * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+
+    private static <T> int serializedSize(TypeSerializer<T> serializer, T value) throws IOException {
+        final DataOutputSerializer output = new DataOutputSerializer(1024);
+        serializer.serialize(value, output);
+        return output.length();
+    }
+
+    private static <T extends JoinStatBo> List<T> sort(List<T> list) {
+        list.sort(Comparator.comparingLong(JoinStatBo::getTimestamp));
+        return list;
+    }
+
+    private List<Tuple3<String, JoinStatBo, Long>> createValues() {
+        final Random random = new Random(1234);
+        final List<Tuple3<String, JoinStatBo, Long>> values = new ArrayList<>(AGENT_COUNT);
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            final String agentId = "agent" + i;
+            final long timestamp = WINDOW_START + random.nextInt(5000);
+            final JoinApplicationStatBo.Builder builder = JoinApplicationStatBo.newBuilder("application", timestamp);
+            for (long time = timestamp; time < WINDOW_START + ApplicationStatBoWindow.WINDOW_SIZE; time += 5000) {
+                builder.addCpuLoad(new JoinCpuLoadBo(agentId, doubleField(random, agentId), doubleField(random, agentId), time));
+                builder.addMemory(new JoinMemoryBo(agentId, time, longField(random, agentId), longField(random, agentId)));
+                builder.addTransaction(new JoinTransactionBo(agentId, 5000, longField(random, agentId), time));
+                builder.addActiveTrace(new JoinActiveTraceBo(agentId, 1, (short) 1, intField(random, agentId), time));
+                builder.addResponseTime(new JoinResponseTimeBo(agentId, time, longField(random, agentId)));
+            }
+            values.add(new Tuple3<>("application", builder.build(), timestamp));
+        }
+        return values;
+    }
+
+    private static JoinIntFieldBo intField(Random random, String agentId) {
+        return new JoinIntFieldBo(random.nextInt(100), random.nextInt(10), agentId, 100 + random.nextInt(10), agentId);
+    }
+
+    private static JoinLongFieldBo longField(Random random, String agentId) {
+        return new JoinLongFieldBo((long) random.nextInt(10000), (long) random.nextInt(10), agentId, 10000L + random.nextInt(10), agentId);
+    }
+
+    private static JoinDoubleFieldBo doubleField(Random random, String agentId) {
+        return new JoinDoubleFieldBo(random.nextDouble() * 100, (double) random.nextInt(10), agentId, 100.0 + random.nextInt(10), agentId);
+    }
+
+    private static class JoinWindowFunction implements WindowFunction<Tuple3<String, JoinStatBo, Long>, JoinApplicationStatBo, String, TimeWindow> {
+        @Override
+        public void apply(String key, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<JoinApplicationStatBo> out) {
+            final List<JoinApplicationStatBo> joinApplicationStatBoList = new ArrayList<>();
+            for (Tuple3<String, JoinStatBo, Long> value : values) {
+                joinApplicationStatBoList.add((JoinApplicationStatBo) value.f1);
+            }
+            out.collect(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList));
+        }
+    }
+
+    private static class ResultSink implements SinkFunction<JoinApplicationStatBo> {
+        private final String name;
+
+        ResultSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void invoke(JoinApplicationStatBo value, Context context) {
+            RESULTS.put(name, value);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -258,6 +259,27 @@ public class TBaseFlatMapperTest {
         assertJoinTransactionBo(joinApplicationStatBo.getJoinTransactionBoList());
     }
 
+    @Test
+    public void flatMapDecodedJoinAgentStatBoTest() throws Exception {
+        ApplicationCache applicationCache = newMockApplicationCache();
+        TBaseFlatMapper mapper = new TBaseFlatMapper(new JoinAgentStatBoMapper(), applicationCache, new DefaultTBaseFlatMapperInterceptor());
+
+        TFAgentStatBatch tfAgentStatBatch = createTFAgentStatBatch();
+        ArrayList<Tuple3<String, JoinStatBo, Long>> expectedList = new ArrayList<>();
+        mapper.flatMap(newRawData(tfAgentStatBatch), new ListCollector<>(expectedList));
+
+        JoinAgentStatBo joinAgentStatBo = new JoinAgentStatBoMapper().map(tfAgentStatBatch);
+        ArrayList<Tuple3<String, JoinStatBo, Long>> dataList = new ArrayList<>();
+        mapper.flatMap(new RawData(joinAgentStatBo, Collections.emptyMap()), new ListCollector<>(dataList));
+
+        assertEquals(expectedList.size(), dataList.size());
+        assertSame(joinAgentStatBo, dataList.get(0).f1);
+        for (int i = 0; i < expectedList.size(); i++) {
+            assertEquals(expectedList.get(i).f0, dataList.get(i).f0);
+            assertEquals(expectedList.get(i).f2, dataList.get(i).f2);
+        }
+    }
+
     private RawData newRawData(TFAgentStatBatch tfAgentStatBatch) {
         return new RawData(tfAgentStatBatch, Collections.emptyMap());
     }
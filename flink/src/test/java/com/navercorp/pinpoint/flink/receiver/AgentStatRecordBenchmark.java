@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.receiver;
+
+import com.navercorp.pinpoint.collector.mapper.flink.TFAgentStatBatchMapper;
+import com.navercorp.pinpoint.collector.sender.AgentStatRecordSerializer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.record.AgentStatRecordCodec;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.flink.mapper.thrift.stat.JoinAgentStatBoMapper;
+import com.navercorp.pinpoint.io.header.ByteArrayHeaderReader;
+import com.navercorp.pinpoint.io.header.Header;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+import com.navercorp.pinpoint.io.header.HeaderReader;
+import com.navercorp.pinpoint.io.header.v2.HeaderV2;
+import com.navercorp.pinpoint.thrift.dto.flink.TFAgentStatBatch;
+import com.navercorp.pinpoint.thrift.io.FlinkTBaseLocator;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the thrift TFAgentStatBatch path with the binary agent stat record path, single threaded.
+ * The flink side is the work one task slot does per record before the flat mapper joins it with its application.
+ */
+@Disabled
+public class AgentStatRecordBenchmark {
+
+    private static final int AGENT_COUNT = 1000;
+    private static final int DATA_POINT_COUNT = 6;
+    private static final int ROUNDS = 200;
+    private static final long START_TIMESTAMP = 1643000000000L;
+    private static final long TIMESTAMP = 1643000100000L;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final FlinkTBaseLocator flinkTBaseLocator = new FlinkTBaseLocator(HeaderV2.VERSION);
+
+    @Test
+    public void benchmark() throws Exception {
+        final List<AgentStatBo> agentStatBoList = new ArrayList<>(AGENT_COUNT);
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            agentStatBoList.add(FlinkTCPPacketHandlerTest.createAgentStatBo("agent-" + i, START_TIMESTAMP + i, TIMESTAMP, DATA_POINT_COUNT));
+        }
+
+        final TFAgentStatBatchMapper tFAgentStatBatchMapper = FlinkTCPPacketHandlerTest.newTFAgentStatBatchMapper();
+        final HeaderTBaseSerializer thriftSerializer = new HeaderTBaseSerializerFactory(flinkTBaseLocator.getTypeLocator()).createSerializer();
+        final HeaderTBaseDeserializer thriftDeserializer = new HeaderTBaseDeserializerFactory(flinkTBaseLocator.getTypeLocator()).createDeserializer();
+        final JoinAgentStatBoMapper joinAgentStatBoMapper = new JoinAgentStatBoMapper();
+
+        final AgentStatRecordSerializer recordSerializer = new AgentStatRecordSerializer(flinkTBaseLocator);
+        final AgentStatRecordCodec codec = new AgentStatRecordCodec();
+
+        final List<byte[]> thriftPayloads = new ArrayList<>(AGENT_COUNT);
+        final List<byte[]> recordPayloads = new ArrayList<>(AGENT_COUNT);
+        long thriftBytes = 0;
+        long recordBytes = 0;
+        for (AgentStatBo agentStatBo : agentStatBoList) {
+            final byte[] thriftPayload = thriftSerializer.serialize(tFAgentStatBatchMapper.map(agentStatBo), HeaderEntity.EMPTY_HEADER_ENTITY);
+            final byte[] recordPayload = recordSerializer.serialize(agentStatBo, HeaderEntity.EMPTY_HEADER_ENTITY);
+            thriftPayloads.add(thriftPayload);
+            recordPayloads.add(recordPayload);
+            thriftBytes += thriftPayload.length;
+            recordBytes += recordPayload.length;
+
+            final JoinAgentStatBo expected = joinAgentStatBoMapper.map((TFAgentStatBatch) thriftDeserializer.deserialize(thriftPayload).getData());
+            FlinkTCPPacketHandlerTest.assertJoinAgentStatBo(expected, decodeRecord(codec, recordPayload));
+        }
+        logger.info("payload bytes per record. thrift:{} binary:{}", thriftBytes / AGENT_COUNT, recordBytes / AGENT_COUNT);
+
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            runThriftEncode(agentStatBoList, tFAgentStatBatchMapper, thriftSerializer);
+            runRecordEncode(agentStatBoList, recordSerializer);
+            runThriftDecode(thriftPayloads, thriftDeserializer, joinAgentStatBoMapper);
+            runRecordDecode(recordPayloads, codec);
+        }
+
+        logger.info("collector encode records/sec. thrift:{} binary:{}",
+                runThriftEncode(agentStatBoList, tFAgentStatBatchMapper, thriftSerializer),
+                runRecordEncode(agentStatBoList, recordSerializer));
+        logger.info("flink decode records/sec per task slot. thrift:{} binary:{}",
+                runThriftDecode(thriftPayloads, thriftDeserializer, joinAgentStatBoMapper),
+                runRecordDecode(recordPayloads, codec));
+    }
+
+    private long runThriftEncode(List<AgentStatBo> agentStatBoList, TFAgentStatBatchMapper mapper, HeaderTBaseSerializer serializer) throws Exception {
+        long checksum = 0;
+        final long startTime = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (AgentStatBo agentStatBo : agentStatBoList) {
+                checksum += serializer.serialize(mapper.map(agentStatBo), HeaderEntity.EMPTY_HEADER_ENTITY).length;
+            }
+        }
+        return recordsPerSecond(startTime, checksum);
+    }
+
+    private long runRecordEncode(List<AgentStatBo> agentStatBoList, AgentStatRecordSerializer serializer) {
+        long checksum = 0;
+        final long startTime = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (AgentStatBo agentStatBo : agentStatBoList) {
+                checksum += serializer.serialize(agentStatBo, HeaderEntity.EMPTY_HEADER_ENTITY).length;
+            }
+        }
+        return recordsPerSecond(startTime, checksum);
+    }
+
+    private long runThriftDecode(List<byte[]> payloads, HeaderTBaseDeserializer deserializer, JoinAgentStatBoMapper mapper) throws Exception {
+        long checksum = 0;
+        final long startTime = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (byte[] payload : payloads) {
+                final TFAgentStatBatch tFAgentStatBatch = (TFAgentStatBatch) deserializer.deserialize(payload).getData();
+                checksum += mapper.map(tFAgentStatBatch).getTimestamp();
+            }
+        }
+        return recordsPerSecond(startTime, checksum);
+    }
+
+    private long runRecordDecode(List<byte[]> payloads, AgentStatRecordCodec codec) {
+        long checksum = 0;
+        final long startTime = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (byte[] payload : payloads) {
+                checksum += decodeRecord(codec, payload).getTimestamp();
+            }
+        }
+        return recordsPerSecond(startTime, checksum);
+    }
+
+    private JoinAgentStatBo decodeRecord(AgentStatRecordCodec codec, byte[] payload) {
+        final HeaderReader reader = new ByteArrayHeaderReader(payload);
+        final Header header = reader.readHeader();
+        reader.readHeaderEntity(header);
+        return codec.decode(new OffsetFixedBuffer(payload, reader.getOffset(), reader.getRemaining()));
+    }
+
+    private long recordsPerSecond(long startTime, long checksum) {
+        final long elapsed = System.nanoTime() - startTime;
+        logger.debug("checksum:{}", checksum);
+        return (long) ROUNDS * AGENT_COUNT * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
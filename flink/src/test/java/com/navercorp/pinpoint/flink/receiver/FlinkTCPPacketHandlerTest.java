@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.receiver;
+
+import com.navercorp.pinpoint.collector.mapper.flink.FlinkStatMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFActiveTraceMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFAgentStatBatchMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFAgentStatMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFCpuLoadMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFDataSourceListBoMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFDirectBufferMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFFileDescriptorMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFJvmGcMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFLoadedClassMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFResponseTimeMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFTotalThreadCountMapper;
+import com.navercorp.pinpoint.collector.mapper.flink.TFTransactionMapper;
+import com.navercorp.pinpoint.collector.receiver.thrift.tcp.TCPPacketHandler;
+import com.navercorp.pinpoint.collector.sender.AgentStatRecordSerializer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.record.AgentStatRecordCodec;
+import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceHistogram;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.flink.mapper.thrift.stat.JoinAgentStatBoMapper;
+import com.navercorp.pinpoint.flink.vo.RawData;
+import com.navercorp.pinpoint.io.header.HeaderEntity;
+import com.navercorp.pinpoint.io.header.v2.HeaderV2;
+import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.packet.SendPacket;
+import com.navercorp.pinpoint.thrift.io.FlinkTBaseLocator;
+import org.apache.flink.streaming.api.functions.source.SourceFunction.SourceContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FlinkTCPPacketHandlerTest {
+
+    private static final String AGENT_ID = "testAgent";
+    private static final long START_TIMESTAMP = 1643000000000L;
+    private static final long TIMESTAMP = 1643000100000L;
+
+    private final FlinkTBaseLocator flinkTBaseLocator = new FlinkTBaseLocator(HeaderV2.VERSION);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void handleAgentStatRecordTest() {
+        final AgentStatBo agentStatBo = createAgentStatBo(AGENT_ID, START_TIMESTAMP, TIMESTAMP, 6);
+        final AgentStatRecordSerializer serializer = new AgentStatRecordSerializer(flinkTBaseLocator);
+        final byte[] payload = serializer.serialize(agentStatBo, new HeaderEntity(Collections.singletonMap("key", "value")));
+
+        final SourceContext<RawData> sourceContext = mock(SourceContext.class);
+        final AgentStatHandler agentStatHandler = new AgentStatHandler();
+        agentStatHandler.addSourceContext(sourceContext);
+        final TCPPacketHandler thriftPacketHandler = mock(TCPPacketHandler.class);
+
+        final FlinkTCPPacketHandler packetHandler = new FlinkTCPPacketHandler(thriftPacketHandler, agentStatHandler, new AgentStatRecordCodec());
+        packetHandler.handleSend(new SendPacket(payload), newPinpointSocket());
+
+        verify(thriftPacketHandler, never()).handleSend(any(), any());
+        final ArgumentCaptor<RawData> captor = ArgumentCaptor.forClass(RawData.class);
+        verify(sourceContext).collect(captor.capture());
+
+        final RawData rawData = captor.getValue();
+        assertNull(rawData.getData());
+        assertEquals("value", rawData.getMetaInfo("key"));
+        assertJoinAgentStatBo(mapByThrift(agentStatBo), rawData.getJoinAgentStatBo());
+    }
+
+    @Test
+    public void thriftPacketTest() {
+        final AgentStatHandler agentStatHandler = new AgentStatHandler();
+        final TCPPacketHandler thriftPacketHandler = mock(TCPPacketHandler.class);
+        final FlinkTCPPacketHandler packetHandler = new FlinkTCPPacketHandler(thriftPacketHandler, agentStatHandler, new AgentStatRecordCodec());
+
+        final byte[] header = {(byte) 0xef, HeaderV2.VERSION, 0x03, (byte) 0xe8, 0x00};
+        final SendPacket packet = new SendPacket(header);
+        final PinpointSocket pinpointSocket = newPinpointSocket();
+        packetHandler.handleSend(packet, pinpointSocket);
+
+        verify(thriftPacketHandler).handleSend(packet, pinpointSocket);
+    }
+
+    @Test
+    public void decodeEmptyAgentStatTest() {
+        final AgentStatBo agentStatBo = AgentStatBo.newBuilder(AGENT_ID, START_TIMESTAMP).build();
+        final AgentStatRecordCodec codec = new AgentStatRecordCodec();
+
+        final JoinAgentStatBo joinAgentStatBo = codec.decode(new FixedBuffer(codec.encode(agentStatBo)));
+        assertJoinAgentStatBo(mapByThrift(agentStatBo), joinAgentStatBo);
+    }
+
+    private PinpointSocket newPinpointSocket() {
+        final PinpointSocket pinpointSocket = mock(PinpointSocket.class);
+        when(pinpointSocket.getRemoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 19994));
+        return pinpointSocket;
+    }
+
+    static JoinAgentStatBo mapByThrift(AgentStatBo agentStatBo) {
+        return new JoinAgentStatBoMapper().map(newTFAgentStatBatchMapper().map(agentStatBo));
+    }
+
+    static TFAgentStatBatchMapper newTFAgentStatBatchMapper() {
+        final FlinkStatMapper<?, ?>[] mappers = new FlinkStatMapper[] {
+                new TFCpuLoadMapper(),
+                new TFJvmGcMapper(),
+                new TFTransactionMapper(),
+                new TFActiveTraceMapper(),
+                new TFResponseTimeMapper(),
+                new TFDataSourceListBoMapper(),
+                new TFFileDescriptorMapper(),
+                new TFDirectBufferMapper(),
+                new TFTotalThreadCountMapper(),
+                new TFLoadedClassMapper()
+        };
+        return new TFAgentStatBatchMapper(new TFAgentStatMapper(mappers));
+    }
+
+    static void assertJoinAgentStatBo(JoinAgentStatBo expected, JoinAgentStatBo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getAgentStartTimestamp(), actual.getAgentStartTimestamp());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(expected.getJoinCpuLoadBoList(), actual.getJoinCpuLoadBoList());
+        assertEquals(expected.getJoinMemoryBoList(), actual.getJoinMemoryBoList());
+        assertEquals(expected.getJoinTransactionBoList(), actual.getJoinTransactionBoList());
+        assertEquals(expected.getJoinActiveTraceBoList(), actual.getJoinActiveTraceBoList());
+        assertEquals(expected.getJoinResponseTimeBoList(), actual.getJoinResponseTimeBoList());
+        assertEquals(expected.getJoinDataSourceListBoList(), actual.getJoinDataSourceListBoList());
+        assertEquals(expected.getJoinFileDescriptorBoList(), actual.getJoinFileDescriptorBoList());
+        assertEquals(expected.getJoinDirectBufferBoList(), actual.getJoinDirectBufferBoList());
+        assertEquals(expected.getJoinTotalThreadCountBoList(), actual.getJoinTotalThreadCountBoList());
+        assertEquals(expected.getJoinLoadedClassBoList(), actual.getJoinLoadedClassBoList());
+    }
+
+    static AgentStatBo createAgentStatBo(String agentId, long startTimestamp, long timestamp, int numPoints) {
+        final AgentStatBo.Builder builder = AgentStatBo.newBuilder(agentId, startTimestamp);
+        for (int i = 0; i < numPoints; i++) {
+            final AgentStatBo.Builder.StatBuilder statBuilder = builder.newStatBuilder(timestamp + i * 5000L);
+
+            final CpuLoadBo cpuLoadBo = new CpuLoadBo();
+            cpuLoadBo.setJvmCpuLoad(0.1 * i);
+            cpuLoadBo.setSystemCpuLoad(i == 0 ? CpuLoadBo.UNCOLLECTED_VALUE : 0.3 + i);
+            statBuilder.addCpuLoad(cpuLoadBo);
+
+            final JvmGcBo jvmGcBo = new JvmGcBo();
+            jvmGcBo.setHeapUsed(1000L * i);
+            jvmGcBo.setNonHeapUsed(i == 1 ? JvmGcBo.UNCOLLECTED_VALUE : 300L + i);
+            statBuilder.addJvmGc(jvmGcBo);
+
+            final TransactionBo transactionBo = new TransactionBo();
+            transactionBo.setCollectInterval(5000);
+            transactionBo.setSampledNewCount(10 + i);
+            transactionBo.setSampledContinuationCount(20);
+            transactionBo.setUnsampledNewCount(3);
+            transactionBo.setUnsampledContinuationCount(4);
+            transactionBo.setSkippedNewSkipCount(i);
+            transactionBo.setSkippedContinuationCount(0);
+            statBuilder.addTransaction(transactionBo);
+
+            final ActiveTraceBo activeTraceBo = new ActiveTraceBo();
+            activeTraceBo.setVersion((short) 1);
+            activeTraceBo.setHistogramSchemaType(2);
+            activeTraceBo.setActiveTraceHistogram(i == 2 ? null : new ActiveTraceHistogram(i, 2, 3, 4));
+            statBuilder.addActiveTrace(activeTraceBo);
+
+            final ResponseTimeBo responseTimeBo = new ResponseTimeBo();
+            responseTimeBo.setAvg(100 + i);
+            statBuilder.addResponseTime(responseTimeBo);
+
+            final DataSourceListBo dataSourceListBo = new DataSourceListBo();
+            if (i != 3) {
+                dataSourceListBo.add(newDataSourceBo(1000, "jdbc:mysql://localhost:3306/test", 10 + i));
+                dataSourceListBo.add(newDataSourceBo(1001, null, i));
+            }
+            statBuilder.addDataSourceList(dataSourceListBo);
+
+            final FileDescriptorBo fileDescriptorBo = new FileDescriptorBo();
+            fileDescriptorBo.setOpenFileDescriptorCount(50 + i);
+            statBuilder.addFileDescriptor(fileDescriptorBo);
+
+            final DirectBufferBo directBufferBo = new DirectBufferBo();
+            directBufferBo.setDirectCount(i);
+            directBufferBo.setDirectMemoryUsed(1L << 40);
+            directBufferBo.setMappedCount(2);
+            directBufferBo.setMappedMemoryUsed(DirectBufferBo.UNCOLLECTED_VALUE);
+            statBuilder.addDirectBuffer(directBufferBo);
+
+            final TotalThreadCountBo totalThreadCountBo = new TotalThreadCountBo();
+            totalThreadCountBo.setTotalThreadCount(200 + i);
+            statBuilder.addTotalThreadCount(totalThreadCountBo);
+
+            final LoadedClassBo loadedClassBo = new LoadedClassBo();
+            loadedClassBo.setLoadedClassCount(8000 + i);
+            loadedClassBo.setUnloadedClassCount(i);
+            statBuilder.addLoadedClass(loadedClassBo);
+        }
+        return builder.build();
+    }
+
+    private static DataSourceBo newDataSourceBo(int serviceTypeCode, String jdbcUrl, int activeConnectionSize) {
+        final DataSourceBo dataSourceBo = new DataSourceBo();
+        dataSourceBo.setServiceTypeCode((short) serviceTypeCode);
+        dataSourceBo.setJdbcUrl(jdbcUrl);
+        dataSourceBo.setActiveConnectionSize(activeConnectionSize);
+        dataSourceBo.setMaxConnectionSize(30);
+        return dataSourceBo;
+    }
+}
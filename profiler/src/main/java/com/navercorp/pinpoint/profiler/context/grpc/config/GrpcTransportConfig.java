@@ -60,6 +60,7 @@ public class GrpcTransportConfig {
     private static final long DEFAULT_DISCARD_MAX_PENDING_THRESHOLD = 1024;
     private static final long DEFAULT_DISCARD_COUNT_FOR_RECONNECT = 1000;
     private static final long DEFAULT_NOT_READY_TIMEOUT_MILLIS = 5 * 60 * 1000;
+    private static final boolean DEFAULT_SPAN_DIRECT_ENCODING_ENABLE = false;
 
     private static final int DEFAULT_METADATA_RETRY_MAX_COUNT = 3;
     private static final int DEFAULT_METADATA_RETRY_DELAY_MILLIS = 1000;
@@ -139,6 +140,8 @@ public class GrpcTransportConfig {
     private long spanDiscardCountForReconnect = DEFAULT_DISCARD_COUNT_FOR_RECONNECT;
     @Value("${profiler.transport.grpc.span.sender.discardpolicy.not-ready-timeout-millis}")
     private long spanNotReadyTimeoutMillis = DEFAULT_NOT_READY_TIMEOUT_MILLIS;
+    @Value("${profiler.transport.grpc.span.sender.direct-encoding.enable}")
+    private boolean spanDirectEncodingEnable = DEFAULT_SPAN_DIRECT_ENCODING_ENABLE;
 
     @Value("${" + KEY_PROFILER_CONFIG_NETTY_TRY_REFLECTION_SET_ACCESSIBLE + "}")
     private boolean nettySystemPropertyTryReflectiveSetAccessible = DEFAULT_NETTY_SYSTEM_PROPERTY_TRY_REFLECTIVE_SET_ACCESSIBLE;
@@ -293,6 +296,10 @@ public class GrpcTransportConfig {
         return spanNotReadyTimeoutMillis;
     }
 
+    public boolean isSpanDirectEncodingEnable() {
+        return spanDirectEncodingEnable;
+    }
+
     public long getAgentRequestTimeout() {
         return agentRequestTimeout;
     }
@@ -394,6 +401,7 @@ public class GrpcTransportConfig {
         sb.append(", nettySystemPropertyTryReflectiveSetAccessible=").append(nettySystemPropertyTryReflectiveSetAccessible);
         sb.append(", spanDiscardLogRateLimit=").append(spanDiscardLogRateLimit);
         sb.append(", spanDiscardMaxPendingThreshold=").append(spanDiscardMaxPendingThreshold);
+        sb.append(", spanDirectEncodingEnable=").append(spanDirectEncodingEnable);
         sb.append('}');
         return sb.toString();
     }
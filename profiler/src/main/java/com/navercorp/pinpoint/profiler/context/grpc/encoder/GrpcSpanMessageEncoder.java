@@ -0,0 +1,1122 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.StringValue;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+import com.navercorp.pinpoint.common.util.IntStringValue;
+import com.navercorp.pinpoint.common.util.StringUtils;
+import com.navercorp.pinpoint.grpc.trace.PAcceptEvent;
+import com.navercorp.pinpoint.grpc.trace.PAnnotation;
+import com.navercorp.pinpoint.grpc.trace.PAnnotationValue;
+import com.navercorp.pinpoint.grpc.trace.PIntStringValue;
+import com.navercorp.pinpoint.grpc.trace.PLocalAsyncId;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PParentInfo;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.AsyncId;
+import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.LocalAsyncId;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.TraceDataFormatVersion;
+import com.navercorp.pinpoint.profiler.context.compress.SpanEventSequenceComparator;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcAnnotationValueMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.id.Shared;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.INT;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.LONG;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.STRING;
+
+/**
+ * Writes the wire format of {@link PSpanMessage} straight from {@link Span} / {@link SpanChunk},
+ * byte for byte what {@link GrpcSpanMessageConverter} with the V2 span processor would produce, without the builders.
+ * <p>
+ * Field numbers and wire types are taken from the generated descriptors. Encoding runs in two passes over the span:
+ * the first one computes the size of every nested message in pre-order, the second one writes into an array of
+ * the exact size.
+ * <p>
+ * WARNING Not thread safe
+ */
+public class GrpcSpanMessageEncoder {
+
+    private static final int VERSION = TraceDataFormatVersion.V2.getVersion();
+
+    // PSpanMessage
+    private static final ProtoField MESSAGE_SPAN = field(PSpanMessage.getDescriptor(), "span", MESSAGE, 0);
+    private static final ProtoField MESSAGE_SPAN_CHUNK = field(PSpanMessage.getDescriptor(), "spanChunk", MESSAGE, 1);
+
+    // PSpan
+    private static final int SPAN_VERSION = 0;
+    private static final int SPAN_TRANSACTION_ID = 1;
+    private static final int SPAN_SPAN_ID = 2;
+    private static final int SPAN_PARENT_SPAN_ID = 3;
+    private static final int SPAN_START_TIME = 4;
+    private static final int SPAN_ELAPSED = 5;
+    private static final int SPAN_API_ID = 6;
+    private static final int SPAN_SERVICE_TYPE = 7;
+    private static final int SPAN_ACCEPT_EVENT = 8;
+    private static final int SPAN_ANNOTATION = 9;
+    private static final int SPAN_FLAG = 10;
+    private static final int SPAN_ERR = 11;
+    private static final int SPAN_SPAN_EVENT = 12;
+    private static final int SPAN_EXCEPTION_INFO = 13;
+    private static final int SPAN_APPLICATION_SERVICE_TYPE = 14;
+    private static final int SPAN_LOGGING_TRANSACTION_INFO = 15;
+    private static final ProtoField[] SPAN_FIELDS = fields(PSpan.getDescriptor(),
+            "version", INT, SPAN_VERSION,
+            "transactionId", MESSAGE, SPAN_TRANSACTION_ID,
+            "spanId", LONG, SPAN_SPAN_ID,
+            "parentSpanId", LONG, SPAN_PARENT_SPAN_ID,
+            "startTime", LONG, SPAN_START_TIME,
+            "elapsed", INT, SPAN_ELAPSED,
+            "apiId", INT, SPAN_API_ID,
+            "serviceType", INT, SPAN_SERVICE_TYPE,
+            "acceptEvent", MESSAGE, SPAN_ACCEPT_EVENT,
+            "annotation", MESSAGE, SPAN_ANNOTATION,
+            "flag", INT, SPAN_FLAG,
+            "err", INT, SPAN_ERR,
+            "spanEvent", MESSAGE, SPAN_SPAN_EVENT,
+            "exceptionInfo", MESSAGE, SPAN_EXCEPTION_INFO,
+            "applicationServiceType", INT, SPAN_APPLICATION_SERVICE_TYPE,
+            "loggingTransactionInfo", INT, SPAN_LOGGING_TRANSACTION_INFO);
+
+    // PSpanChunk
+    private static final int CHUNK_VERSION = 0;
+    private static final int CHUNK_TRANSACTION_ID = 1;
+    private static final int CHUNK_SPAN_ID = 2;
+    private static final int CHUNK_END_POINT = 3;
+    private static final int CHUNK_SPAN_EVENT = 4;
+    private static final int CHUNK_APPLICATION_SERVICE_TYPE = 5;
+    private static final int CHUNK_KEY_TIME = 6;
+    private static final int CHUNK_LOCAL_ASYNC_ID = 7;
+    private static final ProtoField[] CHUNK_FIELDS = fields(PSpanChunk.getDescriptor(),
+            "version", INT, CHUNK_VERSION,
+            "transactionId", MESSAGE, CHUNK_TRANSACTION_ID,
+            "spanId", LONG, CHUNK_SPAN_ID,
+            "endPoint", STRING, CHUNK_END_POINT,
+            "spanEvent", MESSAGE, CHUNK_SPAN_EVENT,
+            "applicationServiceType", INT, CHUNK_APPLICATION_SERVICE_TYPE,
+            "keyTime", LONG, CHUNK_KEY_TIME,
+            "localAsyncId", MESSAGE, CHUNK_LOCAL_ASYNC_ID);
+
+    // PTransactionId
+    private static final int TRANSACTION_AGENT_ID = 0;
+    private static final int TRANSACTION_AGENT_START_TIME = 1;
+    private static final int TRANSACTION_SEQUENCE = 2;
+    private static final ProtoField[] TRANSACTION_ID_FIELDS = fields(PTransactionId.getDescriptor(),
+            "agentId", STRING, TRANSACTION_AGENT_ID,
+            "agentStartTime", LONG, TRANSACTION_AGENT_START_TIME,
+            "sequence", LONG, TRANSACTION_SEQUENCE);
+
+    // PAcceptEvent
+    private static final int ACCEPT_RPC = 0;
+    private static final int ACCEPT_END_POINT = 1;
+    private static final int ACCEPT_REMOTE_ADDR = 2;
+    private static final int ACCEPT_PARENT_INFO = 3;
+    private static final ProtoField[] ACCEPT_EVENT_FIELDS = fields(PAcceptEvent.getDescriptor(),
+            "rpc", STRING, ACCEPT_RPC,
+            "endPoint", STRING, ACCEPT_END_POINT,
+            "remoteAddr", STRING, ACCEPT_REMOTE_ADDR,
+            "parentInfo", MESSAGE, ACCEPT_PARENT_INFO);
+
+    // PParentInfo
+    private static final int PARENT_APPLICATION_NAME = 0;
+    private static final int PARENT_APPLICATION_TYPE = 1;
+    private static final int PARENT_ACCEPTOR_HOST = 2;
+    private static final ProtoField[] PARENT_INFO_FIELDS = fields(PParentInfo.getDescriptor(),
+            "parentApplicationName", STRING, PARENT_APPLICATION_NAME,
+            "parentApplicationType", INT, PARENT_APPLICATION_TYPE,
+            "acceptorHost", STRING, PARENT_ACCEPTOR_HOST);
+
+    // PSpanEvent
+    private static final int EVENT_SEQUENCE = 0;
+    private static final int EVENT_DEPTH = 1;
+    private static final int EVENT_START_ELAPSED = 2;
+    private static final int EVENT_END_ELAPSED = 3;
+    private static final int EVENT_SERVICE_TYPE = 4;
+    private static final int EVENT_API_ID = 5;
+    private static final int EVENT_EXCEPTION_INFO = 6;
+    private static final int EVENT_NEXT_EVENT = 7;
+    private static final int EVENT_ASYNC_EVENT = 8;
+    private static final int EVENT_ANNOTATION = 9;
+    private static final ProtoField[] EVENT_FIELDS = fields(PSpanEvent.getDescriptor(),
+            "sequence", INT, EVENT_SEQUENCE,
+            "depth", INT, EVENT_DEPTH,
+            "startElapsed", INT, EVENT_START_ELAPSED,
+            "endElapsed", INT, EVENT_END_ELAPSED,
+            "serviceType", INT, EVENT_SERVICE_TYPE,
+            "apiId", INT, EVENT_API_ID,
+            "exceptionInfo", MESSAGE, EVENT_EXCEPTION_INFO,
+            "nextEvent", MESSAGE, EVENT_NEXT_EVENT,
+            "asyncEvent", INT, EVENT_ASYNC_EVENT,
+            "annotation", MESSAGE, EVENT_ANNOTATION);
+
+    // PNextEvent
+    private static final ProtoField NEXT_EVENT_MESSAGE_EVENT = field(PNextEvent.getDescriptor(), "messageEvent", MESSAGE, 0);
+
+    // PMessageEvent
+    private static final int MESSAGE_EVENT_NEXT_SPAN_ID = 0;
+    private static final int MESSAGE_EVENT_END_POINT = 1;
+    private static final int MESSAGE_EVENT_DESTINATION_ID = 2;
+    private static final ProtoField[] MESSAGE_EVENT_FIELDS = fields(PMessageEvent.getDescriptor(),
+            "nextSpanId", LONG, MESSAGE_EVENT_NEXT_SPAN_ID,
+            "endPoint", STRING, MESSAGE_EVENT_END_POINT,
+            "destinationId", STRING, MESSAGE_EVENT_DESTINATION_ID);
+
+    // PIntStringValue
+    private static final int INT_STRING_INT_VALUE = 0;
+    private static final int INT_STRING_STRING_VALUE = 1;
+    private static final ProtoField[] INT_STRING_FIELDS = fields(PIntStringValue.getDescriptor(),
+            "intValue", INT, INT_STRING_INT_VALUE,
+            "stringValue", MESSAGE, INT_STRING_STRING_VALUE);
+    private static final ProtoField STRING_VALUE_VALUE = field(StringValue.getDescriptor(), "value", STRING, 0);
+
+    // PLocalAsyncId
+    private static final int LOCAL_ASYNC_ID_ASYNC_ID = 0;
+    private static final int LOCAL_ASYNC_ID_SEQUENCE = 1;
+    private static final ProtoField[] LOCAL_ASYNC_ID_FIELDS = fields(PLocalAsyncId.getDescriptor(),
+            "asyncId", INT, LOCAL_ASYNC_ID_ASYNC_ID,
+            "sequence", INT, LOCAL_ASYNC_ID_SEQUENCE);
+
+    // PAnnotation
+    private static final int ANNOTATION_KEY = 0;
+    private static final int ANNOTATION_VALUE = 1;
+    private static final ProtoField[] ANNOTATION_FIELDS = fields(PAnnotation.getDescriptor(),
+            "key", INT, ANNOTATION_KEY,
+            "value", MESSAGE, ANNOTATION_VALUE);
+
+    private final String agentId;
+    private final int applicationServiceType;
+
+    private final GrpcAnnotationValueMapper grpcAnnotationValueMapper = new GrpcAnnotationValueMapper();
+
+    // state of the current message, reused across messages.
+    // sizes of nested messages in pre-order
+    private int[] sizes = new int[64];
+    private int sizeIndex;
+    private int sizeCursor;
+    // compressed startElapsed and depth of the span events
+    private int[] eventStartElapsed = new int[64];
+    private int[] eventDepth = new int[64];
+    private final List<PAnnotationValue> annotationValues = new ArrayList<>();
+    private int annotationCursor;
+
+    public GrpcSpanMessageEncoder(String agentId, short applicationServiceType) {
+        this.agentId = Objects.requireNonNull(agentId, "agentId");
+        this.applicationServiceType = applicationServiceType;
+    }
+
+    private static ProtoField field(Descriptors.Descriptor message, String name, Descriptors.FieldDescriptor.JavaType type, int slot) {
+        return ProtoField.of(message, name, type, slot);
+    }
+
+    private static ProtoField[] fields(Descriptors.Descriptor message, Object... nameTypeSlot) {
+        final ProtoField[] fields = new ProtoField[nameTypeSlot.length / 3];
+        for (int i = 0; i < fields.length; i++) {
+            final String name = (String) nameTypeSlot[i * 3];
+            final Descriptors.FieldDescriptor.JavaType type = (Descriptors.FieldDescriptor.JavaType) nameTypeSlot[i * 3 + 1];
+            final int slot = (Integer) nameTypeSlot[i * 3 + 2];
+            fields[i] = field(message, name, type, slot);
+        }
+        return ProtoField.serializationOrder(fields);
+    }
+
+    /**
+     * @return serialized {@link PSpanMessage}, null if the type is not supported
+     */
+    public byte[] encode(SpanType message) {
+        if (message instanceof SpanChunk) {
+            return encodeSpanChunk((SpanChunk) message);
+        }
+        if (message instanceof Span) {
+            return encodeSpan((Span) message);
+        }
+        return null;
+    }
+
+    private byte[] encodeSpan(Span span) {
+        reset();
+        final List<SpanEvent> spanEventList = span.getSpanEventList();
+        prepareSpanEvents(spanEventList, span.getStartTime());
+
+        final int index = reserveSize();
+        final int spanSize = spanSize(span);
+        this.sizes[index] = spanSize;
+
+        final byte[] buffer = new byte[MESSAGE_SPAN.computeMessageSize(spanSize)];
+        final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        try {
+            MESSAGE_SPAN.writeMessageHeader(out, nextSize());
+            writeSpan(out, span);
+            out.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("span encoding failed", e);
+        }
+        return buffer;
+    }
+
+    private byte[] encodeSpanChunk(SpanChunk spanChunk) {
+        reset();
+        final List<SpanEvent> spanEventList = spanChunk.getSpanEventList();
+        prepareSpanEvents(spanEventList, getKeyTime(spanEventList));
+
+        final int index = reserveSize();
+        final int spanChunkSize = spanChunkSize(spanChunk);
+        this.sizes[index] = spanChunkSize;
+
+        final byte[] buffer = new byte[MESSAGE_SPAN_CHUNK.computeMessageSize(spanChunkSize)];
+        final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        try {
+            MESSAGE_SPAN_CHUNK.writeMessageHeader(out, nextSize());
+            writeSpanChunk(out, spanChunk);
+            out.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("spanChunk encoding failed", e);
+        }
+        return buffer;
+    }
+
+    private void reset() {
+        this.sizeIndex = 0;
+        this.sizeCursor = 0;
+        this.annotationValues.clear();
+        this.annotationCursor = 0;
+    }
+
+    private int reserveSize() {
+        if (sizeIndex == sizes.length) {
+            sizes = Arrays.copyOf(sizes, sizes.length << 1);
+        }
+        return sizeIndex++;
+    }
+
+    private int nextSize() {
+        return sizes[sizeCursor++];
+    }
+
+    // same as GrpcSpanProcessorV2
+    private void prepareSpanEvents(List<SpanEvent> spanEventList, long keyTime) {
+        final int size = CollectionUtils.nullSafeSize(spanEventList);
+        if (size == 0) {
+            return;
+        }
+        spanEventList.sort(SpanEventSequenceComparator.INSTANCE);
+        if (eventDepth.length < size) {
+            final int capacity = Math.max(size, eventDepth.length << 1);
+            eventDepth = new int[capacity];
+            eventStartElapsed = new int[capacity];
+        }
+
+        int prevDepth = 0;
+        for (int i = 0; i < size; i++) {
+            final SpanEvent spanEvent = spanEventList.get(i);
+            final long startTime = spanEvent.getStartTime();
+            eventStartElapsed[i] = (int) (startTime - keyTime);
+            keyTime = startTime;
+
+            final int depth = spanEvent.getDepth();
+            if (i != 0 && depth == prevDepth) {
+                // skip
+                eventDepth[i] = 0;
+            } else {
+                eventDepth[i] = depth;
+            }
+            prevDepth = depth;
+        }
+    }
+
+    private long getKeyTime(List<SpanEvent> spanEventList) {
+        if (CollectionUtils.isEmpty(spanEventList)) {
+            throw new IllegalArgumentException("spanEventList is empty.");
+        }
+        final SpanEvent first = spanEventList.get(0);
+        if (first == null) {
+            throw new IllegalStateException("first SpanEvent is null");
+        }
+        return first.getStartTime();
+    }
+
+    // ---- PSpan
+
+    private int spanSize(Span span) {
+        final TraceRoot traceRoot = span.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final Shared shared = traceRoot.getShared();
+
+        int size = 0;
+        for (ProtoField field : SPAN_FIELDS) {
+            switch (field.getSlot()) {
+                case SPAN_VERSION:
+                    size += field.computeIntSize(VERSION);
+                    break;
+                case SPAN_TRANSACTION_ID: {
+                    final int index = reserveSize();
+                    final int nestedSize = transactionIdSize(traceId);
+                    sizes[index] = nestedSize;
+                    size += field.computeMessageSize(nestedSize);
+                    break;
+                }
+                case SPAN_SPAN_ID:
+                    size += field.computeLongSize(traceId.getSpanId());
+                    break;
+                case SPAN_PARENT_SPAN_ID:
+                    size += field.computeLongSize(traceId.getParentSpanId());
+                    break;
+                case SPAN_START_TIME:
+                    size += field.computeLongSize(span.getStartTime());
+                    break;
+                case SPAN_ELAPSED:
+                    size += field.computeIntSize(span.getElapsedTime());
+                    break;
+                case SPAN_API_ID:
+                    size += field.computeIntSize(span.getApiId());
+                    break;
+                case SPAN_SERVICE_TYPE:
+                    size += field.computeIntSize(span.getServiceType());
+                    break;
+                case SPAN_ACCEPT_EVENT: {
+                    final int index = reserveSize();
+                    final int nestedSize = acceptEventSize(span, shared);
+                    sizes[index] = nestedSize;
+                    size += field.computeMessageSize(nestedSize);
+                    break;
+                }
+                case SPAN_ANNOTATION:
+                    size += annotationListSize(field, span.getAnnotations());
+                    break;
+                case SPAN_FLAG:
+                    size += field.computeIntSize(traceId.getFlags());
+                    break;
+                case SPAN_ERR:
+                    size += field.computeIntSize(shared.getErrorCode());
+                    break;
+                case SPAN_SPAN_EVENT:
+                    size += spanEventListSize(field, span.getSpanEventList());
+                    break;
+                case SPAN_EXCEPTION_INFO:
+                    size += intStringValueSize(field, span.getExceptionInfo());
+                    break;
+                case SPAN_APPLICATION_SERVICE_TYPE:
+                    size += field.computeIntSize(applicationServiceType);
+                    break;
+                case SPAN_LOGGING_TRANSACTION_INFO:
+                    size += field.computeIntSize(shared.getLoggingInfo());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeSpan(CodedOutputStream out, Span span) throws IOException {
+        final TraceRoot traceRoot = span.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final Shared shared = traceRoot.getShared();
+
+        for (ProtoField field : SPAN_FIELDS) {
+            switch (field.getSlot()) {
+                case SPAN_VERSION:
+                    field.writeInt(out, VERSION);
+                    break;
+                case SPAN_TRANSACTION_ID:
+                    field.writeMessageHeader(out, nextSize());
+                    writeTransactionId(out, traceId);
+                    break;
+                case SPAN_SPAN_ID:
+                    field.writeLong(out, traceId.getSpanId());
+                    break;
+                case SPAN_PARENT_SPAN_ID:
+                    field.writeLong(out, traceId.getParentSpanId());
+                    break;
+                case SPAN_START_TIME:
+                    field.writeLong(out, span.getStartTime());
+                    break;
+                case SPAN_ELAPSED:
+                    field.writeInt(out, span.getElapsedTime());
+                    break;
+                case SPAN_API_ID:
+                    field.writeInt(out, span.getApiId());
+                    break;
+                case SPAN_SERVICE_TYPE:
+                    field.writeInt(out, span.getServiceType());
+                    break;
+                case SPAN_ACCEPT_EVENT:
+                    field.writeMessageHeader(out, nextSize());
+                    writeAcceptEvent(out, span, shared);
+                    break;
+                case SPAN_ANNOTATION:
+                    writeAnnotationList(out, field, span.getAnnotations());
+                    break;
+                case SPAN_FLAG:
+                    field.writeInt(out, traceId.getFlags());
+                    break;
+                case SPAN_ERR:
+                    field.writeInt(out, shared.getErrorCode());
+                    break;
+                case SPAN_SPAN_EVENT:
+                    writeSpanEventList(out, field, span.getSpanEventList());
+                    break;
+                case SPAN_EXCEPTION_INFO:
+                    writeIntStringValue(out, field, span.getExceptionInfo());
+                    break;
+                case SPAN_APPLICATION_SERVICE_TYPE:
+                    field.writeInt(out, applicationServiceType);
+                    break;
+                case SPAN_LOGGING_TRANSACTION_INFO:
+                    field.writeInt(out, shared.getLoggingInfo());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PSpanChunk
+
+    private int spanChunkSize(SpanChunk spanChunk) {
+        final TraceRoot traceRoot = spanChunk.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final String endPoint = traceRoot.getShared().getEndPoint();
+        final List<SpanEvent> spanEventList = spanChunk.getSpanEventList();
+
+        int size = 0;
+        for (ProtoField field : CHUNK_FIELDS) {
+            switch (field.getSlot()) {
+                case CHUNK_VERSION:
+                    size += field.computeIntSize(VERSION);
+                    break;
+                case CHUNK_TRANSACTION_ID: {
+                    final int index = reserveSize();
+                    final int nestedSize = transactionIdSize(traceId);
+                    sizes[index] = nestedSize;
+                    size += field.computeMessageSize(nestedSize);
+                    break;
+                }
+                case CHUNK_SPAN_ID:
+                    size += field.computeLongSize(traceId.getSpanId());
+                    break;
+                case CHUNK_END_POINT:
+                    if (endPoint != null) {
+                        size += field.computeStringSize(endPoint);
+                    }
+                    break;
+                case CHUNK_SPAN_EVENT:
+                    size += spanEventListSize(field, spanEventList);
+                    break;
+                case CHUNK_APPLICATION_SERVICE_TYPE:
+                    size += field.computeIntSize(applicationServiceType);
+                    break;
+                case CHUNK_KEY_TIME:
+                    size += field.computeLongSize(getKeyTime(spanEventList));
+                    break;
+                case CHUNK_LOCAL_ASYNC_ID:
+                    if (spanChunk instanceof AsyncSpanChunk) {
+                        final LocalAsyncId localAsyncId = ((AsyncSpanChunk) spanChunk).getLocalAsyncId();
+                        final int index = reserveSize();
+                        final int nestedSize = localAsyncIdSize(localAsyncId);
+                        sizes[index] = nestedSize;
+                        size += field.computeMessageSize(nestedSize);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeSpanChunk(CodedOutputStream out, SpanChunk spanChunk) throws IOException {
+        final TraceRoot traceRoot = spanChunk.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final String endPoint = traceRoot.getShared().getEndPoint();
+        final List<SpanEvent> spanEventList = spanChunk.getSpanEventList();
+
+        for (ProtoField field : CHUNK_FIELDS) {
+            switch (field.getSlot()) {
+                case CHUNK_VERSION:
+                    field.writeInt(out, VERSION);
+                    break;
+                case CHUNK_TRANSACTION_ID:
+                    field.writeMessageHeader(out, nextSize());
+                    writeTransactionId(out, traceId);
+                    break;
+                case CHUNK_SPAN_ID:
+                    field.writeLong(out, traceId.getSpanId());
+                    break;
+                case CHUNK_END_POINT:
+                    if (endPoint != null) {
+                        field.writeString(out, endPoint);
+                    }
+                    break;
+                case CHUNK_SPAN_EVENT:
+                    writeSpanEventList(out, field, spanEventList);
+                    break;
+                case CHUNK_APPLICATION_SERVICE_TYPE:
+                    field.writeInt(out, applicationServiceType);
+                    break;
+                case CHUNK_KEY_TIME:
+                    field.writeLong(out, getKeyTime(spanEventList));
+                    break;
+                case CHUNK_LOCAL_ASYNC_ID:
+                    if (spanChunk instanceof AsyncSpanChunk) {
+                        final LocalAsyncId localAsyncId = ((AsyncSpanChunk) spanChunk).getLocalAsyncId();
+                        field.writeMessageHeader(out, nextSize());
+                        writeLocalAsyncId(out, localAsyncId);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PTransactionId
+
+    private boolean isCompressedType(TraceId traceId) {
+        // skip agentId
+        return agentId.equals(traceId.getAgentId());
+    }
+
+    private int transactionIdSize(TraceId traceId) {
+        int size = 0;
+        for (ProtoField field : TRANSACTION_ID_FIELDS) {
+            switch (field.getSlot()) {
+                case TRANSACTION_AGENT_ID:
+                    if (!isCompressedType(traceId)) {
+                        size += field.computeStringSize(traceId.getAgentId());
+                    }
+                    break;
+                case TRANSACTION_AGENT_START_TIME:
+                    size += field.computeLongSize(traceId.getAgentStartTime());
+                    break;
+                case TRANSACTION_SEQUENCE:
+                    size += field.computeLongSize(traceId.getTransactionSequence());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeTransactionId(CodedOutputStream out, TraceId traceId) throws IOException {
+        for (ProtoField field : TRANSACTION_ID_FIELDS) {
+            switch (field.getSlot()) {
+                case TRANSACTION_AGENT_ID:
+                    if (!isCompressedType(traceId)) {
+                        field.writeString(out, traceId.getAgentId());
+                    }
+                    break;
+                case TRANSACTION_AGENT_START_TIME:
+                    field.writeLong(out, traceId.getAgentStartTime());
+                    break;
+                case TRANSACTION_SEQUENCE:
+                    field.writeLong(out, traceId.getTransactionSequence());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PAcceptEvent
+
+    private int acceptEventSize(Span span, Shared shared) {
+        int size = 0;
+        for (ProtoField field : ACCEPT_EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case ACCEPT_RPC:
+                    size += field.computeStringSize(StringUtils.defaultIfEmpty(shared.getRpcName(), GrpcSpanMessageConverter.DEFAULT_RPC_NAME));
+                    break;
+                case ACCEPT_END_POINT:
+                    size += field.computeStringSize(StringUtils.defaultIfEmpty(shared.getEndPoint(), GrpcSpanMessageConverter.DEFAULT_END_POINT));
+                    break;
+                case ACCEPT_REMOTE_ADDR:
+                    size += field.computeStringSize(StringUtils.defaultIfEmpty(span.getRemoteAddr(), GrpcSpanMessageConverter.DEFAULT_REMOTE_ADDRESS));
+                    break;
+                case ACCEPT_PARENT_INFO:
+                    if (hasParentInfo(span)) {
+                        final int index = reserveSize();
+                        final int nestedSize = parentInfoSize(span);
+                        sizes[index] = nestedSize;
+                        size += field.computeMessageSize(nestedSize);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeAcceptEvent(CodedOutputStream out, Span span, Shared shared) throws IOException {
+        for (ProtoField field : ACCEPT_EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case ACCEPT_RPC:
+                    field.writeString(out, StringUtils.defaultIfEmpty(shared.getRpcName(), GrpcSpanMessageConverter.DEFAULT_RPC_NAME));
+                    break;
+                case ACCEPT_END_POINT:
+                    field.writeString(out, StringUtils.defaultIfEmpty(shared.getEndPoint(), GrpcSpanMessageConverter.DEFAULT_END_POINT));
+                    break;
+                case ACCEPT_REMOTE_ADDR:
+                    field.writeString(out, StringUtils.defaultIfEmpty(span.getRemoteAddr(), GrpcSpanMessageConverter.DEFAULT_REMOTE_ADDRESS));
+                    break;
+                case ACCEPT_PARENT_INFO:
+                    if (hasParentInfo(span)) {
+                        field.writeMessageHeader(out, nextSize());
+                        writeParentInfo(out, span);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PParentInfo
+
+    private boolean hasParentInfo(Span span) {
+        return span.getParentApplicationName() != null || span.getParentApplicationType() != 0 || span.getAcceptorHost() != null;
+    }
+
+    private int parentInfoSize(Span span) {
+        int size = 0;
+        for (ProtoField field : PARENT_INFO_FIELDS) {
+            switch (field.getSlot()) {
+                case PARENT_APPLICATION_NAME:
+                    if (span.getParentApplicationName() != null) {
+                        size += field.computeStringSize(span.getParentApplicationName());
+                    }
+                    break;
+                case PARENT_APPLICATION_TYPE:
+                    if (span.getParentApplicationType() != 0) {
+                        size += field.computeIntSize(span.getParentApplicationType());
+                    }
+                    break;
+                case PARENT_ACCEPTOR_HOST:
+                    if (span.getAcceptorHost() != null) {
+                        size += field.computeStringSize(span.getAcceptorHost());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeParentInfo(CodedOutputStream out, Span span) throws IOException {
+        for (ProtoField field : PARENT_INFO_FIELDS) {
+            switch (field.getSlot()) {
+                case PARENT_APPLICATION_NAME:
+                    if (span.getParentApplicationName() != null) {
+                        field.writeString(out, span.getParentApplicationName());
+                    }
+                    break;
+                case PARENT_APPLICATION_TYPE:
+                    if (span.getParentApplicationType() != 0) {
+                        field.writeInt(out, span.getParentApplicationType());
+                    }
+                    break;
+                case PARENT_ACCEPTOR_HOST:
+                    if (span.getAcceptorHost() != null) {
+                        field.writeString(out, span.getAcceptorHost());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PSpanEvent
+
+    private int spanEventListSize(ProtoField field, List<SpanEvent> spanEventList) {
+        if (CollectionUtils.isEmpty(spanEventList)) {
+            return 0;
+        }
+        int size = 0;
+        final int listSize = spanEventList.size();
+        for (int i = 0; i < listSize; i++) {
+            final int index = reserveSize();
+            final int nestedSize = spanEventSize(spanEventList.get(i), i);
+            sizes[index] = nestedSize;
+            size += field.computeMessageSize(nestedSize);
+        }
+        return size;
+    }
+
+    private void writeSpanEventList(CodedOutputStream out, ProtoField field, List<SpanEvent> spanEventList) throws IOException {
+        if (CollectionUtils.isEmpty(spanEventList)) {
+            return;
+        }
+        final int listSize = spanEventList.size();
+        for (int i = 0; i < listSize; i++) {
+            field.writeMessageHeader(out, nextSize());
+            writeSpanEvent(out, spanEventList.get(i), i);
+        }
+    }
+
+    private int spanEventSize(SpanEvent spanEvent, int eventIndex) {
+        int size = 0;
+        for (ProtoField field : EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case EVENT_SEQUENCE:
+                    size += field.computeIntSize(spanEvent.getSequence());
+                    break;
+                case EVENT_DEPTH:
+                    size += field.computeIntSize(eventDepth[eventIndex]);
+                    break;
+                case EVENT_START_ELAPSED:
+                    size += field.computeIntSize(eventStartElapsed[eventIndex]);
+                    break;
+                case EVENT_END_ELAPSED:
+                    if (spanEvent.getElapsedTime() != 0) {
+                        size += field.computeIntSize(spanEvent.getElapsedTime());
+                    }
+                    break;
+                case EVENT_SERVICE_TYPE:
+                    size += field.computeIntSize(spanEvent.getServiceType());
+                    break;
+                case EVENT_API_ID:
+                    size += field.computeIntSize(spanEvent.getApiId());
+                    break;
+                case EVENT_EXCEPTION_INFO:
+                    size += intStringValueSize(field, spanEvent.getExceptionInfo());
+                    break;
+                case EVENT_NEXT_EVENT:
+                    if (hasNextEvent(spanEvent)) {
+                        final int index = reserveSize();
+                        final int nestedSize = nextEventSize(spanEvent);
+                        sizes[index] = nestedSize;
+                        size += field.computeMessageSize(nestedSize);
+                    }
+                    break;
+                case EVENT_ASYNC_EVENT: {
+                    final AsyncId asyncIdObject = spanEvent.getAsyncIdObject();
+                    if (asyncIdObject != null) {
+                        size += field.computeIntSize(asyncIdObject.getAsyncId());
+                    }
+                    break;
+                }
+                case EVENT_ANNOTATION:
+                    size += annotationListSize(field, spanEvent.getAnnotations());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeSpanEvent(CodedOutputStream out, SpanEvent spanEvent, int eventIndex) throws IOException {
+        for (ProtoField field : EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case EVENT_SEQUENCE:
+                    field.writeInt(out, spanEvent.getSequence());
+                    break;
+                case EVENT_DEPTH:
+                    field.writeInt(out, eventDepth[eventIndex]);
+                    break;
+                case EVENT_START_ELAPSED:
+                    field.writeInt(out, eventStartElapsed[eventIndex]);
+                    break;
+                case EVENT_END_ELAPSED:
+                    if (spanEvent.getElapsedTime() != 0) {
+                        field.writeInt(out, spanEvent.getElapsedTime());
+                    }
+                    break;
+                case EVENT_SERVICE_TYPE:
+                    field.writeInt(out, spanEvent.getServiceType());
+                    break;
+                case EVENT_API_ID:
+                    field.writeInt(out, spanEvent.getApiId());
+                    break;
+                case EVENT_EXCEPTION_INFO:
+                    writeIntStringValue(out, field, spanEvent.getExceptionInfo());
+                    break;
+                case EVENT_NEXT_EVENT:
+                    if (hasNextEvent(spanEvent)) {
+                        field.writeMessageHeader(out, nextSize());
+                        writeNextEvent(out, spanEvent);
+                    }
+                    break;
+                case EVENT_ASYNC_EVENT: {
+                    final AsyncId asyncIdObject = spanEvent.getAsyncIdObject();
+                    if (asyncIdObject != null) {
+                        field.writeInt(out, asyncIdObject.getAsyncId());
+                    }
+                    break;
+                }
+                case EVENT_ANNOTATION:
+                    writeAnnotationList(out, field, spanEvent.getAnnotations());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PNextEvent, PMessageEvent
+
+    private boolean hasNextEvent(SpanEvent spanEvent) {
+        return spanEvent.getEndPoint() != null || spanEvent.getNextSpanId() != -1 || spanEvent.getDestinationId() != null;
+    }
+
+    private int nextEventSize(SpanEvent spanEvent) {
+        final int index = reserveSize();
+        final int messageEventSize = messageEventSize(spanEvent);
+        sizes[index] = messageEventSize;
+        return NEXT_EVENT_MESSAGE_EVENT.computeMessageSize(messageEventSize);
+    }
+
+    private void writeNextEvent(CodedOutputStream out, SpanEvent spanEvent) throws IOException {
+        NEXT_EVENT_MESSAGE_EVENT.writeMessageHeader(out, nextSize());
+        writeMessageEvent(out, spanEvent);
+    }
+
+    private int messageEventSize(SpanEvent spanEvent) {
+        int size = 0;
+        for (ProtoField field : MESSAGE_EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case MESSAGE_EVENT_NEXT_SPAN_ID:
+                    if (spanEvent.getNextSpanId() != -1) {
+                        size += field.computeLongSize(spanEvent.getNextSpanId());
+                    }
+                    break;
+                case MESSAGE_EVENT_END_POINT:
+                    if (spanEvent.getEndPoint() != null) {
+                        size += field.computeStringSize(spanEvent.getEndPoint());
+                    }
+                    break;
+                case MESSAGE_EVENT_DESTINATION_ID:
+                    if (spanEvent.getDestinationId() != null) {
+                        size += field.computeStringSize(spanEvent.getDestinationId());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeMessageEvent(CodedOutputStream out, SpanEvent spanEvent) throws IOException {
+        for (ProtoField field : MESSAGE_EVENT_FIELDS) {
+            switch (field.getSlot()) {
+                case MESSAGE_EVENT_NEXT_SPAN_ID:
+                    if (spanEvent.getNextSpanId() != -1) {
+                        field.writeLong(out, spanEvent.getNextSpanId());
+                    }
+                    break;
+                case MESSAGE_EVENT_END_POINT:
+                    if (spanEvent.getEndPoint() != null) {
+                        field.writeString(out, spanEvent.getEndPoint());
+                    }
+                    break;
+                case MESSAGE_EVENT_DESTINATION_ID:
+                    if (spanEvent.getDestinationId() != null) {
+                        field.writeString(out, spanEvent.getDestinationId());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PIntStringValue
+
+    private int intStringValueSize(ProtoField field, IntStringValue value) {
+        if (value == null) {
+            return 0;
+        }
+        final int index = reserveSize();
+        int size = 0;
+        for (ProtoField intStringField : INT_STRING_FIELDS) {
+            switch (intStringField.getSlot()) {
+                case INT_STRING_INT_VALUE:
+                    size += intStringField.computeIntSize(value.getIntValue());
+                    break;
+                case INT_STRING_STRING_VALUE:
+                    if (value.getStringValue() != null) {
+                        size += intStringField.computeMessageSize(STRING_VALUE_VALUE.computeStringSize(value.getStringValue()));
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + intStringField);
+            }
+        }
+        sizes[index] = size;
+        return field.computeMessageSize(size);
+    }
+
+    private void writeIntStringValue(CodedOutputStream out, ProtoField field, IntStringValue value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        field.writeMessageHeader(out, nextSize());
+        for (ProtoField intStringField : INT_STRING_FIELDS) {
+            switch (intStringField.getSlot()) {
+                case INT_STRING_INT_VALUE:
+                    intStringField.writeInt(out, value.getIntValue());
+                    break;
+                case INT_STRING_STRING_VALUE:
+                    final String stringValue = value.getStringValue();
+                    if (stringValue != null) {
+                        intStringField.writeMessageHeader(out, STRING_VALUE_VALUE.computeStringSize(stringValue));
+                        STRING_VALUE_VALUE.writeString(out, stringValue);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + intStringField);
+            }
+        }
+    }
+
+    // ---- PLocalAsyncId
+
+    private int localAsyncIdSize(LocalAsyncId localAsyncId) {
+        int size = 0;
+        for (ProtoField field : LOCAL_ASYNC_ID_FIELDS) {
+            switch (field.getSlot()) {
+                case LOCAL_ASYNC_ID_ASYNC_ID:
+                    size += field.computeIntSize(localAsyncId.getAsyncId());
+                    break;
+                case LOCAL_ASYNC_ID_SEQUENCE:
+                    size += field.computeIntSize(localAsyncId.getSequence());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeLocalAsyncId(CodedOutputStream out, LocalAsyncId localAsyncId) throws IOException {
+        for (ProtoField field : LOCAL_ASYNC_ID_FIELDS) {
+            switch (field.getSlot()) {
+                case LOCAL_ASYNC_ID_ASYNC_ID:
+                    field.writeInt(out, localAsyncId.getAsyncId());
+                    break;
+                case LOCAL_ASYNC_ID_SEQUENCE:
+                    field.writeInt(out, localAsyncId.getSequence());
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    // ---- PAnnotation
+
+    private int annotationListSize(ProtoField field, List<Annotation<?>> annotations) {
+        if (CollectionUtils.isEmpty(annotations)) {
+            return 0;
+        }
+        int size = 0;
+        for (Annotation<?> annotation : annotations) {
+            final int index = reserveSize();
+            final int nestedSize = annotationSize(annotation);
+            sizes[index] = nestedSize;
+            size += field.computeMessageSize(nestedSize);
+        }
+        return size;
+    }
+
+    private void writeAnnotationList(CodedOutputStream out, ProtoField field, List<Annotation<?>> annotations) throws IOException {
+        if (CollectionUtils.isEmpty(annotations)) {
+            return;
+        }
+        for (Annotation<?> annotation : annotations) {
+            field.writeMessageHeader(out, nextSize());
+            writeAnnotation(out, annotation);
+        }
+    }
+
+    private int annotationSize(Annotation<?> annotation) {
+        // annotation values are few and varied, they keep using the generated messages.
+        final PAnnotationValue value = grpcAnnotationValueMapper.buildPAnnotationValue(annotation);
+        annotationValues.add(value);
+
+        int size = 0;
+        for (ProtoField field : ANNOTATION_FIELDS) {
+            switch (field.getSlot()) {
+                case ANNOTATION_KEY:
+                    size += field.computeIntSize(annotation.getKey());
+                    break;
+                case ANNOTATION_VALUE:
+                    if (value != null) {
+                        size += field.computeMessageSize(value);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+        return size;
+    }
+
+    private void writeAnnotation(CodedOutputStream out, Annotation<?> annotation) throws IOException {
+        final PAnnotationValue value = annotationValues.get(annotationCursor++);
+        for (ProtoField field : ANNOTATION_FIELDS) {
+            switch (field.getSlot()) {
+                case ANNOTATION_KEY:
+                    field.writeInt(out, annotation.getKey());
+                    break;
+                case ANNOTATION_VALUE:
+                    if (value != null) {
+                        field.writeMessage(out, value);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown field " + field);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcSpanMessageEncoder{" +
+                "agentId='" + agentId + '\'' +
+                ", applicationServiceType=" + applicationServiceType +
+                '}';
+    }
+}
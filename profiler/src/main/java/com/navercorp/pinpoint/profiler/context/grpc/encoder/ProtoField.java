@@ -0,0 +1,235 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A field of a protobuf message, resolved from the generated descriptor.
+ * <p>
+ * Writes a value the way the generated message would: proto3 fields without presence are skipped when they hold
+ * the default value, fields in a oneof are always written. The caller only writes the fields the builder would have set.
+ */
+public final class ProtoField {
+
+    private final String name;
+    private final int number;
+    private final int slot;
+    private final Descriptors.FieldDescriptor.Type type;
+    private final boolean presence;
+    private final int tagSize;
+
+    private ProtoField(Descriptors.FieldDescriptor descriptor, int slot) {
+        this.name = descriptor.getFullName();
+        this.number = descriptor.getNumber();
+        this.slot = slot;
+        this.type = descriptor.getType();
+        this.presence = descriptor.getContainingOneof() != null;
+        this.tagSize = CodedOutputStream.computeTagSize(number);
+    }
+
+    /**
+     * @param jsonName lowerCamelCase field name, independent of the naming style of the .proto file
+     * @param slot     identifies the field in the encoder
+     */
+    public static ProtoField of(Descriptors.Descriptor message, String jsonName, Descriptors.FieldDescriptor.JavaType javaType, int slot) {
+        Objects.requireNonNull(message, "message");
+        Objects.requireNonNull(jsonName, "jsonName");
+        for (Descriptors.FieldDescriptor field : message.getFields()) {
+            if (jsonName.equals(field.getJsonName())) {
+                if (field.getJavaType() != javaType) {
+                    throw new IllegalStateException("unexpected type " + field.getFullName() + " " + field.getJavaType() + ", expected:" + javaType);
+                }
+                return new ProtoField(field, slot);
+            }
+        }
+        throw new IllegalStateException("field not found " + message.getFullName() + "." + jsonName);
+    }
+
+    /**
+     * @return fields sorted by field number, the serialization order of the generated messages
+     */
+    public static ProtoField[] serializationOrder(ProtoField... fields) {
+        final ProtoField[] copy = Arrays.copyOf(fields, fields.length);
+        Arrays.sort(copy, Comparator.comparingInt(ProtoField::getNumber));
+        return copy;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public int computeIntSize(int value) {
+        if (value == 0 && !presence) {
+            return 0;
+        }
+        return tagSize + intSizeNoTag(value);
+    }
+
+    private int intSizeNoTag(int value) {
+        switch (type) {
+            case SINT32:
+                return CodedOutputStream.computeSInt32SizeNoTag(value);
+            case UINT32:
+                return CodedOutputStream.computeUInt32SizeNoTag(value);
+            case FIXED32:
+            case SFIXED32:
+                return 4;
+            case ENUM:
+                return CodedOutputStream.computeEnumSizeNoTag(value);
+            default:
+                return CodedOutputStream.computeInt32SizeNoTag(value);
+        }
+    }
+
+    public void writeInt(CodedOutputStream out, int value) throws IOException {
+        if (value == 0 && !presence) {
+            return;
+        }
+        switch (type) {
+            case SINT32:
+                out.writeSInt32(number, value);
+                return;
+            case UINT32:
+                out.writeUInt32(number, value);
+                return;
+            case FIXED32:
+                out.writeFixed32(number, value);
+                return;
+            case SFIXED32:
+                out.writeSFixed32(number, value);
+                return;
+            case ENUM:
+                out.writeEnum(number, value);
+                return;
+            default:
+                out.writeInt32(number, value);
+        }
+    }
+
+    public int computeLongSize(long value) {
+        if (value == 0 && !presence) {
+            return 0;
+        }
+        return tagSize + longSizeNoTag(value);
+    }
+
+    private int longSizeNoTag(long value) {
+        switch (type) {
+            case SINT64:
+                return CodedOutputStream.computeSInt64SizeNoTag(value);
+            case UINT64:
+                return CodedOutputStream.computeUInt64SizeNoTag(value);
+            case FIXED64:
+            case SFIXED64:
+                return 8;
+            default:
+                return CodedOutputStream.computeInt64SizeNoTag(value);
+        }
+    }
+
+    public void writeLong(CodedOutputStream out, long value) throws IOException {
+        if (value == 0 && !presence) {
+            return;
+        }
+        switch (type) {
+            case SINT64:
+                out.writeSInt64(number, value);
+                return;
+            case UINT64:
+                out.writeUInt64(number, value);
+                return;
+            case FIXED64:
+                out.writeFixed64(number, value);
+                return;
+            case SFIXED64:
+                out.writeSFixed64(number, value);
+                return;
+            default:
+                out.writeInt64(number, value);
+        }
+    }
+
+    public int computeBoolSize(boolean value) {
+        if (!value && !presence) {
+            return 0;
+        }
+        return tagSize + 1;
+    }
+
+    public void writeBool(CodedOutputStream out, boolean value) throws IOException {
+        if (!value && !presence) {
+            return;
+        }
+        out.writeBool(number, value);
+    }
+
+    public int computeStringSize(String value) {
+        if (value.isEmpty() && !presence) {
+            return 0;
+        }
+        return tagSize + CodedOutputStream.computeStringSizeNoTag(value);
+    }
+
+    public void writeString(CodedOutputStream out, String value) throws IOException {
+        if (value.isEmpty() && !presence) {
+            return;
+        }
+        out.writeString(number, value);
+    }
+
+    /**
+     * @param messageSize serialized size of the nested message
+     */
+    public int computeMessageSize(int messageSize) {
+        return tagSize + CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+    }
+
+    /**
+     * writes the tag and length of a nested message, its fields follow.
+     */
+    public void writeMessageHeader(CodedOutputStream out, int messageSize) throws IOException {
+        out.writeTag(number, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(messageSize);
+    }
+
+    public int computeMessageSize(MessageLite message) {
+        return CodedOutputStream.computeMessageSize(number, message);
+    }
+
+    public void writeMessage(CodedOutputStream out, MessageLite message) throws IOException {
+        out.writeMessage(number, message);
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + number;
+    }
+}
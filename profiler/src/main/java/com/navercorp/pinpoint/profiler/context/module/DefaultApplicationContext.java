@@ -41,7 +41,9 @@ import com.navercorp.pinpoint.profiler.context.provider.ShutdownHookRegisterProv
 import com.navercorp.pinpoint.profiler.instrument.ASMBytecodeDumpService;
 import com.navercorp.pinpoint.profiler.instrument.BytecodeDumpTransformer;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.lambda.LambdaTransformBootloader;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerDecisionCache;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
 import com.navercorp.pinpoint.profiler.monitor.DeadlockMonitor;
@@ -75,6 +77,8 @@ public class DefaultApplicationContext implements ApplicationContext {
     private final ServerMetaDataRegistryService serverMetaDataRegistryService;
 
     private final ClassFileTransformer classFileTransformer;
+    private final TransformerDecisionCache transformerDecisionCache;
+    private final ClassMetadataCache classMetadataCache;
 
     private final InstrumentEngine instrumentEngine;
     private final DynamicTransformTrigger dynamicTransformTrigger;
@@ -101,6 +105,8 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.instrumentEngine = injector.getInstance(InstrumentEngine.class);
 
         this.classFileTransformer = injector.getInstance(ClassFileTransformer.class);
+        this.transformerDecisionCache = injector.getInstance(TransformerDecisionCache.class);
+        this.classMetadataCache = injector.getInstance(ClassMetadataCache.class);
         this.dynamicTransformTrigger = injector.getInstance(DynamicTransformTrigger.class);
 
         ClassFileTransformer classFileTransformer = wrap(this.classFileTransformer);
@@ -224,6 +230,7 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.deadlockMonitor.start();
         this.agentInfoSender.start();
         this.agentStatMonitor.start();
+        this.transformerDecisionCache.start();
     }
 
     @Override
@@ -231,6 +238,8 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
         this.deadlockMonitor.stop();
+        this.transformerDecisionCache.stop();
+        logger.info("classMetadataCache:{}", classMetadataCache);
 
         // Need to process stop
         if (rpcModuleLifeCycle != null) {
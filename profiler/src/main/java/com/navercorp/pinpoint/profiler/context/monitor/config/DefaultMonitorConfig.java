@@ -32,6 +32,8 @@ public class DefaultMonitorConfig implements MonitorConfig {
     private boolean uriStatEnable = false;
     @Value("${profiler.uri.stat.completed.data.limit.size}")
     private int completedUriStatDataLimitSize = 1000;
+    @Value("${profiler.uri.stat.storage.striped.enable}")
+    private boolean uriStatStripedStorageEnable = false;
 
     @Value("${profiler.jvm.stat.collect.interval}")
     private int profileJvmStatCollectIntervalMs = DEFAULT_AGENT_STAT_COLLECTION_INTERVAL_MS;
@@ -75,6 +77,11 @@ public class DefaultMonitorConfig implements MonitorConfig {
         return completedUriStatDataLimitSize;
     }
 
+    @Override
+    public boolean isUriStatStripedStorageEnable() {
+        return uriStatStripedStorageEnable;
+    }
+
     @Override
     public String toString() {
         return "DefaultMonitorConfig{" +
@@ -82,6 +89,7 @@ public class DefaultMonitorConfig implements MonitorConfig {
                 ", customMetricLimitSize=" + customMetricLimitSize +
                 ", uriStatEnable=" + uriStatEnable +
                 ", completedUriStatDataLimitSize=" + completedUriStatDataLimitSize +
+                ", uriStatStripedStorageEnable=" + uriStatStripedStorageEnable +
                 ", profileJvmStatCollectIntervalMs=" + profileJvmStatCollectIntervalMs +
                 ", profileJvmStatBatchSendCount=" + profileJvmStatBatchSendCount +
                 ", profilerJvmStatCollectDetailedMetrics=" + profilerJvmStatCollectDetailedMetrics +
@@ -31,4 +31,6 @@ public interface MonitorConfig {
 
     int getCompletedUriStatDataLimitSize();
 
+    boolean isUriStatStripedStorageEnable();
+
 }
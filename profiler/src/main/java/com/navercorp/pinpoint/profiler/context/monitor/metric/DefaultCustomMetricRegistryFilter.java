@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.profiler.context.monitor.metric;
 
 import com.navercorp.pinpoint.bootstrap.plugin.monitor.metric.CustomMetric;
+import com.navercorp.pinpoint.bootstrap.plugin.monitor.metric.DoubleGauge;
 import com.navercorp.pinpoint.bootstrap.plugin.monitor.metric.LongCounter;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplingRateMetric;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -32,6 +34,7 @@ public class DefaultCustomMetricRegistryFilter implements CustomMetricRegistryFi
     // default
     private static final AllowedSource<LongCounter> NETTY_USED_DIRECT_MEMORY = new AllowedSource<>("custom/netty/usedDirectMemory", LongCounter.class);
     private static final AllowedSource<LongCounter> NETTY_MAX_DIRECT_MEMORY = new AllowedSource<>("custom/netty/maxDirectMemory ", LongCounter.class);
+    private static final AllowedSource<DoubleGauge> ADAPTIVE_SAMPLING_RATE = new AllowedSource<>(AdaptiveSamplingRateMetric.NAME, DoubleGauge.class);
 
     private final List<AllowedSource> allowedSourceList;
 
@@ -39,6 +42,7 @@ public class DefaultCustomMetricRegistryFilter implements CustomMetricRegistryFi
         List<AllowedSource> allowedSourceList = new ArrayList<AllowedSource>();
         allowedSourceList.add(NETTY_USED_DIRECT_MEMORY);
         allowedSourceList.add(NETTY_MAX_DIRECT_MEMORY);
+        allowedSourceList.add(ADAPTIVE_SAMPLING_RATE);
 
         this.allowedSourceList = Collections.unmodifiableList(allowedSourceList);
     }
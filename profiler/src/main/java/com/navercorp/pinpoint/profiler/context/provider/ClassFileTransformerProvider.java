@@ -28,6 +28,7 @@ import java.util.Objects;
 import com.navercorp.pinpoint.common.util.StringUtils;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.classloading.DebugTransformerClassInjector;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentConfig;
 import com.navercorp.pinpoint.profiler.instrument.transformer.BypassLambdaClassFileResolver;
@@ -37,6 +38,7 @@ import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultLambdaClass
 import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultTransformerRegistry;
 import com.navercorp.pinpoint.profiler.instrument.transformer.LambdaClassFileResolver;
 import com.navercorp.pinpoint.profiler.instrument.transformer.MatchableTransformerRegistry;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerDecisionCache;
 import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerRegistry;
 import com.navercorp.pinpoint.profiler.plugin.ClassFileTransformerLoader;
 import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
@@ -69,13 +71,17 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
     private final InstrumentEngine instrumentEngine;
     private final DynamicTransformTrigger dynamicTransformTrigger;
     private final DynamicTransformerRegistry dynamicTransformerRegistry;
+    private final TransformerDecisionCache transformerDecisionCache;
+    private final ClassMetadataCache classMetadataCache;
 
     @Inject
     public ClassFileTransformerProvider(ProfilerConfig profilerConfig,
                                         InstrumentConfig instrumentConfig,
                                         InstrumentMatcherCacheConfig instrumentMatcherCacheConfig,
                                         InstrumentEngine instrumentEngine, PluginContextLoadResult pluginContextLoadResult,
-                                        DynamicTransformTrigger dynamicTransformTrigger, DynamicTransformerRegistry dynamicTransformerRegistry) {
+                                        DynamicTransformTrigger dynamicTransformTrigger, DynamicTransformerRegistry dynamicTransformerRegistry,
+                                        TransformerDecisionCache transformerDecisionCache,
+                                        ClassMetadataCache classMetadataCache) {
         this.profilerConfig = Objects.requireNonNull(profilerConfig, "profilerConfig");
         this.instrumentConfig = Objects.requireNonNull(instrumentConfig, "instrumentConfig");
         this.instrumentMatcherCacheConfig = Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
@@ -84,6 +90,8 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
         this.pluginContextLoadResult = Objects.requireNonNull(pluginContextLoadResult, "pluginContextLoadResult");
         this.dynamicTransformTrigger = Objects.requireNonNull(dynamicTransformTrigger, "dynamicTransformTrigger");
         this.dynamicTransformerRegistry = Objects.requireNonNull(dynamicTransformerRegistry, "dynamicTransformerRegistry");
+        this.transformerDecisionCache = Objects.requireNonNull(transformerDecisionCache, "transformerDecisionCache");
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
     }
 
     @Override
@@ -142,7 +150,7 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
 
     private TransformerRegistry newDefaultTransformerRegistry(List<MatchableClassFileTransformer> matchableClassFileTransformerList) {
         if (this.instrumentMatcherCacheConfig.isInstrumentMatcherEnable()) {
-            return new MatchableTransformerRegistry(this.instrumentMatcherCacheConfig, matchableClassFileTransformerList);
+            return new MatchableTransformerRegistry(this.instrumentMatcherCacheConfig, matchableClassFileTransformerList, transformerDecisionCache, classMetadataCache);
         }
         return new DefaultTransformerRegistry(matchableClassFileTransformerList);
     }
@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 
 import com.navercorp.pinpoint.profiler.instrument.ASMEngine;
 import com.navercorp.pinpoint.profiler.instrument.ScopeFactory;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentConfig;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
@@ -47,19 +48,22 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
     private final Provider<ApiMetaDataService> apiMetaDataServiceProvider;
     private final ObjectBinderFactory objectBinderFactory;
     private final Instrumentation instrumentation;
+    private final ClassMetadataCache classMetadataCache;
 
     @Inject
     public InstrumentEngineProvider(InstrumentConfig instrumentConfig,
                                     Instrumentation instrumentation,
                                     ObjectBinderFactory objectBinderFactory,
                                     InterceptorRegistryBinder interceptorRegistryBinder,
-                                    Provider<ApiMetaDataService> apiMetaDataServiceProvider) {
+                                    Provider<ApiMetaDataService> apiMetaDataServiceProvider,
+                                    ClassMetadataCache classMetadataCache) {
 
         this.instrumentConfig = Objects.requireNonNull(instrumentConfig, "instrumentConfig");
         this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation");
         this.objectBinderFactory = Objects.requireNonNull(objectBinderFactory, "objectBinderFactory");
         this.interceptorRegistryBinder = Objects.requireNonNull(interceptorRegistryBinder, "interceptorRegistryBinder");
         this.apiMetaDataServiceProvider = Objects.requireNonNull(apiMetaDataServiceProvider, "apiMetaDataServiceProvider");
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
     }
 
     public InstrumentEngine get() {
@@ -71,7 +75,7 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
             final InterceptorDefinitionFactory interceptorDefinitionFactory = new InterceptorDefinitionFactory();
             // WARNING must be singleton
             final ScopeFactory scopeFactory = new ScopeFactory();
-            EngineComponent engineComponent = new DefaultEngineComponent(objectBinderFactory, interceptorRegistryBinder, interceptorDefinitionFactory, apiMetaDataServiceProvider, scopeFactory);
+            EngineComponent engineComponent = new DefaultEngineComponent(objectBinderFactory, interceptorRegistryBinder, interceptorDefinitionFactory, apiMetaDataServiceProvider, scopeFactory, classMetadataCache);
             return new ASMEngine(instrumentation, engineComponent);
 
         } else {
@@ -34,7 +34,7 @@ public class InterceptorRegistryBinderProvider implements Provider<InterceptorRe
 
     @Inject
     public InterceptorRegistryBinderProvider(InstrumentConfig instrumentConfig) {
-        this(getInterceptorRegistrySize(instrumentConfig));
+        this(getInterceptorRegistrySize(instrumentConfig), instrumentConfig.isInterceptorRegistryDense());
     }
 
     private static int getInterceptorRegistrySize(InstrumentConfig instrumentConfig) {
@@ -43,7 +43,11 @@ public class InterceptorRegistryBinderProvider implements Provider<InterceptorRe
     }
 
     public InterceptorRegistryBinderProvider(int interceptorSize) {
-        this.interceptorRegistryBinder = new DefaultInterceptorRegistryBinder(interceptorSize);
+        this(interceptorSize, false);
+    }
+
+    public InterceptorRegistryBinderProvider(int interceptorSize, boolean dense) {
+        this.interceptorRegistryBinder = new DefaultInterceptorRegistryBinder(interceptorSize, dense);
     }
 
     @Override
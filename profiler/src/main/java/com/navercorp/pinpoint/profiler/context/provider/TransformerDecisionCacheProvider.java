@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.MatcherType;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.common.util.StringUtils;
+import com.navercorp.pinpoint.profiler.instrument.config.InstrumentMatcherCacheConfig;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DisableTransformerDecisionCache;
+import com.navercorp.pinpoint.profiler.instrument.transformer.FileTransformerDecisionCache;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerDecisionCache;
+import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
+import com.navercorp.pinpoint.profiler.plugin.PluginContextLoadResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.lang.instrument.ClassFileTransformer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class TransformerDecisionCacheProvider implements Provider<TransformerDecisionCache> {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final InstrumentMatcherCacheConfig instrumentMatcherCacheConfig;
+    private final PluginContextLoadResult pluginContextLoadResult;
+
+    @Inject
+    public TransformerDecisionCacheProvider(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, PluginContextLoadResult pluginContextLoadResult) {
+        this.instrumentMatcherCacheConfig = Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
+        this.pluginContextLoadResult = Objects.requireNonNull(pluginContextLoadResult, "pluginContextLoadResult");
+    }
+
+    @Override
+    public TransformerDecisionCache get() {
+        final String decisionCachePath = this.instrumentMatcherCacheConfig.getDecisionCachePath();
+        if (!this.instrumentMatcherCacheConfig.isInstrumentMatcherEnable() || StringUtils.isEmpty(decisionCachePath)) {
+            return new DisableTransformerDecisionCache();
+        }
+        // agent version + based matchers, the only ones consulting the cache.
+        final List<String> matchers = new ArrayList<>();
+        for (ClassFileTransformer transformer : pluginContextLoadResult.getClassFileTransformer()) {
+            if (transformer instanceof MatchableClassFileTransformer) {
+                final MatchableClassFileTransformer t = (MatchableClassFileTransformer) transformer;
+                if (MatcherType.isBasedMatcher(t.getMatcher())) {
+                    matchers.add(String.valueOf(t.getMatcher()));
+                }
+            }
+        }
+        Collections.sort(matchers);
+        final String fingerprint = Version.VERSION + matchers;
+
+        final TransformerDecisionCache decisionCache = new FileTransformerDecisionCache(new File(decisionCachePath), fingerprint);
+        logger.info("TransformerDecisionCache {}", decisionCache);
+        return decisionCache;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Objects;
 import com.navercorp.pinpoint.profiler.context.monitor.config.MonitorConfig;
 import com.navercorp.pinpoint.profiler.context.storage.AsyncQueueingUriStatStorage;
 import com.navercorp.pinpoint.profiler.context.storage.DisabledUriStatStorage;
+import com.navercorp.pinpoint.profiler.context.storage.StripedUriStatStorage;
 import com.navercorp.pinpoint.profiler.context.storage.UriStatStorage;
 
 import com.google.inject.Inject;
@@ -43,6 +44,9 @@ public class UriStatStorageProvider implements Provider<UriStatStorage> {
     @Override
     public UriStatStorage get() {
         if (monitorConfig.isUriStatEnable()) {
+            if (monitorConfig.isUriStatStripedStorageEnable()) {
+                return new StripedUriStatStorage(monitorConfig.getCompletedUriStatDataLimitSize());
+            }
             return new AsyncQueueingUriStatStorage(5192, monitorConfig.getCompletedUriStatDataLimitSize(), URI_STAT_STORAGE_EXECUTOR_NAME);
         } else {
             return new DisabledUriStatStorage();
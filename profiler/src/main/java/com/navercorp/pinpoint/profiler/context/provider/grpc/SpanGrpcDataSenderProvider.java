@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.profiler.context.provider.grpc;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.grpc.client.ChannelFactory;
 import com.navercorp.pinpoint.grpc.client.ChannelFactoryBuilder;
 import com.navercorp.pinpoint.grpc.client.DefaultChannelFactoryBuilder;
@@ -31,12 +32,17 @@ import com.navercorp.pinpoint.grpc.client.interceptor.DiscardEventListener;
 import com.navercorp.pinpoint.grpc.client.interceptor.LoggingDiscardEventListener;
 import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanMessageEncoder;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
+import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.ReconnectExecutor;
 import com.navercorp.pinpoint.profiler.sender.grpc.SimpleStreamState;
+import com.navercorp.pinpoint.profiler.sender.grpc.GrpcDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.SpanGrpcDataSender;
+import com.navercorp.pinpoint.profiler.sender.grpc.SpanGrpcEncodedDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.StreamState;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzReporter;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzScheduledReporter;
@@ -62,6 +68,8 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
     private final Provider<ReconnectExecutor> reconnectExecutor;
     private final NameResolverProvider nameResolverProvider;
     private final ChannelzScheduledReporter reporter;
+    private final String agentId;
+    private final short applicationServiceTypeCode;
 
     private List<ClientInterceptor> clientInterceptorList;
 
@@ -72,7 +80,8 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
                                       @SpanDataSender MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
                                       HeaderFactory headerFactory,
                                       Provider<ReconnectExecutor> reconnectExecutor,
-                                      NameResolverProvider nameResolverProvider, ChannelzScheduledReporter reporter) {
+                                      NameResolverProvider nameResolverProvider, ChannelzScheduledReporter reporter,
+                                      @AgentId String agentId, @ApplicationServerType ServiceType applicationServiceType) {
         this.grpcTransportConfig = Objects.requireNonNull(grpcTransportConfig, "grpcTransportConfig");
         this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
         this.headerFactory = Objects.requireNonNull(headerFactory, "headerFactory");
@@ -81,6 +90,8 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
 
         this.nameResolverProvider = Objects.requireNonNull(nameResolverProvider, "nameResolverProvider");
         this.reporter = Objects.requireNonNull(reporter, "reporter");
+        this.agentId = Objects.requireNonNull(agentId, "agentId");
+        this.applicationServiceTypeCode = applicationServiceType.getCode();
     }
 
     @Inject(optional = true)
@@ -104,16 +115,25 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
         final StreamState failState = new SimpleStreamState(spanClientOption.getLimitCount(), spanClientOption.getLimitTime());
         logger.info("failState:{}", failState);
 
-        final SpanGrpcDataSender spanGrpcDataSender = new SpanGrpcDataSender(collectorIp, collectorPort,
-                senderExecutorQueueSize, messageConverter,
-                reconnectExecutor, channelFactory, failState);
+        final GrpcDataSender<SpanType> spanGrpcDataSender;
+        if (grpcTransportConfig.isSpanDirectEncodingEnable()) {
+            logger.info("span direct encoding enabled");
+            final GrpcSpanMessageEncoder spanMessageEncoder = new GrpcSpanMessageEncoder(agentId, applicationServiceTypeCode);
+            spanGrpcDataSender = new SpanGrpcEncodedDataSender(collectorIp, collectorPort,
+                    senderExecutorQueueSize, messageConverter, spanMessageEncoder,
+                    reconnectExecutor, channelFactory, failState);
+        } else {
+            spanGrpcDataSender = new SpanGrpcDataSender(collectorIp, collectorPort,
+                    senderExecutorQueueSize, messageConverter,
+                    reconnectExecutor, channelFactory, failState);
+        }
 
         registerChannelzReporter(spanGrpcDataSender);
 
         return spanGrpcDataSender;
     }
 
-    private void registerChannelzReporter(SpanGrpcDataSender spanGrpcDataSender) {
+    private void registerChannelzReporter(GrpcDataSender<SpanType> spanGrpcDataSender) {
         final Logger statChannelLogger = LogManager.getLogger(SPAN_CHANNELZ);
         ChannelzReporter statReporter = new DefaultChannelzReporter(statChannelLogger);
         reporter.registerRootChannel(spanGrpcDataSender.getLogId(), statReporter);
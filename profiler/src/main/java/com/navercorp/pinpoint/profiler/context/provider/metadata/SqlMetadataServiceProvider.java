@@ -50,6 +50,7 @@ public class SqlMetadataServiceProvider implements Provider<SqlMetaDataService>
     public SqlMetaDataService get() {
         final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
         final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache(jdbcSqlCacheSize);
-        return new DefaultSqlMetaDataService(enhancedDataSender, stringCache);
+        final int parsedSqlCacheLength = profilerConfig.getJdbcParsedSqlCacheLength();
+        return new DefaultSqlMetaDataService(enhancedDataSender, stringCache, parsedSqlCacheLength);
     }
 }
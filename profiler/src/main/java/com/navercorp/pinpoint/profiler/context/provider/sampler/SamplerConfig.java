@@ -6,14 +6,17 @@ import com.navercorp.pinpoint.profiler.sampler.SamplerType;
 public class SamplerConfig {
     public static final String SAMPLER_ENABLE_NAME = "profiler.sampling.enable";
     public static final String URL_SAMPLER_ENABLE_NAME = "profiler.sampling.url.enable";
+    public static final String URL_SAMPLER_CACHE_SIZE_NAME = "profiler.sampling.url.cache.size";
 
     private final boolean samplingEnable;
     private final SamplerType samplerType;
     private final boolean urlSamplingEnable;
+    private final int urlSamplingCacheSize;
 
     public SamplerConfig(ProfilerConfig profilerConfig) {
         this.samplingEnable = profilerConfig.readBoolean(SAMPLER_ENABLE_NAME, true);
         this.urlSamplingEnable = profilerConfig.readBoolean(URL_SAMPLER_ENABLE_NAME, true);
+        this.urlSamplingCacheSize = profilerConfig.readInt(URL_SAMPLER_CACHE_SIZE_NAME, 0);
         String rateSamplerType = profilerConfig.readString("profiler.sampling.type", SamplerType.COUNTING.name());
         this.samplerType = SamplerType.of(rateSamplerType);
     }
@@ -30,11 +33,17 @@ public class SamplerConfig {
         return urlSamplingEnable;
     }
 
+    public int getUrlSamplingCacheSize() {
+        return urlSamplingCacheSize;
+    }
+
     @Override
     public String toString() {
         return "SamplerConfig{" +
                 "samplingEnable=" + samplingEnable +
                 ", samplerType=" + samplerType +
+                ", urlSamplingEnable=" + urlSamplingEnable +
+                ", urlSamplingCacheSize=" + urlSamplingCacheSize +
                 '}';
     }
 }
@@ -20,6 +20,10 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.monitor.metric.CustomMetricRegistryService;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerFactory;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplingRateMetric;
 import com.navercorp.pinpoint.profiler.sampler.FalseSampler;
 import com.navercorp.pinpoint.profiler.sampler.CountingSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.PercentSamplerFactory;
@@ -28,6 +32,8 @@ import com.navercorp.pinpoint.profiler.sampler.SamplerType;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import java.util.Objects;
+
 /**
  * @author Woonduk Kang(emeroad)
  */
@@ -35,10 +41,12 @@ public class SamplerProvider implements Provider<Sampler> {
     private final Logger logger = LogManager.getLogger(this.getClass());
 
     private final ProfilerConfig profilerConfig;
+    private final CustomMetricRegistryService customMetricRegistryService;
 
     @Inject
-    public SamplerProvider(ProfilerConfig profilerConfig) {
+    public SamplerProvider(ProfilerConfig profilerConfig, CustomMetricRegistryService customMetricRegistryService) {
         this.profilerConfig = profilerConfig;
+        this.customMetricRegistryService = Objects.requireNonNull(customMetricRegistryService, "customMetricRegistryService");
     }
 
     @Override
@@ -53,7 +61,11 @@ public class SamplerProvider implements Provider<Sampler> {
         SamplerType samplerType = config.getSamplerType();
         SamplerFactory samplerFactory = newSamplerFactory(samplerType, profilerConfig);
 
-        return samplerFactory.createSampler();
+        final Sampler sampler = samplerFactory.createSampler();
+        if (sampler instanceof AdaptiveSampler) {
+            customMetricRegistryService.register(new AdaptiveSamplingRateMetric((AdaptiveSampler) sampler));
+        }
+        return sampler;
     }
 
     private SamplerFactory newSamplerFactory(SamplerType samplerType, ProfilerConfig profilerConfig) {
@@ -62,6 +74,8 @@ public class SamplerProvider implements Provider<Sampler> {
                 return newCountingSamplerFactory(profilerConfig);
             case PERCENT:
                 return newPercentSamplerFactory(profilerConfig);
+            case ADAPTIVE:
+                return newAdaptiveSamplerFactory(profilerConfig);
             default:
                 // parse fail
                 throw new IllegalStateException("Unexpected samplerType: " + samplerType);
@@ -84,5 +98,13 @@ public class SamplerProvider implements Provider<Sampler> {
         return new PercentSamplerFactory(config);
     }
 
+    private SamplerFactory newAdaptiveSamplerFactory(ProfilerConfig profilerConfig) {
+
+        AdaptiveSamplerFactory.Config config = AdaptiveSamplerFactory.config(profilerConfig);
+        logger.info("AdaptiveSamplerFactory.Config:{}", config);
+
+        return new AdaptiveSamplerFactory(config);
+    }
+
 
 }
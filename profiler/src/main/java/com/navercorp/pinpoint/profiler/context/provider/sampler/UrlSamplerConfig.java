@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.bootstrap.util.NumberUtils;
 import com.navercorp.pinpoint.common.util.MapUtils;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.CountingSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.PercentRateSampler;
 import com.navercorp.pinpoint.profiler.sampler.PercentSamplerFactory;
@@ -37,10 +38,11 @@ public class UrlSamplerConfig {
     private static final String PATH = ".path";
     private static final String COUNTING_SAMPLING_RATE = ".counting.sampling-rate";
     private static final String PERCENT_SAMPLING_RATE = ".percent.sampling-rate";
+    private static final String ADAPTIVE_TARGET_THROUGHPUT = ".adaptive.target-throughput";
     private static final String NEW_THROUGHPUT = ".new.throughput";
     private static final String CONTINUE_THROUGHPUT = ".continue.throughput";
 
-    private static final String PATTERN_REGEX = PREFIX + "[0-9]+" + "(" + PATH + "|" + COUNTING_SAMPLING_RATE + "|" + PERCENT_SAMPLING_RATE + "|" + NEW_THROUGHPUT + "|" + CONTINUE_THROUGHPUT + ")";
+    private static final String PATTERN_REGEX = PREFIX + "[0-9]+" + "(" + PATH + "|" + COUNTING_SAMPLING_RATE + "|" + PERCENT_SAMPLING_RATE + "|" + ADAPTIVE_TARGET_THROUGHPUT + "|" + NEW_THROUGHPUT + "|" + CONTINUE_THROUGHPUT + ")";
 
     private ProfilerConfig config;
     private SamplerType samplerType;
@@ -96,6 +98,13 @@ public class UrlSamplerConfig {
                     final PercentSamplerFactory factory = new PercentSamplerFactory(samplingRate);
                     target.setSampler(factory.createSampler());
                 }
+            } else if (key.endsWith(ADAPTIVE_TARGET_THROUGHPUT)) {
+                if (samplerType == SamplerType.ADAPTIVE) {
+                    double targetThroughput = NumberUtils.parseDouble(entry.getValue(), AdaptiveSamplerFactory.DEFAULT_TARGET_THROUGHPUT);
+                    double smoothingFactor = AdaptiveSamplerFactory.config(config).getSmoothingFactor();
+                    final AdaptiveSamplerFactory factory = new AdaptiveSamplerFactory(targetThroughput, smoothingFactor);
+                    target.setSampler(factory.createSampler());
+                }
             } else if (key.endsWith(NEW_THROUGHPUT)) {
                 int samplingNewThroughput = NumberUtils.parseInteger(entry.getValue(), 0);
                 target.setSamplingNewThroughput(samplingNewThroughput);
@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
 import com.navercorp.pinpoint.profiler.context.thrift.config.ThriftTransportConfig;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueOption;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.MessageSerializer;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
@@ -52,6 +53,7 @@ public class SpanDataSenderProvider  implements Provider<DataSender<SpanType>> {
     private final int sendBufferSize;
     private final String ioType;
     private final String transportType;
+    private final AsyncQueueOption queueOption;
     private final MessageConverter<SpanType, TBase<?, ?>> messageConverter;
 
     @Inject
@@ -68,6 +70,9 @@ public class SpanDataSenderProvider  implements Provider<DataSender<SpanType>> {
         this.sendBufferSize = thriftTransportConfig.getSpanDataSenderSocketSendBufferSize();
         this.ioType = thriftTransportConfig.getSpanDataSenderSocketType();
         this.transportType = thriftTransportConfig.getSpanDataSenderTransportType();
+        this.queueOption = AsyncQueueOption.of(thriftTransportConfig.getSpanDataSenderExecutorQueueType(),
+                thriftTransportConfig.getSpanDataSenderExecutorDrainSize(),
+                thriftTransportConfig.getSpanDataSenderExecutorWaitStrategy());
         this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
     }
 
@@ -80,9 +85,9 @@ public class SpanDataSenderProvider  implements Provider<DataSender<SpanType>> {
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
             MessageSerializer<SpanType, byte[]> messageSerializer = new ThriftMessageSerializer<>(messageConverter);
-            return new TcpDataSender<>("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize);
+            return new TcpDataSender<>("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer, writeQueueSize, queueOption);
         } else {
-            UdpDataSenderFactory<SpanType> factory = new UdpDataSenderFactory<>(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter);
+            UdpDataSenderFactory<SpanType> factory = new UdpDataSenderFactory<>(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter, queueOption);
             return factory.create(ioType);
         }
     }
@@ -97,6 +102,7 @@ public class SpanDataSenderProvider  implements Provider<DataSender<SpanType>> {
         sb.append(", sendBufferSize=").append(sendBufferSize);
         sb.append(", ioType='").append(ioType).append('\'');
         sb.append(", transportType='").append(transportType).append('\'');
+        sb.append(", queueOption=").append(queueOption);
         sb.append('}');
         return sb.toString();
     }
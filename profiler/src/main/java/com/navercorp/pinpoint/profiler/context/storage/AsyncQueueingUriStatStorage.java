@@ -50,6 +50,10 @@ public class AsyncQueueingUriStatStorage extends AsyncQueueingExecutor<UriStatIn
         this(queueSize, executorName, new ExecutorListener(uriStatDataLimitSize, collectInterval));
     }
 
+    AsyncQueueingUriStatStorage(int queueSize, int uriStatDataLimitSize, String executorName, Clock clock) {
+        this(queueSize, executorName, new ExecutorListener(uriStatDataLimitSize, clock));
+    }
+
     private AsyncQueueingUriStatStorage(int queueSize, String executorName, ExecutorListener executorListener) {
         super(queueSize, executorName, executorListener);
         this.executorListener = executorListener;
@@ -94,15 +98,22 @@ public class AsyncQueueingUriStatStorage extends AsyncQueueingExecutor<UriStatIn
         }
 
         public ExecutorListener(int uriStatDataLimitSize, int collectInterval) {
-            Assert.isTrue(uriStatDataLimitSize > 0, "uriStatDataLimitSize must be ' > 0'");
+            this(uriStatDataLimitSize, newClock(collectInterval));
+        }
 
-            Assert.isTrue(collectInterval > 0, "collectInterval must be ' > 0'");
-            this.clock = Clock.tick(collectInterval);
+        ExecutorListener(int uriStatDataLimitSize, Clock clock) {
+            Assert.isTrue(uriStatDataLimitSize > 0, "uriStatDataLimitSize must be ' > 0'");
+            this.clock = Objects.requireNonNull(clock, "clock");
 
             this.snapshotQueue = new ConcurrentLinkedQueue<>();
             this.snapshotManager = new Snapshot<>(value -> new AgentUriStatData(value, uriStatDataLimitSize), AgentUriStatData::getBaseTimestamp);
         }
 
+        private static Clock newClock(int collectInterval) {
+            Assert.isTrue(collectInterval > 0, "collectInterval must be ' > 0'");
+            return Clock.tick(collectInterval);
+        }
+
         @Override
         public void execute(Collection<UriStatInfo> messageList) {
             final long currentBaseTimestamp = clock.millis();
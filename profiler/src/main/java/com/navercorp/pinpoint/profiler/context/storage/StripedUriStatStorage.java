@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.AgentUriStatData;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.EachUriStatData;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.URIKey;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * UriStatStorage that records directly on the request thread into striped per-uri histograms.
+ * Stripes are merged into an {@link AgentUriStatData} by the collecting thread once the collect interval has passed,
+ * so no {@link com.navercorp.pinpoint.profiler.monitor.metric.uri.UriStatInfo} is allocated and no queue hop is needed.
+ * <p>
+ * Unlike {@link AsyncQueueingUriStatStorage}, each uri is aggregated once per interval and keyed by the interval base timestamp.
+ */
+public class StripedUriStatStorage implements UriStatStorage {
+
+    private static final Logger LOGGER = LogManager.getLogger(StripedUriStatStorage.class);
+    private static final ThrottledLogger TLogger = ThrottledLogger.getLogger(LOGGER, 100);
+
+    private static final int DEFAULT_COLLECT_INTERVAL = 30000; // 30s
+
+    private static final int SNAPSHOT_LIMIT = 4;
+
+    private final int uriStatDataLimitSize;
+    private final Clock clock;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    // Thread safety : single consumer
+    private final Queue<AgentUriStatData> snapshotQueue = new ConcurrentLinkedQueue<>();
+    private long lastFlushTimestamp;
+
+    public StripedUriStatStorage(int uriStatDataLimitSize) {
+        this(uriStatDataLimitSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedUriStatStorage(int uriStatDataLimitSize, int concurrency) {
+        this(uriStatDataLimitSize, concurrency, Clock.tick(DEFAULT_COLLECT_INTERVAL));
+    }
+
+    StripedUriStatStorage(int uriStatDataLimitSize, int concurrency, Clock clock) {
+        Assert.isTrue(uriStatDataLimitSize > 0, "uriStatDataLimitSize must be ' > 0'");
+        Assert.isTrue(concurrency > 0, "concurrency must be ' > 0'");
+        this.uriStatDataLimitSize = uriStatDataLimitSize;
+        this.clock = Objects.requireNonNull(clock, "clock");
+
+        final int stripeSize = tableSizeFor(concurrency);
+        this.stripes = new Stripe[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            this.stripes[i] = new Stripe(uriStatDataLimitSize);
+        }
+        this.mask = stripeSize - 1;
+        this.lastFlushTimestamp = clock.millis();
+    }
+
+    private static int tableSizeFor(int concurrency) {
+        final int size = Integer.highestOneBit(concurrency);
+        if (size == concurrency) {
+            return size;
+        }
+        return size << 1;
+    }
+
+    @Override
+    public void store(String uri, boolean status, long startTime, long endTime) {
+        Objects.requireNonNull(uri, "uri");
+
+        final long baseTimestamp = clock.millis();
+        final Stripe stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        if (!stripe.add(baseTimestamp, uri, status, endTime - startTime)) {
+            TLogger.info("Too many URI pattern. uri:{}, capacity:{}, counter:{} ", uri, uriStatDataLimitSize, TLogger.getCounter());
+        }
+    }
+
+    @Override
+    public AgentUriStatData poll() {
+        final long currentBaseTimestamp = clock.millis();
+        if (currentBaseTimestamp > lastFlushTimestamp) {
+            this.lastFlushTimestamp = currentBaseTimestamp;
+            flush(currentBaseTimestamp);
+        }
+        return snapshotQueue.poll();
+    }
+
+    private void flush(long currentBaseTimestamp) {
+        final Map<Long, AgentUriStatData> snapshots = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(currentBaseTimestamp, snapshots);
+        }
+        for (AgentUriStatData snapshot : snapshots.values()) {
+            addCompletedData(snapshot);
+        }
+    }
+
+    private void addCompletedData(AgentUriStatData agentUriStatData) {
+        final int size = snapshotQueue.size();
+        if (size > SNAPSHOT_LIMIT) {
+            // Prevent OOM. Discard old history
+            for (int i = 0; i < size - SNAPSHOT_LIMIT; i++) {
+                snapshotQueue.poll();
+            }
+        }
+        snapshotQueue.offer(agentUriStatData);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static class Stripe {
+        private final int capacity;
+
+        private long baseTimestamp;
+        private Map<String, EachUriStatData> current = new HashMap<>();
+
+        // intervals rolled over by a request thread, waiting for the collecting thread
+        private final Deque<Interval> completed = new ArrayDeque<>();
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized boolean add(long baseTimestamp, String uri, boolean status, long elapsed) {
+            if (this.baseTimestamp != baseTimestamp) {
+                rollOver(baseTimestamp);
+            }
+
+            EachUriStatData eachUriStatData = current.get(uri);
+            if (eachUriStatData == null) {
+                if (current.size() >= capacity) {
+                    return false;
+                }
+                eachUriStatData = new EachUriStatData(uri);
+                current.put(uri, eachUriStatData);
+            }
+            eachUriStatData.add(status, elapsed);
+            return true;
+        }
+
+        private void rollOver(long baseTimestamp) {
+            if (!current.isEmpty()) {
+                if (completed.size() > SNAPSHOT_LIMIT) {
+                    // Prevent OOM if the collecting thread stops polling. Discard old history
+                    completed.poll();
+                }
+                completed.offer(new Interval(this.baseTimestamp, current));
+                this.current = new HashMap<>();
+            }
+            this.baseTimestamp = baseTimestamp;
+        }
+
+        void drainTo(long currentBaseTimestamp, Map<Long, AgentUriStatData> snapshots) {
+            final List<Interval> intervals = new ArrayList<>();
+            synchronized (this) {
+                Interval interval;
+                while ((interval = completed.poll()) != null) {
+                    intervals.add(interval);
+                }
+                if (this.baseTimestamp < currentBaseTimestamp && !this.current.isEmpty()) {
+                    intervals.add(new Interval(this.baseTimestamp, this.current));
+                    this.current = new HashMap<>();
+                }
+            }
+            // merge outside of the lock
+            for (Interval interval : intervals) {
+                merge(interval.baseTimestamp, interval.uriStatDataMap, snapshots);
+            }
+        }
+
+        private void merge(long baseTimestamp, Map<String, EachUriStatData> uriStatDataMap, Map<Long, AgentUriStatData> snapshots) {
+            AgentUriStatData snapshot = snapshots.get(baseTimestamp);
+            if (snapshot == null) {
+                snapshot = new AgentUriStatData(baseTimestamp, capacity);
+                snapshots.put(baseTimestamp, snapshot);
+            }
+            for (EachUriStatData eachUriStatData : uriStatDataMap.values()) {
+                final URIKey key = new URIKey(eachUriStatData.getUri(), baseTimestamp);
+                if (!snapshot.merge(key, eachUriStatData)) {
+                    TLogger.info("Too many URI pattern. uri:{}, capacity:{}, counter:{} ", key.getUri(), capacity, TLogger.getCounter());
+                }
+            }
+        }
+    }
+
+    private static class Interval {
+        private final long baseTimestamp;
+        private final Map<String, EachUriStatData> uriStatDataMap;
+
+        private Interval(long baseTimestamp, Map<String, EachUriStatData> uriStatDataMap) {
+            this.baseTimestamp = baseTimestamp;
+            this.uriStatDataMap = uriStatDataMap;
+        }
+    }
+
+}
@@ -61,6 +61,12 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
     private String spanDataSenderTransportType = "UDP";
     @Value("${profiler.spandatasender.socket.type}")
     private String spanDataSenderSocketType = "OIO";
+    @Value("${profiler.spandatasender.executor.queue.type}")
+    private String spanDataSenderExecutorQueueType = "LINKED";
+    @Value("${profiler.spandatasender.executor.drain.size}")
+    private int spanDataSenderExecutorDrainSize = 10;
+    @Value("${profiler.spandatasender.executor.wait.strategy}")
+    private String spanDataSenderExecutorWaitStrategy = "PARK";
 
     @Value("${profiler.statdatasender.write.queue.size}")
     private int statDataSenderWriteQueueSize = 1024 * 5;
@@ -295,6 +301,21 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
         return spanDataSenderChunkSize;
     }
 
+    @Override
+    public String getSpanDataSenderExecutorQueueType() {
+        return spanDataSenderExecutorQueueType;
+    }
+
+    @Override
+    public int getSpanDataSenderExecutorDrainSize() {
+        return spanDataSenderExecutorDrainSize;
+    }
+
+    @Override
+    public String getSpanDataSenderExecutorWaitStrategy() {
+        return spanDataSenderExecutorWaitStrategy;
+    }
+
     @Override
     public int getStatDataSenderChunkSize() {
         return statDataSenderChunkSize;
@@ -317,6 +338,9 @@ public class DefaultThriftTransportConfig implements ThriftTransportConfig {
                 ", spanDataSenderWriteBufferLowWaterMark=" + spanDataSenderWriteBufferLowWaterMark +
                 ", spanDataSenderTransportType='" + spanDataSenderTransportType + '\'' +
                 ", spanDataSenderSocketType='" + spanDataSenderSocketType + '\'' +
+                ", spanDataSenderExecutorQueueType='" + spanDataSenderExecutorQueueType + '\'' +
+                ", spanDataSenderExecutorDrainSize=" + spanDataSenderExecutorDrainSize +
+                ", spanDataSenderExecutorWaitStrategy='" + spanDataSenderExecutorWaitStrategy + '\'' +
                 ", statDataSenderWriteQueueSize=" + statDataSenderWriteQueueSize +
                 ", statDataSenderSocketSendBufferSize=" + statDataSenderSocketSendBufferSize +
                 ", statDataSenderSocketTimeout=" + statDataSenderSocketTimeout +
@@ -91,6 +91,12 @@ public interface ThriftTransportConfig {
 
     int getSpanDataSenderChunkSize();
 
+    String getSpanDataSenderExecutorQueueType();
+
+    int getSpanDataSenderExecutorDrainSize();
+
+    String getSpanDataSenderExecutorWaitStrategy();
+
     int getStatDataSenderChunkSize();
 
 }
@@ -633,6 +633,6 @@ public class ASMClass implements InstrumentClass {
 
     @Override
     public byte[] toBytecode() {
-        return classNode.toByteArray();
+        return classNode.toByteArray(engineComponent.getClassMetadataCache());
     }
 }
\ No newline at end of file
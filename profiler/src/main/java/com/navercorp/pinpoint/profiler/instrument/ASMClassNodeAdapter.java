@@ -19,6 +19,7 @@ import com.navercorp.pinpoint.bootstrap.instrument.ClassInputStreamProvider;
 import java.util.Objects;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
 import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.scanner.ClassScannerFactory;
 import com.navercorp.pinpoint.profiler.instrument.scanner.Scanner;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
@@ -541,7 +542,7 @@ public class ASMClassNodeAdapter {
         return majorVersion;
     }
 
-    public byte[] toByteArray() {
+    public byte[] toByteArray(final ClassMetadataCache classMetadataCache) {
         final int majorVersion = this.classNode.version & 0xFFFF;
         int flags = ClassWriter.COMPUTE_FRAMES;
         if (majorVersion <= 49) {
@@ -549,7 +550,7 @@ public class ASMClassNodeAdapter {
             flags = ClassWriter.COMPUTE_MAXS;
         }
 
-        final ClassWriter classWriter = new ASMClassWriter(this.pluginInputStreamProvider, flags, this.classLoader);
+        final ClassWriter classWriter = new ASMClassWriter(this.pluginInputStreamProvider, flags, this.classLoader, classMetadataCache);
         this.classNode.accept(classWriter);
         return classWriter.toByteArray();
     }
@@ -17,15 +17,18 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.ClassInputStreamProvider;
 import com.navercorp.pinpoint.common.util.IOUtils;
-import org.objectweb.asm.ClassReader;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.Opcodes;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -38,11 +41,13 @@ public final class ASMClassWriter extends ClassWriter {
 
     private final ClassInputStreamProvider pluginInputStreamProvider;
     private final ClassLoader classLoader;
+    private final ClassMetadataCache classMetadataCache;
 
-    public ASMClassWriter(final ClassInputStreamProvider pluginInputStreamProvider, final int flags, final ClassLoader classLoader) {
+    public ASMClassWriter(final ClassInputStreamProvider pluginInputStreamProvider, final int flags, final ClassLoader classLoader, final ClassMetadataCache classMetadataCache) {
         super(flags);
         this.pluginInputStreamProvider = pluginInputStreamProvider;
         this.classLoader = classLoader;
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
     }
 
     @Override
@@ -71,69 +76,65 @@ public final class ASMClassWriter extends ClassWriter {
             return classInternalName1;
         }
 
-        final ClassReader classReader1 = getClassReader(classInternalName1);
-        if (classReader1 == null) {
+        final InternalClassMetadata classMetadata1 = getClassMetadata(classInternalName1);
+        if (classMetadata1 == null) {
             logger.warn("Skip getCommonSuperClass(). not found class {}", classInternalName1);
             return OBJECT_CLASS_INTERNAL_NAME;
         }
 
-        final ClassReader classReader2 = getClassReader(classInternalName2);
-        if (classReader2 == null) {
+        final InternalClassMetadata classMetadata2 = getClassMetadata(classInternalName2);
+        if (classMetadata2 == null) {
             logger.warn("Skip getCommonSuperClass(). not found class {}", classInternalName2);
             return OBJECT_CLASS_INTERNAL_NAME;
         }
 
         // interface.
-        if (isInterface(classReader1)) {
+        if (classMetadata1.isInterface()) {
             // <interface, class> or <interface, interface>
-            return getCommonInterface(classReader1, classReader2);
+            return getCommonInterface(classMetadata1, classMetadata2);
         }
 
         // interface.
-        if (isInterface(classReader2)) {
+        if (classMetadata2.isInterface()) {
             // <class, interface>
-            return getCommonInterface(classReader2, classReader1);
+            return getCommonInterface(classMetadata2, classMetadata1);
         }
 
         // class.
         // <class, class>
-        return getCommonClass(classReader1, classReader2);
-    }
-
-    private boolean isInterface(final ClassReader classReader) {
-        return (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0;
+        return getCommonClass(classMetadata1, classMetadata2);
     }
 
     // <interface, interface> or <interface, class>
-    private String getCommonInterface(final ClassReader classReader1, final ClassReader classReader2) {
+    private String getCommonInterface(final InternalClassMetadata classMetadata1, final InternalClassMetadata classMetadata2) {
         final Set<String> interfaceHierarchy = new HashSet<>();
-        traversalInterfaceHierarchy(interfaceHierarchy, classReader1);
+        traversalInterfaceHierarchy(interfaceHierarchy, classMetadata1);
 
-        if (isInterface(classReader2)) {
-            if (interfaceHierarchy.contains(classReader2.getClassName())) {
-                return classReader2.getClassName();
+        if (classMetadata2.isInterface()) {
+            if (interfaceHierarchy.contains(classMetadata2.getClassInternalName())) {
+                return classMetadata2.getClassInternalName();
             }
         }
 
-        final String interfaceInternalName = getImplementedInterface(interfaceHierarchy, classReader2);
+        final String interfaceInternalName = getImplementedInterface(interfaceHierarchy, classMetadata2);
         if (interfaceInternalName != null) {
             return interfaceInternalName;
         }
         return OBJECT_CLASS_INTERNAL_NAME;
     }
 
-    private void traversalInterfaceHierarchy(final Set<String> interfaceHierarchy, final ClassReader classReader) {
-        if (classReader != null && interfaceHierarchy.add(classReader.getClassName())) {
-            for (String interfaceInternalName : classReader.getInterfaces()) {
-                traversalInterfaceHierarchy(interfaceHierarchy, getClassReader(interfaceInternalName));
+    private void traversalInterfaceHierarchy(final Set<String> interfaceHierarchy, final InternalClassMetadata classMetadata) {
+        if (classMetadata != null && interfaceHierarchy.add(classMetadata.getClassInternalName())) {
+            for (String interfaceInternalName : classMetadata.getInterfaceInternalNames()) {
+                traversalInterfaceHierarchy(interfaceHierarchy, getClassMetadata(interfaceInternalName));
             }
         }
     }
 
-    private String getImplementedInterface(final Set<String> interfaceHierarchy, final ClassReader classReader) {
-        ClassReader cr = classReader;
-        while (cr != null) {
-            final String[] interfaceInternalNames = cr.getInterfaces();
+    private String getImplementedInterface(final Set<String> interfaceHierarchy, final InternalClassMetadata classMetadata) {
+        InternalClassMetadata cm = classMetadata;
+        while (cm != null) {
+            final List<String> interfaceInternalNames = cm.getInterfaceInternalNames();
             for (String name : interfaceInternalNames) {
                 if (name != null && interfaceHierarchy.contains(name)) {
                     return name;
@@ -141,34 +142,34 @@ public final class ASMClassWriter extends ClassWriter {
             }
 
             for (String name : interfaceInternalNames) {
-                final String interfaceInternalName = getImplementedInterface(interfaceHierarchy, getClassReader(name));
+                final String interfaceInternalName = getImplementedInterface(interfaceHierarchy, getClassMetadata(name));
                 if (interfaceInternalName != null) {
                     return interfaceInternalName;
                 }
             }
 
-            final String superClassInternalName = cr.getSuperName();
+            final String superClassInternalName = cm.getSuperClassInternalName();
             if (superClassInternalName == null || superClassInternalName.equals(OBJECT_CLASS_INTERNAL_NAME)) {
                 break;
             }
-            cr = getClassReader(superClassInternalName);
+            cm = getClassMetadata(superClassInternalName);
         }
 
         return null;
     }
 
-    private String getCommonClass(final ClassReader classReader1, final ClassReader classReader2) {
+    private String getCommonClass(final InternalClassMetadata classMetadata1, final InternalClassMetadata classMetadata2) {
         final Set<String> classHierarchy = new HashSet<>();
-        classHierarchy.add(classReader1.getClassName());
-        classHierarchy.add(classReader2.getClassName());
+        classHierarchy.add(classMetadata1.getClassInternalName());
+        classHierarchy.add(classMetadata2.getClassInternalName());
 
-        String superClassInternalName1 = classReader1.getSuperName();
+        String superClassInternalName1 = classMetadata1.getSuperClassInternalName();
         if (!classHierarchy.add(superClassInternalName1)) {
             // find common super class.
             return superClassInternalName1;
         }
 
-        String superClassInternalName2 = classReader2.getSuperName();
+        String superClassInternalName2 = classMetadata2.getSuperClassInternalName();
         if (!classHierarchy.add(superClassInternalName2)) {
             // find common super class.
             return superClassInternalName2;
@@ -200,19 +201,32 @@ public final class ASMClassWriter extends ClassWriter {
 
 
     private String getSuperClassInternalName(final String classInternalName) {
-        final ClassReader classReader = getClassReader(classInternalName);
-        if (classReader == null) {
+        final InternalClassMetadata classMetadata = getClassMetadata(classInternalName);
+        if (classMetadata == null) {
             return null;
         }
 
-        return classReader.getSuperName();
+        return classMetadata.getSuperClassInternalName();
     }
 
-    private ClassReader getClassReader(final String classInternalName) {
+    private InternalClassMetadata getClassMetadata(final String classInternalName) {
         if (classInternalName == null) {
             return null;
         }
 
+        final InternalClassMetadata cached = classMetadataCache.get(this.classLoader, classInternalName);
+        if (cached != null) {
+            return cached;
+        }
+
+        final InternalClassMetadata classMetadata = readClassMetadata(classInternalName);
+        if (classMetadata != null) {
+            classMetadataCache.put(this.classLoader, classMetadata);
+        }
+        return classMetadata;
+    }
+
+    private InternalClassMetadata readClassMetadata(final String classInternalName) {
         final String classFileName = classInternalName.concat(".class");
         final InputStream in = pluginInputStreamProvider.getResourceAsStream(this.classLoader, classFileName);
         if (in == null) {
@@ -221,7 +235,7 @@ public final class ASMClassWriter extends ClassWriter {
 
         try {
             final byte[] bytes = IOUtils.toByteArray(in);
-            return new ClassReader(bytes);
+            return InternalClassMetadataReader.readInternalClassMetadata(bytes);
         } catch (IOException e) {
             return null;
         }
@@ -20,6 +20,7 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
 import java.util.Objects;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
@@ -37,17 +38,20 @@ public class DefaultEngineComponent implements EngineComponent {
     private final InterceptorDefinitionFactory interceptorDefinitionFactory;
     private final Provider<ApiMetaDataService> apiMetaDataServiceProvider;
     private final ScopeFactory scopeFactory;
+    private final ClassMetadataCache classMetadataCache;
 
     public DefaultEngineComponent(ObjectBinderFactory objectBinderFactory,
                                   InterceptorRegistryBinder interceptorRegistryBinder,
                                   InterceptorDefinitionFactory interceptorDefinitionFactory,
                                   Provider<ApiMetaDataService> apiMetaDataServiceProvider,
-                                  ScopeFactory scopeFactory) {
+                                  ScopeFactory scopeFactory,
+                                  ClassMetadataCache classMetadataCache) {
         this.objectBinderFactory = Objects.requireNonNull(objectBinderFactory, "objectBinderFactory");
         this.interceptorRegistryBinder = Objects.requireNonNull(interceptorRegistryBinder, "interceptorRegistryBinder");
         this.interceptorDefinitionFactory = Objects.requireNonNull(interceptorDefinitionFactory, "interceptorDefinitionFactory");
         this.apiMetaDataServiceProvider = Objects.requireNonNull(apiMetaDataServiceProvider, "apiMetaDataService");
         this.scopeFactory = Objects.requireNonNull(scopeFactory, "scopeFactory");
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
     }
 
     @Override
@@ -77,5 +81,10 @@ public class DefaultEngineComponent implements EngineComponent {
         return apiMetaDataService.cacheApi(methodDescriptor);
     }
 
+    @Override
+    public ClassMetadataCache getClassMetadataCache() {
+        return classMetadataCache;
+    }
+
 }
 
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
 
@@ -35,4 +36,6 @@ public interface EngineComponent {
     int addInterceptor(Interceptor interceptor);
 
     int cacheApi(MethodDescriptor methodDescriptor);
+
+    ClassMetadataCache getClassMetadataCache();
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.navercorp.pinpoint.common.profiler.concurrent.jsr166.ConcurrentWeakHashMap;
+import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class hierarchy metadata shared by the transformer pipeline and frame computation.
+ * Entries are kept per ClassLoader and released together with the ClassLoader.
+ * A single instance is bound by the profiler's injector.
+ */
+public class ClassMetadataCache {
+
+    private static final Logger LOGGER = LogManager.getLogger(ClassMetadataCache.class);
+    private static final ThrottledLogger TLogger = ThrottledLogger.getLogger(LOGGER, 1000);
+
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 8192;
+
+    private final ConcurrentMap<ClassLoader, ConcurrentMap<String, InternalClassMetadata>> caches = new ConcurrentWeakHashMap<>();
+    // bootstrap classloader.
+    private final ConcurrentMap<String, InternalClassMetadata> bootstrapCache = new ConcurrentHashMap<>();
+
+    private final int maxEntrySize;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong rejectCount = new AtomicLong();
+
+    public ClassMetadataCache(int maxEntrySize) {
+        if (maxEntrySize <= 0) {
+            throw new IllegalArgumentException("negative maxEntrySize:" + maxEntrySize);
+        }
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public InternalClassMetadata get(final ClassLoader classLoader, final String classInternalName) {
+        if (classInternalName == null) {
+            return null;
+        }
+        final ConcurrentMap<String, InternalClassMetadata> cache = getCache(classLoader, false);
+        final InternalClassMetadata classMetadata = cache != null ? cache.get(classInternalName) : null;
+        if (classMetadata != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return classMetadata;
+    }
+
+    public void put(final ClassLoader classLoader, final InternalClassMetadata classMetadata) {
+        Objects.requireNonNull(classMetadata, "classMetadata");
+        final String classInternalName = classMetadata.getClassInternalName();
+        if (classInternalName == null) {
+            return;
+        }
+
+        final ConcurrentMap<String, InternalClassMetadata> cache = getCache(classLoader, true);
+        if (cache.size() >= maxEntrySize) {
+            // full.
+            rejectCount.incrementAndGet();
+            TLogger.info("ClassMetadataCache is full. maxEntrySize:{} classLoader:{} {}", maxEntrySize, classLoader, this);
+            return;
+        }
+        cache.putIfAbsent(classInternalName, classMetadata);
+    }
+
+    private ConcurrentMap<String, InternalClassMetadata> getCache(final ClassLoader classLoader, final boolean create) {
+        if (classLoader == null) {
+            return bootstrapCache;
+        }
+
+        final ConcurrentMap<String, InternalClassMetadata> exist = caches.get(classLoader);
+        if (exist != null || !create) {
+            return exist;
+        }
+        final ConcurrentMap<String, InternalClassMetadata> newCache = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, InternalClassMetadata> old = caches.putIfAbsent(classLoader, newCache);
+        if (old != null) {
+            return old;
+        }
+        return newCache;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of entries not added because the cache of their ClassLoader was full
+     */
+    public long getRejectCount() {
+        return rejectCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassMetadataCache{" +
+                "classLoaders=" + caches.size() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", rejectCount=" + rejectCount +
+                '}';
+    }
+}
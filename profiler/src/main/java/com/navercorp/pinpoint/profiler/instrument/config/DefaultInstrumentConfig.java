@@ -37,6 +37,8 @@ public class DefaultInstrumentConfig implements InstrumentConfig {
 
     @Value("${profiler.interceptorregistry.size}")
     private int interceptorRegistrySize = 1024 * 8;
+    @Value("${profiler.interceptorregistry.dense}")
+    private boolean interceptorRegistryDense = false;
 
     private List<String> allowJdkClassNames = Collections.emptyList();
 
@@ -66,6 +68,11 @@ public class DefaultInstrumentConfig implements InstrumentConfig {
         return interceptorRegistrySize;
     }
 
+    @Override
+    public boolean isInterceptorRegistryDense() {
+        return interceptorRegistryDense;
+    }
+
     @Override
     public List<String> getAllowJdkClassName() {
         return allowJdkClassNames;
@@ -183,6 +190,7 @@ public class DefaultInstrumentConfig implements InstrumentConfig {
                 "profileInstrumentEngine='" + profileInstrumentEngine + '\'' +
                 ", instrumentMatcherEnable=" + instrumentMatcherEnable +
                 ", interceptorRegistrySize=" + interceptorRegistrySize +
+                ", interceptorRegistryDense=" + interceptorRegistryDense +
                 ", allowJdkClassNames=" + allowJdkClassNames +
                 ", pinpointBasePackage='" + pinpointBasePackage + '\'' +
                 ", pinpointExcludePackage='" + pinpointExcludePackage + '\'' +
@@ -40,6 +40,9 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
     @Value("${profiler.instrument.matcher.super.cache.entry.size}")
     private int superCacheEntrySize = 4;
 
+    @Value("${profiler.instrument.matcher.decision.cache.path}")
+    private String decisionCachePath = "";
+
     @Override
     public boolean isInstrumentMatcherEnable() {
         return instrumentMatcherEnable;
@@ -103,6 +106,15 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
         this.superCacheEntrySize = superCacheEntrySize;
     }
 
+    @Override
+    public String getDecisionCachePath() {
+        return decisionCachePath;
+    }
+
+    public void setDecisionCachePath(String decisionCachePath) {
+        this.decisionCachePath = decisionCachePath;
+    }
+
     @Override
     public String toString() {
         return "DefaultInstrumentMatcherCacheConfig{" +
@@ -112,6 +124,7 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
                 ", annotationCacheEntrySize=" + annotationCacheEntrySize +
                 ", superCacheSize=" + superCacheSize +
                 ", superCacheEntrySize=" + superCacheEntrySize +
+                ", decisionCachePath='" + decisionCachePath + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ public interface InstrumentConfig {
 
     int getInterceptorRegistrySize();
 
+    boolean isInterceptorRegistryDense();
+
     List<String> getAllowJdkClassName();
 
     String getPinpointBasePackage();
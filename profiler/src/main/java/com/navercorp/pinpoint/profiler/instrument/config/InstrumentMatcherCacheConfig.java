@@ -30,4 +30,6 @@ public interface InstrumentMatcherCacheConfig {
     int getSuperCacheSize();
 
     int getSuperCacheEntrySize();
+
+    String getDecisionCachePath();
 }
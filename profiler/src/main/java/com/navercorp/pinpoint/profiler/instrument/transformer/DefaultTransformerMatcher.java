@@ -26,11 +26,14 @@ import com.navercorp.pinpoint.bootstrap.instrument.matcher.operator.AndMatcherOp
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operator.MatcherOperator;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operator.NotMatcherOperator;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operator.OrMatcherOperator;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import java.util.Objects;
+
 /**
  * @author jaehong.kim
  */
@@ -43,8 +46,10 @@ public class DefaultTransformerMatcher implements TransformerMatcher {
     private final HierarchyCaches interfaceCaches;
     private final HierarchyCaches annotationCaches;
     private final HierarchyCaches superCaches;
+    private final ClassMetadataCache classMetadataCache;
 
-    public DefaultTransformerMatcher(final InstrumentMatcherCacheConfig cacheConfig) {
+    public DefaultTransformerMatcher(final InstrumentMatcherCacheConfig cacheConfig, final ClassMetadataCache classMetadataCache) {
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
         this.interfaceCaches = newHierarchyCaches(cacheConfig.getInterfaceCacheSize(), cacheConfig.getInterfaceCacheEntrySize());
         this.annotationCaches = newHierarchyCaches(cacheConfig.getAnnotationCacheSize(), cacheConfig.getAnnotationCacheEntrySize());
         this.superCaches = newHierarchyCaches(cacheConfig.getSuperCacheSize(), cacheConfig.getSuperCacheEntrySize());
@@ -234,8 +239,18 @@ public class DefaultTransformerMatcher implements TransformerMatcher {
             return null;
         }
 
+        final InternalClassMetadata cached = classMetadataCache.get(classLoader, classInternalName);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            return InternalClassMetadataReader.readInternalClassMetadata(classLoader, classInternalName);
+            final InternalClassMetadata classMetadata = InternalClassMetadataReader.readInternalClassMetadata(classLoader, classInternalName);
+            if (classLoader != null) {
+                // metadata of the bootstrap classloader is read through the system classloader.
+                classMetadataCache.put(classLoader, classMetadata);
+            }
+            return classMetadata;
         } catch (Exception e) {
             if (logger.isInfoEnabled()) {
                 logger.info("Failed to read metadata of class. classLoader={}, internalName={}", classLoader, classInternalName, e);
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decision cache stored in {@code <directory>/matcher-decision-<fingerprint>.cache}.
+ * <p>
+ * The fingerprint identifies the agent version and the installed plugin matchers, so a different agent or plugin set
+ * never reads the decisions of another one. Each entry is keyed by class name and validated by the class file hash,
+ * a changed class file is matched again and its entry is replaced.
+ * <p>
+ * New decisions are written back every {@link #DEFAULT_FLUSH_INTERVAL_MILLIS} by a background thread once
+ * {@link #start()} is called, and a last time on {@link #stop()}, to a temporary file which is then renamed over
+ * the previous one. Class loading threads never do file I/O.
+ */
+public class FileTransformerDecisionCache implements TransformerDecisionCache {
+    private static final int MAGIC = 0x50504443;
+    private static final int FORMAT_VERSION = 1;
+    static final long DEFAULT_FLUSH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final File file;
+    private final String fingerprint;
+    private final long flushIntervalMillis;
+
+    private final ConcurrentHashMap<String, Long> decisions = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean dirty = false;
+
+    private ScheduledExecutorService flushExecutor;
+
+    public FileTransformerDecisionCache(File directory, String fingerprint) {
+        this(directory, fingerprint, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    FileTransformerDecisionCache(File directory, String fingerprint, long flushIntervalMillis) {
+        Objects.requireNonNull(directory, "directory");
+        Objects.requireNonNull(fingerprint, "fingerprint");
+        this.fingerprint = digest(fingerprint);
+        this.file = new File(directory, "matcher-decision-" + this.fingerprint + ".cache");
+        this.flushIntervalMillis = flushIntervalMillis;
+        load();
+    }
+
+    private static String digest(String fingerprint) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            final byte[] digest = messageDigest.digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder(32);
+            // 128bit is enough to tell plugin sets apart.
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    private void load() {
+        if (!file.isFile()) {
+            logger.info("Decision cache not found, cold start. file={}", file);
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !fingerprint.equals(in.readUTF())) {
+                logger.info("Ignore incompatible decision cache. file={}", file);
+                return;
+            }
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String classInternalName = in.readUTF();
+                final long classFileHash = in.readLong();
+                decisions.put(classInternalName, classFileHash);
+            }
+            logger.info("Decision cache loaded. size={}, file={}", decisions.size(), file);
+        } catch (IOException e) {
+            decisions.clear();
+            logger.warn("Failed to load decision cache. file={}", file, e);
+        }
+    }
+
+    @Override
+    public boolean isNotMatched(String classInternalName, long classFileHash) {
+        final Long cached = decisions.get(classInternalName);
+        return cached != null && cached == classFileHash;
+    }
+
+    @Override
+    public void notMatched(String classInternalName, long classFileHash) {
+        final Long prev = decisions.put(classInternalName, classFileHash);
+        if (prev == null || prev != classFileHash) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (flushExecutor != null) {
+            return;
+        }
+        flushExecutor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-decision-cache-flush", true));
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            try {
+                flushExecutor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushExecutor = null;
+        }
+        flush();
+    }
+
+    public void flush() {
+        // a running flush already writes the latest snapshot or marks the cache dirty again.
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            write();
+        } catch (IOException e) {
+            logger.warn("Failed to write decision cache. file={}", file, e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write() throws IOException {
+        final File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+        final File temp = File.createTempFile("matcher-decision-", ".tmp", directory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(fingerprint);
+                // snapshot, entries may be added while writing.
+                final Map<String, Long> snapshot = new HashMap<>(decisions);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Long> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    int size() {
+        return decisions.size();
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "FileTransformerDecisionCache{" +
+                "file=" + file +
+                ", size=" + decisions.size() +
+                '}';
+    }
+}
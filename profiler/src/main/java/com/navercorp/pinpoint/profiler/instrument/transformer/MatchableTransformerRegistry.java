@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.bootstrap.instrument.matcher.MatcherType;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.ClassInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.PackageInternalNameMatcherOperand;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentMatcherCacheConfig;
@@ -53,13 +54,23 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     private final Map<String, IndexValue> classNameBasedIndex = new HashMap<>(64);
     // package matcher operand.
     private final Map<String, Set<IndexValue>> packageNameBasedIndex;
+    private final PackageNameIndex<Set<IndexValue>> packageNameIndex;
 
     private final TransformerMatcherExecutionPlanner executionPlanner = new TransformerMatcherExecutionPlanner();
     private final TransformerMatcher transformerMatcher;
+    private final ClassMetadataCache classMetadataCache;
+    private final TransformerDecisionCache decisionCache;
 
-    public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList) {
+    public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList, ClassMetadataCache classMetadataCache) {
+        this(instrumentMatcherCacheConfig, matchableClassFileTransformerList, new DisableTransformerDecisionCache(), classMetadataCache);
+    }
+
+    public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList,
+                                        TransformerDecisionCache decisionCache, ClassMetadataCache classMetadataCache) {
         Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
         Objects.requireNonNull(matchableClassFileTransformerList, "matchableClassFileTransformerList");
+        this.decisionCache = Objects.requireNonNull(decisionCache, "decisionCache");
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
 
         final List<MatchableClassFileTransformer> defaultTransfomerList = filterDefaultMatcher(matchableClassFileTransformerList);
         this.defaultTransformerRegistry = new DefaultTransformerRegistry(defaultTransfomerList);
@@ -78,7 +89,8 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
             }
         }
 
-        this.transformerMatcher = new DefaultTransformerMatcher(instrumentMatcherCacheConfig);
+        this.packageNameIndex = new PackageNameIndex<>(this.packageNameBasedIndex);
+        this.transformerMatcher = new DefaultTransformerMatcher(instrumentMatcherCacheConfig, this.classMetadataCache);
 
     }
 
@@ -95,53 +107,66 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
             return transformer;
         }
 
-        final ClassMetadataWrapper classMetadataWrapper = new ClassMetadataWrapper(classFileBuffer, classMetadata);
+        // most classes are rejected here, without reading the class file.
+        final IndexValue classIndexValue = this.classNameBasedIndex.get(classInternalName);
+        final List<Set<IndexValue>> packageIndexValues = this.packageNameIndex.findPrefixOf(classInternalName);
+        if (classIndexValue == null && packageIndexValues.isEmpty()) {
+            return null;
+        }
+
+        // decided by a previous run for the same class file.
+        long classFileHash = 0;
+        if (decisionCache.isActive() && classFileBuffer != null && !isSingleClassOperand(classIndexValue)) {
+            classFileHash = TransformerDecisionCache.classFileHash(classFileBuffer);
+            if (decisionCache.isNotMatched(classInternalName, classFileHash)) {
+                return null;
+            }
+        }
+
+        final ClassMetadataWrapper classMetadataWrapper = new ClassMetadataWrapper(classLoader, classFileBuffer, classMetadata);
         // find class name based.
-        if (!this.classNameBasedIndex.isEmpty()) {
-            final ClassFileTransformer classBaseTransformer = findClassBasedTransformer(classLoader, classInternalName, classMetadataWrapper);
+        if (classIndexValue != null) {
+            final ClassFileTransformer classBaseTransformer = findClassBasedTransformer(classLoader, classIndexValue, classMetadataWrapper);
             if (classBaseTransformer != null) {
                 return classBaseTransformer;
             }
         }
 
         // find package name based.
-        if (!this.packageNameBasedIndex.isEmpty()) {
-            final ClassFileTransformer packagedBasedTransformer = findPackageBasedTransformer(classLoader, classInternalName, classMetadataWrapper);
+        if (!packageIndexValues.isEmpty()) {
+            final ClassFileTransformer packagedBasedTransformer = findPackageBasedTransformer(classLoader, packageIndexValues, classMetadataWrapper);
             if (packagedBasedTransformer != null) {
                 return packagedBasedTransformer;
             }
         }
 
         // not found.
+        if (classFileHash != 0) {
+            decisionCache.notMatched(classInternalName, classFileHash);
+        }
         return null;
     }
 
-    private ClassFileTransformer findClassBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
-        IndexValue indexValue = this.classNameBasedIndex.get(classInternalName);
-        if (indexValue != null) {
-            if (indexValue.operand instanceof ClassInternalNameMatcherOperand) {
-                // single operand.
-                return indexValue.transformer;
-            }
+    private boolean isSingleClassOperand(final IndexValue indexValue) {
+        return indexValue != null && indexValue.operand instanceof ClassInternalNameMatcherOperand;
+    }
 
-            ClassFileTransformer transformer = match(classLoader, indexValue, classMetadataWrapper);
-            if (transformer != null) {
-                return transformer;
-            }
+    private ClassFileTransformer findClassBasedTransformer(final ClassLoader classLoader, final IndexValue indexValue, final ClassMetadataWrapper classMetadataWrapper) {
+        if (isSingleClassOperand(indexValue)) {
+            // single operand.
+            return indexValue.transformer;
         }
 
-        return null;
+        return match(classLoader, indexValue, classMetadataWrapper);
     }
 
-    private ClassFileTransformer findPackageBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
-        for (Map.Entry<String, Set<IndexValue>> entry : this.packageNameBasedIndex.entrySet()) {
-            final String packageInternalName = entry.getKey();
-            if (classInternalName.startsWith(packageInternalName)) {
-                for (IndexValue value : entry.getValue()) {
-                    ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
-                    if (transformer != null) {
-                        return transformer;
-                    }
+    private ClassFileTransformer findPackageBasedTransformer(final ClassLoader classLoader, final List<Set<IndexValue>> packageIndexValues, final ClassMetadataWrapper classMetadataWrapper) {
+        // shortest package name first.
+        for (Set<IndexValue> values : packageIndexValues) {
+            for (IndexValue value : values) {
+                ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
+                if (transformer != null) {
+                    return transformer;
                 }
             }
         }
@@ -253,10 +278,12 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     }
 
     class ClassMetadataWrapper {
+        private final ClassLoader classLoader;
         private final byte[] classFileBuffer;
         private InternalClassMetadata classMetadata;
 
-        ClassMetadataWrapper(final byte[] classFileBuffer, final InternalClassMetadata classMetadata) {
+        ClassMetadataWrapper(final ClassLoader classLoader, final byte[] classFileBuffer, final InternalClassMetadata classMetadata) {
+            this.classLoader = classLoader;
             this.classFileBuffer = classFileBuffer;
             this.classMetadata = classMetadata;
         }
@@ -265,6 +292,8 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
             if (this.classMetadata == null) {
                 try {
                     this.classMetadata = InternalClassMetadataReader.readInternalClassMetadata(this.classFileBuffer);
+                    // shared with frame computation of ASMClassWriter.
+                    classMetadataCache.put(this.classLoader, this.classMetadata);
                 } catch (Exception e) {
                     if (logger.isInfoEnabled()) {
                         logger.info("Failed to read metadata of class bytes.", e);
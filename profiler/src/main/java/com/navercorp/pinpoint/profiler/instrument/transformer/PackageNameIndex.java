@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Character trie of package internal names.
+ * Finds every indexed package name that the class internal name starts with, shortest first,
+ * without allocating when nothing matches.
+ */
+final class PackageNameIndex<V> {
+
+    private final Node<V> root;
+    private final int size;
+
+    PackageNameIndex(Map<String, V> packageNameIndex) {
+        Objects.requireNonNull(packageNameIndex, "packageNameIndex");
+
+        final MutableNode<V> mutableRoot = new MutableNode<>();
+        for (Map.Entry<String, V> entry : packageNameIndex.entrySet()) {
+            MutableNode<V> node = mutableRoot;
+            final String packageInternalName = entry.getKey();
+            for (int i = 0; i < packageInternalName.length(); i++) {
+                node = node.children.computeIfAbsent(packageInternalName.charAt(i), c -> new MutableNode<>());
+            }
+            node.value = entry.getValue();
+        }
+        this.root = mutableRoot.freeze();
+        this.size = packageNameIndex.size();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    List<V> findPrefixOf(final String classInternalName) {
+        List<V> result = Collections.emptyList();
+        Node<V> node = root;
+        for (int i = 0; i < classInternalName.length(); i++) {
+            if (node.value != null) {
+                result = add(result, node.value);
+            }
+            node = node.child(classInternalName.charAt(i));
+            if (node == null) {
+                return result;
+            }
+        }
+        if (node.value != null) {
+            result = add(result, node.value);
+        }
+        return result;
+    }
+
+    private List<V> add(List<V> result, V value) {
+        if (result.isEmpty()) {
+            result = new ArrayList<>(2);
+        }
+        result.add(value);
+        return result;
+    }
+
+    private static final class Node<V> {
+        private final char[] labels;
+        private final Node<V>[] children;
+        private final V value;
+
+        private Node(char[] labels, Node<V>[] children, V value) {
+            this.labels = labels;
+            this.children = children;
+            this.value = value;
+        }
+
+        private Node<V> child(char c) {
+            final int index = Arrays.binarySearch(labels, c);
+            if (index < 0) {
+                return null;
+            }
+            return children[index];
+        }
+    }
+
+    private static final class MutableNode<V> {
+        // sorted for binary search.
+        private final TreeMap<Character, MutableNode<V>> children = new TreeMap<>();
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private Node<V> freeze() {
+            final char[] labels = new char[children.size()];
+            final Node<V>[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode<V>> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node<>(labels, nodes, value);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.zip.CRC32;
+
+/**
+ * Remembers, across agent restarts, the classes for which no transformer applies.
+ */
+public interface TransformerDecisionCache {
+
+    boolean isNotMatched(String classInternalName, long classFileHash);
+
+    void notMatched(String classInternalName, long classFileHash);
+
+    boolean isActive();
+
+    void start();
+
+    /**
+     * Writes back the pending decisions.
+     */
+    void stop();
+
+    static long classFileHash(byte[] classFileBuffer) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(classFileBuffer, 0, classFileBuffer.length);
+        return ((long) classFileBuffer.length << 32) | crc32.getValue();
+    }
+}
@@ -17,11 +17,13 @@
 package com.navercorp.pinpoint.profiler.interceptor.registry;
 
 import com.navercorp.pinpoint.bootstrap.interceptor.registry.DefaultInterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.DenseInterceptorRegistryAdaptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
 import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistryAdaptor;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -42,7 +44,22 @@ public class DefaultInterceptorRegistryBinder implements InterceptorRegistryBind
     }
 
     public DefaultInterceptorRegistryBinder(int maxRegistrySize) {
-        this.interceptorRegistryAdaptor = new DefaultInterceptorRegistryAdaptor(maxRegistrySize);
+        this(maxRegistrySize, false);
+    }
+
+    public DefaultInterceptorRegistryBinder(int maxRegistrySize, boolean dense) {
+        this(newInterceptorRegistryAdaptor(maxRegistrySize, dense));
+    }
+
+    public DefaultInterceptorRegistryBinder(InterceptorRegistryAdaptor interceptorRegistryAdaptor) {
+        this.interceptorRegistryAdaptor = Objects.requireNonNull(interceptorRegistryAdaptor, "interceptorRegistryAdaptor");
+    }
+
+    private static InterceptorRegistryAdaptor newInterceptorRegistryAdaptor(int maxRegistrySize, boolean dense) {
+        if (dense) {
+            return new DenseInterceptorRegistryAdaptor(maxRegistrySize);
+        }
+        return new DefaultInterceptorRegistryAdaptor(maxRegistrySize);
     }
 
     @Override
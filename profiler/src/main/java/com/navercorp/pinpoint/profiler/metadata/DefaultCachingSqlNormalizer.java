@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.profiler.metadata;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
 import java.util.Objects;
 import com.navercorp.pinpoint.common.profiler.sql.DefaultSqlParser;
@@ -35,12 +37,47 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
 
     private static final DefaultParsingResult EMPTY_OBJECT = new DefaultParsingResult("");
 
+    // total length of the cached original sql, normalized sql and parse parameter
+    public static final long DEFAULT_PARSED_SQL_CACHE_LENGTH = 1024 * 1024;
+
     private final SimpleCache<String> sqlCache;
     private final SqlParser sqlParser;
+    // original sql -> normalized sql, skips parsing of a sql executed again.
+    private final Cache<String, NormalizedSql> parsedSqlCache;
 
     public DefaultCachingSqlNormalizer(SimpleCache<String> sqlCache) {
+        this(sqlCache, DEFAULT_PARSED_SQL_CACHE_LENGTH);
+    }
+
+    /**
+     * @param parsedSqlCacheLength max total length of the original sql, normalized sql and parse parameter
+     *                             kept by the parsed sql cache. 0 disables it.
+     */
+    public DefaultCachingSqlNormalizer(SimpleCache<String> sqlCache, long parsedSqlCacheLength) {
         this.sqlCache = Objects.requireNonNull(sqlCache, "sqlCache");
         this.sqlParser = new DefaultSqlParser();
+        this.parsedSqlCache = newParsedSqlCache(parsedSqlCacheLength);
+    }
+
+    private static Cache<String, NormalizedSql> newParsedSqlCache(long parsedSqlCacheLength) {
+        if (parsedSqlCacheLength <= 0) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .maximumWeight(parsedSqlCacheLength)
+                .weigher(DefaultCachingSqlNormalizer::weigh)
+                .build();
+    }
+
+    static int weigh(String originalSql, NormalizedSql normalizedSql) {
+        return originalSql.length() + length(normalizedSql.getNormalizedSql()) + length(normalizedSql.getParseParameter());
+    }
+
+    private static int length(String str) {
+        if (str == null) {
+            return 0;
+        }
+        return str.length();
     }
 
     @Override
@@ -74,8 +111,9 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
         final ParsingResultInternal parsingResultInternal = (ParsingResultInternal) parsingResult;
 
         final String originalSql = parsingResultInternal.getOriginalSql();
-        final NormalizedSql normalizedSql = this.sqlParser.normalizedSql(originalSql);
+        final NormalizedSql normalizedSql = parse(originalSql);
 
+        // the normalized sql instance is reused on a hit, so its hash is not computed again.
         final Result cachingResult = this.sqlCache.put(normalizedSql.getNormalizedSql());
 
         // set normalizedSql
@@ -93,5 +131,19 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
         return cachingResult.isNewValue();
     }
 
+    private NormalizedSql parse(String originalSql) {
+        if (parsedSqlCache == null) {
+            return this.sqlParser.normalizedSql(originalSql);
+        }
+        // same sql, same literals: the parse parameter of a previous execution is still valid.
+        final NormalizedSql cached = parsedSqlCache.getIfPresent(originalSql);
+        if (cached != null) {
+            return cached;
+        }
+        final NormalizedSql normalizedSql = this.sqlParser.normalizedSql(originalSql);
+        parsedSqlCache.put(originalSql, normalizedSql);
+        return normalizedSql;
+    }
+
 
 }
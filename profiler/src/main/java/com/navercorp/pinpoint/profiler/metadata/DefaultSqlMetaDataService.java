@@ -37,10 +37,14 @@ public class DefaultSqlMetaDataService implements SqlMetaDataService {
     private final EnhancedDataSender<MetaDataType> enhancedDataSender;
 
     public DefaultSqlMetaDataService(EnhancedDataSender<MetaDataType> enhancedDataSender, SimpleCache<String> sqlCache) {
+        this(enhancedDataSender, sqlCache, DefaultCachingSqlNormalizer.DEFAULT_PARSED_SQL_CACHE_LENGTH);
+    }
+
+    public DefaultSqlMetaDataService(EnhancedDataSender<MetaDataType> enhancedDataSender, SimpleCache<String> sqlCache, long parsedSqlCacheLength) {
         this.enhancedDataSender = Objects.requireNonNull(enhancedDataSender, "enhancedDataSender");
 
         Objects.requireNonNull(sqlCache, "sqlCache");
-        this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(sqlCache);
+        this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(sqlCache, parsedSqlCacheLength);
     }
 
     @Override
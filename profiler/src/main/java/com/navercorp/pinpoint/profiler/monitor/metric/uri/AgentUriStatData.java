@@ -64,6 +64,20 @@ public class AgentUriStatData implements MetricType {
         return true;
     }
 
+    public boolean merge(URIKey key, EachUriStatData uriStatData) {
+        EachUriStatData eachUriStatData = eachUriStatDataMap.get(key);
+        if (eachUriStatData == null) {
+            if (eachUriStatDataMap.size() >= this.capacity) {
+                return false;
+            }
+            eachUriStatData = new EachUriStatData(key.getUri());
+            eachUriStatDataMap.put(key, eachUriStatData);
+        }
+
+        eachUriStatData.merge(uriStatData);
+        return true;
+    }
+
     private URIKey newURIKey(UriStatInfo uriStatInfo) {
         String uri = uriStatInfo.getUri();
         long endTime = uriStatInfo.getEndTime();
@@ -30,14 +30,22 @@ public class EachUriStatData {
     }
 
     public void add(UriStatInfo uriStatInfo) {
-        boolean status = uriStatInfo.isStatus();
-        totalHistogram.add(uriStatInfo.getElapsed());
+        add(uriStatInfo.isStatus(), uriStatInfo.getElapsed());
+    }
+
+    public void add(boolean status, long elapsed) {
+        totalHistogram.add(elapsed);
 
         if (!status) {
-            failedHistogram.add(uriStatInfo.getElapsed());
+            failedHistogram.add(elapsed);
         }
     }
 
+    public void merge(EachUriStatData other) {
+        totalHistogram.merge(other.totalHistogram);
+        failedHistogram.merge(other.failedHistogram);
+    }
+
     public String getUri() {
         return uri;
     }
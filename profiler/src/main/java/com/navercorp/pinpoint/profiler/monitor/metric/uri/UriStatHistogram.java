@@ -54,6 +54,22 @@ public class UriStatHistogram {
         timestampHistogram[bucket.getIndex()]++;
     }
 
+    public void merge(UriStatHistogram other) {
+        Objects.requireNonNull(other, "other");
+        if (other.isEmpty()) {
+            return;
+        }
+        count += other.count;
+        total += other.total;
+
+        this.max = Math.max(max, other.max);
+
+        final int[] otherHistogram = other.timestampHistogram;
+        for (int i = 0; i < timestampHistogram.length; i++) {
+            timestampHistogram[i] += otherHistogram[i];
+        }
+    }
+
     private boolean isEmpty() {
         return count == 0;
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.common.util.MathUtils;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples about {@code targetThroughput} new transactions per second.
+ * <p>
+ * The sampling rate is recomputed once per interval, by the first request of the next interval,
+ * from an exponentially weighted moving average of the incoming request rate.
+ * Other requests only read the current rate, so {@link #isSampling()} never blocks.
+ */
+public class AdaptiveSampler implements Sampler {
+    // Supported range 100% ~ 0.0001%
+    public static final long MAX = 1_000_000;
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    private final double targetThroughput;
+    private final double smoothingFactor;
+    private final long intervalMillis;
+    private final Clock clock;
+
+    private final LongAdder requestCounter = new LongAdder();
+    private final AtomicLong intervalEndTime;
+    private final AtomicLong counter = new AtomicLong(0);
+
+    private volatile long samplingRate = MAX;
+    // requests per second, negative until the first interval ends
+    private volatile double requestRate = -1;
+
+    public AdaptiveSampler(double targetThroughput, double smoothingFactor) {
+        this(targetThroughput, smoothingFactor, DEFAULT_INTERVAL_MILLIS, Clock.systemUTC());
+    }
+
+    public AdaptiveSampler(double targetThroughput, double smoothingFactor, long intervalMillis, Clock clock) {
+        if (targetThroughput <= 0) {
+            throw new IllegalArgumentException("Invalid targetThroughput " + targetThroughput);
+        }
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("Invalid smoothingFactor " + smoothingFactor);
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid intervalMillis " + intervalMillis);
+        }
+        this.targetThroughput = targetThroughput;
+        this.smoothingFactor = smoothingFactor;
+        this.intervalMillis = intervalMillis;
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.intervalEndTime = new AtomicLong(clock.millis() + intervalMillis);
+    }
+
+    @Override
+    public boolean isSampling() {
+        final long intervalEndTime = this.intervalEndTime.get();
+        final long currentTime = clock.millis();
+        if (currentTime >= intervalEndTime) {
+            updateSamplingRate(intervalEndTime, currentTime);
+        }
+        requestCounter.increment();
+
+        final long samplingRate = this.samplingRate;
+        if (samplingRate >= MAX) {
+            return true;
+        }
+        // same as PercentRateSampler
+        final long seed = counter.addAndGet(samplingRate);
+        final long remainder = MathUtils.floorMod(seed, MAX);
+        return remainder > 0 && remainder <= samplingRate;
+    }
+
+    private void updateSamplingRate(long intervalEndTime, long currentTime) {
+        if (!this.intervalEndTime.compareAndSet(intervalEndTime, currentTime + intervalMillis)) {
+            // updated by another thread
+            return;
+        }
+        final long intervalStartTime = intervalEndTime - intervalMillis;
+        final long elapsedMillis = Math.max(currentTime - intervalStartTime, 1);
+        // increments racing with the reset are counted in either interval
+        final long requests = requestCounter.sumThenReset();
+        final double currentRequestRate = requests * 1000.0 / elapsedMillis;
+
+        final double previousRequestRate = this.requestRate;
+        final double requestRate;
+        if (previousRequestRate < 0) {
+            requestRate = currentRequestRate;
+        } else {
+            requestRate = smoothingFactor * currentRequestRate + (1 - smoothingFactor) * previousRequestRate;
+        }
+        this.requestRate = requestRate;
+        this.samplingRate = toSamplingRate(targetThroughput, requestRate);
+    }
+
+    static long toSamplingRate(double targetThroughput, double requestRate) {
+        if (requestRate <= targetThroughput) {
+            return MAX;
+        }
+        final long samplingRate = (long) (MAX * (targetThroughput / requestRate));
+        return Math.max(samplingRate, 1);
+    }
+
+    /**
+     * @return current sampling rate in percent
+     */
+    public double getSamplingRate() {
+        return samplingRate * 100.0 / MAX;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSampler{" +
+                "targetThroughput=" + targetThroughput +
+                ", smoothingFactor=" + smoothingFactor +
+                ", intervalMillis=" + intervalMillis +
+                ", samplingRate=" + samplingRate +
+                ", requestRate=" + requestRate +
+                '}';
+    }
+}
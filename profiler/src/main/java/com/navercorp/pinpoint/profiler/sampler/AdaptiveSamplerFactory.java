@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.bootstrap.util.NumberUtils;
+
+public class AdaptiveSamplerFactory implements SamplerFactory {
+
+    public static final String TARGET_THROUGHPUT_NAME = "profiler.sampling.adaptive.target-throughput";
+    public static final String SMOOTHING_FACTOR_NAME = "profiler.sampling.adaptive.smoothing-factor";
+
+    public static final double DEFAULT_TARGET_THROUGHPUT = 20;
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.5;
+
+    private final double targetThroughput;
+    private final double smoothingFactor;
+
+    public AdaptiveSamplerFactory(double targetThroughput, double smoothingFactor) {
+        this.targetThroughput = targetThroughput;
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public AdaptiveSamplerFactory(Config config) {
+        this(config.getTargetThroughput(), config.getSmoothingFactor());
+    }
+
+    @Override
+    public Sampler createSampler() {
+        if (targetThroughput <= 0) {
+            return FalseSampler.INSTANCE;
+        }
+        return new AdaptiveSampler(targetThroughput, smoothingFactor);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSamplerFactory{" +
+                "targetThroughput=" + targetThroughput +
+                ", smoothingFactor=" + smoothingFactor +
+                '}';
+    }
+
+    public static Config config(ProfilerConfig profilerConfig) {
+        double targetThroughput = NumberUtils.parseDouble(profilerConfig.readString(TARGET_THROUGHPUT_NAME, null), DEFAULT_TARGET_THROUGHPUT);
+        double smoothingFactor = NumberUtils.parseDouble(profilerConfig.readString(SMOOTHING_FACTOR_NAME, null), DEFAULT_SMOOTHING_FACTOR);
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            smoothingFactor = DEFAULT_SMOOTHING_FACTOR;
+        }
+        return new Config(targetThroughput, smoothingFactor);
+    }
+
+    public static class Config {
+
+        private final double targetThroughput;
+        private final double smoothingFactor;
+
+        public Config(double targetThroughput, double smoothingFactor) {
+            this.targetThroughput = targetThroughput;
+            this.smoothingFactor = smoothingFactor;
+        }
+
+        public double getTargetThroughput() {
+            return targetThroughput;
+        }
+
+        public double getSmoothingFactor() {
+            return smoothingFactor;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{" +
+                    "targetThroughput=" + targetThroughput +
+                    ", smoothingFactor=" + smoothingFactor +
+                    '}';
+        }
+    }
+
+}
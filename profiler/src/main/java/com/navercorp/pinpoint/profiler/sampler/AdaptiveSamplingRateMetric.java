@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.plugin.monitor.metric.DoubleGauge;
+
+import java.util.Objects;
+
+/**
+ * Current sampling rate of the {@link AdaptiveSampler} in percent, sent with the custom metrics of the agent stat.
+ */
+public class AdaptiveSamplingRateMetric implements DoubleGauge {
+
+    public static final String NAME = "custom/sampler/adaptive/samplingRate";
+
+    private final AdaptiveSampler sampler;
+
+    public AdaptiveSamplingRateMetric(AdaptiveSampler sampler) {
+        this.sampler = Objects.requireNonNull(sampler, "sampler");
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double getValue() {
+        return sampler.getSamplingRate();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSamplingRateMetric{" +
+                "sampler=" + sampler +
+                '}';
+    }
+}
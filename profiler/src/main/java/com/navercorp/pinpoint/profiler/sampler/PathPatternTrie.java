@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * First-match lookup over an ordered list of url patterns.
+ * <p>
+ * Ant style patterns are indexed by their leading literal path segments (the segments before the first wildcard),
+ * exact patterns by the whole path. A lookup walks the trie along the segments of the path and only evaluates
+ * the patterns found on the way, in registration order, so the result is the same as testing every pattern in order.
+ *
+ * @param <T> value bound to a pattern
+ */
+class PathPatternTrie<T> {
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final int[] EMPTY = new int[0];
+
+    private final PathMatcher[] matchers;
+    private final List<T> values;
+
+    private final Map<String, Integer> exactMatch = new HashMap<>();
+    private final Node root = new Node();
+
+    PathPatternTrie(Map<String, T> patternMap) {
+        Objects.requireNonNull(patternMap, "patternMap");
+
+        final List<PathMatcher> matchers = new ArrayList<>(patternMap.size());
+        final List<T> values = new ArrayList<>(patternMap.size());
+        for (Map.Entry<String, T> entry : patternMap.entrySet()) {
+            final String pattern = entry.getKey();
+            final T value = entry.getValue();
+            if (pattern == null || pattern.isEmpty() || value == null) {
+                continue;
+            }
+            final int index = matchers.size();
+            if (AntPathMatcher.isAntStylePattern(pattern)) {
+                matchers.add(new AntPathMatcher(pattern));
+                addPattern(pattern, index);
+            } else {
+                matchers.add(new EqualsPathMatcher(pattern));
+                exactMatch.putIfAbsent(pattern, index);
+            }
+            values.add(value);
+        }
+        this.matchers = matchers.toArray(new PathMatcher[0]);
+        this.values = values;
+    }
+
+    private void addPattern(String pattern, int index) {
+        Node node = root;
+        for (String segment : tokenize(pattern)) {
+            if (!isLiteral(segment)) {
+                break;
+            }
+            node = node.child(segment);
+        }
+        node.add(index);
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same tokenizing rule as the spring AntPathMatcher : tokens are trimmed and empty tokens are ignored.
+     */
+    private static List<String> tokenize(String path) {
+        final List<String> tokens = new ArrayList<>();
+        final int length = path.length();
+        int start = 0;
+        while (start < length) {
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                final String token = path.substring(start, end).trim();
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+            start = end + 1;
+        }
+        return tokens;
+    }
+
+    int size() {
+        return matchers.length;
+    }
+
+    /**
+     * @return value of the first pattern matching the path, {@code null} if nothing matches
+     */
+    T find(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        int[] candidates = new int[Math.max(8, root.indexes.length + 1)];
+        int candidateSize = 0;
+        for (int index : root.indexes) {
+            candidates[candidateSize++] = index;
+        }
+
+        final Integer exactIndex = exactMatch.get(path);
+        if (exactIndex != null) {
+            candidates = add(candidates, candidateSize++, exactIndex);
+        }
+
+        Node node = root;
+        for (String token : tokenize(path)) {
+            node = node.get(token);
+            if (node == null) {
+                break;
+            }
+            for (int index : node.indexes) {
+                candidates = add(candidates, candidateSize++, index);
+            }
+        }
+        if (candidateSize == 0) {
+            return null;
+        }
+        // keep the registration order of the patterns
+        Arrays.sort(candidates, 0, candidateSize);
+
+        for (int i = 0; i < candidateSize; i++) {
+            final int index = candidates[i];
+            if (matchers[index].isMatched(path)) {
+                return values.get(index);
+            }
+        }
+        return null;
+    }
+
+    private static int[] add(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static class Node {
+        private Map<String, Node> children;
+        private int[] indexes = EMPTY;
+
+        private Node child(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private Node get(String segment) {
+            if (children == null) {
+                return null;
+            }
+            return children.get(segment);
+        }
+
+        private void add(int index) {
+            final int[] copy = Arrays.copyOf(indexes, indexes.length + 1);
+            copy[indexes.length] = index;
+            this.indexes = copy;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PathPatternTrie{" +
+                "patterns=" + matchers.length +
+                ", exactMatch=" + exactMatch.size() +
+                '}';
+    }
+}
@@ -16,35 +16,43 @@
 
 package com.navercorp.pinpoint.profiler.sampler;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
-import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
 import com.navercorp.pinpoint.common.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 public class UrlTraceSampler implements TraceSampler {
-    private final List<UrlPathMatcher> urlPathMatcherList;
+    // disabled by default. only pays off when the same urls repeat, e.g. no ids in the path
+    public static final int DEFAULT_CACHE_SIZE = 0;
+
+    private final PathPatternTrie<TraceSampler> urlPathTrie;
+    // recent url -> sampler decisions. null if disabled
+    private final Cache<String, TraceSampler> samplerCache;
     private final TraceSampler defaultTraceSampler;
 
     public UrlTraceSampler(Map<String, TraceSampler> urlMap, TraceSampler defaultTraceSampler) {
+        this(urlMap, defaultTraceSampler, DEFAULT_CACHE_SIZE);
+    }
+
+    public UrlTraceSampler(Map<String, TraceSampler> urlMap, TraceSampler defaultTraceSampler, int cacheSize) {
         Objects.requireNonNull(urlMap, "urlMap");
         this.defaultTraceSampler = Objects.requireNonNull(defaultTraceSampler, "defaultSampler");
 
-        final List<UrlPathMatcher> list = new ArrayList<>();
-        for (Map.Entry<String, TraceSampler> entry : urlMap.entrySet()) {
-            final String urlPath = entry.getKey();
-            final TraceSampler traceSampler = entry.getValue();
-            if (StringUtils.isEmpty(urlPath) || traceSampler == null) {
-                continue;
-            }
-            list.add(new UrlPathMatcher(urlPath, traceSampler));
+        this.urlPathTrie = new PathPatternTrie<>(urlMap);
+        this.samplerCache = newCache(cacheSize);
+    }
+
+    private static Cache<String, TraceSampler> newCache(int cacheSize) {
+        if (cacheSize <= 0) {
+            return null;
         }
-        this.urlPathMatcherList = list;
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
+        cacheBuilder.initialCapacity(cacheSize);
+        cacheBuilder.maximumSize(cacheSize);
+        return cacheBuilder.build();
     }
 
     @Override
@@ -74,36 +82,23 @@ public class UrlTraceSampler implements TraceSampler {
     }
 
     TraceSampler getSampler(String urlPath) {
-        for (UrlPathMatcher urlPathMatcher : this.urlPathMatcherList) {
-            if (urlPathMatcher != null && urlPathMatcher.isMatched(urlPath)) {
-                if (urlPathMatcher.getTraceSampler() != null) {
-                    return urlPathMatcher.getTraceSampler();
-                }
-            }
-        }
-        return this.defaultTraceSampler;
-    }
-
-    private class UrlPathMatcher implements PathMatcher {
-        private PathMatcher pathMatcher;
-        private TraceSampler traceSampler;
-
-        public UrlPathMatcher(String urlPath, TraceSampler traceSampler) {
-            if (AntPathMatcher.isAntStylePattern(urlPath)) {
-                this.pathMatcher = new AntPathMatcher(urlPath);
-            } else {
-                this.pathMatcher = new EqualsPathMatcher(urlPath);
-            }
-            this.traceSampler = traceSampler;
+        if (samplerCache == null) {
+            return findSampler(urlPath);
         }
-
-        @Override
-        public boolean isMatched(String urlPath) {
-            return this.pathMatcher.isMatched(urlPath);
+        final TraceSampler cached = samplerCache.getIfPresent(urlPath);
+        if (cached != null) {
+            return cached;
         }
+        final TraceSampler traceSampler = findSampler(urlPath);
+        samplerCache.put(urlPath, traceSampler);
+        return traceSampler;
+    }
 
-        public TraceSampler getTraceSampler() {
+    private TraceSampler findSampler(String urlPath) {
+        final TraceSampler traceSampler = urlPathTrie.find(urlPath);
+        if (traceSampler != null) {
             return traceSampler;
         }
+        return this.defaultTraceSampler;
     }
 }
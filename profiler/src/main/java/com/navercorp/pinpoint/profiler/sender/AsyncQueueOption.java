@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.Objects;
+
+/**
+ * Queue settings of {@link AsyncQueueingExecutor}
+ */
+public class AsyncQueueOption {
+
+    public static final int DEFAULT_DRAIN_SIZE = 10;
+
+    public static final AsyncQueueOption DEFAULT = new AsyncQueueOption(AsyncQueueType.LINKED, DEFAULT_DRAIN_SIZE, WaitStrategy.PARK);
+
+    private final AsyncQueueType queueType;
+    private final int drainSize;
+    private final WaitStrategy waitStrategy;
+
+    public AsyncQueueOption(AsyncQueueType queueType, int drainSize, WaitStrategy waitStrategy) {
+        this.queueType = Objects.requireNonNull(queueType, "queueType");
+        Assert.isTrue(drainSize > 0, "drainSize must be 'drainSize > 0'");
+        this.drainSize = drainSize;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+
+    public static AsyncQueueOption of(String queueType, int drainSize, String waitStrategy) {
+        Objects.requireNonNull(queueType, "queueType");
+        Objects.requireNonNull(waitStrategy, "waitStrategy");
+        return new AsyncQueueOption(AsyncQueueType.valueOf(queueType.toUpperCase()), drainSize, WaitStrategy.valueOf(waitStrategy.toUpperCase()));
+    }
+
+    public AsyncQueueType getQueueType() {
+        return queueType;
+    }
+
+    public int getDrainSize() {
+        return drainSize;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public <T> AsyncQueue<T> newQueue(int queueSize) {
+        if (queueType == AsyncQueueType.RING_BUFFER) {
+            return new MpscRingBufferQueue<>(queueSize, waitStrategy);
+        }
+        return new LinkedAsyncQueue<>(queueSize);
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncQueueOption{" +
+                "queueType=" + queueType +
+                ", drainSize=" + drainSize +
+                ", waitStrategy=" + waitStrategy +
+                '}';
+    }
+}
@@ -22,7 +22,6 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import java.util.Collection;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,7 +34,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     private final Logger logger;
     private final boolean isWarn;
 
-    private final LinkedBlockingQueue<T> queue;
+    private final AsyncQueue<T> queue;
     private final AtomicBoolean isRun = new AtomicBoolean(true);
     private final Thread executeThread;
     private final String executorName;
@@ -48,15 +47,20 @@ public class AsyncQueueingExecutor<T> implements Runnable {
 
 
     public AsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueingExecutorListener<T> listener) {
+        this(queueSize, executorName, listener, AsyncQueueOption.DEFAULT);
+    }
+
+    public AsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueingExecutorListener<T> listener, AsyncQueueOption queueOption) {
         Objects.requireNonNull(executorName, "executorName");
+        Objects.requireNonNull(queueOption, "queueOption");
 
         this.logger = LogManager.getLogger(this.getClass().getName() + "@" + executorName);
         this.isWarn = logger.isWarnEnabled();
 
         // BEFORE executeThread start
-        this.maxDrainSize = 10;
+        this.maxDrainSize = queueOption.getDrainSize();
         this.drain = new UnsafeArrayCollection<T>(maxDrainSize);
-        this.queue = new LinkedBlockingQueue<T>(queueSize);
+        this.queue = queueOption.newQueue(queueSize);
 
         this.executeThread = this.createExecuteThread(executorName);
         this.executorName = executeThread.getName();
@@ -155,6 +159,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         boolean offer = queue.offer(data);
         if (!offer) {
+            listener.onDrop(data);
             if (isWarn) {
                 logger.warn("{} Drop data. queue is full. size:{}", executorName, queue.size());
             }
@@ -164,11 +169,22 @@ public class AsyncQueueingExecutor<T> implements Runnable {
 
 
     private void doExecute(Collection<T> dtoList) {
-        this.listener.execute(dtoList);
+        final int size = dtoList.size();
+        final long startTime = System.nanoTime();
+        try {
+            this.listener.execute(dtoList);
+        } finally {
+            this.listener.onExecuted(size, System.nanoTime() - startTime);
+        }
     }
 
     private void doExecute(T dto) {
-        this.listener.execute(dto);
+        final long startTime = System.nanoTime();
+        try {
+            this.listener.execute(dto);
+        } finally {
+            this.listener.onExecuted(1, System.nanoTime() - startTime);
+        }
     }
 
     public boolean isEmpty() {
@@ -26,5 +26,19 @@ public interface AsyncQueueingExecutorListener<T> {
     void execute(Collection<T> messageList);
 
     void execute(T message);
-    
+
+    /**
+     * Invoked by the producer thread when the queue is full and the message is discarded.
+     */
+    default void onDrop(T message) {
+    }
+
+    /**
+     * Invoked by the executor thread after each {@link #execute} call.
+     * @param size number of executed messages
+     * @param elapsedNanos elapsed time of the execute call
+     */
+    default void onExecuted(int size, long elapsedNanos) {
+    }
+
 }
@@ -20,14 +20,26 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
 public abstract class DefaultAsyncQueueingExecutorListener<T> implements AsyncQueueingExecutorListener<T> {
 
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
     private final Logger logger = LogManager.getLogger(this.getClass());
 
+    private final LongAdder dropCount = new LongAdder();
+
+    // Caution. written by the single executor thread only
+    private volatile long executedCount;
+    private volatile long executedTimeNanos;
+    private volatile long maxExecutedTimeNanos;
+    private long lastReportTimeNanos = System.nanoTime();
+
     @Override
     public void execute(Collection<T> messageList) {
         // Cannot use toArray(T[] array) because passed messageList doesn't implement it properly.
@@ -49,4 +61,53 @@ public abstract class DefaultAsyncQueueingExecutorListener<T> implements AsyncQu
 
     public abstract void execute(T message);
 
+    @Override
+    public void onDrop(T message) {
+        dropCount.increment();
+    }
+
+    @Override
+    public void onExecuted(int size, long elapsedNanos) {
+        this.executedCount += size;
+        this.executedTimeNanos += elapsedNanos;
+        if (elapsedNanos > maxExecutedTimeNanos) {
+            this.maxExecutedTimeNanos = elapsedNanos;
+        }
+        reportMetric();
+    }
+
+    private void reportMetric() {
+        final long currentTimeNanos = System.nanoTime();
+        if (currentTimeNanos - lastReportTimeNanos < REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        this.lastReportTimeNanos = currentTimeNanos;
+        if (logger.isInfoEnabled()) {
+            logger.info("AsyncQueueingExecutor metric. {}", toMetricString());
+        }
+    }
+
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
+    public long getExecutedCount() {
+        return executedCount;
+    }
+
+    public long getExecutedTimeNanos() {
+        return executedTimeNanos;
+    }
+
+    public long getMaxExecutedTimeNanos() {
+        return maxExecutedTimeNanos;
+    }
+
+    public String toMetricString() {
+        return "dropCount=" + getDropCount() +
+                ", executedCount=" + executedCount +
+                ", executedTime=" + TimeUnit.NANOSECONDS.toMillis(executedTimeNanos) + "ms" +
+                ", maxExecutedTime=" + TimeUnit.NANOSECONDS.toMicros(maxExecutedTimeNanos) + "us";
+    }
+
 }
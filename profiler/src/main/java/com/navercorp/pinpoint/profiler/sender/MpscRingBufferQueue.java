@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi producer, single consumer ring buffer.
+ * <p>
+ * Slots are pre-allocated, so {@link #offer(Object)} does not allocate.
+ * The slot array is rounded up to a power of two, but at most {@code queueSize} elements are queued.
+ * Producers claim a sequence with CAS and publish the slot with a volatile write,
+ * the consumer releases the slot and advances the consumer sequence.
+ */
+public class MpscRingBufferQueue<T> implements AsyncQueue<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int bufferSize;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final AtomicLong consumerSequence = new AtomicLong();
+
+    private final WaitStrategy waitStrategy;
+    private volatile Thread consumerThread;
+    private volatile boolean consumerWaiting = false;
+
+    public MpscRingBufferQueue(int queueSize, WaitStrategy waitStrategy) {
+        Assert.isTrue(queueSize > 0, "queueSize must be 'queueSize > 0'");
+        Assert.isTrue(queueSize <= MAX_CAPACITY, "queueSize too large");
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+
+        this.capacity = queueSize;
+        this.bufferSize = nextPowerOfTwo(queueSize);
+        this.mask = bufferSize - 1;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    static int nextPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @Override
+    public boolean offer(T data) {
+        Objects.requireNonNull(data, "data");
+
+        long sequence;
+        do {
+            sequence = producerSequence.get();
+            if (sequence - consumerSequence.get() >= capacity) {
+                return false;
+            }
+        } while (!producerSequence.compareAndSet(sequence, sequence + 1));
+
+        buffer.set(index(sequence), data);
+
+        if (waitStrategy.isSignalRequired() && consumerWaiting) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    private T poll() {
+        final long sequence = consumerSequence.get();
+        final int index = index(sequence);
+        T data = buffer.get(index);
+        if (data == null) {
+            if (sequence == producerSequence.get()) {
+                return null;
+            }
+            // slot claimed but not yet published
+            do {
+                data = buffer.get(index);
+            } while (data == null);
+        }
+        buffer.lazySet(index, null);
+        consumerSequence.lazySet(sequence + 1);
+        return data;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T data = poll();
+        if (data != null) {
+            return data;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            data = poll();
+            if (data != null) {
+                return data;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return null;
+            }
+            waitStrategy.idle(this, remainingNanos);
+        }
+    }
+
+    void parkConsumer(long nanos) {
+        if (consumerThread == null) {
+            consumerThread = Thread.currentThread();
+        }
+        consumerWaiting = true;
+        try {
+            // re-check after publishing the waiting flag. prevent lost wake-up
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, nanos);
+            }
+        } finally {
+            consumerWaiting = false;
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<T> drain, int maxDrainSize) {
+        int count = 0;
+        while (count < maxDrainSize) {
+            final T data = poll();
+            if (data == null) {
+                break;
+            }
+            drain.add(data);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerSequence.get() == consumerSequence.get();
+    }
+
+    @Override
+    public int size() {
+        final long size = producerSequence.get() - consumerSequence.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public String toString() {
+        return "MpscRingBufferQueue{" +
+                "capacity=" + capacity +
+                ", bufferSize=" + bufferSize +
+                ", size=" + size() +
+                ", waitStrategy=" + waitStrategy +
+                '}';
+    }
+}
@@ -77,6 +77,7 @@ public class TcpDataSender<T> implements EnhancedDataSender<T> {
     private final RetryQueue retryQueue = new RetryQueue();
 
     protected final AsyncQueueingExecutor<Object> executor;
+    private final DefaultAsyncQueueingExecutorListener<Object> executorListener;
 
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory) {
@@ -99,7 +100,15 @@ public class TcpDataSender<T> implements EnhancedDataSender<T> {
         this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, queueSize);
     }
 
+    public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<T, byte[]> messageSerializer, int queueSize, AsyncQueueOption queueOption) {
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, queueSize, queueOption);
+    }
+
     private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<T, byte[]> messageSerializer, int queueSize) {
+        this(name, clientProvider, messageSerializer, queueSize, AsyncQueueOption.DEFAULT);
+    }
+
+    private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<T, byte[]> messageSerializer, int queueSize, AsyncQueueOption queueOption) {
         this.logger = newLogger(name);
 
         Objects.requireNonNull(clientProvider, "clientProvider");
@@ -113,18 +122,17 @@ public class TcpDataSender<T> implements EnhancedDataSender<T> {
         this.writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", clientProvider.getAddressAsString());
 
         final String executorName = getExecutorName(name);
-        this.executor = createAsyncQueueingExecutor(queueSize, executorName);
+        this.executorListener = newExecutorListener();
+        this.executor = new AsyncQueueingExecutor<>(queueSize, executorName, executorListener, queueOption);
     }
 
-    private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
-        AsyncQueueingExecutorListener<Object> listener = new DefaultAsyncQueueingExecutorListener<Object>() {
+    private DefaultAsyncQueueingExecutorListener<Object> newExecutorListener() {
+        return new DefaultAsyncQueueingExecutorListener<Object>() {
             @Override
             public void execute(Object message) {
                 TcpDataSender.this.sendPacket(message);
             }
         };
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<>(queueSize, executorName, listener);
-        return executor;
     }
 
     private Logger newLogger(String name) {
@@ -198,6 +206,7 @@ public class TcpDataSender<T> implements EnhancedDataSender<T> {
     @Override
     public void stop() {
         executor.stop();
+        logger.info("executor stopped. {}", executorListener.toMetricString());
 
         Set<Timeout> stop = timer.stop();
         if (!stop.isEmpty()) {
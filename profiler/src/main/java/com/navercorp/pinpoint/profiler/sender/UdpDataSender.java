@@ -48,6 +48,7 @@ public class UdpDataSender<T> implements DataSender<T> {
     private final DatagramSocket udpSocket;
 
     private final AsyncQueueingExecutor<T> executor;
+    private final DefaultAsyncQueueingExecutorListener<T> executorListener;
 
     private final UdpSocketAddressProvider socketAddressProvider;
 
@@ -57,6 +58,13 @@ public class UdpDataSender<T> implements DataSender<T> {
     public UdpDataSender(String host, int port, String threadName,
                          int queueSize, int timeout, int sendBufferSize,
                          MessageSerializer<T, ByteMessage> messageSerializer) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, messageSerializer, AsyncQueueOption.DEFAULT);
+    }
+
+    public UdpDataSender(String host, int port, String threadName,
+                         int queueSize, int timeout, int sendBufferSize,
+                         MessageSerializer<T, ByteMessage> messageSerializer,
+                         AsyncQueueOption queueOption) {
         Objects.requireNonNull(host, "host");
         if (!HostAndPort.isValidPort(port)) {
             throw new IllegalArgumentException("port out of range:" + port);
@@ -75,7 +83,8 @@ public class UdpDataSender<T> implements DataSender<T> {
         // TODO If fail to create socket, stop agent start
         this.udpSocket = createSocket(timeout, sendBufferSize);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executorListener = newExecutorListener();
+        this.executor = new AsyncQueueingExecutor<>(queueSize, threadName, executorListener, queueOption);
 
     }
 
@@ -84,20 +93,19 @@ public class UdpDataSender<T> implements DataSender<T> {
         return executor.execute(data);
     }
 
-    private AsyncQueueingExecutor<T> createAsyncQueueingExecutor(int queueSize, String executorName) {
-        AsyncQueueingExecutorListener<T> listener = new DefaultAsyncQueueingExecutorListener<T>() {
+    private DefaultAsyncQueueingExecutorListener<T> newExecutorListener() {
+        return new DefaultAsyncQueueingExecutorListener<T>() {
             @Override
             public void execute(T message) {
                 UdpDataSender.this.sendPacket(message);
             }
         };
-        final AsyncQueueingExecutor<T> executor = new AsyncQueueingExecutor<>(queueSize, executorName, listener);
-        return executor;
     }
 
     @Override
     public void stop() {
         executor.stop();
+        logger.info("UdpDataSender stopped. {}", executorListener.toMetricString());
     }
 
     private DatagramSocket createSocket(int timeout, int sendBufferSize) {
@@ -40,8 +40,14 @@ public final class UdpDataSenderFactory<T> {
     private final int timeout;
     private final int sendBufferSize;
     private final MessageConverter<T, TBase<?, ?>> messageConverter;
+    private final AsyncQueueOption queueOption;
 
     public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, MessageConverter<T, TBase<?, ?>> messageConverter) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, messageConverter, AsyncQueueOption.DEFAULT);
+    }
+
+    public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize,
+                                MessageConverter<T, TBase<?, ?>> messageConverter, AsyncQueueOption queueOption) {
         this.host = host;
         this.port = port;
         this.threadName = threadName;
@@ -50,6 +56,7 @@ public final class UdpDataSenderFactory<T> {
         this.sendBufferSize = sendBufferSize;
 
         this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
+        this.queueOption = Objects.requireNonNull(queueOption, "queueOption");
     }
 
     public DataSender<T> create(String typeName) {
@@ -65,7 +72,7 @@ public final class UdpDataSenderFactory<T> {
                 ThriftUdpMessageSerializer.UDP_MAX_PACKET_LENGTH,
                 HeaderTBaseSerializerFactory.DEFAULT_TBASE_LOCATOR);
         final MessageSerializer<T, ByteMessage> thriftMessageSerializer = new ThriftUdpMessageSerializer(messageConverter, serializerFactory.createSerializer());
-        return new UdpDataSender<>(host, port, threadName, queueSize, timeout, sendBufferSize, thriftMessageSerializer);
+        return new UdpDataSender<>(host, port, threadName, queueSize, timeout, sendBufferSize, thriftMessageSerializer, queueOption);
     }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+/**
+ * Idle strategy of the {@link MpscRingBufferQueue} consumer.
+ */
+public enum WaitStrategy {
+    /**
+     * Park the consumer thread until a producer signals new data or the timeout expires.
+     */
+    PARK {
+        @Override
+        void idle(MpscRingBufferQueue<?> queue, long remainingNanos) {
+            queue.parkConsumer(remainingNanos);
+        }
+    },
+    /**
+     * Busy spin. lowest latency, burns one core while idle.
+     */
+    SPIN {
+        @Override
+        void idle(MpscRingBufferQueue<?> queue, long remainingNanos) {
+            // busy spin
+        }
+    },
+    YIELD {
+        @Override
+        void idle(MpscRingBufferQueue<?> queue, long remainingNanos) {
+            Thread.yield();
+        }
+    };
+
+    abstract void idle(MpscRingBufferQueue<?> queue, long remainingNanos);
+
+    boolean isSignalRequired() {
+        return this == PARK;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Request marshaller for messages that are already serialized.
+ * Only the client side is supported.
+ */
+public class ByteArrayMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+    public static final ByteArrayMarshaller INSTANCE = new ByteArrayMarshaller();
+
+    @Override
+    public InputStream stream(byte[] value) {
+        return new ByteArrayStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+        throw new UnsupportedOperationException("parse");
+    }
+
+    private static class ByteArrayStream extends ByteArrayInputStream implements KnownLength, Drainable {
+
+        ByteArrayStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            final int length = this.count - this.pos;
+            target.write(this.buf, this.pos, length);
+            this.pos = this.count;
+            return length;
+        }
+    }
+}
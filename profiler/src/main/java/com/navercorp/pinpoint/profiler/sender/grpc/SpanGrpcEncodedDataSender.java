@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.google.protobuf.Empty;
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.grpc.client.ChannelFactory;
+import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanMessageEncoder;
+import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.sender.grpc.stream.ClientStreamingProvider;
+import com.navercorp.pinpoint.profiler.sender.grpc.stream.DefaultStreamTask;
+import com.navercorp.pinpoint.profiler.sender.grpc.stream.StreamExecutorFactory;
+import com.navercorp.pinpoint.profiler.util.NamedRunnable;
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+
+import java.util.Objects;
+
+import static com.navercorp.pinpoint.grpc.MessageFormatUtils.debugLog;
+
+/**
+ * Same stream as {@link SpanGrpcDataSender}, the PSpanMessage is written by {@link GrpcSpanMessageEncoder}
+ * instead of being built from the generated messages.
+ * <p>
+ * The encoded array is not reused, the grpc retry buffer may still hold it after onNext().
+ */
+public class SpanGrpcEncodedDataSender extends GrpcDataSender<SpanType> {
+
+    private static final MethodDescriptor<byte[], Empty> SEND_SPAN_METHOD = newSendSpanMethod();
+
+    private final ReconnectExecutor reconnectExecutor;
+
+    private final Reconnector reconnector;
+    private final StreamState failState;
+    private final StreamExecutorFactory<byte[]> streamExecutorFactory;
+    private final String id = "SpanStream";
+
+    private volatile StreamTask<SpanType, byte[]> currentStreamTask;
+
+    private final ClientStreamingService<byte[], Empty> clientStreamService;
+
+    // not thread safe, used by the stream executor only
+    private final GrpcSpanMessageEncoder spanMessageEncoder;
+
+    public final MessageDispatcher<SpanType, byte[]> dispatcher = new MessageDispatcher<SpanType, byte[]>() {
+        @Override
+        public void onDispatch(ClientCallStreamObserver<byte[]> stream, SpanType data) {
+            if (isDebug) {
+                logger.debug("Send message={}", debugLog(messageConverter.toMessage(data)));
+            }
+            final byte[] spanMessage = spanMessageEncoder.encode(data);
+            if (spanMessage == null) {
+                throw new IllegalStateException("unsupported message " + data);
+            }
+            stream.onNext(spanMessage);
+        }
+    };
+
+    public SpanGrpcEncodedDataSender(String host, int port,
+                                     int executorQueueSize,
+                                     MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                                     GrpcSpanMessageEncoder spanMessageEncoder,
+                                     ReconnectExecutor reconnectExecutor,
+                                     ChannelFactory channelFactory,
+                                     StreamState failState) {
+        super(host, port, executorQueueSize, messageConverter, channelFactory);
+
+        this.spanMessageEncoder = Objects.requireNonNull(spanMessageEncoder, "spanMessageEncoder");
+        this.reconnectExecutor = Objects.requireNonNull(reconnectExecutor, "reconnectExecutor");
+        final Runnable reconnectJob = new NamedRunnable(this.id) {
+            @Override
+            public void run() {
+                startStream();
+            }
+        };
+        this.reconnector = reconnectExecutor.newReconnector(reconnectJob);
+        this.failState = Objects.requireNonNull(failState, "failState");
+        this.streamExecutorFactory = new StreamExecutorFactory<>(executor);
+
+        ClientStreamingProvider<byte[], Empty> clientStreamProvider = new ClientStreamingProvider<byte[], Empty>() {
+            @Override
+            public ClientCallStreamObserver<byte[]> newStream(ResponseStreamObserver<byte[], Empty> response) {
+                final ManagedChannel managedChannel = SpanGrpcEncodedDataSender.this.managedChannel;
+                String authority = managedChannel.authority();
+                final ConnectivityState state = managedChannel.getState(false);
+                SpanGrpcEncodedDataSender.this.logger.info("newStream {}/{} state:{} isShutdown:{} isTerminated:{}", id, authority, state, managedChannel.isShutdown(), managedChannel.isTerminated());
+
+                return (ClientCallStreamObserver<byte[]>) ClientCalls.asyncClientStreamingCall(
+                        managedChannel.newCall(SEND_SPAN_METHOD, CallOptions.DEFAULT), response);
+            }
+
+        };
+        this.clientStreamService = new ClientStreamingService<byte[], Empty>(clientStreamProvider, reconnector);
+        reconnectJob.run();
+    }
+
+    private static MethodDescriptor<byte[], Empty> newSendSpanMethod() {
+        final MethodDescriptor<?, Empty> sendSpanMethod = SpanGrpc.getSendSpanMethod();
+        return sendSpanMethod.toBuilder(ByteArrayMarshaller.INSTANCE, sendSpanMethod.getResponseMarshaller()).build();
+    }
+
+    private void startStream() {
+        try {
+            StreamTask<SpanType, byte[]> streamTask = new DefaultStreamTask<>(id, clientStreamService,
+                    this.streamExecutorFactory, this.queue, this.dispatcher, failState);
+            streamTask.start();
+            this.currentStreamTask = streamTask;
+        } catch (Throwable th) {
+            logger.error("startStream error", th);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (shutdown) {
+            return;
+        }
+        this.shutdown = true;
+
+        logger.info("Stop {}, channel={}", name, managedChannel);
+        final ReconnectExecutor reconnectExecutor = this.reconnectExecutor;
+        if (reconnectExecutor != null) {
+            reconnectExecutor.close();
+        }
+
+        final StreamTask<SpanType, byte[]> currentStreamTask = this.currentStreamTask;
+        if (currentStreamTask != null) {
+            currentStreamTask.stop();
+        }
+        logger.info("{} close()", id);
+        release();
+    }
+
+    @Override
+    public String toString() {
+        return "SpanGrpcEncodedDataSender{" +
+                "name='" + name + '\'' +
+                ", host='" + host + '\'' +
+                ", port=" + port +
+                ", spanMessageEncoder=" + spanMessageEncoder +
+                "} " + super.toString();
+    }
+
+}
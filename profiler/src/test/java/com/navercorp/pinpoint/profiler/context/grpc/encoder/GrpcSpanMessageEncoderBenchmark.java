@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bytes allocated and time spent per span, generated message builders vs {@link GrpcSpanMessageEncoder}.
+ * Requires a HotSpot JVM for the per thread allocation counter.
+ */
+@Disabled
+public class GrpcSpanMessageEncoderBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final String AGENT_ID = "agentId";
+    private static final int ROUNDS = 5;
+    private static final int WARMUP = 20_000;
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void spanEvent10() {
+        benchmark(10, 100_000);
+    }
+
+    @Test
+    public void spanEvent100() {
+        benchmark(100, 10_000);
+    }
+
+    @Test
+    public void spanEvent1000() {
+        benchmark(1000, 1_000);
+    }
+
+    private void benchmark(int spanEventSize, int iterations) {
+        final Span span = newSpan(spanEventSize);
+        final GrpcSpanMessageConverter converter = new GrpcSpanMessageConverter(AGENT_ID, (short) 1010, new GrpcSpanProcessorV2());
+        final GrpcSpanMessageEncoder encoder = new GrpcSpanMessageEncoder(AGENT_ID, (short) 1010);
+
+        final Runnable builder = () -> {
+            final PSpan pSpan = (PSpan) converter.toMessage(span);
+            PSpanMessage.newBuilder().setSpan(pSpan).build().toByteArray();
+        };
+        final Runnable encode = () -> encoder.encode(span);
+        execute(builder, WARMUP);
+        execute(encode, WARMUP);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final long[] builderResult = execute(builder, iterations);
+            final long[] encodeResult = execute(encode, iterations);
+            logger.info("spanEvent:{} builder:{}B/op {}ns/op encoder:{}B/op {}ns/op", spanEventSize,
+                    builderResult[0] / iterations, builderResult[1] / iterations,
+                    encodeResult[0] / iterations, encodeResult[1] / iterations);
+        }
+    }
+
+    private long[] execute(Runnable job, int iterations) {
+        final long threadId = Thread.currentThread().getId();
+        final long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            job.run();
+        }
+        final long time = System.nanoTime() - startTime;
+        final long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+        return new long[]{bytes, time};
+    }
+
+    private Span newSpan(int spanEventSize) {
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, 1600000000000L, 123, 55, -77, (short) 0);
+        final Span span = new Span(new DefaultTraceRoot(traceId, AGENT_ID, 1600000000100L, 9));
+        span.setStartTime(1600000000100L);
+        span.setElapsedTime(250);
+        span.setServiceType((short) 1010);
+        span.setApiId(10);
+        span.setRemoteAddr("127.0.0.1");
+        span.addAnnotation(Annotations.of(40, "http://localhost/api/members"));
+
+        final List<SpanEvent> spanEventList = new ArrayList<>(spanEventSize);
+        for (int i = 0; i < spanEventSize; i++) {
+            final SpanEvent spanEvent = new SpanEvent();
+            spanEvent.setSequence(i);
+            spanEvent.setDepth(2 + i % 3);
+            spanEvent.setStartTime(1600000000100L + i);
+            spanEvent.setElapsedTime(1);
+            spanEvent.setServiceType((short) 2101);
+            spanEvent.setApiId(100 + i % 20);
+            spanEvent.addAnnotation(Annotations.of(12, "select * from member where id = ?"));
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        return span;
+    }
+}
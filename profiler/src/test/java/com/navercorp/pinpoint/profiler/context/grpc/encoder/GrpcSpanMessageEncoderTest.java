@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.profiler.context.DefaultAsyncId;
+import com.navercorp.pinpoint.profiler.context.DefaultAsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultLocalAsyncId;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class GrpcSpanMessageEncoderTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final short APPLICATION_SERVICE_TYPE = 1010;
+
+    private final GrpcSpanMessageConverter converter = new GrpcSpanMessageConverter(AGENT_ID, APPLICATION_SERVICE_TYPE, new GrpcSpanProcessorV2());
+    private final GrpcSpanMessageEncoder encoder = new GrpcSpanMessageEncoder(AGENT_ID, APPLICATION_SERVICE_TYPE);
+
+    @Test
+    public void encodeSpan() {
+        Span span = newSpan(AGENT_ID);
+        span.setSpanEventList(newSpanEventList(span.getStartTime(), 10));
+
+        assertSpan(span);
+    }
+
+    @Test
+    public void encodeSpan_noSpanEvent() {
+        Span span = newSpan(AGENT_ID);
+
+        assertSpan(span);
+    }
+
+    @Test
+    public void encodeSpan_defaultValue() {
+        TraceId traceId = new DefaultTraceId(AGENT_ID, 0, 0);
+        Span span = new Span(new DefaultTraceRoot(traceId, AGENT_ID, 0, 0));
+
+        assertSpan(span);
+    }
+
+    @Test
+    public void encodeSpan_uncompressedAgentId() {
+        Span span = newSpan("remoteAgentId");
+        span.setSpanEventList(newSpanEventList(span.getStartTime(), 3));
+
+        assertSpan(span);
+    }
+
+    @Test
+    public void encodeSpan_reuse() {
+        Span large = newSpan(AGENT_ID);
+        large.setSpanEventList(newSpanEventList(large.getStartTime(), 200));
+        assertSpan(large);
+
+        Span small = newSpan(AGENT_ID);
+        small.setSpanEventList(newSpanEventList(small.getStartTime(), 2));
+        assertSpan(small);
+    }
+
+    @Test
+    public void encodeSpanChunk() {
+        TraceRoot traceRoot = newTraceRoot(AGENT_ID);
+        SpanChunk spanChunk = new DefaultSpanChunk(traceRoot, newSpanEventList(1000, 10));
+
+        assertSpanChunk(spanChunk);
+    }
+
+    @Test
+    public void encodeAsyncSpanChunk() {
+        TraceRoot traceRoot = newTraceRoot(AGENT_ID);
+        SpanChunk spanChunk = new DefaultAsyncSpanChunk(traceRoot, newSpanEventList(1000, 5), new DefaultLocalAsyncId(7, 3));
+
+        assertSpanChunk(spanChunk);
+    }
+
+    @Test
+    public void encodeSpanChunk_empty() {
+        TraceRoot traceRoot = newTraceRoot(AGENT_ID);
+        SpanChunk spanChunk = new DefaultSpanChunk(traceRoot, new ArrayList<>());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> encoder.encode(spanChunk));
+    }
+
+    private void assertSpan(Span span) {
+        byte[] actual = encoder.encode(span);
+
+        PSpan pSpan = (PSpan) converter.toMessage(span);
+        byte[] expected = PSpanMessage.newBuilder().setSpan(pSpan).build().toByteArray();
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    private void assertSpanChunk(SpanChunk spanChunk) {
+        byte[] actual = encoder.encode(spanChunk);
+
+        GeneratedMessageV3 message = converter.toMessage(spanChunk);
+        byte[] expected = PSpanMessage.newBuilder().setSpanChunk((PSpanChunk) message).build().toByteArray();
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    private TraceRoot newTraceRoot(String agentId) {
+        TraceId traceId = new DefaultTraceId(agentId, 1600000000000L, 123, 55, -77, (short) 1);
+        TraceRoot traceRoot = new DefaultTraceRoot(traceId, AGENT_ID, 1600000000100L, 9);
+        traceRoot.getShared().setRpcName("/rpc");
+        traceRoot.getShared().setEndPoint("localhost:8080");
+        traceRoot.getShared().maskErrorCode(1);
+        traceRoot.getShared().setLoggingInfo((byte) 1);
+        return traceRoot;
+    }
+
+    private Span newSpan(String agentId) {
+        Span span = new Span(newTraceRoot(agentId));
+        span.setStartTime(1600000000100L);
+        span.setElapsedTime(250);
+        span.setServiceType((short) 1010);
+        span.setApiId(-3);
+        span.setRemoteAddr("127.0.0.1");
+        span.setParentApplicationName("parent");
+        span.setParentApplicationType((short) 1000);
+        span.setAcceptorHost("acceptor");
+        span.setExceptionInfo(5, "error");
+        span.addAnnotation(Annotations.of(40, "http://localhost/"));
+        span.addAnnotation(Annotations.of(46, 200));
+        return span;
+    }
+
+    private List<SpanEvent> newSpanEventList(long startTime, int size) {
+        List<SpanEvent> spanEventList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SpanEvent spanEvent = new SpanEvent();
+            spanEvent.setSequence(i);
+            spanEvent.setDepth(i % 3 == 0 ? i : i - 1);
+            spanEvent.setStartTime(startTime + i * 3);
+            spanEvent.setElapsedTime(i % 2);
+            spanEvent.setServiceType((short) 5000);
+            spanEvent.setApiId(-(i + 10));
+            if (i % 4 == 1) {
+                spanEvent.setEndPoint("remote:" + i);
+                spanEvent.setDestinationId("destination");
+                spanEvent.setNextSpanId(1000 + i);
+            }
+            if (i % 4 == 2) {
+                spanEvent.setAsyncIdObject(new DefaultAsyncId(i));
+            }
+            if (i % 5 == 3) {
+                spanEvent.setExceptionInfo(i, i % 2 == 0 ? "" : null);
+            }
+            spanEvent.addAnnotation(Annotations.of(12, "arg" + i));
+            spanEvent.addAnnotation(Annotations.of(13));
+            spanEventList.add(spanEvent);
+        }
+        // sorted by the encoder
+        Collections.reverse(spanEventList);
+        return spanEventList;
+    }
+}
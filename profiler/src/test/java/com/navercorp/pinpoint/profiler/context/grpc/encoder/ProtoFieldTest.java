@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.OneofDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.StringValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.BOOLEAN;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.INT;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.LONG;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.STRING;
+
+public class ProtoFieldTest {
+
+    private static Descriptors.Descriptor sample;
+    private static Descriptors.Descriptor nested;
+
+    @BeforeAll
+    public static void beforeAll() throws Descriptors.DescriptorValidationException {
+        DescriptorProto nestedProto = DescriptorProto.newBuilder()
+                .setName("Nested")
+                .addField(field("value", 1, FieldDescriptorProto.Type.TYPE_INT64))
+                .build();
+        DescriptorProto sampleProto = DescriptorProto.newBuilder()
+                .setName("Sample")
+                .addField(field("int_value", 1, FieldDescriptorProto.Type.TYPE_INT32))
+                .addField(field("sint_value", 2, FieldDescriptorProto.Type.TYPE_SINT32))
+                .addField(field("sfixed_value", 3, FieldDescriptorProto.Type.TYPE_SFIXED64))
+                .addField(field("long_value", 4, FieldDescriptorProto.Type.TYPE_INT64))
+                .addField(field("string_value", 5, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("bool_value", 6, FieldDescriptorProto.Type.TYPE_BOOL))
+                .addField(field("nested", 7, FieldDescriptorProto.Type.TYPE_MESSAGE).setTypeName(".test.Nested"))
+                .addField(field("nested_list", 8, FieldDescriptorProto.Type.TYPE_MESSAGE).setTypeName(".test.Nested")
+                        .setLabel(FieldDescriptorProto.Label.LABEL_REPEATED))
+                .addField(field("one_int", 9, FieldDescriptorProto.Type.TYPE_INT32).setOneofIndex(0))
+                .addField(field("uint_value", 20, FieldDescriptorProto.Type.TYPE_UINT32))
+                .addOneofDecl(OneofDescriptorProto.newBuilder().setName("choice"))
+                .build();
+        FileDescriptorProto fileProto = FileDescriptorProto.newBuilder()
+                .setName("test.proto")
+                .setPackage("test")
+                .setSyntax("proto3")
+                .addMessageType(nestedProto)
+                .addMessageType(sampleProto)
+                .build();
+        Descriptors.FileDescriptor file = Descriptors.FileDescriptor.buildFrom(fileProto, new Descriptors.FileDescriptor[0]);
+        sample = file.findMessageTypeByName("Sample");
+        nested = file.findMessageTypeByName("Nested");
+    }
+
+    private static FieldDescriptorProto.Builder field(String name, int number, FieldDescriptorProto.Type type) {
+        return FieldDescriptorProto.newBuilder()
+                .setName(name)
+                .setNumber(number)
+                .setType(type)
+                .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL);
+    }
+
+    @Test
+    public void encode() throws IOException {
+        assertEncode(-3, -5, -7L, Long.MAX_VALUE, "pinpoint", true, 11L, 0, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void encode_defaultValue() throws IOException {
+        // default values are skipped, except for oneof fields
+        assertEncode(0, 0, 0L, 0L, "", false, 0L, 0, 0);
+    }
+
+    @Test
+    public void encode_negativeUnsigned() throws IOException {
+        assertEncode(Integer.MIN_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, "\uD55C\uAE00", true, -1L, -1, -1);
+    }
+
+    private void assertEncode(int intValue, int sintValue, long sfixedValue, long longValue, String stringValue,
+                              boolean boolValue, long nestedValue, int oneInt, int uintValue) throws IOException {
+        DynamicMessage nestedMessage = DynamicMessage.newBuilder(nested)
+                .setField(nested.findFieldByName("value"), nestedValue)
+                .build();
+        DynamicMessage.Builder builder = DynamicMessage.newBuilder(sample)
+                .setField(sample.findFieldByName("int_value"), intValue)
+                .setField(sample.findFieldByName("sint_value"), sintValue)
+                .setField(sample.findFieldByName("sfixed_value"), sfixedValue)
+                .setField(sample.findFieldByName("long_value"), longValue)
+                .setField(sample.findFieldByName("string_value"), stringValue)
+                .setField(sample.findFieldByName("bool_value"), boolValue)
+                .setField(sample.findFieldByName("nested"), nestedMessage)
+                .addRepeatedField(sample.findFieldByName("nested_list"), nestedMessage)
+                .addRepeatedField(sample.findFieldByName("nested_list"), nestedMessage)
+                .setField(sample.findFieldByName("one_int"), oneInt)
+                .setField(sample.findFieldByName("uint_value"), uintValue);
+        byte[] expected = builder.build().toByteArray();
+
+        ProtoField[] fields = ProtoField.serializationOrder(
+                ProtoField.of(sample, "uintValue", INT, 9),
+                ProtoField.of(sample, "oneInt", INT, 8),
+                ProtoField.of(sample, "nestedList", MESSAGE, 7),
+                ProtoField.of(sample, "nested", MESSAGE, 6),
+                ProtoField.of(sample, "boolValue", BOOLEAN, 5),
+                ProtoField.of(sample, "stringValue", STRING, 4),
+                ProtoField.of(sample, "longValue", LONG, 3),
+                ProtoField.of(sample, "sfixedValue", LONG, 2),
+                ProtoField.of(sample, "sintValue", INT, 1),
+                ProtoField.of(sample, "intValue", INT, 0));
+        ProtoField nestedField = ProtoField.of(nested, "value", LONG, 0);
+
+        final int nestedSize = nestedField.computeLongSize(nestedValue);
+        int size = 0;
+        for (ProtoField field : fields) {
+            switch (field.getSlot()) {
+                case 0: size += field.computeIntSize(intValue); break;
+                case 1: size += field.computeIntSize(sintValue); break;
+                case 2: size += field.computeLongSize(sfixedValue); break;
+                case 3: size += field.computeLongSize(longValue); break;
+                case 4: size += field.computeStringSize(stringValue); break;
+                case 5: size += field.computeBoolSize(boolValue); break;
+                case 6: size += field.computeMessageSize(nestedSize); break;
+                case 7: size += field.computeMessageSize(nestedSize) * 2; break;
+                case 8: size += field.computeIntSize(oneInt); break;
+                case 9: size += field.computeIntSize(uintValue); break;
+                default: Assertions.fail("unknown slot");
+            }
+        }
+        Assertions.assertEquals(expected.length, size);
+
+        byte[] actual = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(actual);
+        for (ProtoField field : fields) {
+            switch (field.getSlot()) {
+                case 0: field.writeInt(out, intValue); break;
+                case 1: field.writeInt(out, sintValue); break;
+                case 2: field.writeLong(out, sfixedValue); break;
+                case 3: field.writeLong(out, longValue); break;
+                case 4: field.writeString(out, stringValue); break;
+                case 5: field.writeBool(out, boolValue); break;
+                case 6:
+                    field.writeMessageHeader(out, nestedSize);
+                    nestedField.writeLong(out, nestedValue);
+                    break;
+                case 7:
+                    for (int i = 0; i < 2; i++) {
+                        field.writeMessageHeader(out, nestedSize);
+                        nestedField.writeLong(out, nestedValue);
+                    }
+                    break;
+                case 8: field.writeInt(out, oneInt); break;
+                case 9: field.writeInt(out, uintValue); break;
+                default: Assertions.fail("unknown slot");
+            }
+        }
+        out.checkNoSpaceLeft();
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void writeMessage() throws IOException {
+        StringValue value = StringValue.of("test");
+        ProtoField messageField = ProtoField.of(sample, "nested", MESSAGE, 0);
+        byte[] actual = new byte[messageField.computeMessageSize(value)];
+        messageField.writeMessage(CodedOutputStream.newInstance(actual), value);
+
+        byte[] expected = new byte[CodedOutputStream.computeMessageSize(7, value)];
+        CodedOutputStream.newInstance(expected).writeMessage(7, value);
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void of_typeMismatch() {
+        Assertions.assertThrows(IllegalStateException.class, () -> ProtoField.of(sample, "intValue", LONG, 0));
+    }
+
+    @Test
+    public void of_notFound() {
+        Assertions.assertThrows(IllegalStateException.class, () -> ProtoField.of(sample, "unknown", INT, 0));
+    }
+
+    @Test
+    public void serializationOrder() {
+        ProtoField[] fields = ProtoField.serializationOrder(
+                ProtoField.of(sample, "uintValue", INT, 0),
+                ProtoField.of(sample, "intValue", INT, 1),
+                ProtoField.of(sample, "stringValue", STRING, 2));
+        Assertions.assertEquals(1, fields[0].getNumber());
+        Assertions.assertEquals(5, fields[1].getNumber());
+        Assertions.assertEquals(20, fields[2].getNumber());
+    }
+}
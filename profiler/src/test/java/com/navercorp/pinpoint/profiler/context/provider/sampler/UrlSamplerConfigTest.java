@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context.provider.sampler;
 
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfigLoader;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
 import com.navercorp.pinpoint.profiler.sampler.SamplerType;
 import org.junit.Test;
 
@@ -58,6 +59,21 @@ public class UrlSamplerConfigTest {
         assertTrue(urlInfo.isValid());
     }
 
+    @Test
+    public void adaptiveSampler() {
+        Properties properties = new Properties();
+        properties.setProperty("profiler.sampling.url.1.path", "/foo");
+        properties.setProperty("profiler.sampling.url.1.adaptive.target-throughput", "5");
+        properties.setProperty("profiler.sampling.url.1.counting.sampling-rate", "10");
+        ProfilerConfig profilerConfig = ProfilerConfigLoader.load(properties);
+
+        UrlSamplerConfig urlSamplerConfig = new UrlSamplerConfig(profilerConfig, SamplerType.ADAPTIVE);
+        List<Map.Entry<Integer, UrlSamplerInfo>> entryList = urlSamplerConfig.entryList();
+        UrlSamplerInfo urlInfo = entryList.get(0).getValue();
+        assertTrue(urlInfo.getSampler() instanceof AdaptiveSampler);
+        assertTrue(urlInfo.isValid());
+    }
+
     @Test
     public void notFoundSampler() {
         Properties properties = new Properties();
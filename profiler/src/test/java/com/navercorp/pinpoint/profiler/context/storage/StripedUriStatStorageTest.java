@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.AgentUriStatData;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.EachUriStatData;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.URIKey;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.UriStatHistogram;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.UriStatInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StripedUriStatStorageTest {
+
+    private static final int COLLECT_INTERVAL = 30000;
+
+    private static final String[] URI_EXAMPLES = {"/index.html", "/main", "/error", "/user/{id}", "/order/**"};
+
+    private final AtomicLong time = new AtomicLong(1_000_000);
+    private final Clock clock = Clock.tick(time::get, COLLECT_INTERVAL);
+
+    @Test
+    public void poll_intervalBoundary() {
+        StripedUriStatStorage storage = new StripedUriStatStorage(100, 4, clock);
+        storage.store("/main", true, 0, 10);
+        storage.store("/main", false, 0, 20);
+
+        Assertions.assertNull(storage.poll());
+
+        time.addAndGet(COLLECT_INTERVAL);
+        AgentUriStatData poll = storage.poll();
+        Assertions.assertNotNull(poll);
+        Assertions.assertEquals(clock.millis() - COLLECT_INTERVAL, poll.getBaseTimestamp());
+
+        Map.Entry<URIKey, EachUriStatData> entry = poll.getAllUriStatData().iterator().next();
+        Assertions.assertEquals(new URIKey("/main", poll.getBaseTimestamp()), entry.getKey());
+        UriStatHistogram total = entry.getValue().getTotalHistogram();
+        Assertions.assertEquals(2, total.getCount());
+        Assertions.assertEquals(30, total.getTotal());
+        Assertions.assertEquals(20, total.getMax());
+        Assertions.assertEquals(1, entry.getValue().getFailedHistogram().getCount());
+
+        Assertions.assertNull(storage.poll());
+    }
+
+    @Test
+    public void poll_rolledOverByRequestThread() {
+        StripedUriStatStorage storage = new StripedUriStatStorage(100, 1, clock);
+        storage.store("/main", true, 0, 10);
+        time.addAndGet(COLLECT_INTERVAL);
+        storage.store("/main", true, 0, 10);
+        storage.store("/error", false, 0, 10);
+        time.addAndGet(COLLECT_INTERVAL);
+
+        AgentUriStatData first = storage.poll();
+        AgentUriStatData second = storage.poll();
+        Assertions.assertNull(storage.poll());
+
+        Assertions.assertTrue(first.getBaseTimestamp() < second.getBaseTimestamp());
+        Assertions.assertEquals(1, first.getAllUriStatData().size());
+        Assertions.assertEquals(2, second.getAllUriStatData().size());
+    }
+
+    @Test
+    public void poll_multipleRollOversBetweenPolls() {
+        StripedUriStatStorage storage = new StripedUriStatStorage(100, 1, clock);
+        final long firstBaseTimestamp = clock.millis();
+        storage.store("/main", true, 0, 10);
+        time.addAndGet(COLLECT_INTERVAL);
+        storage.store("/main", true, 0, 20);
+        storage.store("/main", true, 0, 20);
+        time.addAndGet(COLLECT_INTERVAL);
+        storage.store("/main", true, 0, 30);
+        storage.store("/main", true, 0, 30);
+        storage.store("/main", true, 0, 30);
+        time.addAndGet(COLLECT_INTERVAL);
+
+        for (int i = 0; i < 3; i++) {
+            AgentUriStatData poll = storage.poll();
+            Assertions.assertNotNull(poll);
+            Assertions.assertEquals(firstBaseTimestamp + i * COLLECT_INTERVAL, poll.getBaseTimestamp());
+
+            UriStatHistogram total = sumByUri(poll).get("/main").getTotalHistogram();
+            Assertions.assertEquals(i + 1, total.getCount());
+            Assertions.assertEquals((i + 1) * (i + 1) * 10, total.getTotal());
+        }
+        Assertions.assertNull(storage.poll());
+    }
+
+    @Test
+    public void store_capacity() {
+        StripedUriStatStorage storage = new StripedUriStatStorage(2, 1, clock);
+        storage.store("/a", true, 0, 10);
+        storage.store("/b", true, 0, 10);
+        storage.store("/c", true, 0, 10);
+        storage.store("/a", true, 0, 10);
+
+        time.addAndGet(COLLECT_INTERVAL);
+        AgentUriStatData poll = storage.poll();
+        Assertions.assertEquals(2, poll.getAllUriStatData().size());
+        Assertions.assertEquals(3, sumByUri(poll).values().stream()
+                .mapToLong(data -> data.getTotalHistogram().getCount())
+                .sum());
+    }
+
+    @Test
+    public void totalsMatchQueuedStorage() throws InterruptedException {
+        final int threadCount = 4;
+        final int storeCount = 5000;
+        final List<UriStatInfo> uriStatInfoList = newUriStatInfoList(threadCount * storeCount);
+
+        StripedUriStatStorage storage = new StripedUriStatStorage(1000, threadCount, clock);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final List<UriStatInfo> partition = uriStatInfoList.subList(i * storeCount, (i + 1) * storeCount);
+            Thread thread = new Thread(() -> {
+                for (UriStatInfo info : partition) {
+                    storage.store(info.getUri(), info.isStatus(), info.getStartTime(), info.getEndTime());
+                }
+                latch.countDown();
+            });
+            thread.start();
+        }
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        time.addAndGet(COLLECT_INTERVAL);
+        Map<String, EachUriStatData> striped = sumByUri(storage.poll());
+        Assertions.assertNull(storage.poll());
+
+        AsyncQueueingUriStatStorage queuedStorage = new AsyncQueueingUriStatStorage(uriStatInfoList.size(), uriStatInfoList.size(), "Test-Executor", clock);
+        for (UriStatInfo info : uriStatInfoList) {
+            queuedStorage.store(info.getUri(), info.isStatus(), info.getStartTime(), info.getEndTime());
+        }
+        // close() flushes every queued record into the current interval before the executor thread exits
+        queuedStorage.close();
+        time.addAndGet(COLLECT_INTERVAL);
+        queuedStorage.pollTimeout(0);
+        Map<String, EachUriStatData> queued = new HashMap<>();
+        AgentUriStatData poll;
+        while ((poll = queuedStorage.poll()) != null) {
+            mergeByUri(poll, queued);
+        }
+
+        Assertions.assertEquals(queued.keySet(), striped.keySet());
+        for (Map.Entry<String, EachUriStatData> entry : queued.entrySet()) {
+            EachUriStatData expected = entry.getValue();
+            EachUriStatData actual = striped.get(entry.getKey());
+            assertHistogram(expected.getTotalHistogram(), actual.getTotalHistogram());
+            assertHistogram(expected.getFailedHistogram(), actual.getFailedHistogram());
+        }
+    }
+
+    private List<UriStatInfo> newUriStatInfoList(int size) {
+        final Random random = new Random(1);
+        final long now = System.currentTimeMillis();
+        final List<UriStatInfo> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String uri = URI_EXAMPLES[random.nextInt(URI_EXAMPLES.length)];
+            list.add(new UriStatInfo(uri, random.nextBoolean(), now - random.nextInt(10000), now));
+        }
+        return list;
+    }
+
+    private Map<String, EachUriStatData> sumByUri(AgentUriStatData agentUriStatData) {
+        Assertions.assertNotNull(agentUriStatData);
+        return mergeByUri(agentUriStatData, new HashMap<>());
+    }
+
+    private Map<String, EachUriStatData> mergeByUri(AgentUriStatData agentUriStatData, Map<String, EachUriStatData> result) {
+        for (Map.Entry<URIKey, EachUriStatData> entry : agentUriStatData.getAllUriStatData()) {
+            String uri = entry.getKey().getUri();
+            result.computeIfAbsent(uri, EachUriStatData::new).merge(entry.getValue());
+        }
+        return result;
+    }
+
+    private void assertHistogram(UriStatHistogram expected, UriStatHistogram actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        Assertions.assertEquals(expected.getTotal(), actual.getTotal());
+        Assertions.assertEquals(expected.getMax(), actual.getMax());
+        Assertions.assertArrayEquals(expected.getTimestampHistogram(), actual.getTimestampHistogram());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.AgentUriStatData;
+import com.navercorp.pinpoint.profiler.monitor.metric.uri.EachUriStatData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link UriStatStorage#store(String, boolean, long, long)} cost on the request thread,
+ * {@link AsyncQueueingUriStatStorage} vs {@link StripedUriStatStorage}.
+ */
+@Disabled
+public class UriStatStorageBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int[] THREADS = {1, 4};
+    private static final int STORES_PER_THREAD = 1_000_000;
+    private static final int COLLECT_INTERVAL = 1000;
+    private static final int LIMIT_SIZE = 1000;
+
+    private static final String[] URIS = {"/index.html", "/main", "/error", "/user/{id}", "/order/**", "/api/v1/**"};
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        final Function<Integer, UriStatStorage> queued = threads -> new AsyncQueueingUriStatStorage(5192, LIMIT_SIZE, "Benchmark-Executor", COLLECT_INTERVAL);
+        final Function<Integer, UriStatStorage> striped = threads -> new StripedUriStatStorage(LIMIT_SIZE, threads, Clock.tick(COLLECT_INTERVAL));
+
+        // warm up
+        run(queued, THREADS[0]);
+        run(striped, THREADS[0]);
+
+        for (int threads : THREADS) {
+            logger.info("threads:{} queued {}", threads, run(queued, threads));
+            logger.info("threads:{} striped {}", threads, run(striped, threads));
+        }
+    }
+
+    private String run(Function<Integer, UriStatStorage> storageFactory, int threads) throws InterruptedException {
+        try (UriStatStorage storage = storageFactory.apply(threads)) {
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch end = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                Thread thread = new Thread(() -> {
+                    Uninterruptibles.awaitUninterruptibly(start);
+                    for (int j = 0; j < STORES_PER_THREAD; j++) {
+                        final long endTime = System.currentTimeMillis();
+                        storage.store(URIS[j % URIS.length], (j & 7) != 0, endTime - (j & 1023), endTime);
+                    }
+                    end.countDown();
+                });
+                thread.start();
+            }
+
+            final long startTime = System.nanoTime();
+            start.countDown();
+            long recorded = 0;
+            // collecting job, drained often enough that no snapshot is discarded
+            while (!end.await(100, TimeUnit.MILLISECONDS)) {
+                recorded += drain(storage);
+            }
+            final long elapsed = System.nanoTime() - startTime;
+
+            // let the last interval complete
+            Uninterruptibles.sleepUninterruptibly(COLLECT_INTERVAL * 2, TimeUnit.MILLISECONDS);
+            if (storage instanceof AsyncQueueingUriStatStorage) {
+                ((AsyncQueueingUriStatStorage) storage).pollTimeout(COLLECT_INTERVAL);
+            }
+            recorded += drain(storage);
+
+            final long stores = (long) threads * STORES_PER_THREAD;
+            return (elapsed / stores) + "ns/op recorded:" + recorded + "/" + stores;
+        }
+    }
+
+    private long drain(UriStatStorage storage) {
+        long recorded = 0;
+        AgentUriStatData poll;
+        while ((poll = storage.poll()) != null) {
+            for (Map.Entry<?, EachUriStatData> entry : poll.getAllUriStatData()) {
+                recorded += entry.getValue().getTotalHistogram().getCount();
+            }
+        }
+        return recorded;
+    }
+}
@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -147,7 +148,7 @@ public class ASMClassNodeLoader {
                     ClassNode classNode = loader.get(JavaAssistUtils.javaNameToJvmName(name));
                     if (this.trace) {
                         logger.debug("## original #############################################################");
-                        ASMClassWriter cw = new ASMClassWriter(loader.pluginContext, 0, null);
+                        ASMClassWriter cw = new ASMClassWriter(loader.pluginContext, 0, null, new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
                         TraceClassVisitor tcv = new TraceClassVisitor(cw, new PrintWriter(System.out));
                         classNode.accept(tcv);
                     }
@@ -156,7 +157,7 @@ public class ASMClassNodeLoader {
                         callbackHandler.handle(classNode);
                     }
 
-                    ASMClassWriter cw = new ASMClassWriter(loader.pluginContext, ClassWriter.COMPUTE_FRAMES, null);
+                    ASMClassWriter cw = new ASMClassWriter(loader.pluginContext, ClassWriter.COMPUTE_FRAMES, null, new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
                     if (this.trace) {
                         logger.debug("## modified #############################################################");
                         TraceClassVisitor tcv = new TraceClassVisitor(cw, new PrintWriter(System.out));
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.instrument.ClassInputStreamProvider;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * {@link ASMClassWriter#getCommonSuperClass(String, String)} cost over a synthetic class graph,
+ * with metadata cached per transformation vs shared across transformations.
+ */
+@Disabled
+public class ASMClassWriterBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int INTERFACES = 50;
+    private static final int CLASS_CHAINS = 200;
+    private static final int CHAIN_DEPTH = 10;
+    private static final int TRANSFORMATIONS = 2000;
+    private static final int FRAMES_PER_TRANSFORMATION = 20;
+
+    private final Map<String, byte[]> classFiles = new HashMap<>();
+    private final ClassInputStreamProvider provider = (classLoader, classPath) -> {
+        final byte[] bytes = classFiles.get(classPath);
+        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    };
+
+    @Test
+    public void benchmark() {
+        buildClassGraph();
+        final ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+        final ClassMetadataCache sharedCache = new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE);
+        final Supplier<ClassMetadataCache> perTransformation = () -> new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE);
+        final Supplier<ClassMetadataCache> shared = () -> sharedCache;
+
+        // warm up
+        run(classLoader, perTransformation);
+
+        logger.info("per transformation {}ms", run(classLoader, perTransformation));
+        logger.info("shared {}ms {}", run(classLoader, shared), sharedCache);
+    }
+
+    private long run(ClassLoader classLoader, Supplier<ClassMetadataCache> cacheSupplier) {
+        final Random random = new Random(0);
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < TRANSFORMATIONS; i++) {
+            final ASMClassWriter classWriter = new ASMClassWriter(provider, ClassWriter.COMPUTE_FRAMES, classLoader, cacheSupplier.get());
+            for (int j = 0; j < FRAMES_PER_TRANSFORMATION; j++) {
+                final String type1 = randomType(random);
+                final String type2 = randomType(random);
+                classWriter.getCommonSuperClass(type1, type2);
+            }
+        }
+        return (System.nanoTime() - startTime) / 1000000;
+    }
+
+    private String randomType(Random random) {
+        if (random.nextInt(4) == 0) {
+            return interfaceName(random.nextInt(INTERFACES));
+        }
+        return className(random.nextInt(CLASS_CHAINS), random.nextInt(CHAIN_DEPTH));
+    }
+
+    private void buildClassGraph() {
+        for (int i = 0; i < INTERFACES; i++) {
+            final String[] superInterfaces = i == 0 ? new String[0] : new String[]{interfaceName(i / 2)};
+            define(interfaceName(i), Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, "java/lang/Object", superInterfaces);
+        }
+        for (int chain = 0; chain < CLASS_CHAINS; chain++) {
+            for (int depth = 0; depth < CHAIN_DEPTH; depth++) {
+                final String superName = depth == 0 ? "java/lang/Object" : className(chain, depth - 1);
+                final String[] interfaces = {interfaceName((chain + depth) % INTERFACES)};
+                define(className(chain, depth), Opcodes.ACC_PUBLIC, superName, interfaces);
+            }
+        }
+    }
+
+    private void define(String internalName, int access, String superName, String[] interfaces) {
+        final ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_8, access, internalName, null, superName, interfaces);
+        classWriter.visitEnd();
+        classFiles.put(internalName + ".class", classWriter.toByteArray());
+    }
+
+    private static String interfaceName(int index) {
+        return "bench/I" + index;
+    }
+
+    private static String className(int chain, int depth) {
+        return "bench/C" + chain + "_" + depth;
+    }
+}
@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,8 +29,11 @@ import org.objectweb.asm.util.TraceClassVisitor;
 import java.io.InputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -74,14 +78,14 @@ public class ASMClassWriterTest {
         final String className = "com.navercorp.pinpoint.profiler.instrument.mock.SampleClass";
         ClassNode classNode = loader.get(JavaAssistUtils.javaNameToJvmName(className));
 
-        ASMClassWriter cw = new ASMClassWriter(pluginContext, 0, null);
+        ASMClassWriter cw = newClassWriter();
         TraceClassVisitor tcv = new TraceClassVisitor(cw, null);
         classNode.accept(tcv);
     }
 
     @Test
     public void getCommonSuperClass() {
-        ASMClassWriter cw = new ASMClassWriter(pluginContext, 0, null);
+        ASMClassWriter cw = newClassWriter();
         // java/lang/object.
         assertEquals("java/lang/Object", cw.getCommonSuperClass("java/util/Iterator", "java/lang/Object"));
         assertEquals("java/lang/Object", cw.getCommonSuperClass("java/lang/Object", "java/lang/String"));
@@ -186,8 +190,30 @@ public class ASMClassWriterTest {
         assertCommonSuperClass("com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$L", "com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$L", "com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$M");
     }
 
+    @Test
+    public void getCommonSuperClassFromCache() {
+        final ClassMetadataCache classMetadataCache = new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE);
+        final String classE = "com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$E";
+        final String classF = "com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$F";
+
+        ASMClassWriter cw1 = new ASMClassWriter(pluginContext, 0, null, classMetadataCache);
+        assertEquals("com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$A", cw1.getCommonSuperClass(classE, classF));
+        final long missCount = classMetadataCache.getMissCount();
+
+        // another transformation in the same classloader.
+        ASMClassWriter cw2 = new ASMClassWriter(pluginContext, 0, null, classMetadataCache);
+        assertEquals("com/navercorp/pinpoint/profiler/instrument/ASMClassWriterTest$A", cw2.getCommonSuperClass(classF, classE));
+        assertEquals(missCount, classMetadataCache.getMissCount());
+        assertTrue(classMetadataCache.getHitCount() > 0);
+        verify(pluginContext, times((int) missCount)).getResourceAsStream(ArgumentMatchers.isNull(), anyString());
+    }
+
+    private ASMClassWriter newClassWriter() {
+        return new ASMClassWriter(pluginContext, 0, null, new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
+    }
+
     void assertCommonSuperClass(final String superClassInternalName, final String classInternalName1, final String classInternalName2) {
-        ASMClassWriter cw = new ASMClassWriter(pluginContext, 0, null);
+        ASMClassWriter cw = newClassWriter();
         assertEquals(superClassInternalName, cw.getCommonSuperClass(classInternalName1, classInternalName2));
         // reverse
         assertEquals(superClassInternalName, cw.getCommonSuperClass(classInternalName2, classInternalName1));
@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.mock.ArgsArrayInterceptor;
 import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
@@ -35,6 +36,7 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ASMMethodNodeAdapterTestMain {
     private final InterceptorRegistryBinder interceptorRegistryBinder = new DefaultInterceptorRegistryBinder();
@@ -92,6 +94,7 @@ public class ASMMethodNodeAdapterTestMain {
 
         final String classInternalName = JavaAssistUtils.jvmNameToJavaName(className);
         final ASMClassNodeLoader loader = new ASMClassNodeLoader();
+        final ClassMetadataCache classMetadataCache = new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE);
         ClassLoader classLoader = new ClassLoader() {
             @Override
             public Class<?> loadClass(String name) throws ClassNotFoundException {
@@ -99,6 +102,7 @@ public class ASMMethodNodeAdapterTestMain {
                     try {
                         ClassNode classNode = loader.get(JavaAssistUtils.javaNameToJvmName(name));
                         EngineComponent engineComponent = mock(DefaultEngineComponent.class);
+                        when(engineComponent.getClassMetadataCache()).thenReturn(classMetadataCache);
                         ASMClass asmClass = new ASMClass(engineComponent, null, null, null, classNode);
                         if (asmClass.isInterceptable()) {
                             for (InstrumentMethod method : asmClass.getDeclaredMethods()) {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ClassMetadataCacheTest {
+
+    @Test
+    public void getAndPut() {
+        ClassMetadataCache cache = new ClassMetadataCache(16);
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        InternalClassMetadata classMetadata = newClassMetadata("foo/Bar");
+
+        assertNull(cache.get(classLoader, "foo/Bar"));
+        cache.put(classLoader, classMetadata);
+        assertSame(classMetadata, cache.get(classLoader, "foo/Bar"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void separateClassLoader() {
+        ClassMetadataCache cache = new ClassMetadataCache(16);
+        ClassLoader classLoader1 = new URLClassLoader(new URL[0]);
+        ClassLoader classLoader2 = new URLClassLoader(new URL[0]);
+
+        cache.put(classLoader1, newClassMetadata("foo/Bar"));
+        cache.put(null, newClassMetadata("java/lang/Baz"));
+
+        assertNull(cache.get(classLoader2, "foo/Bar"));
+        assertNull(cache.get(null, "foo/Bar"));
+        assertNull(cache.get(classLoader1, "java/lang/Baz"));
+        assertEquals("java/lang/Baz", cache.get(null, "java/lang/Baz").getClassInternalName());
+    }
+
+    @Test
+    public void maxEntrySize() {
+        ClassMetadataCache cache = new ClassMetadataCache(2);
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+        cache.put(classLoader, newClassMetadata("foo/A"));
+        cache.put(classLoader, newClassMetadata("foo/B"));
+        cache.put(classLoader, newClassMetadata("foo/C"));
+
+        assertEquals("foo/A", cache.get(classLoader, "foo/A").getClassInternalName());
+        assertEquals("foo/B", cache.get(classLoader, "foo/B").getClassInternalName());
+        assertNull(cache.get(classLoader, "foo/C"));
+        assertEquals(1, cache.getRejectCount());
+    }
+
+    private InternalClassMetadata newClassMetadata(String classInternalName) {
+        return new DefaultInternalClassMetadata(classInternalName, "java/lang/Object", Collections.emptyList(), Collections.emptyList(), false, false, false, false);
+    }
+}
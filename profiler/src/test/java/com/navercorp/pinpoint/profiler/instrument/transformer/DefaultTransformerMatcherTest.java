@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.InterfaceInte
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.PackageInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.SuperClassInternalNameMatcherOperand;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import com.navercorp.pinpoint.profiler.instrument.config.DefaultInstrumentMatcherCacheConfig;
@@ -46,7 +47,7 @@ public class DefaultTransformerMatcherTest {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 
         InstrumentMatcherCacheConfig config = new DefaultInstrumentMatcherCacheConfig();
-        TransformerMatcher matcher = new DefaultTransformerMatcher(config);
+        TransformerMatcher matcher = new DefaultTransformerMatcher(config, new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
         InternalClassMetadata stringClassMetadata = readClassMetadata(classLoader, String.class.getName());
         InternalClassMetadata threadClassMetadata = readClassMetadata(classLoader, Thread.class.getName());
         InternalClassMetadata inputStreamClassMetadata = readClassMetadata(classLoader, InputStream.class.getName());
@@ -134,7 +135,7 @@ public class DefaultTransformerMatcherTest {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 
         InstrumentMatcherCacheConfig config = new DefaultInstrumentMatcherCacheConfig();
-        TransformerMatcher matcher = new DefaultTransformerMatcher(config);
+        TransformerMatcher matcher = new DefaultTransformerMatcher(config, new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
         boolean result = false;
 
         InternalClassMetadata stringClassMetadata = readClassMetadata(classLoader, String.class.getName());
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileTransformerDecisionCacheTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void reload() {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0[a, b]");
+        assertFalse(cache.isNotMatched("com/foo/Bar", hash));
+        cache.notMatched("com/foo/Bar", hash);
+        assertTrue(cache.isNotMatched("com/foo/Bar", hash));
+        cache.flush();
+        assertTrue(cache.getFile().isFile());
+
+        FileTransformerDecisionCache reloaded = new FileTransformerDecisionCache(directory, "1.0.0[a, b]");
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.isNotMatched("com/foo/Bar", hash));
+    }
+
+    @Test
+    public void staleClassFile() {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+        final long changed = TransformerDecisionCache.classFileHash("bar".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(hash, changed);
+
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0[a, b]");
+        cache.notMatched("com/foo/Bar", hash);
+        cache.flush();
+
+        FileTransformerDecisionCache reloaded = new FileTransformerDecisionCache(directory, "1.0.0[a, b]");
+        assertFalse(reloaded.isNotMatched("com/foo/Bar", changed));
+        reloaded.notMatched("com/foo/Bar", changed);
+        assertTrue(reloaded.isNotMatched("com/foo/Bar", changed));
+        assertFalse(reloaded.isNotMatched("com/foo/Bar", hash));
+    }
+
+    @Test
+    public void differentFingerprint() {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0[a, b]");
+        cache.notMatched("com/foo/Bar", hash);
+        cache.flush();
+
+        FileTransformerDecisionCache newPlugin = new FileTransformerDecisionCache(directory, "1.0.0[a, b, c]");
+        assertNotEquals(cache.getFile(), newPlugin.getFile());
+        assertEquals(0, newPlugin.size());
+        assertFalse(newPlugin.isNotMatched("com/foo/Bar", hash));
+    }
+
+    @Test
+    public void notMatched_noFlushOnCallerThread() {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0", 0);
+        cache.notMatched("com/foo/Bar", hash);
+        assertFalse(cache.getFile().exists());
+    }
+
+    @Test
+    public void stop_flushPending() {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+
+        // shorter than the flush interval, e.g. a quick startup followed by shutdown
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0", Long.MAX_VALUE);
+        cache.start();
+        cache.notMatched("com/foo/Bar", hash);
+        assertFalse(cache.getFile().exists());
+        cache.stop();
+        assertTrue(cache.getFile().isFile());
+
+        FileTransformerDecisionCache reloaded = new FileTransformerDecisionCache(directory, "1.0.0");
+        assertTrue(reloaded.isNotMatched("com/foo/Bar", hash));
+    }
+
+    @Test
+    public void start_periodicFlush() throws InterruptedException {
+        final long hash = TransformerDecisionCache.classFileHash("foo".getBytes(StandardCharsets.UTF_8));
+
+        FileTransformerDecisionCache cache = new FileTransformerDecisionCache(directory, "1.0.0", 10);
+        cache.start();
+        try {
+            cache.notMatched("com/foo/Bar", hash);
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (!cache.getFile().isFile() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(cache.getFile().isFile());
+        } finally {
+            cache.stop();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
+import com.navercorp.pinpoint.profiler.instrument.config.DefaultInstrumentMatcherCacheConfig;
+import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link MatchableTransformerRegistry#findTransformer(ClassLoader, String, byte[])} cost at startup,
+ * ~50k loaded classes of which only a few have a transformer.
+ */
+@Disabled
+public class MatchableTransformerRegistryBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int PLUGIN_PACKAGES = 300;
+    private static final int PLUGIN_CLASSES = 300;
+    private static final int LOADED_PACKAGES = 2500;
+    private static final int CLASSES_PER_PACKAGE = 20;
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void benchmark() {
+        final List<MatchableClassFileTransformer> transformers = new ArrayList<>();
+        final Map<String, Boolean> packageNameBasedIndex = new TreeMap<>();
+        for (int i = 0; i < PLUGIN_PACKAGES; i++) {
+            final String packageName = "com.vendor" + i + ".client";
+            transformers.add(new NoopTransformer(Matchers.newPackageBasedMatcher(packageName)));
+            packageNameBasedIndex.put(packageName.replace('.', '/'), Boolean.TRUE);
+        }
+        for (int i = 0; i < PLUGIN_CLASSES; i++) {
+            transformers.add(new NoopTransformer(Matchers.newClassBasedMatcher("org.framework" + i + ".Dispatcher")));
+        }
+        final MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), transformers,
+                new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
+
+        final String[] loadedClasses = new String[LOADED_PACKAGES * CLASSES_PER_PACKAGE];
+        int index = 0;
+        for (int i = 0; i < LOADED_PACKAGES; i++) {
+            for (int j = 0; j < CLASSES_PER_PACKAGE; j++) {
+                loadedClasses[index++] = "com/application/module" + i + "/service/Service" + j;
+            }
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            int found = 0;
+            for (String classInternalName : loadedClasses) {
+                if (registry.findTransformer(classLoader, classInternalName, null) != null) {
+                    found++;
+                }
+            }
+            final long registryTime = System.nanoTime() - startTime;
+
+            // package index scan of the previous implementation.
+            startTime = System.nanoTime();
+            for (String classInternalName : loadedClasses) {
+                for (String packageInternalName : packageNameBasedIndex.keySet()) {
+                    if (classInternalName.startsWith(packageInternalName)) {
+                        found++;
+                    }
+                }
+            }
+            final long scanTime = System.nanoTime() - startTime;
+
+            logger.info("classes:{} found:{} registry:{}ns/class treeMapScan:{}ns/class", loadedClasses.length, found,
+                    registryTime / loadedClasses.length, scanTime / loadedClasses.length);
+        }
+    }
+
+    private static class NoopTransformer implements MatchableClassFileTransformer {
+        private final Matcher matcher;
+
+        private NoopTransformer(Matcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public Matcher getMatcher() {
+            return matcher;
+        }
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            return null;
+        }
+    }
+}
@@ -18,7 +18,9 @@ package com.navercorp.pinpoint.profiler.instrument.transformer;
 
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.InterfaceInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
 import com.navercorp.pinpoint.profiler.instrument.config.DefaultInstrumentMatcherCacheConfig;
 import com.navercorp.pinpoint.profiler.plugin.Foo;
 import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
@@ -36,6 +38,15 @@ import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author jaehong.kim
@@ -52,7 +63,7 @@ public class MatchableTransformerRegistryTest {
         matchableClassFileTransformerList.add(mock1);
         matchableClassFileTransformerList.add(mock2);
 
-        MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), matchableClassFileTransformerList);
+        MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), matchableClassFileTransformerList, newClassMetadataCache());
 
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         Class<?> clazz = Foo.class;
@@ -67,6 +78,50 @@ public class MatchableTransformerRegistryTest {
         System.out.println(classFileTransformer.toString());
     }
 
+    @Test
+    public void notFoundWithoutClassFile() {
+        List<MatchableClassFileTransformer> matchableClassFileTransformerList = new ArrayList<>();
+        matchableClassFileTransformerList.add(new MockMatchableClassFileTransformer(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.plugin")));
+        matchableClassFileTransformerList.add(new MockMatchableClassFileTransformer(Matchers.newClassBasedMatcher("com.navercorp.pinpoint.profiler.sender.Bar")));
+
+        MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), matchableClassFileTransformerList, newClassMetadataCache());
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        // rejected before reading the class file.
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/sender/Foo", null));
+        assertNull(registry.findTransformer(classLoader, "java/lang/String", null));
+
+        byte[] classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Bar.class.getName());
+        assertNotNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/sender/Bar", classFileByteCodes));
+    }
+
+    @Test
+    public void decisionCache() {
+        List<MatchableClassFileTransformer> matchableClassFileTransformerList = new ArrayList<>();
+        InterfaceInternalNameMatcherOperand runnable = new InterfaceInternalNameMatcherOperand("java.lang.Runnable", false);
+        matchableClassFileTransformerList.add(new MockMatchableClassFileTransformer(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.sender", runnable)));
+        matchableClassFileTransformerList.add(new MockMatchableClassFileTransformer(Matchers.newClassBasedMatcher("com.navercorp.pinpoint.profiler.plugin.Foo")));
+
+        TransformerDecisionCache decisionCache = mock(TransformerDecisionCache.class);
+        when(decisionCache.isActive()).thenReturn(true);
+        MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), matchableClassFileTransformerList, decisionCache, newClassMetadataCache());
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        byte[] classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Bar.class.getName());
+        long classFileHash = TransformerDecisionCache.classFileHash(classFileByteCodes);
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/sender/Bar", classFileByteCodes));
+        verify(decisionCache).notMatched("com/navercorp/pinpoint/profiler/sender/Bar", classFileHash);
+
+        when(decisionCache.isNotMatched("com/navercorp/pinpoint/profiler/sender/Bar", classFileHash)).thenReturn(true);
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/sender/Bar", classFileByteCodes));
+        verify(decisionCache, times(1)).notMatched("com/navercorp/pinpoint/profiler/sender/Bar", classFileHash);
+
+        // class name only matcher never reads the cache.
+        classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Foo.class.getName());
+        assertNotNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/plugin/Foo", classFileByteCodes));
+        verify(decisionCache, never()).isNotMatched(eq("com/navercorp/pinpoint/profiler/plugin/Foo"), anyLong());
+    }
+
     @Test
     public void packageNameBasedIndex() {
         // sorted
@@ -118,6 +173,10 @@ public class MatchableTransformerRegistryTest {
         }
     }
 
+    private ClassMetadataCache newClassMetadataCache() {
+        return new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE);
+    }
+
     private static class MockMatchableClassFileTransformer implements MatchableClassFileTransformer {
         public Matcher matcher;
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackageNameIndexTest {
+
+    @Test
+    public void findPrefixOf() {
+        Map<String, String> packages = new HashMap<>();
+        packages.put("com/foo/bar", "bar");
+        packages.put("com/foo", "foo");
+        packages.put("org/baz", "baz");
+        PackageNameIndex<String> index = new PackageNameIndex<>(packages);
+
+        assertEquals(Arrays.asList("foo", "bar"), index.findPrefixOf("com/foo/bar/Service"));
+        assertEquals(Collections.singletonList("foo"), index.findPrefixOf("com/foo/Service"));
+        assertEquals(Collections.singletonList("baz"), index.findPrefixOf("org/baz"));
+        // same as String.startsWith()
+        assertEquals(Collections.singletonList("foo"), index.findPrefixOf("com/foobar/Service"));
+    }
+
+    @Test
+    public void notFound() {
+        Map<String, String> packages = new HashMap<>();
+        packages.put("com/foo", "foo");
+        PackageNameIndex<String> index = new PackageNameIndex<>(packages);
+
+        List<String> result = index.findPrefixOf("com/fo");
+        assertTrue(result.isEmpty());
+        assertSame(Collections.emptyList(), result);
+        assertSame(Collections.emptyList(), index.findPrefixOf("java/lang/String"));
+    }
+
+    @Test
+    public void empty() {
+        PackageNameIndex<String> index = new PackageNameIndex<>(Collections.<String, String>emptyMap());
+
+        assertTrue(index.isEmpty());
+        assertTrue(index.findPrefixOf("com/foo/Bar").isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.InterfaceInternalNameMatcherOperand;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassMetadataCache;
+import com.navercorp.pinpoint.profiler.instrument.config.DefaultInstrumentMatcherCacheConfig;
+import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup matching cost of package based matchers with a hierarchy operand, without decision cache,
+ * with a cold decision cache (first start) and with a warm one (restart).
+ */
+@Disabled
+public class TransformerDecisionCacheBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int PACKAGES = 200;
+    private static final int CLASSES_PER_PACKAGE = 50;
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void benchmark() {
+        final List<MatchableClassFileTransformer> transformers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final InterfaceInternalNameMatcherOperand handler = new InterfaceInternalNameMatcherOperand("com/vendor/Handler" + i, true);
+            transformers.add(new NoopTransformer(Matchers.newPackageBasedMatcher("com.application", handler)));
+        }
+
+        final List<String> classNames = new ArrayList<>();
+        final List<byte[]> classFiles = new ArrayList<>();
+        for (int i = 0; i < PACKAGES; i++) {
+            for (int j = 0; j < CLASSES_PER_PACKAGE; j++) {
+                final String classInternalName = "com/application/module" + i + "/Service" + j;
+                classNames.add(classInternalName);
+                classFiles.add(newClassFile(classInternalName));
+            }
+        }
+
+        // warms up the jvm and the shared class metadata cache.
+        run("disabled", new DisableTransformerDecisionCache(), transformers, classNames, classFiles);
+
+        final FileTransformerDecisionCache cold = new FileTransformerDecisionCache(directory, "benchmark");
+        run("cold", cold, transformers, classNames, classFiles);
+        cold.flush();
+
+        final FileTransformerDecisionCache warm = new FileTransformerDecisionCache(directory, "benchmark");
+        run("warm", warm, transformers, classNames, classFiles);
+    }
+
+    private void run(String name, TransformerDecisionCache decisionCache, List<MatchableClassFileTransformer> transformers,
+                     List<String> classNames, List<byte[]> classFiles) {
+        final long startTime = System.nanoTime();
+        final MatchableTransformerRegistry registry = new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), transformers, decisionCache,
+                new ClassMetadataCache(ClassMetadataCache.DEFAULT_MAX_ENTRY_SIZE));
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        int found = 0;
+        for (int i = 0; i < classNames.size(); i++) {
+            if (registry.findTransformer(classLoader, classNames.get(i), classFiles.get(i)) != null) {
+                found++;
+            }
+        }
+        final long elapsed = System.nanoTime() - startTime;
+        logger.info("{} classes:{} found:{} total:{}ms {}ns/class", name, classNames.size(), found,
+                elapsed / 1000000, elapsed / classNames.size());
+    }
+
+    private static byte[] newClassFile(String classInternalName) {
+        final ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, classInternalName, null, "java/util/AbstractList", new String[]{"java/util/RandomAccess"});
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static class NoopTransformer implements MatchableClassFileTransformer {
+        private final Matcher matcher;
+
+        private NoopTransformer(Matcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public Matcher getMatcher() {
+            return matcher;
+        }
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.profiler.cache.IdAllocator;
+import com.navercorp.pinpoint.profiler.cache.SimpleCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Normalization cost of a sql executed again, for short OLTP statements and a ~10KB report query.
+ */
+@Disabled
+public class DefaultCachingSqlNormalizerBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int ROUNDS = 5;
+    private static final int WARMUP = 200_000;
+
+    @Test
+    public void oltp() {
+        final String sql = "select m.id, m.name, m.grade from member m where m.id = 1234 and m.status = 'ACTIVE'";
+        benchmark("oltp", sql, 2_000_000);
+    }
+
+    @Test
+    public void report() {
+        final StringBuilder sql = new StringBuilder("select region, product, sum(amount) total from sales where 1 = 1");
+        int i = 0;
+        while (sql.length() < 10 * 1024) {
+            sql.append(" and (category_").append(i).append(" = 'category-").append(i).append("' or score_")
+                    .append(i).append(" between ").append(i * 10).append(" and ").append(i * 20).append(')');
+            i++;
+        }
+        sql.append(" group by region, product order by total desc");
+        benchmark("report", sql.toString(), 50_000);
+    }
+
+    private void benchmark(String name, String sql, int iterations) {
+        final CachingSqlNormalizer parseAlways = new DefaultCachingSqlNormalizer(newCache(), 0);
+        final CachingSqlNormalizer parsedSqlCache = new DefaultCachingSqlNormalizer(newCache());
+        execute(parseAlways, sql, WARMUP);
+        execute(parsedSqlCache, sql, WARMUP);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final long parseAlwaysTime = execute(parseAlways, sql, iterations);
+            final long parsedSqlCacheTime = execute(parsedSqlCache, sql, iterations);
+            logger.info("{} length:{} parse:{}ns/op parsedSqlCache:{}ns/op", name, sql.length(),
+                    parseAlwaysTime / iterations, parsedSqlCacheTime / iterations);
+        }
+    }
+
+    private long execute(CachingSqlNormalizer normalizer, String sql, int iterations) {
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            final ParsingResult parsingResult = normalizer.wrapSql(sql);
+            normalizer.normalizedSql(parsingResult);
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private SimpleCache<String> newCache() {
+        return new SimpleCache<>(new IdAllocator.ZigZagAllocator(), 1024);
+    }
+}
@@ -17,6 +17,8 @@
 package com.navercorp.pinpoint.profiler.metadata;
 
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.common.profiler.sql.DefaultSqlParser;
+import com.navercorp.pinpoint.common.profiler.sql.NormalizedSql;
 import com.navercorp.pinpoint.profiler.cache.IdAllocator;
 import com.navercorp.pinpoint.profiler.cache.SimpleCache;
 import org.junit.jupiter.api.Assertions;
@@ -63,6 +65,67 @@ public class DefaultCachingSqlNormalizerTest {
         Assertions.assertTrue(newCache_parsingResult1_recached);
     }
 
+    @Test
+    public void testNormalizedSql_parsedSqlCache() {
+        SimpleCache<String> cache = newCache(10);
+        CachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(cache);
+
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id = 10 and name = 'foo'");
+        Assertions.assertTrue(normalizer.normalizedSql(parsingResult));
+
+        ParsingResult repeated = normalizer.wrapSql("select * from member where id = 10 and name = 'foo'");
+        Assertions.assertFalse(normalizer.normalizedSql(repeated));
+        Assertions.assertEquals(parsingResult.getId(), repeated.getId());
+        Assertions.assertSame(parsingResult.getSql(), repeated.getSql());
+        Assertions.assertEquals(parsingResult.getOutput(), repeated.getOutput());
+        Assertions.assertEquals("10,foo", repeated.getOutput());
+
+        ParsingResult otherLiteral = normalizer.wrapSql("select * from member where id = 20 and name = 'bar'");
+        Assertions.assertFalse(normalizer.normalizedSql(otherLiteral));
+        Assertions.assertEquals(parsingResult.getId(), otherLiteral.getId());
+        Assertions.assertEquals("20,bar", otherLiteral.getOutput());
+    }
+
+    @Test
+    public void testNormalizedSql_parsedSqlCache_expire() {
+        SimpleCache<String> cache = newCache(1);
+        CachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(cache);
+        Assertions.assertTrue(normalizer.normalizedSql(normalizer.wrapSql("select * from table1")));
+        Assertions.assertTrue(normalizer.normalizedSql(normalizer.wrapSql("select * from table2")));
+        Assertions.assertTrue(normalizer.normalizedSql(normalizer.wrapSql("select * from table3")));
+
+        // parsed sql is reused even though the sql id may have expired.
+        // SimpleCache evicts asynchronously, so whether the id is sent again is not asserted here.
+        ParsingResult reused = normalizer.wrapSql("select * from table1");
+        normalizer.normalizedSql(reused);
+        Assertions.assertNotEquals(ParsingResult.ID_NOT_EXIST, reused.getId());
+        Assertions.assertEquals("select * from table1", reused.getSql());
+    }
+
+    @Test
+    public void testNormalizedSql_parsedSqlCache_disabled() {
+        SimpleCache<String> cache = newCache(10);
+        CachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(cache, 0);
+
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id = 10");
+        Assertions.assertTrue(normalizer.normalizedSql(parsingResult));
+
+        ParsingResult repeated = normalizer.wrapSql("select * from member where id = 10");
+        Assertions.assertFalse(normalizer.normalizedSql(repeated));
+        Assertions.assertEquals(parsingResult.getId(), repeated.getId());
+        Assertions.assertEquals(parsingResult.getSql(), repeated.getSql());
+        Assertions.assertEquals("10", repeated.getOutput());
+    }
+
+    @Test
+    public void testParsedSqlCache_weigh() {
+        String originalSql = "select * from member where id = 10";
+        NormalizedSql normalizedSql = new DefaultSqlParser().normalizedSql(originalSql);
+
+        int weight = DefaultCachingSqlNormalizer.weigh(originalSql, normalizedSql);
+        Assertions.assertEquals(originalSql.length() + normalizedSql.getNormalizedSql().length() + normalizedSql.getParseParameter().length(), weight);
+    }
+
     private SimpleCache<String> newCache(int size) {
         return new SimpleCache<>(new IdAllocator.ZigZagAllocator(), size);
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveSamplerTest {
+
+    private final AtomicLong time = new AtomicLong(1_000_000);
+    private final Clock clock = time::get;
+
+    @Test
+    public void underTarget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 0.5, 1000, clock);
+
+        for (int second = 0; second < 5; second++) {
+            Assertions.assertEquals(5, sampledPerSecond(sampler, 5));
+        }
+        Assertions.assertEquals(100, sampler.getSamplingRate(), 0);
+    }
+
+    @Test
+    public void overTarget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 0.5, 1000, clock);
+
+        // first interval is not measured yet
+        Assertions.assertEquals(1000, sampledPerSecond(sampler, 1000));
+        for (int second = 0; second < 5; second++) {
+            int sampled = sampledPerSecond(sampler, 1000);
+            Assertions.assertEquals(10, sampled, 1);
+        }
+        Assertions.assertEquals(1, sampler.getSamplingRate(), 0.01);
+    }
+
+    @Test
+    public void spike() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 0.5, 1000, clock);
+        for (int second = 0; second < 5; second++) {
+            sampledPerSecond(sampler, 100);
+        }
+        Assertions.assertEquals(10, sampler.getSamplingRate(), 0.01);
+
+        // 10x spike, smoothed
+        int first = sampledPerSecond(sampler, 1000);
+        Assertions.assertEquals(100, first, 1);
+        int second = sampledPerSecond(sampler, 1000);
+        Assertions.assertTrue(second < first, "adjusted " + second);
+        for (int i = 0; i < 10; i++) {
+            sampledPerSecond(sampler, 1000);
+        }
+        Assertions.assertEquals(10, sampledPerSecond(sampler, 1000), 1);
+    }
+
+    @Test
+    public void idle() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 1, 1000, clock);
+        sampledPerSecond(sampler, 1000);
+        sampledPerSecond(sampler, 1000);
+        Assertions.assertEquals(1, sampler.getSamplingRate(), 0.01);
+
+        // no request for a minute, the last requests are averaged over the idle time
+        time.addAndGet(60_000);
+        Assertions.assertTrue(sampler.isSampling());
+        Assertions.assertTrue(sampler.getSamplingRate() > 50);
+
+        time.addAndGet(1000);
+        Assertions.assertTrue(sampler.isSampling());
+        Assertions.assertEquals(100, sampler.getSamplingRate(), 0);
+    }
+
+    @Test
+    public void toSamplingRate() {
+        Assertions.assertEquals(AdaptiveSampler.MAX, AdaptiveSampler.toSamplingRate(10, 0));
+        Assertions.assertEquals(AdaptiveSampler.MAX, AdaptiveSampler.toSamplingRate(10, 10));
+        Assertions.assertEquals(AdaptiveSampler.MAX / 2, AdaptiveSampler.toSamplingRate(10, 20));
+        Assertions.assertEquals(1, AdaptiveSampler.toSamplingRate(1, Double.MAX_VALUE));
+    }
+
+    @Test
+    public void invalidArgument() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(0, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 1.5));
+    }
+
+    private int sampledPerSecond(AdaptiveSampler sampler, int requests) {
+        final long start = time.get();
+        int sampled = 0;
+        for (int i = 0; i < requests; i++) {
+            time.set(start + (i * 1000L / requests));
+            if (sampler.isSampling()) {
+                sampled++;
+            }
+        }
+        time.set(start + 1000);
+        return sampled;
+    }
+}
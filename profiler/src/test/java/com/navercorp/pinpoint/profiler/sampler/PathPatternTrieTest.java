@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class PathPatternTrieTest {
+
+    @Test
+    public void firstMatch() {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        patterns.put("/foo/**", "foo-all");
+        patterns.put("/foo/bar", "foo-bar");
+        patterns.put("/**/bar", "any-bar");
+        patterns.put("/baz/*/qux", "baz-qux");
+
+        PathPatternTrie<String> trie = new PathPatternTrie<>(patterns);
+
+        Assertions.assertEquals("foo-all", trie.find("/foo/bar"));
+        Assertions.assertEquals("foo-all", trie.find("/foo"));
+        Assertions.assertEquals("any-bar", trie.find("/a/b/bar"));
+        Assertions.assertEquals("baz-qux", trie.find("/baz/1/qux"));
+        Assertions.assertNull(trie.find("/baz/1/2/qux"));
+        Assertions.assertNull(trie.find("/"));
+        Assertions.assertNull(trie.find(null));
+    }
+
+    @Test
+    public void exactMatch() {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        patterns.put("/a/*", "wildcard");
+        patterns.put("/a/b", "exact");
+        patterns.put("/c/d", "exact-cd");
+
+        PathPatternTrie<String> trie = new PathPatternTrie<>(patterns);
+
+        Assertions.assertEquals("wildcard", trie.find("/a/b"));
+        Assertions.assertEquals("exact-cd", trie.find("/c/d"));
+        Assertions.assertNull(trie.find("/c/d/"));
+        Assertions.assertNull(trie.find("c/d"));
+    }
+
+    @Test
+    public void skipInvalidPattern() {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        patterns.put("", "empty");
+        patterns.put("/a", null);
+        patterns.put("/b", "b");
+
+        PathPatternTrie<String> trie = new PathPatternTrie<>(patterns);
+
+        Assertions.assertEquals(1, trie.size());
+        Assertions.assertNull(trie.find("/a"));
+        Assertions.assertEquals("b", trie.find("/b"));
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        final Random random = new Random(1);
+        final String[] segments = {"api", "v1", "v2", "user", "order", "item", " item", "*", "**", "?tem", "user*", "{id}"};
+
+        Map<String, Integer> patterns = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            patterns.put(randomPath(random, segments), i);
+        }
+        PathPatternTrie<Integer> trie = new PathPatternTrie<>(patterns);
+
+        List<PathMatcher> matchers = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : patterns.entrySet()) {
+            String pattern = entry.getKey();
+            matchers.add(AntPathMatcher.isAntStylePattern(pattern) ? new AntPathMatcher(pattern) : new EqualsPathMatcher(pattern));
+            values.add(entry.getValue());
+        }
+
+        final String[] pathSegments = {"api", "v1", "v2", "user", "order", "item", "users", "1", ""};
+        for (int i = 0; i < 10000; i++) {
+            String path = randomPath(random, pathSegments);
+            Integer expected = null;
+            for (int j = 0; j < matchers.size(); j++) {
+                if (matchers.get(j).isMatched(path)) {
+                    expected = values.get(j);
+                    break;
+                }
+            }
+            Assertions.assertEquals(expected, trie.find(path), path);
+        }
+    }
+
+    private String randomPath(Random random, String[] segments) {
+        StringBuilder sb = new StringBuilder();
+        final int depth = random.nextInt(5);
+        for (int i = 0; i < depth; i++) {
+            sb.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+        if (sb.length() == 0 || random.nextInt(10) == 0) {
+            sb.append('/');
+        }
+        return sb.toString();
+    }
+}
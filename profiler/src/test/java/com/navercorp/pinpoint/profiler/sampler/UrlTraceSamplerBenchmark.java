@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UrlTraceSampler#getSampler(String)} lookup cost per number of url rules.
+ */
+@Disabled
+public class UrlTraceSamplerBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int[] RULES = {10, 100, 1000};
+    // distinct urls : hot set, mostly distinct (e.g. ids in path)
+    private static final int[] URLS = {100, 10_000};
+    private static final int LOOKUPS = 2_000_000;
+    private static final int CACHE_SIZE = 256;
+
+    @Test
+    public void benchmark() {
+        for (int rules : RULES) {
+            // warm up
+            run(rules, URLS[0], 0);
+            run(rules, URLS[0], CACHE_SIZE);
+        }
+        for (int urls : URLS) {
+            for (int rules : RULES) {
+                logger.info("rules:{} urls:{} no-cache {}ns/op", rules, urls, run(rules, urls, 0));
+                logger.info("rules:{} urls:{} cache:{} {}ns/op", rules, urls, CACHE_SIZE, run(rules, urls, CACHE_SIZE));
+                logger.info("rules:{} urls:{} linear {}ns/op", rules, urls, runLinear(rules, urls));
+            }
+        }
+    }
+
+    private long run(int rules, int urlSize, int cacheSize) {
+        final TraceSampler defaultTraceSampler = new BasicTraceSampler(new AtomicIdGenerator(), FalseSampler.INSTANCE);
+        final UrlTraceSampler sampler = new UrlTraceSampler(newRules(rules), defaultTraceSampler, cacheSize);
+        final String[] urls = newUrls(urlSize);
+
+        long hit = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (sampler.getSampler(urls[i % urls.length]) != defaultTraceSampler) {
+                hit++;
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        logger.debug("hit:{}", hit);
+        return elapsed / LOOKUPS;
+    }
+
+    private long runLinear(int rules, int urlSize) {
+        final Map<String, TraceSampler> ruleMap = newRules(rules);
+        final PathMatcher[] matchers = new PathMatcher[ruleMap.size()];
+        int index = 0;
+        for (String pattern : ruleMap.keySet()) {
+            matchers[index++] = new AntPathMatcher(pattern);
+        }
+        final String[] urls = newUrls(urlSize);
+
+        long hit = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            final String url = urls[i % urls.length];
+            for (PathMatcher matcher : matchers) {
+                if (matcher.isMatched(url)) {
+                    hit++;
+                    break;
+                }
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        logger.debug("hit:{}", hit);
+        return elapsed / (LOOKUPS / 10);
+    }
+
+    private Map<String, TraceSampler> newRules(int rules) {
+        final TraceSampler traceSampler = new BasicTraceSampler(new AtomicIdGenerator(), TrueSampler.INSTANCE);
+        final Map<String, TraceSampler> ruleMap = new LinkedHashMap<>();
+        for (int i = 0; i < rules; i++) {
+            switch (i % 3) {
+                case 0:
+                    ruleMap.put("/service" + i + "/api/**", traceSampler);
+                    break;
+                case 1:
+                    ruleMap.put("/service" + i + "/*/detail", traceSampler);
+                    break;
+                default:
+                    ruleMap.put("/static" + i + "/**/*.js", traceSampler);
+                    break;
+            }
+        }
+        return ruleMap;
+    }
+
+    private String[] newUrls(int size) {
+        final Random random = new Random(1);
+        final String[] urls = new String[size];
+        for (int i = 0; i < size; i++) {
+            urls[i] = "/service" + random.nextInt(1500) + "/api/user/" + random.nextInt(100);
+        }
+        return urls;
+    }
+}
@@ -84,12 +84,27 @@ public class UrlTraceSamplerTest {
         assertEquals(defaultTraceSampler, traceSampler);
     }
 
+    @Test
+    public void getSampler_cache() {
+        final UrlTraceSampler urlTraceSampler = getUrlTraceSampler(16);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(fooTraceSampler, urlTraceSampler.getSampler("/foo/foo"));
+            assertEquals(barTraceSampler, urlTraceSampler.getSampler("/AAA/bar001"));
+            assertEquals(bazTraceSampler, urlTraceSampler.getSampler("/baz/foo"));
+            assertEquals(defaultTraceSampler, urlTraceSampler.getSampler("/AAA"));
+        }
+    }
+
     private UrlTraceSampler getUrlTraceSampler() {
+        return getUrlTraceSampler(UrlTraceSampler.DEFAULT_CACHE_SIZE);
+    }
+
+    private UrlTraceSampler getUrlTraceSampler(int cacheSize) {
         Map<String, TraceSampler> urlMap = new LinkedHashMap<>();
         urlMap.put(PATTERN1, fooTraceSampler);
         urlMap.put(PATTERN2, barTraceSampler);
         urlMap.put(PATTERN3, bazTraceSampler);
 
-        return new UrlTraceSampler(urlMap, defaultTraceSampler);
+        return new UrlTraceSampler(urlMap, defaultTraceSampler, cacheSize);
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Producer throughput of {@link AsyncQueueingExecutor} per queue type.
+ */
+@Disabled
+public class AsyncQueueingExecutorBenchmark {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int QUEUE_SIZE = 1024 * 5;
+    private static final int MESSAGE_PER_THREAD = 200_000;
+    private static final int[] PRODUCERS = {1, 8, 64};
+
+    private static final AsyncQueueOption[] OPTIONS = {
+            AsyncQueueOption.DEFAULT,
+            new AsyncQueueOption(AsyncQueueType.RING_BUFFER, 10, WaitStrategy.PARK),
+            new AsyncQueueOption(AsyncQueueType.RING_BUFFER, 64, WaitStrategy.PARK),
+            new AsyncQueueOption(AsyncQueueType.RING_BUFFER, 64, WaitStrategy.YIELD),
+    };
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        // warm up
+        for (AsyncQueueOption option : OPTIONS) {
+            run(option, 8);
+        }
+        for (int producers : PRODUCERS) {
+            for (AsyncQueueOption option : OPTIONS) {
+                Result result = run(option, producers);
+                logger.info("producers:{} {} {}", producers, option, result);
+            }
+        }
+    }
+
+    private Result run(AsyncQueueOption option, int producers) throws InterruptedException {
+        final LongAdder consumed = new LongAdder();
+        final DefaultAsyncQueueingExecutorListener<Object> listener = new DefaultAsyncQueueingExecutorListener<Object>() {
+            @Override
+            public void execute(Object message) {
+                consumed.increment();
+            }
+        };
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<>(QUEUE_SIZE, "benchmark", listener, option);
+
+        final Object message = new Object();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch end = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < MESSAGE_PER_THREAD; j++) {
+                    executor.execute(message);
+                }
+                end.countDown();
+            });
+            thread.start();
+        }
+
+        final long startTime = System.nanoTime();
+        start.countDown();
+        end.await();
+        final long elapsed = System.nanoTime() - startTime;
+        executor.stop();
+
+        final long offered = (long) producers * MESSAGE_PER_THREAD;
+        return new Result(offered, listener.getDropCount(), elapsed);
+    }
+
+    private static class Result {
+        private final long offered;
+        private final long dropped;
+        private final long elapsedNanos;
+
+        Result(long offered, long dropped, long elapsedNanos) {
+            this.offered = offered;
+            this.dropped = dropped;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            final double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+            return String.format("offer:%,d ops/s dropped:%.2f%% elapsed:%dms",
+                    (long) (offered / seconds), dropped * 100.0 / offered, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class MpscRingBufferQueueTest {
+
+    @Test
+    public void capacity() {
+        Assertions.assertEquals(1, new MpscRingBufferQueue<>(1, WaitStrategy.PARK).getCapacity());
+        Assertions.assertEquals(5, new MpscRingBufferQueue<>(5, WaitStrategy.PARK).getCapacity());
+        Assertions.assertEquals(5120, new MpscRingBufferQueue<>(5120, WaitStrategy.PARK).getCapacity());
+        Assertions.assertEquals(8192, new MpscRingBufferQueue<>(5120, WaitStrategy.PARK).getBufferSize());
+    }
+
+    @Test
+    public void offer_full_queueSize() {
+        // the buffer is rounded up to 4 slots, the queue still holds 3 elements
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<>(3, WaitStrategy.PARK);
+        for (int round = 0; round < 3; round++) {
+            Assertions.assertTrue(queue.offer(1));
+            Assertions.assertTrue(queue.offer(2));
+            Assertions.assertTrue(queue.offer(3));
+            Assertions.assertFalse(queue.offer(4));
+            Assertions.assertEquals(3, queue.size());
+
+            List<Integer> drain = new ArrayList<>();
+            Assertions.assertEquals(3, queue.drainTo(drain, 10));
+            Assertions.assertEquals(Arrays.asList(1, 2, 3), drain);
+        }
+    }
+
+    @Test
+    public void offer_full() {
+        MpscRingBufferQueue<String> queue = new MpscRingBufferQueue<>(2, WaitStrategy.PARK);
+        Assertions.assertTrue(queue.offer("a"));
+        Assertions.assertTrue(queue.offer("b"));
+        Assertions.assertFalse(queue.offer("c"));
+        Assertions.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void drainTo() {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<>(4, WaitStrategy.PARK);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drain = new ArrayList<>();
+        Assertions.assertEquals(3, queue.drainTo(drain, 3));
+        Assertions.assertEquals(1, queue.drainTo(drain, 3));
+        Assertions.assertEquals(0, queue.drainTo(drain, 3));
+        Assertions.assertTrue(queue.isEmpty());
+
+        // wrap around
+        Assertions.assertTrue(queue.offer(4));
+        Assertions.assertEquals(1, queue.drainTo(drain, 3));
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4), drain);
+    }
+
+    @Test
+    public void poll_timeout() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            MpscRingBufferQueue<String> queue = new MpscRingBufferQueue<>(2, waitStrategy);
+            Assertions.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void poll_wakeUp() throws InterruptedException {
+        MpscRingBufferQueue<String> queue = new MpscRingBufferQueue<>(2, WaitStrategy.PARK);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignore) {
+                Thread.currentThread().interrupt();
+            }
+            queue.offer("a");
+        });
+        producer.start();
+
+        Assertions.assertEquals("a", queue.poll(10, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        final int producers = 8;
+        final int count = 10000;
+        final MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<>(128, WaitStrategy.PARK);
+        final CountDownLatch latch = new CountDownLatch(producers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int i = 0; i < producers; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < count; j++) {
+                    while (!queue.offer(j)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+
+        long sum = 0;
+        int received = 0;
+        while (received < producers * count) {
+            Integer data = queue.poll(1, TimeUnit.SECONDS);
+            Assertions.assertNotNull(data);
+            sum += data;
+            received++;
+        }
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        Assertions.assertEquals((long) producers * count * (count - 1) / 2, sum);
+        Assertions.assertTrue(queue.isEmpty());
+    }
+}
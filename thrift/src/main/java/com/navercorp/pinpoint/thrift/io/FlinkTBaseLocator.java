@@ -31,8 +31,13 @@ import org.apache.thrift.TBase;
 public class FlinkTBaseLocator {
 
     public static final short AGENT_STAT_BATCH = 1000;
+    /**
+     * binary agent stat record. the body is not a TBase, see AgentStatRecordCodec
+     */
+    public static final short AGENT_STAT_RECORD = 1001;
 
     private final byte version;
+    private final HeaderFactory headerFactory = new FlinkHeaderFactory();
     private final TypeLocator<TBase<?, ?>> typeLocator;
 
     public FlinkTBaseLocator(byte version) {
@@ -44,7 +49,6 @@ public class FlinkTBaseLocator {
     }
 
     private TypeLocator<TBase<?, ?>> newTypeLocator() {
-        HeaderFactory headerFactory = new FlinkHeaderFactory();
         TypeLocatorBuilder<TBase<?, ?>> typeLocatorBuilder = new TypeLocatorBuilder<>(headerFactory);
         typeLocatorBuilder.addBodyFactory(AGENT_STAT_BATCH, new BodyFactory<TBase<?, ?>>() {
             @Override
@@ -60,6 +64,10 @@ public class FlinkTBaseLocator {
         return typeLocator;
     }
 
+    public Header newHeader(short type) {
+        return headerFactory.newHeader(type);
+    }
+
     public class FlinkHeaderFactory implements HeaderFactory {
         @Override
         public Header newHeader(short type) {
@@ -33,4 +33,10 @@ public interface ApplicationMap {
     @JsonProperty("linkDataArray")
     Collection<Link> getLinks();
 
+    /**
+     * @return true if the link search stopped before all applications were searched and the map is partial
+     */
+    @JsonProperty("truncated")
+    boolean isTruncated();
+
 }
@@ -150,7 +150,7 @@ public class ApplicationMapBuilder {
         ServerInfoAppender serverInfoAppender = serverInfoAppenderFactory.create(serverGroupListFactory);
         serverInfoAppender.appendServerInfo(range, nodeList, linkDataDuplexMap, timeoutWatcher.remainingTimeMillis());
 
-        return new DefaultApplicationMap(range, nodeList, linkList);
+        return new DefaultApplicationMap(range, nodeList, linkList, linkDataDuplexMap.isTruncated());
     }
 
     private static class TimeoutWatcher {
@@ -48,6 +48,11 @@ public class ApplicationMapWithScatterData implements ApplicationMap {
         return applicationMap.getLinks();
     }
 
+    @Override
+    public boolean isTruncated() {
+        return applicationMap.isTruncated();
+    }
+
     @JsonValue
     public ApplicationMap getApplicationMap() {
         return applicationMap;
@@ -47,6 +47,11 @@ public class ApplicationMapWithScatterScanResult implements ApplicationMap {
         return applicationMap.getLinks();
     }
 
+    @Override
+    public boolean isTruncated() {
+        return applicationMap.isTruncated();
+    }
+
     @JsonValue
     public ApplicationMap getApplicationMap() {
         return applicationMap;
@@ -41,14 +41,21 @@ public class DefaultApplicationMap implements ApplicationMap {
 
     private final Range range;
 
+    private final boolean truncated;
+
 //    private List<ApplicationScatterScanResult> applicationScatterScanResultList;
 
     public DefaultApplicationMap(Range range, NodeList nodeList, LinkList linkList) {
+        this(range, nodeList, linkList, false);
+    }
+
+    public DefaultApplicationMap(Range range, NodeList nodeList, LinkList linkList, boolean truncated) {
         this.range = Objects.requireNonNull(range, "range");
         this.nodeList = Objects.requireNonNull(nodeList, "nodeList");
 
         Objects.requireNonNull(linkList, "linkList");
         this.linkList = createNewLinkList(linkList);
+        this.truncated = truncated;
     }
 
     private LinkList createNewLinkList(LinkList originalLinkList) {
@@ -82,6 +89,11 @@ public class DefaultApplicationMap implements ApplicationMap {
         return this.linkList.getLinkList();
     }
 
+    @JsonProperty("truncated")
+    public boolean isTruncated() {
+        return truncated;
+    }
+
     public Range getRange() {
         return range;
     }
@@ -30,6 +30,8 @@ public class LinkDataDuplexMap {
 
     private final LinkDataMap targetLinkDataMap;
 
+    private boolean truncated;
+
     public LinkDataDuplexMap() {
         this.sourceLinkDataMap = new LinkDataMap();
         this.targetLinkDataMap = new LinkDataMap();
@@ -56,6 +58,9 @@ public class LinkDataDuplexMap {
     public void addLinkDataDuplexMap(LinkDataDuplexMap linkDataDuplexMap) {
         Objects.requireNonNull(linkDataDuplexMap, "linkDataDuplexMap");
 
+        if (linkDataDuplexMap.truncated) {
+            this.truncated = true;
+        }
         for (LinkData copyLinkData : linkDataDuplexMap.sourceLinkDataMap.getLinkDataList()) {
             addSourceLinkData(copyLinkData);
         }
@@ -94,6 +99,17 @@ public class LinkDataDuplexMap {
         return targetLinkDataMap.getLinkData(findLinkKey);
     }
 
+    /**
+     * @return true if the link search stopped before all applications were searched
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
     public long getTotalCount() {
         return this.sourceLinkDataMap.getTotalCount() + this.targetLinkDataMap.getTotalCount();
     }
@@ -103,6 +119,7 @@ public class LinkDataDuplexMap {
         final StringBuilder sb = new StringBuilder("LinkDataDuplexMap{");
         sb.append("sourceLinkDataMap=").append(sourceLinkDataMap);
         sb.append(", targetLinkDataMap=").append(targetLinkDataMap);
+        sb.append(", truncated=").append(truncated);
         sb.append('}');
         return sb.toString();
     }
@@ -32,6 +32,8 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfiguration extends CachingConfigurerSupport {
 
     public static final String API_METADATA_CACHE_NAME = "apiMetaData";
+    public static final String SQL_METADATA_CACHE_NAME = "sqlMetaData";
+    public static final String STRING_METADATA_CACHE_NAME = "stringMetaData";
     public static final String APPLICATION_LIST_CACHE_NAME = "applicationNameList";
 
     @Bean
@@ -55,6 +57,26 @@ public class CacheConfiguration extends CachingConfigurerSupport {
         return caffeineCacheManager;
     }
 
+    @Bean
+    public CacheManager sqlMetaData() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(SQL_METADATA_CACHE_NAME);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(600, TimeUnit.SECONDS)
+                .initialCapacity(500)
+                .maximumSize(10000));
+        return caffeineCacheManager;
+    }
+
+    @Bean
+    public CacheManager stringMetaData() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(STRING_METADATA_CACHE_NAME);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(600, TimeUnit.SECONDS)
+                .initialCapacity(500)
+                .maximumSize(10000));
+        return caffeineCacheManager;
+    }
+
     @Bean
     public CacheManager applicationNameList() {
         CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(APPLICATION_LIST_CACHE_NAME);
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+
+/**
+ * Rough heap size estimates of the map statistics values held by {@link TimeSlotCache}.
+ */
+public final class MapStatisticsWeigher {
+
+    private static final int LINK_DATA_BYTES = 160;
+    private static final int LINK_CALL_DATA_BYTES = 240;
+    private static final int RESPONSE_TIME_BYTES = 160;
+    // TimeHistogram and its map entry
+    private static final int HISTOGRAM_BYTES = 200;
+
+    private MapStatisticsWeigher() {
+    }
+
+    public static long weigh(LinkDataMap linkDataMap) {
+        long weight = 0;
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            weight += LINK_DATA_BYTES;
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                weight += LINK_CALL_DATA_BYTES + (long) linkCallData.getTimeHistogram().size() * HISTOGRAM_BYTES;
+            }
+        }
+        return weight;
+    }
+
+    public static long weigh(ResponseTime responseTime) {
+        return RESPONSE_TIME_BYTES + (long) responseTime.getAgentResponseHistogramList().size() * HISTOGRAM_BYTES;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caches the rows of an application statistics table per application and one-minute time slot.
+ * <p>
+ * A slot is cached once it is closed, {@code closeDelayMillis} after its end, so only the open trailing slots
+ * and the cache misses of a {@link Range} are read from HBase.
+ * The cache is bounded by the estimated size of its values.
+ *
+ * @param <V> row value
+ */
+public class TimeSlotCache<V> {
+
+    public static final long SLOT_SIZE = 60000; // 1min
+
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final String name;
+    private final long closeDelayMillis;
+    private final ToLongFunction<V> weigher;
+    private final LongSupplier clock;
+
+    private final Cache<SlotKey, List<V>> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public TimeSlotCache(String name, long maximumBytes, long closeDelayMillis, ToLongFunction<V> weigher) {
+        this(name, maximumBytes, closeDelayMillis, weigher, System::currentTimeMillis);
+    }
+
+    TimeSlotCache(String name, long maximumBytes, long closeDelayMillis, ToLongFunction<V> weigher, LongSupplier clock) {
+        this.name = Objects.requireNonNull(name, "name");
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("maximumBytes must be > 0 " + maximumBytes);
+        }
+        if (closeDelayMillis < 0) {
+            throw new IllegalArgumentException("closeDelayMillis must be >= 0 " + closeDelayMillis);
+        }
+        this.closeDelayMillis = closeDelayMillis;
+        this.weigher = Objects.requireNonNull(weigher, "weigher");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher(this::weigh)
+                .build();
+    }
+
+    /**
+     * Hands every row of {@code application} in {@code range} to {@code consumer}.
+     *
+     * @param loader reads the rows of the given slot range from the table. The range is slot aligned and inclusive
+     */
+    public void select(Application application, Range range, Function<Range, List<SlotValue<V>>> loader, Consumer<V> consumer) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(consumer, "consumer");
+
+        final long firstSlot = toSlot(range.getFrom());
+        final long lastSlot = toSlot(range.getTo());
+        final long closedSlot = toSlot(clock.getAsLong() - closeDelayMillis) - SLOT_SIZE;
+
+        final BitSet hits = new BitSet();
+        long firstMissingSlot = -1;
+        long lastMissingSlot = -1;
+        for (long slot = firstSlot; slot <= lastSlot; slot += SLOT_SIZE) {
+            final List<V> values = slot <= closedSlot ? cache.getIfPresent(new SlotKey(application, slot)) : null;
+            if (values != null) {
+                hits.set(slotIndex(firstSlot, slot));
+                hitCount.increment();
+                savedBytes.add(weigh(null, values));
+                values.forEach(consumer);
+                continue;
+            }
+            missCount.increment();
+            if (firstMissingSlot == -1) {
+                firstMissingSlot = slot;
+            }
+            lastMissingSlot = slot;
+        }
+        if (firstMissingSlot == -1) {
+            return;
+        }
+
+        // a single scan over the missing slots, skipping the ones already served from the cache
+        final Map<Long, List<V>> loaded = groupBySlot(loader.apply(Range.between(firstMissingSlot, lastMissingSlot)));
+        for (long slot = firstMissingSlot; slot <= lastMissingSlot; slot += SLOT_SIZE) {
+            if (hits.get(slotIndex(firstSlot, slot))) {
+                continue;
+            }
+            final List<V> values = loaded.getOrDefault(slot, Collections.emptyList());
+            values.forEach(consumer);
+            if (slot <= closedSlot) {
+                cache.put(new SlotKey(application, slot), values);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} select {} {} missing:{}~{} {}", name, application, range, firstMissingSlot, lastMissingSlot, getStats());
+        }
+    }
+
+    private Map<Long, List<V>> groupBySlot(List<SlotValue<V>> slotValues) {
+        if (slotValues == null || slotValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<Long, List<V>> result = new HashMap<>();
+        for (SlotValue<V> slotValue : slotValues) {
+            if (slotValue == null || slotValue.getValue() == null) {
+                continue;
+            }
+            result.computeIfAbsent(toSlot(slotValue.getTimeSlot()), slot -> new ArrayList<>(1)).add(slotValue.getValue());
+        }
+        return result;
+    }
+
+    private static long toSlot(long timestamp) {
+        return (timestamp / SLOT_SIZE) * SLOT_SIZE;
+    }
+
+    private static int slotIndex(long firstSlot, long slot) {
+        return (int) ((slot - firstSlot) / SLOT_SIZE);
+    }
+
+    private int weigh(SlotKey key, List<V> values) {
+        long weight = ENTRY_OVERHEAD;
+        for (V value : values) {
+            weight += weigher.applyAsLong(value);
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    public Stats getStats() {
+        final long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+        return new Stats(name, hitCount.sum(), missCount.sum(), savedBytes.sum(), weightedSize);
+    }
+
+    public static class SlotValue<V> {
+        private final long timeSlot;
+        private final V value;
+
+        public SlotValue(long timeSlot, V value) {
+            this.timeSlot = timeSlot;
+            this.value = value;
+        }
+
+        public long getTimeSlot() {
+            return timeSlot;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+
+    public static class Stats {
+        private final String name;
+        private final long hitCount;
+        private final long missCount;
+        private final long savedBytes;
+        private final long cachedBytes;
+
+        public Stats(String name, long hitCount, long missCount, long savedBytes, long cachedBytes) {
+            this.name = name;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.savedBytes = savedBytes;
+            this.cachedBytes = cachedBytes;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public double getHitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        /**
+         * @return estimated bytes served from the cache instead of HBase
+         */
+        public long getSavedBytes() {
+            return savedBytes;
+        }
+
+        public long getCachedBytes() {
+            return cachedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "name='" + name + '\'' +
+                    ", hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", hitRate=" + getHitRate() +
+                    ", savedBytes=" + savedBytes +
+                    ", cachedBytes=" + cachedBytes +
+                    '}';
+        }
+    }
+
+    private static class SlotKey {
+        private final Application application;
+        private final long slot;
+
+        private SlotKey(Application application, long slot) {
+            this.application = application;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SlotKey slotKey = (SlotKey) o;
+
+            if (slot != slotKey.slot) return false;
+            return application.equals(slotKey.application);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = application.hashCode();
+            result = 31 * result + (int) (slot ^ (slot >>> 32));
+            return result;
+        }
+    }
+}
@@ -16,13 +16,28 @@
 
 package com.navercorp.pinpoint.web.dao;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
 
 /**
  * @author emeroad
  */
 public interface ApiMetaDataDao {
     List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId);
+
+    /**
+     * Resolves every key with as few round trips as the implementation allows.
+     */
+    default Map<MetaDataRowKey, List<ApiMetaDataBo>> getApiMetaData(Collection<? extends MetaDataRowKey> keys) {
+        final Map<MetaDataRowKey, List<ApiMetaDataBo>> result = new HashMap<>(keys.size());
+        for (MetaDataRowKey key : keys) {
+            result.put(key, getApiMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+        }
+        return result;
+    }
 }
@@ -17,12 +17,27 @@
 package com.navercorp.pinpoint.web.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author emeroad
  */
 public interface SqlMetaDataDao {
     List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId);
+
+    /**
+     * Resolves every key with as few round trips as the implementation allows.
+     */
+    default Map<MetaDataRowKey, List<SqlMetaDataBo>> getSqlMetaData(Collection<? extends MetaDataRowKey> keys) {
+        final Map<MetaDataRowKey, List<SqlMetaDataBo>> result = new HashMap<>(keys.size());
+        for (MetaDataRowKey key : keys) {
+            result.put(key, getSqlMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+        }
+        return result;
+    }
 }
@@ -17,12 +17,27 @@
 package com.navercorp.pinpoint.web.dao;
 
 import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author emeroad
  */
 public interface StringMetaDataDao {
     List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId);
+
+    /**
+     * Resolves every key with as few round trips as the implementation allows.
+     */
+    default Map<MetaDataRowKey, List<StringMetaDataBo>> getStringMetaData(Collection<? extends MetaDataRowKey> keys) {
+        final Map<MetaDataRowKey, List<StringMetaDataBo>> result = new HashMap<>(keys.size());
+        for (MetaDataRowKey key : keys) {
+            result.put(key, getStringMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+        }
+        return result;
+    }
 }
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.web.service.FetchResult;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author emeroad
@@ -40,5 +41,11 @@ public interface TraceDao {
 
     List<List<SpanBo>> selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount);
 
+    /**
+     * Passes the spans of each transaction to the consumer as soon as its partition is fetched.
+     * The consumer is invoked by the calling thread. transaction order is not guaranteed.
+     */
+    void selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount, Consumer<List<SpanBo>> consumer);
+
 
 }
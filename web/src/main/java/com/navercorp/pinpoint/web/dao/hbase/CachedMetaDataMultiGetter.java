@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetadataEncoder;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolves metadata keys from a shared cache first and fetches the misses in a single multi-get.
+ * Cache keys follow the {@code agentId.agentStartTime.id} format of the {@code @Cacheable} single-get methods.
+ */
+class CachedMetaDataMultiGetter<T> {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final HbaseOperations2 hbaseOperations2;
+    private final TableNameProvider tableNameProvider;
+    private final HbaseColumnFamily descriptor;
+    private final RowMapper<List<T>> mapper;
+    private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+    private final Cache cache;
+
+    private final RowKeyEncoder<MetaDataRowKey> rowKeyEncoder = new MetadataEncoder();
+
+    CachedMetaDataMultiGetter(HbaseOperations2 hbaseOperations2,
+                              TableNameProvider tableNameProvider,
+                              HbaseColumnFamily descriptor,
+                              RowMapper<List<T>> mapper,
+                              RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                              Cache cache) {
+        this.hbaseOperations2 = Objects.requireNonNull(hbaseOperations2, "hbaseOperations2");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.descriptor = Objects.requireNonNull(descriptor, "descriptor");
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<MetaDataRowKey, List<T>> get(Collection<? extends MetaDataRowKey> keys) {
+        final Map<MetaDataRowKey, List<T>> result = new HashMap<>(keys.size());
+        final List<MetaDataRowKey> missKeys = new ArrayList<>();
+        for (MetaDataRowKey key : new LinkedHashSet<>(keys)) {
+            final Cache.ValueWrapper cached = cache.get(cacheKey(key));
+            if (cached != null) {
+                result.put(key, (List<T>) cached.get());
+            } else {
+                missKeys.add(key);
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return result;
+        }
+
+        final List<Get> gets = new ArrayList<>(missKeys.size());
+        for (MetaDataRowKey key : missKeys) {
+            final byte[] rowKey = rowKeyDistributorByHashPrefix.getDistributedKey(rowKeyEncoder.encodeRowKey(key));
+            final Get get = new Get(rowKey);
+            get.addFamily(descriptor.getName());
+            gets.add(get);
+        }
+        final TableName tableName = tableNameProvider.getTableName(descriptor.getTable());
+        final List<List<T>> fetched = hbaseOperations2.get(tableName, gets, mapper);
+        for (int i = 0; i < missKeys.size(); i++) {
+            final MetaDataRowKey key = missKeys.get(i);
+            final List<T> value = fetched.get(i);
+            result.put(key, value);
+            if (!value.isEmpty()) {
+                // metadata may arrive after the trace, so a miss is not cached
+                cache.put(cacheKey(key), value);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} keys:{} cacheHit:{} fetch:{}", descriptor.getTable(), result.size(), result.size() - missKeys.size(), missKeys.size());
+        }
+        return result;
+    }
+
+    static String cacheKey(MetaDataRowKey key) {
+        return key.getAgentId() + '.' + key.getAgentStartTime() + '.' + key.getId();
+    }
+}
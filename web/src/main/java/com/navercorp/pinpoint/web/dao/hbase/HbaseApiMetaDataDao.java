@@ -32,10 +32,13 @@ import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -57,18 +60,24 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
 
     private final RowKeyEncoder<MetaDataRowKey> rowKeyEncoder = new MetadataEncoder();
 
+    private final CachedMetaDataMultiGetter<ApiMetaDataBo> multiGetter;
+
     public HbaseApiMetaDataDao(HbaseOperations2 hbaseOperations2,
                                TableNameProvider tableNameProvider,
                                @Qualifier("apiMetaDataMapper") RowMapper<List<ApiMetaDataBo>> apiMetaDataMapper,
-                               @Qualifier("metadataRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+                               @Qualifier("metadataRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                               @Qualifier(CacheConfiguration.API_METADATA_CACHE_NAME) CacheManager cacheManager) {
         this.hbaseOperations2 = Objects.requireNonNull(hbaseOperations2, "hbaseOperations2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.apiMetaDataMapper = Objects.requireNonNull(apiMetaDataMapper, "apiMetaDataMapper");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        Objects.requireNonNull(cacheManager, "cacheManager");
+        this.multiGetter = new CachedMetaDataMultiGetter<>(hbaseOperations2, tableNameProvider, DESCRIPTOR, apiMetaDataMapper,
+                rowKeyDistributorByHashPrefix, cacheManager.getCache(CacheConfiguration.API_METADATA_CACHE_NAME));
     }
 
     @Override
-    @Cacheable(cacheNames="apiMetaData", key=SPEL_KEY, cacheManager = CacheConfiguration.API_METADATA_CACHE_NAME)
+    @Cacheable(cacheNames="apiMetaData", key=SPEL_KEY, unless = "#result.isEmpty()", cacheManager = CacheConfiguration.API_METADATA_CACHE_NAME)
     public List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId) {
         Objects.requireNonNull(agentId, "agentId");
 
@@ -82,6 +91,12 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         return hbaseOperations2.get(apiMetaDataTableName, get, apiMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataRowKey, List<ApiMetaDataBo>> getApiMetaData(Collection<? extends MetaDataRowKey> keys) {
+        Objects.requireNonNull(keys, "keys");
+        return multiGetter.get(keys);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
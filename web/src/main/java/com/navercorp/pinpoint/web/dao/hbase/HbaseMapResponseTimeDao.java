@@ -21,6 +21,8 @@ import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.web.cache.MapStatisticsWeigher;
+import com.navercorp.pinpoint.web.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.common.server.util.time.Range;
@@ -32,8 +34,10 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -62,6 +66,14 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
 
     private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Value("${web.servermap.statistics.cache.maxBytes:0}")
+    private long cacheMaxBytes;
+
+    @Value("${web.servermap.statistics.cache.closeDelay:180000}")
+    private long cacheCloseDelayMillis;
+
+    private TimeSlotCache<ResponseTime> timeSlotCache;
+
     public HbaseMapResponseTimeDao(HbaseOperations2 hbaseOperations2,
                                    TableNameProvider tableNameProvider,
                                    @Qualifier("responseTimeMapper") RowMapper<ResponseTime> responseTimeMapper,
@@ -74,6 +86,12 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
     }
 
+    @PostConstruct
+    private void setup() {
+        if (cacheMaxBytes > 0) {
+            this.timeSlotCache = new TimeSlotCache<>("MapResponseTime", cacheMaxBytes, cacheCloseDelayMillis, MapStatisticsWeigher::weigh);
+        }
+    }
 
     @Override
     public List<ResponseTime> selectResponseTime(Application application, Range range) {
@@ -83,6 +101,12 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
             logger.debug("selectResponseTime applicationName:{}, {}", application, range);
         }
 
+        if (timeSlotCache != null) {
+            final List<ResponseTime> responseTimeList = new ArrayList<>();
+            timeSlotCache.select(application, range, slotRange -> selectResponseTimeSlots(application, slotRange), responseTimeList::add);
+            return responseTimeList;
+        }
+
         Scan scan = createScan(application, range, DESCRIPTOR.getName());
 
         TableName mapStatisticsSelfTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
@@ -95,6 +119,20 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         return responseTimeList;
     }
 
+    private List<TimeSlotCache.SlotValue<ResponseTime>> selectResponseTimeSlots(Application application, Range range) {
+        final Scan scan = createScan(application, range, DESCRIPTOR.getName());
+        final RowMapper<TimeSlotCache.SlotValue<ResponseTime>> rowMapper = (result, rowNum) -> {
+            final ResponseTime responseTime = responseTimeMapper.mapRow(result, rowNum);
+            if (responseTime == null) {
+                return null;
+            }
+            return new TimeSlotCache.SlotValue<>(responseTime.getTimeStamp(), responseTime);
+        };
+
+        TableName mapStatisticsSelfTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        return hbaseOperations2.findParallel(mapStatisticsSelfTableName, scan, rowKeyDistributorByHashPrefix, rowMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+    }
+
     private Scan createScan(Application application, Range range, byte[] family) {
         range = rangeFactory.createStatisticsRange(range);
         if (logger.isDebugEnabled()) {
@@ -23,6 +23,8 @@ import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.cache.MapStatisticsWeigher;
+import com.navercorp.pinpoint.web.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.mapper.MapStatisticsTimeWindowReducer;
 import com.navercorp.pinpoint.web.mapper.RowMapReduceResultExtractor;
@@ -38,8 +40,11 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -65,6 +70,14 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
 
     private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Value("${web.servermap.statistics.cache.maxBytes:0}")
+    private long cacheMaxBytes;
+
+    @Value("${web.servermap.statistics.cache.closeDelay:180000}")
+    private long cacheCloseDelayMillis;
+
+    private TimeSlotCache<LinkDataMap> timeSlotCache;
+
 
     public HbaseMapStatisticsCalleeDao(
             HbaseOperations2 hbaseTemplate,
@@ -79,12 +92,25 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
     }
 
+    @PostConstruct
+    private void setup() {
+        if (cacheMaxBytes > 0) {
+            this.timeSlotCache = new TimeSlotCache<>("MapStatisticsCallee", cacheMaxBytes, cacheCloseDelayMillis, MapStatisticsWeigher::weigh);
+        }
+    }
+
     @Override
     public LinkDataMap selectCallee(Application calleeApplication, Range range) {
         Objects.requireNonNull(calleeApplication, "calleeApplication");
         Objects.requireNonNull(range, "range");
 
         final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+        if (timeSlotCache != null) {
+            final LinkDataMap linkDataMap = new LinkDataMap(timeWindow);
+            timeSlotCache.select(calleeApplication, range, slotRange -> selectCalleeTimeSlots(calleeApplication, slotRange), linkDataMap::addLinkDataMap);
+            return linkDataMap;
+        }
+
         // find distributed key - ver2.
         final Scan scan = createScan(calleeApplication, range, DESCRIPTOR.getName());
         ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCalleeMapper, new MapStatisticsTimeWindowReducer(timeWindow));
@@ -100,6 +126,21 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
     }
 
 
+    private List<TimeSlotCache.SlotValue<LinkDataMap>> selectCalleeTimeSlots(Application calleeApplication, Range range) {
+        final Scan scan = createScan(calleeApplication, range, DESCRIPTOR.getName());
+        final RowMapper<TimeSlotCache.SlotValue<LinkDataMap>> rowMapper = (result, rowNum) -> {
+            if (result.isEmpty()) {
+                return null;
+            }
+            final byte[] rowKey = rowKeyDistributorByHashPrefix.getOriginalKey(result.getRow());
+            final long timestamp = ApplicationMapStatisticsUtils.getTimestampFromRowKey(rowKey);
+            return new TimeSlotCache.SlotValue<>(timestamp, mapStatisticsCalleeMapper.mapRow(result, rowNum));
+        };
+
+        TableName mapStatisticsCallerTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        return hbaseTemplate.findParallel(mapStatisticsCallerTableName, scan, rowKeyDistributorByHashPrefix, rowMapper, MAP_STATISTICS_CALLER_VER2_NUM_PARTITIONS);
+    }
+
     private Scan createScan(Application application, Range range, byte[] family) {
         range = rangeFactory.createStatisticsRange(range);
 
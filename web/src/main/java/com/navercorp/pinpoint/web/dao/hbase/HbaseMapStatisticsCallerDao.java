@@ -23,6 +23,8 @@ import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.cache.MapStatisticsWeigher;
+import com.navercorp.pinpoint.web.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.mapper.MapStatisticsTimeWindowReducer;
 import com.navercorp.pinpoint.web.mapper.RowMapReduceResultExtractor;
@@ -38,8 +40,11 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -66,6 +71,14 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Value("${web.servermap.statistics.cache.maxBytes:0}")
+    private long cacheMaxBytes;
+
+    @Value("${web.servermap.statistics.cache.closeDelay:180000}")
+    private long cacheCloseDelayMillis;
+
+    private TimeSlotCache<LinkDataMap> timeSlotCache;
+
     public HbaseMapStatisticsCallerDao(
             HbaseOperations2 hbaseTemplate,
             TableNameProvider tableNameProvider,
@@ -79,12 +92,25 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
     }
 
+    @PostConstruct
+    private void setup() {
+        if (cacheMaxBytes > 0) {
+            this.timeSlotCache = new TimeSlotCache<>("MapStatisticsCaller", cacheMaxBytes, cacheCloseDelayMillis, MapStatisticsWeigher::weigh);
+        }
+    }
+
     @Override
     public LinkDataMap selectCaller(Application callerApplication, Range range) {
         Objects.requireNonNull(callerApplication, "callerApplication");
         Objects.requireNonNull(range, "range");
 
         final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+        if (timeSlotCache != null) {
+            final LinkDataMap linkDataMap = new LinkDataMap(timeWindow);
+            timeSlotCache.select(callerApplication, range, slotRange -> selectCallerTimeSlots(callerApplication, slotRange), linkDataMap::addLinkDataMap);
+            return linkDataMap;
+        }
+
         // find distributed key.
         final Scan scan = createScan(callerApplication, range, DESCRIPTOR.getName());
         ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCallerMapper, new MapStatisticsTimeWindowReducer(timeWindow));
@@ -100,6 +126,21 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
     }
 
 
+    private List<TimeSlotCache.SlotValue<LinkDataMap>> selectCallerTimeSlots(Application callerApplication, Range range) {
+        final Scan scan = createScan(callerApplication, range, DESCRIPTOR.getName());
+        final RowMapper<TimeSlotCache.SlotValue<LinkDataMap>> rowMapper = (result, rowNum) -> {
+            if (result.isEmpty()) {
+                return null;
+            }
+            final byte[] rowKey = rowKeyDistributorByHashPrefix.getOriginalKey(result.getRow());
+            final long timestamp = ApplicationMapStatisticsUtils.getTimestampFromRowKey(rowKey);
+            return new TimeSlotCache.SlotValue<>(timestamp, mapStatisticsCallerMapper.mapRow(result, rowNum));
+        };
+
+        TableName mapStatisticsCalleeTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        return hbaseTemplate.findParallel(mapStatisticsCalleeTableName, scan, rowKeyDistributorByHashPrefix, rowMapper, MAP_STATISTICS_CALLEE_VER2_NUM_PARTITIONS);
+    }
+
     private Scan createScan(Application application, Range range, byte[]... familyArgs) {
         range = rangeFactory.createStatisticsRange(range);
 
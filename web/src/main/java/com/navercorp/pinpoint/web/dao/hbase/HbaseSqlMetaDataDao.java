@@ -25,14 +25,19 @@ import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.DefaultMetaDataRowKey;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetadataEncoder;
+import com.navercorp.pinpoint.web.cache.CacheConfiguration;
 import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -41,6 +46,7 @@ import java.util.Objects;
  */
 //@Repository
 public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #sqlId.toString()";
 
     private final HbaseColumnFamily.SqlMetadataV2 DESCRIPTOR = HbaseColumnFamily.SQL_METADATA_VER2_SQL;
 
@@ -53,17 +59,24 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
 
     private final RowKeyEncoder<MetaDataRowKey> rowKeyEncoder = new MetadataEncoder();
 
+    private final CachedMetaDataMultiGetter<SqlMetaDataBo> multiGetter;
+
     public HbaseSqlMetaDataDao(HbaseOperations2 hbaseOperations2,
                                TableNameProvider tableNameProvider,
                                @Qualifier("sqlMetaDataMapper2") RowMapper<List<SqlMetaDataBo>> sqlMetaDataMapper,
-                               @Qualifier("metadataRowKeyDistributor2") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+                               @Qualifier("metadataRowKeyDistributor2") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                               @Qualifier(CacheConfiguration.SQL_METADATA_CACHE_NAME) CacheManager cacheManager) {
         this.hbaseOperations2 = Objects.requireNonNull(hbaseOperations2, "hbaseOperations2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.sqlMetaDataMapper = Objects.requireNonNull(sqlMetaDataMapper, "sqlMetaDataMapper");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        Objects.requireNonNull(cacheManager, "cacheManager");
+        this.multiGetter = new CachedMetaDataMultiGetter<>(hbaseOperations2, tableNameProvider, DESCRIPTOR, sqlMetaDataMapper,
+                rowKeyDistributorByHashPrefix, cacheManager.getCache(CacheConfiguration.SQL_METADATA_CACHE_NAME));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfiguration.SQL_METADATA_CACHE_NAME, key = SPEL_KEY, unless = "#result.isEmpty()", cacheManager = CacheConfiguration.SQL_METADATA_CACHE_NAME)
     public List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId) {
         Objects.requireNonNull(agentId, "agentId");
 
@@ -77,6 +90,12 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         return hbaseOperations2.get(sqlMetaDataTableName, get, sqlMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataRowKey, List<SqlMetaDataBo>> getSqlMetaData(Collection<? extends MetaDataRowKey> keys) {
+        Objects.requireNonNull(keys, "keys");
+        return multiGetter.get(keys);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
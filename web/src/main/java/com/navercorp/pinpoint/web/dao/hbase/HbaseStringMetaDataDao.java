@@ -25,15 +25,20 @@ import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.DefaultMetaDataRowKey;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetadataEncoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
+import com.navercorp.pinpoint.web.cache.CacheConfiguration;
 import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -41,6 +46,7 @@ import java.util.Objects;
  */
 @Repository
 public class HbaseStringMetaDataDao implements StringMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #stringId.toString()";
 
     private final HbaseOperations2 hbaseOperations2;
     private final TableNameProvider tableNameProvider;
@@ -53,17 +59,24 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
 
     private final RowKeyEncoder<MetaDataRowKey> rowKeyEncoder = new MetadataEncoder();
 
+    private final CachedMetaDataMultiGetter<StringMetaDataBo> multiGetter;
+
     public HbaseStringMetaDataDao(HbaseOperations2 hbaseOperations2,
                                   TableNameProvider tableNameProvider,
                                   @Qualifier("stringMetaDataMapper") RowMapper<List<StringMetaDataBo>> stringMetaDataMapper,
-                                  @Qualifier("metadataRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+                                  @Qualifier("metadataRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                  @Qualifier(CacheConfiguration.STRING_METADATA_CACHE_NAME) CacheManager cacheManager) {
         this.hbaseOperations2 = Objects.requireNonNull(hbaseOperations2, "hbaseOperations2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.stringMetaDataMapper = Objects.requireNonNull(stringMetaDataMapper, "stringMetaDataMapper");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
+        Objects.requireNonNull(cacheManager, "cacheManager");
+        this.multiGetter = new CachedMetaDataMultiGetter<>(hbaseOperations2, tableNameProvider, DESCRIPTOR, stringMetaDataMapper,
+                rowKeyDistributorByHashPrefix, cacheManager.getCache(CacheConfiguration.STRING_METADATA_CACHE_NAME));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfiguration.STRING_METADATA_CACHE_NAME, key = SPEL_KEY, unless = "#result.isEmpty()", cacheManager = CacheConfiguration.STRING_METADATA_CACHE_NAME)
     public List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId) {
         Objects.requireNonNull(agentId, "agentId");
 
@@ -77,6 +90,12 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         return hbaseOperations2.get(stringMetaDataTableName, get, stringMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataRowKey, List<StringMetaDataBo>> getStringMetaData(Collection<? extends MetaDataRowKey> keys) {
+        Objects.requireNonNull(keys, "keys");
+        return multiGetter.get(keys);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -59,8 +59,19 @@ import org.springframework.stereotype.Repository;
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -82,6 +93,8 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
     private final RowKeyDecoder<TransactionId> rowKeyDecoder;
 
+    private final Executor executor;
+
     private RowMapper<List<SpanBo>> spanMapperV2;
 
     @Value("${web.hbase.selectSpans.limit:500}")
@@ -93,15 +106,23 @@ public class HbaseTraceDaoV2 implements TraceDao {
     @Value("${web.hbase.mapper.cache.string.size:-1}")
     private int stringCacheSize;
 
+    @Value("${web.hbase.selectAllSpans.concurrency:4}")
+    private int selectConcurrency;
+
+    @Value("${web.servermap.build.timeout:600000}")
+    private long selectTimeoutMillis;
+
     private final Filter spanFilter = createSpanQualifierFilter();
 
     public HbaseTraceDaoV2(HbaseOperations2 template2,
                            TableNameProvider tableNameProvider,
-                           @Qualifier("traceRowKeyEncoderV2") RowKeyEncoder<TransactionId> rowKeyEncoder, @Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<TransactionId> rowKeyDecoder) {
+                           @Qualifier("traceRowKeyEncoderV2") RowKeyEncoder<TransactionId> rowKeyEncoder, @Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<TransactionId> rowKeyDecoder,
+                           @Qualifier("traceSelectExecutor") Executor executor) {
         this.template2 = Objects.requireNonNull(template2, "template2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.rowKeyEncoder = Objects.requireNonNull(rowKeyEncoder, "rowKeyEncoder");
         this.rowKeyDecoder = Objects.requireNonNull(rowKeyDecoder, "rowKeyDecoder");
+        this.executor = Objects.requireNonNull(executor, "executor");
     }
 
     @PostConstruct
@@ -183,12 +204,33 @@ public class HbaseTraceDaoV2 implements TraceDao {
             return Collections.emptyList();
         }
 
+        List<List<SpanQuery>> partitionGetTraceInfoList = partitionTransactionId(transactionIdList, eachPartitionSize);
+        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter);
+    }
+
+    @Override
+    public void selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount, Consumer<List<SpanBo>> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        if (CollectionUtils.isEmpty(transactionIdList)) {
+            return;
+        }
+        Filter filter = null;
+        if (columnGetCount != null && columnGetCount != ColumnGetCount.UNLIMITED_COLUMN_GET_COUNT) {
+            filter = new ColumnCountGetFilter(columnGetCount.getLimit());
+        }
+        List<List<SpanQuery>> partitionGetTraceInfoList = partitionTransactionId(transactionIdList, selectAllSpansLimit);
+        partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter, (partitionIndex, result) -> {
+            for (List<SpanBo> transaction : result) {
+                consumer.accept(transaction);
+            }
+        });
+    }
+
+    private List<List<SpanQuery>> partitionTransactionId(List<TransactionId> transactionIdList, int eachPartitionSize) {
         List<SpanQuery> getTraceInfoList = transactionIdList.stream()
                 .map(SpanQuery::new)
                 .collect(Collectors.toList());
-
-        List<List<SpanQuery>> partitionGetTraceInfoList = partition(getTraceInfoList, eachPartitionSize);
-        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter);
+        return partition(getTraceInfoList, eachPartitionSize);
     }
 
     private List<List<SpanQuery>> partition(List<SpanQuery> getTraceInfoList, int maxTransactionIdListSize) {
@@ -201,14 +243,91 @@ public class HbaseTraceDaoV2 implements TraceDao {
         }
         Objects.requireNonNull(columnFamily, "columnFamily");
 
+        // keep the request order
+        final List<List<List<SpanBo>>> partitionResults = new ArrayList<>(Collections.nCopies(partitionGetTraceInfoList.size(), null));
+        partitionSelect(partitionGetTraceInfoList, columnFamily, filter, partitionResults::set);
+
         List<List<SpanBo>> spanBoList = new ArrayList<>();
-        for (List<SpanQuery> getTraceInfoList : partitionGetTraceInfoList) {
-            List<List<SpanBo>> result = bulkSelect(getTraceInfoList, columnFamily, filter);
+        for (List<List<SpanBo>> result : partitionResults) {
             spanBoList.addAll(result);
         }
         return spanBoList;
     }
 
+    /**
+     * Dispatches each partition multi-get to the executor with at most {@code selectConcurrency} partitions in flight.
+     * Results are handed to the handler by the calling thread in completion order.
+     */
+    private void partitionSelect(List<List<SpanQuery>> partitionGetTraceInfoList, byte[] columnFamily, Filter filter, PartitionResultHandler handler) {
+        if (CollectionUtils.isEmpty(partitionGetTraceInfoList)) {
+            return;
+        }
+        Objects.requireNonNull(columnFamily, "columnFamily");
+
+        if (partitionGetTraceInfoList.size() == 1 || selectConcurrency <= 1) {
+            int partitionIndex = 0;
+            for (List<SpanQuery> getTraceInfoList : partitionGetTraceInfoList) {
+                List<List<SpanBo>> result = bulkSelect(getTraceInfoList, columnFamily, filter);
+                handler.handle(partitionIndex++, result);
+            }
+            return;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final CompletionService<List<List<SpanBo>>> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<List<List<SpanBo>>>, Integer> inFlight = new IdentityHashMap<>();
+        final Iterator<List<SpanQuery>> partitions = partitionGetTraceInfoList.iterator();
+        int nextPartitionIndex = 0;
+        try {
+            while (inFlight.size() < selectConcurrency && partitions.hasNext()) {
+                submit(completionService, inFlight, partitions.next(), nextPartitionIndex++, columnFamily, filter);
+            }
+            while (!inFlight.isEmpty()) {
+                final Future<List<List<SpanBo>>> future = take(completionService, startTime);
+                final int partitionIndex = inFlight.remove(future);
+                final List<List<SpanBo>> result = future.get();
+                if (partitions.hasNext()) {
+                    submit(completionService, inFlight, partitions.next(), nextPartitionIndex++, columnFamily, filter);
+                }
+                handler.handle(partitionIndex, result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("selectAllSpans interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("an error occurred while selecting spans", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("selectAllSpans timed out. timeout=" + selectTimeoutMillis + "ms", e);
+        } finally {
+            for (Future<List<List<SpanBo>>> future : inFlight.keySet()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void submit(CompletionService<List<List<SpanBo>>> completionService, Map<Future<List<List<SpanBo>>>, Integer> inFlight,
+                        List<SpanQuery> getTraceInfoList, int partitionIndex, byte[] columnFamily, Filter filter) {
+        Future<List<List<SpanBo>>> future = completionService.submit(() -> bulkSelect(getTraceInfoList, columnFamily, filter));
+        inFlight.put(future, partitionIndex);
+    }
+
+    private Future<List<List<SpanBo>>> take(CompletionService<List<List<SpanBo>>> completionService, long startTime) throws InterruptedException, TimeoutException {
+        if (selectTimeoutMillis <= 0) {
+            return completionService.take();
+        }
+        final long remainingMillis = selectTimeoutMillis - (System.currentTimeMillis() - startTime);
+        final Future<List<List<SpanBo>>> future = completionService.poll(Math.max(remainingMillis, 0), TimeUnit.MILLISECONDS);
+        if (future == null) {
+            throw new TimeoutException();
+        }
+        return future;
+    }
+
+    @FunctionalInterface
+    private interface PartitionResultHandler {
+        void handle(int partitionIndex, List<List<SpanBo>> result);
+    }
+
     private List<List<SpanBo>> bulkSelect(List<SpanQuery> getTraceInfoList, byte[] columnFamily, Filter filter) {
         if (CollectionUtils.isEmpty(getTraceInfoList)) {
             return Collections.emptyList();
@@ -28,4 +28,20 @@ public class AgentStatOperationConfiguration {
         HbaseColumnFamily.AgentUriStatStatistics uri = HbaseColumnFamily.AGENT_URI_STAT_STATISTICS;
         return new HbaseAgentStatDaoOperations(uri, uri.TIMESPAN_MS, hbaseOperations2, tableNameProvider, operationFactory);
     }
+
+    @Bean("agentStatRollupMinuteDaoOperations")
+    public HbaseAgentStatDaoOperations getHbaseAgentStatRollupMinuteDaoOperations(HbaseOperations2 hbaseOperations2,
+                                                                                   TableNameProvider tableNameProvider,
+                                                                                   AgentStatHbaseOperationFactory operationFactory) {
+        HbaseColumnFamily.AgentStatRollup minute = HbaseColumnFamily.AGENT_STAT_ROLLUP_MINUTE;
+        return new HbaseAgentStatDaoOperations(minute, minute.getTimespan(), hbaseOperations2, tableNameProvider, operationFactory);
+    }
+
+    @Bean("agentStatRollupHourDaoOperations")
+    public HbaseAgentStatDaoOperations getHbaseAgentStatRollupHourDaoOperations(HbaseOperations2 hbaseOperations2,
+                                                                                 TableNameProvider tableNameProvider,
+                                                                                 AgentStatHbaseOperationFactory operationFactory) {
+        HbaseColumnFamily.AgentStatRollup hour = HbaseColumnFamily.AGENT_STAT_ROLLUP_HOUR;
+        return new HbaseAgentStatDaoOperations(hour, hour.getTimespan(), hbaseOperations2, tableNameProvider, operationFactory);
+    }
 }
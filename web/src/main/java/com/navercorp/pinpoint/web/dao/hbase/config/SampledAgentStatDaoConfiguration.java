@@ -1,5 +1,6 @@
 package com.navercorp.pinpoint.web.dao.hbase.config;
 
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDecoder;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
@@ -16,10 +17,12 @@ import com.navercorp.pinpoint.common.server.bo.stat.LoadedClassBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TotalThreadCountBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
 import com.navercorp.pinpoint.web.dao.SampledAgentStatDao;
 import com.navercorp.pinpoint.web.dao.hbase.stat.DefaultSampledAgentStatDao;
 import com.navercorp.pinpoint.web.dao.hbase.stat.HbaseAgentStatDaoOperations;
 import com.navercorp.pinpoint.web.dao.hbase.stat.HbaseSampledDataSourceDao;
+import com.navercorp.pinpoint.web.dao.hbase.stat.RollupSampledAgentStatDao;
 import com.navercorp.pinpoint.web.dao.hbase.stat.SampledAgentStatResultExtractorSupplier;
 import com.navercorp.pinpoint.web.dao.hbase.stat.SampledResultsExtractorSupplier;
 import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
@@ -37,18 +40,35 @@ import com.navercorp.pinpoint.web.vo.stat.SampledLoadedClassCount;
 import com.navercorp.pinpoint.web.vo.stat.SampledResponseTime;
 import com.navercorp.pinpoint.web.vo.stat.SampledTotalThreadCount;
 import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.ToLongFunction;
 
 @Configuration
 public class SampledAgentStatDaoConfiguration {
 
     private final HbaseAgentStatDaoOperations operations;
-
-    public SampledAgentStatDaoConfiguration(HbaseAgentStatDaoOperations operations) {
+    private final HbaseAgentStatDaoOperations rollupMinuteOperations;
+    private final HbaseAgentStatDaoOperations rollupHourOperations;
+    private final AgentStatDecoder<AgentStatRollupBo> rollupDecoder;
+    private final boolean rollupEnable;
+
+    public SampledAgentStatDaoConfiguration(HbaseAgentStatDaoOperations operations,
+                                            @Qualifier("agentStatRollupMinuteDaoOperations") HbaseAgentStatDaoOperations rollupMinuteOperations,
+                                            @Qualifier("agentStatRollupHourDaoOperations") HbaseAgentStatDaoOperations rollupHourOperations,
+                                            AgentStatDecoder<AgentStatRollupBo> rollupDecoder,
+                                            @Value("${web.agentstat.rollup.enable:false}") boolean rollupEnable) {
         this.operations = Objects.requireNonNull(operations, "operations");
+        this.rollupMinuteOperations = Objects.requireNonNull(rollupMinuteOperations, "rollupMinuteOperations");
+        this.rollupHourOperations = Objects.requireNonNull(rollupHourOperations, "rollupHourOperations");
+        this.rollupDecoder = Objects.requireNonNull(rollupDecoder, "rollupDecoder");
+        this.rollupEnable = rollupEnable;
     }
 
 
@@ -64,6 +84,25 @@ public class SampledAgentStatDaoConfiguration {
         return new DefaultSampledAgentStatDao<>(statType, operations, decoder, supplier);
     }
 
+    private <IN extends AgentStatDataPoint,
+            OUT extends SampledAgentStatDataPoint> SampledAgentStatDao<OUT> newSampledDao(AgentStatType statType,
+                                                                                          AgentStatDecoder<IN> decoder,
+                                                                                          AgentStatSampler<IN, OUT> sampler,
+                                                                                          AgentStatSampler<AgentStatRollupBo, OUT> rollupSampler,
+                                                                                          ToLongFunction<OUT> timestampFunction) {
+        SampledAgentStatDao<OUT> rawDao = newSampledDao(statType, decoder, sampler);
+        if (!rollupEnable) {
+            return rawDao;
+        }
+        Objects.requireNonNull(rollupSampler, "rollupSampler");
+
+        SampledResultsExtractorSupplier<AgentStatRollupBo, OUT> supplier = new SampledAgentStatResultExtractorSupplier<>(rollupSampler);
+        Map<Long, SampledAgentStatDao<OUT>> rollupDaos = new HashMap<>();
+        rollupDaos.put(HbaseColumnFamily.AGENT_STAT_ROLLUP_MINUTE.getGranularity(), new DefaultSampledAgentStatDao<>(statType, rollupMinuteOperations, rollupDecoder, supplier));
+        rollupDaos.put(HbaseColumnFamily.AGENT_STAT_ROLLUP_HOUR.getGranularity(), new DefaultSampledAgentStatDao<>(statType, rollupHourOperations, rollupDecoder, supplier));
+        return new RollupSampledAgentStatDao<>(rawDao, rollupDaos, timestampFunction);
+    }
+
     @Bean
     public SampledAgentStatDao<SampledJvmGc> getSampledJvmGcDao(AgentStatDecoder<JvmGcBo> decoder,
                                                                 AgentStatSampler<JvmGcBo, SampledJvmGc> sampler) {
@@ -78,14 +117,18 @@ public class SampledAgentStatDaoConfiguration {
 
     @Bean
     public SampledAgentStatDao<SampledCpuLoad> getSampledCpuLoadDao(AgentStatDecoder<CpuLoadBo> decoder,
-                                                                    AgentStatSampler<CpuLoadBo, SampledCpuLoad> sampler) {
-        return newSampledDao(AgentStatType.CPU_LOAD, decoder, sampler);
+                                                                    AgentStatSampler<CpuLoadBo, SampledCpuLoad> sampler,
+                                                                    AgentStatSampler<AgentStatRollupBo, SampledCpuLoad> rollupSampler) {
+        return newSampledDao(AgentStatType.CPU_LOAD, decoder, sampler, rollupSampler,
+                cpuLoad -> cpuLoad.getJvmCpuLoad().getXVal());
     }
 
     @Bean
     public SampledAgentStatDao<SampledTransaction> getSampledTransactionDao(AgentStatDecoder<TransactionBo> decoder,
-                                                                            AgentStatSampler<TransactionBo, SampledTransaction> sampler) {
-        return newSampledDao(AgentStatType.TRANSACTION, decoder, sampler);
+                                                                            AgentStatSampler<TransactionBo, SampledTransaction> sampler,
+                                                                            AgentStatSampler<AgentStatRollupBo, SampledTransaction> rollupSampler) {
+        return newSampledDao(AgentStatType.TRANSACTION, decoder, sampler, rollupSampler,
+                transaction -> transaction.getSampledNew().getXVal());
     }
 
 
@@ -115,28 +158,36 @@ public class SampledAgentStatDaoConfiguration {
 
     @Bean
     public SampledAgentStatDao<SampledFileDescriptor> getSampledFileDescriptorDao(AgentStatDecoder<FileDescriptorBo> decoder,
-                                                                                  AgentStatSampler<FileDescriptorBo, SampledFileDescriptor> sampler) {
-        return newSampledDao(AgentStatType.FILE_DESCRIPTOR, decoder, sampler);
+                                                                                  AgentStatSampler<FileDescriptorBo, SampledFileDescriptor> sampler,
+                                                                                  AgentStatSampler<AgentStatRollupBo, SampledFileDescriptor> rollupSampler) {
+        return newSampledDao(AgentStatType.FILE_DESCRIPTOR, decoder, sampler, rollupSampler,
+                fileDescriptor -> fileDescriptor.getOpenFileDescriptorCount().getXVal());
     }
 
 
     @Bean
     public SampledAgentStatDao<SampledDirectBuffer> getSampledDirectBufferDao(AgentStatDecoder<DirectBufferBo> decoder,
-                                                                              AgentStatSampler<DirectBufferBo, SampledDirectBuffer> sampler) {
-        return newSampledDao(AgentStatType.DIRECT_BUFFER, decoder, sampler);
+                                                                              AgentStatSampler<DirectBufferBo, SampledDirectBuffer> sampler,
+                                                                              AgentStatSampler<AgentStatRollupBo, SampledDirectBuffer> rollupSampler) {
+        return newSampledDao(AgentStatType.DIRECT_BUFFER, decoder, sampler, rollupSampler,
+                directBuffer -> directBuffer.getDirectCount().getXVal());
     }
 
     @Bean
     public SampledAgentStatDao<SampledTotalThreadCount> getSampledTotalThreadCountDao(AgentStatDecoder<TotalThreadCountBo> decoder,
-                                                                                      AgentStatSampler<TotalThreadCountBo, SampledTotalThreadCount> sampler) {
-        return newSampledDao(AgentStatType.TOTAL_THREAD, decoder, sampler);
+                                                                                      AgentStatSampler<TotalThreadCountBo, SampledTotalThreadCount> sampler,
+                                                                                      AgentStatSampler<AgentStatRollupBo, SampledTotalThreadCount> rollupSampler) {
+        return newSampledDao(AgentStatType.TOTAL_THREAD, decoder, sampler, rollupSampler,
+                totalThreadCount -> totalThreadCount.getTotalThreadCount().getXVal());
     }
 
 
     @Bean
     public SampledAgentStatDao<SampledLoadedClassCount> getSampledLoadedClassCountDao(AgentStatDecoder<LoadedClassBo> decoder,
-                                                                                      AgentStatSampler<LoadedClassBo, SampledLoadedClassCount> sampler) {
-        return newSampledDao(AgentStatType.LOADED_CLASS, decoder, sampler);
+                                                                                      AgentStatSampler<LoadedClassBo, SampledLoadedClassCount> sampler,
+                                                                                      AgentStatSampler<AgentStatRollupBo, SampledLoadedClassCount> rollupSampler) {
+        return newSampledDao(AgentStatType.LOADED_CLASS, decoder, sampler, rollupSampler,
+                loadedClassCount -> loadedClassCount.getLoadedClassCount().getXVal());
     }
 
 }
\ No newline at end of file
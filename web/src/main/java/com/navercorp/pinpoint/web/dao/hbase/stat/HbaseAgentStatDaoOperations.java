@@ -123,7 +123,7 @@ public class HbaseAgentStatDaoOperations {
     }
 
     private Scan createScan(AgentStatType agentStatType, String agentId, Range range, int scanCacheSize) {
-        Scan scan = this.operationFactory.createScan(agentId, agentStatType, range.getFrom(), range.getTo());
+        Scan scan = this.operationFactory.createScan(agentId, agentStatType, range.getFrom(), range.getTo(), timespan);
         scan.setCaching(scanCacheSize);
         scan.setId(agentStatType.getChartType());
         scan.addFamily(columnFamily.getName());
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.stat;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.dao.SampledAgentStatDao;
+import com.navercorp.pinpoint.web.util.FixedTimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads the coarsest rollup whose granularity evenly divides the time window slot,
+ * and reads the raw data points for the slots the rollup does not cover.
+ * <p>
+ * Slots may be missing from the rollup because the range predates enabling rollups, the current rollup is not written yet,
+ * or a collector lost its rollup state. Each run of missing slots is read from the raw data,
+ * and the whole range is read from the raw data when the rollup is empty or too fragmented.
+ */
+public class RollupSampledAgentStatDao<S extends SampledAgentStatDataPoint> implements SampledAgentStatDao<S> {
+
+    // raw scans per request before the whole range is read from the raw data instead
+    static final int MAX_RAW_SCAN_COUNT = 4;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final SampledAgentStatDao<S> rawDao;
+    private final NavigableMap<Long, SampledAgentStatDao<S>> rollupDaos;
+    private final ToLongFunction<S> timestampFunction;
+
+    /**
+     * @param rollupDaos rollup daos keyed by their granularity
+     * @param timestampFunction time window slot timestamp of a sampled data point
+     */
+    public RollupSampledAgentStatDao(SampledAgentStatDao<S> rawDao, Map<Long, SampledAgentStatDao<S>> rollupDaos, ToLongFunction<S> timestampFunction) {
+        this.rawDao = Objects.requireNonNull(rawDao, "rawDao");
+        Objects.requireNonNull(rollupDaos, "rollupDaos");
+        this.rollupDaos = new TreeMap<>(rollupDaos);
+        this.timestampFunction = Objects.requireNonNull(timestampFunction, "timestampFunction");
+    }
+
+    @Override
+    public List<S> getSampledAgentStatList(String agentId, TimeWindow timeWindow) {
+        Objects.requireNonNull(timeWindow, "timeWindow");
+
+        final long windowSlotSize = timeWindow.getWindowSlotSize();
+        for (Map.Entry<Long, SampledAgentStatDao<S>> entry : rollupDaos.descendingMap().entrySet()) {
+            final long granularity = entry.getKey();
+            if (windowSlotSize % granularity != 0) {
+                continue;
+            }
+            final List<S> result = entry.getValue().getSampledAgentStatList(agentId, timeWindow);
+            if (!result.isEmpty()) {
+                return fillMissingSlots(agentId, timeWindow, result);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("no rollup found. agentId:{} chartType:{} granularity:{}", agentId, getChartType(), granularity);
+            }
+            break;
+        }
+        return rawDao.getSampledAgentStatList(agentId, timeWindow);
+    }
+
+    private List<S> fillMissingSlots(String agentId, TimeWindow timeWindow, List<S> rollup) {
+        final List<Range> missingRanges = getMissingRanges(timeWindow, rollup);
+        if (missingRanges.isEmpty()) {
+            return rollup;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("rollup partially found. agentId:{} chartType:{} missingRanges:{}", agentId, getChartType(), missingRanges);
+        }
+        if (missingRanges.size() > MAX_RAW_SCAN_COUNT) {
+            return rawDao.getSampledAgentStatList(agentId, timeWindow);
+        }
+
+        final FixedTimeWindowSampler sampler = new FixedTimeWindowSampler(timeWindow.getWindowSlotSize());
+        final List<S> result = new ArrayList<>(rollup);
+        for (Range missingRange : missingRanges) {
+            final List<S> raw = rawDao.getSampledAgentStatList(agentId, new TimeWindow(missingRange, sampler));
+            for (S dataPoint : raw) {
+                final long timestamp = timestampFunction.applyAsLong(dataPoint);
+                if (missingRange.getFrom() <= timestamp && timestamp <= missingRange.getTo()) {
+                    result.add(dataPoint);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(timestampFunction));
+        return result;
+    }
+
+    /**
+     * @return runs of consecutive window slots without a rollup data point, from the first to the last slot timestamp of each run
+     */
+    private List<Range> getMissingRanges(TimeWindow timeWindow, List<S> rollup) {
+        final List<Range> missingRanges = new ArrayList<>();
+        final long windowSlotSize = timeWindow.getWindowSlotSize();
+        // sampled data points are sorted by their slot timestamp
+        int index = 0;
+        long missingFrom = -1;
+        for (long slotTimestamp : timeWindow) {
+            while (index < rollup.size() && timestampFunction.applyAsLong(rollup.get(index)) < slotTimestamp) {
+                index++;
+            }
+            final boolean covered = index < rollup.size() && timestampFunction.applyAsLong(rollup.get(index)) == slotTimestamp;
+            if (covered) {
+                if (missingFrom != -1) {
+                    missingRanges.add(Range.between(missingFrom, slotTimestamp - windowSlotSize));
+                    missingFrom = -1;
+                }
+            } else if (missingFrom == -1) {
+                missingFrom = slotTimestamp;
+            }
+        }
+        if (missingFrom != -1) {
+            missingRanges.add(Range.between(missingFrom, timeWindow.getWindowRange().getTo()));
+        }
+        return missingRanges;
+    }
+
+    @Override
+    public String getChartType() {
+        return rawDao.getChartType();
+    }
+}
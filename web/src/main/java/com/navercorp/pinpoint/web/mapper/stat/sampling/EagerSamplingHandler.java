@@ -22,14 +22,15 @@ import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
+ * Samples data points partitioned by their agent start timestamp.
+ * Sampled points are kept in arrays indexed by their {@link TimeWindow} slot so that timestamps are never boxed
+ * and no map entries are created per slot.
+ *
  * @author HyunGil Jeong
  */
 public class EagerSamplingHandler<T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> implements AgentStatSamplingHandler<T, S> {
@@ -37,32 +38,40 @@ public class EagerSamplingHandler<T extends AgentStatDataPoint, S extends Sample
     private final TimeWindow timeWindow;
     private final AgentStatSampler<T, S> sampler;
 
-    private final Map<Long, SamplingPartitionContext> samplingContexts = new HashMap<>();
-    private final Map<Long, SortedMap<Long, S>> sampledPointProjection = new TreeMap<>();
+    private final List<SamplingPartitionContext> samplingContexts = new ArrayList<>();
+    private SamplingPartitionContext lastSamplingContext;
+
+    // sampled point of each timeslot, reduced to the one with the latest agent start timestamp
+    private int firstSlotIndex;
+    private Object[] sampledPoints;
+    private long[] sampledStartTimestamps;
 
     public EagerSamplingHandler(TimeWindow timeWindow, AgentStatSampler<T, S> sampler) {
         this.timeWindow = timeWindow;
         this.sampler = sampler;
+        final int slotCount = Math.toIntExact(timeWindow.getWindowRangeCount());
+        this.firstSlotIndex = 0;
+        this.sampledPoints = new Object[slotCount];
+        this.sampledStartTimestamps = new long[slotCount];
     }
 
     public void addDataPoint(T dataPoint) {
         long startTimestamp = dataPoint.getStartTimestamp();
         long timestamp = dataPoint.getTimestamp();
         long timeslotTimestamp = timeWindow.refineTimestamp(timestamp);
-        SamplingPartitionContext samplingContext = samplingContexts.get(startTimestamp);
+        SamplingPartitionContext samplingContext = getSamplingContext(startTimestamp);
         if (samplingContext == null) {
-            samplingContext = new SamplingPartitionContext(timeslotTimestamp, dataPoint);
-            samplingContexts.put(startTimestamp, samplingContext);
+            samplingContext = new SamplingPartitionContext(startTimestamp, timeslotTimestamp, dataPoint);
+            samplingContexts.add(samplingContext);
+            lastSamplingContext = samplingContext;
         } else {
             long timeslotTimestampToSample = samplingContext.getTimeslotTimestamp();
             if (timeslotTimestampToSample == timeslotTimestamp) {
                 samplingContext.addDataPoint(dataPoint);
             } else if (timeslotTimestampToSample > timeslotTimestamp){
                 S sampledPoint = samplingContext.sampleDataPoints(dataPoint);
-                SortedMap<Long, S> sampledPoints = sampledPointProjection.computeIfAbsent(timeslotTimestampToSample, k -> new TreeMap<>());
-                sampledPoints.put(startTimestamp, sampledPoint);
-                samplingContext = new SamplingPartitionContext(timeslotTimestamp, dataPoint);
-                samplingContexts.put(startTimestamp, samplingContext);
+                putSampledPoint(samplingContext.getTimeslotIndex(), startTimestamp, sampledPoint);
+                samplingContext.nextTimeslot(timeslotTimestamp, dataPoint);
             } else {
                 // Results should be sorted in a descending order of their actual timestamp values
                 // as they are stored using reverse timestamp.
@@ -71,49 +80,107 @@ public class EagerSamplingHandler<T extends AgentStatDataPoint, S extends Sample
         }
     }
 
+    private SamplingPartitionContext getSamplingContext(long startTimestamp) {
+        // data points of the same agent life cycle are mostly contiguous
+        final SamplingPartitionContext lastSamplingContext = this.lastSamplingContext;
+        if (lastSamplingContext != null && lastSamplingContext.getStartTimestamp() == startTimestamp) {
+            return lastSamplingContext;
+        }
+        for (SamplingPartitionContext samplingContext : samplingContexts) {
+            if (samplingContext.getStartTimestamp() == startTimestamp) {
+                this.lastSamplingContext = samplingContext;
+                return samplingContext;
+            }
+        }
+        return null;
+    }
+
+    private void putSampledPoint(int timeslotIndex, long startTimestamp, S sampledPoint) {
+        final int slot = ensureSlot(timeslotIndex);
+        if (sampledPoints[slot] == null || sampledStartTimestamps[slot] < startTimestamp) {
+            sampledPoints[slot] = sampledPoint;
+            sampledStartTimestamps[slot] = startTimestamp;
+        }
+    }
+
+    private int ensureSlot(int timeslotIndex) {
+        // data points may fall outside the window range, grow the slots to cover them
+        final int length = sampledPoints.length;
+        if (timeslotIndex < firstSlotIndex) {
+            final int shift = firstSlotIndex - timeslotIndex;
+            final Object[] newSampledPoints = new Object[length + shift];
+            final long[] newSampledStartTimestamps = new long[length + shift];
+            System.arraycopy(sampledPoints, 0, newSampledPoints, shift, length);
+            System.arraycopy(sampledStartTimestamps, 0, newSampledStartTimestamps, shift, length);
+            this.sampledPoints = newSampledPoints;
+            this.sampledStartTimestamps = newSampledStartTimestamps;
+            this.firstSlotIndex = timeslotIndex;
+        } else if (timeslotIndex - firstSlotIndex >= length) {
+            final int newLength = timeslotIndex - firstSlotIndex + 1;
+            this.sampledPoints = Arrays.copyOf(sampledPoints, newLength);
+            this.sampledStartTimestamps = Arrays.copyOf(sampledStartTimestamps, newLength);
+        }
+        return timeslotIndex - firstSlotIndex;
+    }
+
+    @SuppressWarnings("unchecked")
     public List<S> getSampledDataPoints() {
         // sample remaining data point projections
-        for (Map.Entry<Long, SamplingPartitionContext> e : samplingContexts.entrySet()) {
-            long startTimestamp = e.getKey();
-            SamplingPartitionContext samplingPartitionContext = e.getValue();
-            long timeslotTimestamp = samplingPartitionContext.getTimeslotTimestamp();
+        for (SamplingPartitionContext samplingPartitionContext : samplingContexts) {
             S sampledDataPoint = samplingPartitionContext.sampleDataPoints();
-            SortedMap<Long, S> reduceCandidates = sampledPointProjection.computeIfAbsent(timeslotTimestamp, k -> new TreeMap<>());
-            reduceCandidates.put(startTimestamp, sampledDataPoint);
+            putSampledPoint(samplingPartitionContext.getTimeslotIndex(), samplingPartitionContext.getStartTimestamp(), sampledDataPoint);
         }
         // reduce projection
-        if (sampledPointProjection.isEmpty()) {
-            return Collections.emptyList();
-        } else {
-            List<S> sampledDataPoints = new ArrayList<>(sampledPointProjection.size());
-            for (SortedMap<Long, S> sampledPointCandidates : sampledPointProjection.values()) {
-                sampledDataPoints.add(reduceSampledPoints(sampledPointCandidates));
+        List<S> sampledDataPoints = null;
+        for (Object sampledPoint : sampledPoints) {
+            if (sampledPoint != null) {
+                if (sampledDataPoints == null) {
+                    sampledDataPoints = new ArrayList<>(sampledPoints.length);
+                }
+                sampledDataPoints.add((S) sampledPoint);
             }
-            return sampledDataPoints;
         }
-    }
-
-    private S reduceSampledPoints(SortedMap<Long, S> sampledPointCandidates) {
-        Long lastKey = sampledPointCandidates.lastKey();
-        return sampledPointCandidates.get(lastKey);
+        if (sampledDataPoints == null) {
+            return Collections.emptyList();
+        }
+        return sampledDataPoints;
     }
 
     private class SamplingPartitionContext {
 
-        private final int timeslotIndex;
-        private final long timeslotTimestamp;
-        private final List<T> dataPoints = new ArrayList<>();
+        private final long startTimestamp;
+        private int timeslotIndex;
+        private long timeslotTimestamp;
+        private List<T> dataPoints;
 
-        private SamplingPartitionContext(long timeslotTimestamp, T initialDataPoint) {
+        private SamplingPartitionContext(long startTimestamp, long timeslotTimestamp, T initialDataPoint) {
+            this.startTimestamp = startTimestamp;
+            this.dataPoints = new ArrayList<>();
+            nextTimeslot(timeslotTimestamp, initialDataPoint);
+        }
+
+        private void nextTimeslot(long timeslotTimestamp, T initialDataPoint) {
+            // the sampler may hold on to the previous list, so start a new one sized after it
+            if (!this.dataPoints.isEmpty()) {
+                this.dataPoints = new ArrayList<>(this.dataPoints.size());
+            }
             this.timeslotTimestamp = timeslotTimestamp;
+            this.timeslotIndex = timeWindow.getWindowIndex(timeslotTimestamp);
             this.dataPoints.add(initialDataPoint);
-            this.timeslotIndex = timeWindow.getWindowIndex(this.timeslotTimestamp);
         }
 
         private void addDataPoint(T dataPoint) {
             this.dataPoints.add(dataPoint);
         }
 
+        private long getStartTimestamp() {
+            return startTimestamp;
+        }
+
+        private int getTimeslotIndex() {
+            return timeslotIndex;
+        }
+
         private long getTimeslotTimestamp() {
             return timeslotTimestamp;
         }
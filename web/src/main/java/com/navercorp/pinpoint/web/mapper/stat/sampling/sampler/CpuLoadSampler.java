@@ -21,10 +21,9 @@ import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
 
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPointSummary;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.function.ToDoubleFunction;
 
@@ -46,25 +45,20 @@ public class CpuLoadSampler implements AgentStatSampler<CpuLoadBo, SampledCpuLoa
     }
 
     private AgentStatPoint<Double> newAgentStatPoint(long timestamp, List<CpuLoadBo> dataPoints, ToDoubleFunction<CpuLoadBo> filter) {
-        List<Double> jvmCpuLoads = filter(dataPoints, filter);
-        return createPoint(timestamp, jvmCpuLoads);
-    }
-
-    private List<Double> filter(List<CpuLoadBo> dataPoints, ToDoubleFunction<CpuLoadBo> filter) {
-        final List<Double> result = new ArrayList<>(dataPoints.size());
+        final DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
         for (CpuLoadBo cpuLoadBo : dataPoints) {
             final double apply = filter.applyAsDouble(cpuLoadBo);
             if (apply != CpuLoadBo.UNCOLLECTED_VALUE) {
-                result.add(apply * 100);
+                stats.accept(apply * 100);
             }
         }
-        return result;
+        return createPoint(timestamp, stats);
     }
 
-    private AgentStatPoint<Double> createPoint(long timestamp, List<Double> values) {
-        if (CollectionUtils.isEmpty(values)) {
+    private AgentStatPoint<Double> createPoint(long timestamp, DoubleSummaryStatistics stats) {
+        if (stats.getCount() == 0) {
             return SampledCpuLoad.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
         }
-        return AgentStatPointSummary.doubleSummaryWithAllScale(timestamp, values, NUM_DECIMAL_PLACES);
+        return AgentStatPointSummary.doubleSummaryWithAllScale(timestamp, stats, NUM_DECIMAL_PLACES);
     }
 }
@@ -23,7 +23,7 @@ import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPointSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
 import java.util.List;
 
 /**
@@ -38,8 +38,8 @@ public class DataSourceSampler implements AgentStatSampler<DataSourceBo, Sampled
             return null;
         }
 
-        final List<Integer> activeConnectionSizes = new ArrayList<>(dataSourceBoList.size());
-        final List<Integer> maxConnectionSizes = new ArrayList<>(dataSourceBoList.size());
+        final IntSummaryStatistics activeConnectionSizes = new IntSummaryStatistics();
+        final IntSummaryStatistics maxConnectionSizes = new IntSummaryStatistics();
 
         final DataSourceBo defaultDataSourceBo = dataSourceBoList.get(0);
         final int id = defaultDataSourceBo.getId();
@@ -50,12 +50,12 @@ public class DataSourceSampler implements AgentStatSampler<DataSourceBo, Sampled
 
             final int activeConnectionSize = dataSourceBo.getActiveConnectionSize();
             if (activeConnectionSize >= 0) {
-                activeConnectionSizes.add(activeConnectionSize);
+                activeConnectionSizes.accept(activeConnectionSize);
             }
 
             final int maxConnectionSize = dataSourceBo.getMaxConnectionSize();
             if (maxConnectionSize >= 0) {
-                maxConnectionSizes.add(maxConnectionSize);
+                maxConnectionSizes.accept(maxConnectionSize);
             }
 
             if (dataSourceBo.getId() != id) {
@@ -84,8 +84,8 @@ public class DataSourceSampler implements AgentStatSampler<DataSourceBo, Sampled
         return sampledDataSource;
     }
 
-    private AgentStatPoint<Integer> createPoint(long timestamp, List<Integer> values) {
-        if (CollectionUtils.isEmpty(values)) {
+    private AgentStatPoint<Integer> createPoint(long timestamp, IntSummaryStatistics values) {
+        if (values.getCount() == 0) {
             return SampledDataSource.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
         }
 
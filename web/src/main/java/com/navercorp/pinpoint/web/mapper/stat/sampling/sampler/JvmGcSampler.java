@@ -21,11 +21,10 @@ import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.web.vo.stat.SampledJvmGc;
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPointSummary;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 
 /**
  * @author HyunGil Jeong
@@ -36,28 +35,28 @@ public class JvmGcSampler implements AgentStatSampler<JvmGcBo, SampledJvmGc> {
     @Override
     public SampledJvmGc sampleDataPoints(int timeWindowIndex, long timestamp, List<JvmGcBo> dataPoints, JvmGcBo previousDataPoint) {
         JvmGcType jvmGcType = JvmGcType.UNKNOWN;
-        List<Long> heapUseds = new ArrayList<>(dataPoints.size());
-        List<Long> heapMaxes = new ArrayList<>(dataPoints.size());
-        List<Long> nonHeapUseds = new ArrayList<>(dataPoints.size());
-        List<Long> nonHeapMaxes = new ArrayList<>(dataPoints.size());
-        List<Long> gcOldCounts = new ArrayList<>(dataPoints.size());
-        List<Long> gcOldTimes = new ArrayList<>(dataPoints.size());
+        LongSummaryStatistics heapUseds = new LongSummaryStatistics();
+        LongSummaryStatistics heapMaxes = new LongSummaryStatistics();
+        LongSummaryStatistics nonHeapUseds = new LongSummaryStatistics();
+        LongSummaryStatistics nonHeapMaxes = new LongSummaryStatistics();
+        LongSummaryStatistics gcOldCounts = new LongSummaryStatistics();
+        LongSummaryStatistics gcOldTimes = new LongSummaryStatistics();
         // dataPoints are in descending order
         JvmGcBo previousBo = previousDataPoint;
         for (int i = dataPoints.size() - 1; i >= 0; --i) {
             JvmGcBo jvmGcBo = dataPoints.get(i);
             jvmGcType = jvmGcBo.getGcType();
             if (jvmGcBo.getHeapUsed() != JvmGcBo.UNCOLLECTED_VALUE) {
-                heapUseds.add(jvmGcBo.getHeapUsed());
+                heapUseds.accept(jvmGcBo.getHeapUsed());
             }
             if (jvmGcBo.getHeapMax() != JvmGcBo.UNCOLLECTED_VALUE) {
-                heapMaxes.add(jvmGcBo.getHeapMax());
+                heapMaxes.accept(jvmGcBo.getHeapMax());
             }
             if (jvmGcBo.getNonHeapUsed() != JvmGcBo.UNCOLLECTED_VALUE) {
-                nonHeapUseds.add(jvmGcBo.getNonHeapUsed());
+                nonHeapUseds.accept(jvmGcBo.getNonHeapUsed());
             }
             if (jvmGcBo.getNonHeapMax() != JvmGcBo.UNCOLLECTED_VALUE) {
-                nonHeapMaxes.add(jvmGcBo.getNonHeapMax());
+                nonHeapMaxes.accept(jvmGcBo.getNonHeapMax());
             }
 
             if (previousBo != null) {
@@ -66,16 +65,16 @@ public class JvmGcSampler implements AgentStatSampler<JvmGcBo, SampledJvmGc> {
                 // Added to maintain backwards compatibility for data that do not have agent start timestamp.
                 if (checkJvmRestart(previousBo, jvmGcBo)) {
                     if (isGcCollected(jvmGcBo)) {
-                        gcOldCounts.add(jvmGcBo.getGcOldCount());
-                        gcOldTimes.add(jvmGcBo.getGcOldTime());
+                        gcOldCounts.accept(jvmGcBo.getGcOldCount());
+                        gcOldTimes.accept(jvmGcBo.getGcOldTime());
                     } else {
                         jvmGcBo.setGcOldCount(0L);
                         jvmGcBo.setGcOldTime(0L);
                     }
                 } else {
                     if (isGcCollected(jvmGcBo) && isGcCollected(previousBo)) {
-                        gcOldCounts.add(jvmGcBo.getGcOldCount() - previousBo.getGcOldCount());
-                        gcOldTimes.add(jvmGcBo.getGcOldTime() - previousBo.getGcOldTime());
+                        gcOldCounts.accept(jvmGcBo.getGcOldCount() - previousBo.getGcOldCount());
+                        gcOldTimes.accept(jvmGcBo.getGcOldTime() - previousBo.getGcOldTime());
                     } else {
                         if (!isGcCollected(jvmGcBo)) {
                             jvmGcBo.setGcOldCount(previousBo.getGcOldCount());
@@ -86,11 +85,11 @@ public class JvmGcSampler implements AgentStatSampler<JvmGcBo, SampledJvmGc> {
             } else {
                 if (isGcCollected(jvmGcBo)) {
                     if (timeWindowIndex > 0) {
-                        gcOldCounts.add(jvmGcBo.getGcOldCount());
-                        gcOldTimes.add(jvmGcBo.getGcOldTime());
+                        gcOldCounts.accept(jvmGcBo.getGcOldCount());
+                        gcOldTimes.accept(jvmGcBo.getGcOldTime());
                     } else {
-                        gcOldCounts.add(0L);
-                        gcOldTimes.add(0L);
+                        gcOldCounts.accept(0L);
+                        gcOldTimes.accept(0L);
                     }
                 }
             }
@@ -126,8 +125,8 @@ public class JvmGcSampler implements AgentStatSampler<JvmGcBo, SampledJvmGc> {
         }
     }
 
-    private AgentStatPoint<Long> createSampledPoint(long timestamp, List<Long> values) {
-        if (CollectionUtils.isEmpty(values)) {
+    private AgentStatPoint<Long> createSampledPoint(long timestamp, LongSummaryStatistics values) {
+        if (values.getCount() == 0) {
             return SampledJvmGc.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
         }
         return AgentStatPointSummary.longSummary(timestamp, values);
@@ -22,10 +22,9 @@ import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
 
 import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPointSummary;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.function.ToLongFunction;
 
@@ -47,7 +46,7 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
         final AgentStatPoint<Double> skippedNew = newAgentStatPoint(timestamp, dataPoints, TransactionBo::getSkippedNewSkipCount);
         final AgentStatPoint<Double> skippedContinuation = newAgentStatPoint(timestamp, dataPoints, TransactionBo::getSkippedContinuationCount);
 
-        final List<Double> totals = calculateTotalTps(dataPoints);
+        final DoubleSummaryStatistics totals = calculateTotalTps(dataPoints);
         AgentStatPoint<Double> total = createPoint(timestamp, totals);
 
         SampledTransaction sampledTransaction = new SampledTransaction(sampledNew, sampledContinuation, unsampledNew, unsampledContinuation, skippedNew, skippedContinuation, total);
@@ -55,22 +54,19 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
     }
 
     private AgentStatPoint<Double> newAgentStatPoint(long timestamp, List<TransactionBo> dataPoints, ToLongFunction<TransactionBo> function) {
-        final List<Double> sampledNews = calculateTps(dataPoints, function);
+        final DoubleSummaryStatistics sampledNews = calculateTps(dataPoints, function);
         return createPoint(timestamp, sampledNews);
     }
 
-    private List<Double> calculateTotalTps(List<TransactionBo> dataPoints) {
-        final List<Double> result = new ArrayList<>(dataPoints.size());
+    private DoubleSummaryStatistics calculateTotalTps(List<TransactionBo> dataPoints) {
+        final DoubleSummaryStatistics result = new DoubleSummaryStatistics();
         for (TransactionBo transactionBo : dataPoints) {
-            final Double total = getTotalTps(transactionBo);
-            if (total != null) {
-                result.add(total);
-            }
+            addTotalTps(result, transactionBo);
         }
         return result;
     }
 
-    private Double getTotalTps(TransactionBo transactionBo) {
+    private void addTotalTps(DoubleSummaryStatistics result, TransactionBo transactionBo) {
         final long collectInterval = transactionBo.getCollectInterval();
         if (collectInterval > 0) {
             boolean isTransactionCollected = false;
@@ -106,21 +102,20 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
                 totalCount += skippedContinuationCount;
             }
             if (isTransactionCollected) {
-                return calculateTps(totalCount, collectInterval);
+                result.accept(calculateTps(totalCount, collectInterval));
             }
         }
-        return null;
     }
 
-    private List<Double> calculateTps(List<TransactionBo> dataPoints, ToLongFunction<TransactionBo> function) {
-        final List<Double> result = new ArrayList<>(dataPoints.size());
+    private DoubleSummaryStatistics calculateTps(List<TransactionBo> dataPoints, ToLongFunction<TransactionBo> function) {
+        final DoubleSummaryStatistics result = new DoubleSummaryStatistics();
         for (TransactionBo transactionBo : dataPoints) {
             final long collectInterval = transactionBo.getCollectInterval();
             if (collectInterval > 0) {
                 final long count = function.applyAsLong(transactionBo);
                 if (count != TransactionBo.UNCOLLECTED_VALUE) {
                     final double tps = calculateTps(count, collectInterval);
-                    result.add(tps);
+                    result.accept(tps);
                 }
             }
         }
@@ -131,8 +126,8 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
         return AgentStatUtils.calculateRate(count, intervalMs, NUM_DECIMAL_PLACES, SampledTransaction.UNCOLLECTED_VALUE);
     }
 
-    private AgentStatPoint<Double> createPoint(long timestamp, List<Double> values) {
-        if (CollectionUtils.isEmpty(values)) {
+    private AgentStatPoint<Double> createPoint(long timestamp, DoubleSummaryStatistics values) {
+        if (values.getCount() == 0) {
             return SampledTransaction.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
         }
         return AgentStatPointSummary.doubleSummaryWithAllScale(timestamp, values, NUM_DECIMAL_PLACES);
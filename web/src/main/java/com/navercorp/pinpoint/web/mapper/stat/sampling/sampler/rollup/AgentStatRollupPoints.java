@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import com.navercorp.pinpoint.web.vo.chart.Point;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPointSummary;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Builds chart points from the rollups of a time window slot.
+ * Rollups of the same slot (written by several collectors) are merged before summarizing.
+ */
+final class AgentStatRollupPoints {
+
+    private AgentStatRollupPoints() {
+    }
+
+    static AgentStatRollupFieldBo mergeField(List<AgentStatRollupBo> dataPoints, int fieldIndex) {
+        final AgentStatRollupFieldBo merged = new AgentStatRollupFieldBo();
+        for (AgentStatRollupBo dataPoint : dataPoints) {
+            merged.merge(dataPoint.getField(fieldIndex));
+        }
+        return merged;
+    }
+
+    static AgentStatPoint<Long> longPoint(long timestamp, List<AgentStatRollupBo> dataPoints, int fieldIndex,
+                                          Point.UncollectedPointCreator<AgentStatPoint<Long>> uncollectedPointCreator) {
+        final AgentStatRollupFieldBo field = mergeField(dataPoints, fieldIndex);
+        if (field.getCount() == 0) {
+            return uncollectedPointCreator.createUnCollectedPoint(timestamp);
+        }
+        final LongSummaryStatistics stats = new LongSummaryStatistics(field.getCount(), field.getMin(), field.getMax(), field.getSum());
+        return AgentStatPointSummary.longSummary(timestamp, stats);
+    }
+
+    /**
+     * @param multiplier applied to the fixed-point values after conversion, e.g. 100 for percentages
+     */
+    static AgentStatPoint<Double> fixedPointPoint(long timestamp, List<AgentStatRollupBo> dataPoints, int fieldIndex,
+                                                  double multiplier, int numDecimalPlaces,
+                                                  Point.UncollectedPointCreator<AgentStatPoint<Double>> uncollectedPointCreator) {
+        final AgentStatRollupFieldBo field = mergeField(dataPoints, fieldIndex);
+        if (field.getCount() == 0) {
+            return uncollectedPointCreator.createUnCollectedPoint(timestamp);
+        }
+        final DoubleSummaryStatistics stats = new DoubleSummaryStatistics(field.getCount(),
+                AgentStatRollupFunctions.fromFixedPoint(field.getMin()) * multiplier,
+                AgentStatRollupFunctions.fromFixedPoint(field.getMax()) * multiplier,
+                AgentStatRollupFunctions.fromFixedPoint(field.getSum()) * multiplier);
+        return AgentStatPointSummary.doubleSummaryWithAllScale(timestamp, stats, numDecimalPlaces);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Samples the rollups written by {@code AgentStatRollupFunctions.CPU_LOAD}.
+ */
+@Component
+public class CpuLoadRollupSampler implements AgentStatSampler<AgentStatRollupBo, SampledCpuLoad> {
+
+    private static final int NUM_DECIMAL_PLACES = 1;
+    private static final double PERCENTAGE = 100;
+
+    @Override
+    public SampledCpuLoad sampleDataPoints(int timeWindowIndex, long timestamp, List<AgentStatRollupBo> dataPoints, AgentStatRollupBo previousDataPoint) {
+        final AgentStatPoint<Double> jvmCpuLoad = newAgentStatPoint(timestamp, dataPoints, 0);
+        final AgentStatPoint<Double> systemCpuLoad = newAgentStatPoint(timestamp, dataPoints, 1);
+
+        return new SampledCpuLoad(jvmCpuLoad, systemCpuLoad);
+    }
+
+    private AgentStatPoint<Double> newAgentStatPoint(long timestamp, List<AgentStatRollupBo> dataPoints, int fieldIndex) {
+        return AgentStatRollupPoints.fixedPointPoint(timestamp, dataPoints, fieldIndex, PERCENTAGE, NUM_DECIMAL_PLACES, SampledCpuLoad.UNCOLLECTED_POINT_CREATOR);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
+import com.navercorp.pinpoint.web.vo.stat.SampledFileDescriptor;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Samples the rollups written by {@code AgentStatRollupFunctions.FILE_DESCRIPTOR}.
+ */
+@Component
+public class FileDescriptorRollupSampler implements AgentStatSampler<AgentStatRollupBo, SampledFileDescriptor> {
+
+    @Override
+    public SampledFileDescriptor sampleDataPoints(int timeWindowIndex, long timestamp, List<AgentStatRollupBo> dataPoints, AgentStatRollupBo previousDataPoint) {
+        final AgentStatPoint<Long> openFileDescriptorCount = AgentStatRollupPoints.longPoint(timestamp, dataPoints, 0, SampledFileDescriptor.UNCOLLECTED_POINT_CREATOR);
+
+        return new SampledFileDescriptor(openFileDescriptorCount);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
+import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Samples the rollups written by {@code AgentStatRollupFunctions.TRANSACTION}.
+ */
+@Component
+public class TransactionRollupSampler implements AgentStatSampler<AgentStatRollupBo, SampledTransaction> {
+
+    private static final int NUM_DECIMAL_PLACES = AgentStatRollupFunctions.TPS_NUM_DECIMAL_PLACES;
+
+    @Override
+    public SampledTransaction sampleDataPoints(int timeWindowIndex, long timestamp, List<AgentStatRollupBo> dataPoints, AgentStatRollupBo previousDataPoint) {
+        final AgentStatPoint<Double> sampledNew = newAgentStatPoint(timestamp, dataPoints, 0);
+        final AgentStatPoint<Double> sampledContinuation = newAgentStatPoint(timestamp, dataPoints, 1);
+        final AgentStatPoint<Double> unsampledNew = newAgentStatPoint(timestamp, dataPoints, 2);
+        final AgentStatPoint<Double> unsampledContinuation = newAgentStatPoint(timestamp, dataPoints, 3);
+        final AgentStatPoint<Double> skippedNew = newAgentStatPoint(timestamp, dataPoints, 4);
+        final AgentStatPoint<Double> skippedContinuation = newAgentStatPoint(timestamp, dataPoints, 5);
+        final AgentStatPoint<Double> total = newAgentStatPoint(timestamp, dataPoints, 6);
+
+        return new SampledTransaction(sampledNew, sampledContinuation, unsampledNew, unsampledContinuation, skippedNew, skippedContinuation, total);
+    }
+
+    private AgentStatPoint<Double> newAgentStatPoint(long timestamp, List<AgentStatRollupBo> dataPoints, int fieldIndex) {
+        return AgentStatRollupPoints.fixedPointPoint(timestamp, dataPoints, fieldIndex, 1, NUM_DECIMAL_PLACES, SampledTransaction.UNCOLLECTED_POINT_CREATOR);
+    }
+}
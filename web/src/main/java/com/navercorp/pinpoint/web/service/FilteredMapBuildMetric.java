@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.web.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage statistics of the streaming filtered map build.
+ * Fetch, filter and aggregate hold one transaction at a time, so maxSpansPerTransaction bounds the spans resident in each of them.
+ * Caution. not thread safe. updated by the request thread only
+ */
+class FilteredMapBuildMetric {
+
+    private final long startTime = System.nanoTime();
+
+    private int fetchTransactionCount;
+    private long fetchSpanCount;
+    private int maxSpansPerTransaction;
+
+    private long filterElapsedNanos;
+    private int includeTransactionCount;
+
+    private long aggregateElapsedNanos;
+    private long aggregateSpanCount;
+
+    // fetch, filter and aggregate interleave per transaction
+    private long streamElapsedNanos;
+    private long totalElapsedNanos;
+
+    void fetched(int transactionSize) {
+        this.fetchTransactionCount++;
+        this.fetchSpanCount += transactionSize;
+        if (transactionSize > maxSpansPerTransaction) {
+            this.maxSpansPerTransaction = transactionSize;
+        }
+    }
+
+    void filtered(boolean include, long elapsedNanos) {
+        this.filterElapsedNanos += elapsedNanos;
+        if (include) {
+            this.includeTransactionCount++;
+        }
+    }
+
+    void aggregated(int transactionSize, long elapsedNanos) {
+        this.aggregateElapsedNanos += elapsedNanos;
+        this.aggregateSpanCount += transactionSize;
+    }
+
+    void streamed() {
+        this.streamElapsedNanos = System.nanoTime() - startTime;
+    }
+
+    void complete() {
+        this.totalElapsedNanos = System.nanoTime() - startTime;
+    }
+
+    public int getFetchTransactionCount() {
+        return fetchTransactionCount;
+    }
+
+    public long getFetchSpanCount() {
+        return fetchSpanCount;
+    }
+
+    public int getMaxSpansPerTransaction() {
+        return maxSpansPerTransaction;
+    }
+
+    public int getIncludeTransactionCount() {
+        return includeTransactionCount;
+    }
+
+    public long getAggregateSpanCount() {
+        return aggregateSpanCount;
+    }
+
+    public long getFetchElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(streamElapsedNanos - filterElapsedNanos - aggregateElapsedNanos);
+    }
+
+    public long getFilterElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(filterElapsedNanos);
+    }
+
+    public long getAggregateElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(aggregateElapsedNanos);
+    }
+
+    public long getBuildElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalElapsedNanos - streamElapsedNanos);
+    }
+
+    public long getTotalElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalElapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "FilteredMapBuildMetric{" +
+                "fetch=" + getFetchElapsedMillis() + "ms" +
+                ", fetchTransactionCount=" + fetchTransactionCount +
+                ", fetchSpanCount=" + fetchSpanCount +
+                ", maxSpansPerTransaction=" + maxSpansPerTransaction +
+                ", filter=" + getFilterElapsedMillis() + "ms" +
+                ", includeTransactionCount=" + includeTransactionCount +
+                ", aggregate=" + getAggregateElapsedMillis() + "ms" +
+                ", aggregateSpanCount=" + aggregateSpanCount +
+                ", build=" + getBuildElapsedMillis() + "ms" +
+                ", total=" + getTotalElapsedMillis() + "ms" +
+                '}';
+    }
+}
@@ -16,7 +16,6 @@
 
 package com.navercorp.pinpoint.web.service;
 
-import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
@@ -118,22 +117,8 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return this.applicationTraceIndexDao.scanTraceIndex(applicationName, range, limit, backwardDirection);
     }
 
-    private List<List<SpanBo>> filterList2(List<List<SpanBo>> transactionList, Filter<List<SpanBo>> filter) {
-        final List<List<SpanBo>> filteredResult = new ArrayList<>();
-        for (List<SpanBo> transaction : transactionList) {
-            if (filter.include(transaction)) {
-                filteredResult.add(transaction);
-            }
-        }
-        return filteredResult;
-    }
-
     public ApplicationMap selectApplicationMap(FilteredMapServiceOption option) {
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = buildFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap);
         return map;
@@ -143,11 +128,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = buildFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap);
 
@@ -160,15 +141,43 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return applicationMapWithScatterData;
     }
 
-    private List<List<SpanBo>> selectFilteredSpan(List<TransactionId> transactionIdList, Filter<List<SpanBo>> filter, ColumnGetCount columnGetCount) {
+    /**
+     * Each transaction is decoded, filtered and folded into the {@link FilteredMapBuilder} as its partition arrives,
+     * so only the partitions in flight are held in memory.
+     */
+    private FilteredMap buildFilteredMap(FilteredMapServiceOption option) {
         // filters out recursive calls by looking at each objects
         // do not filter here if we change to a tree-based collision check in the future.
-        final List<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
+        final List<TransactionId> recursiveFilterList = recursiveCallFilter(option.getTransactionIdList());
 
-        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
-        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(recursiveFilterList, columnGetCount);
+        final FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
+        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
 
-        return filterList2(originalList, filter);
+        final Filter<List<SpanBo>> filter = option.getFilter();
+        final FilteredMapBuildMetric metric = new FilteredMapBuildMetric();
+        this.traceDao.selectAllSpans(recursiveFilterList, option.getColumnGetCount(), transaction -> {
+            metric.fetched(transaction.size());
+
+            final long filterStartTime = System.nanoTime();
+            final boolean include = filter.include(transaction);
+            metric.filtered(include, System.nanoTime() - filterStartTime);
+            if (!include) {
+                return;
+            }
+
+            final long aggregateStartTime = System.nanoTime();
+            filteredMapBuilder.addTransaction(transaction);
+            metric.aggregated(transaction.size(), System.nanoTime() - aggregateStartTime);
+        });
+        metric.streamed();
+
+        final FilteredMap filteredMap = filteredMapBuilder.build();
+
+        metric.complete();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Build filtered map. {}", metric);
+        }
+        return filteredMap;
     }
 
     private ApplicationMap createMap(FilteredMapServiceOption option, FilteredMap filteredMap) {
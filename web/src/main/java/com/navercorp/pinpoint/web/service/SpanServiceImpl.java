@@ -27,6 +27,8 @@ import com.navercorp.pinpoint.common.server.bo.MethodTypeEnum;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
 import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.DefaultMetaDataRowKey;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
 import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.common.util.AnnotationKeyUtils;
@@ -56,11 +58,14 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -132,11 +137,16 @@ public class SpanServiceImpl implements SpanService {
         final CallTreeIterator callTreeIterator = result.getCallTree();
         final List<Align> values = callTreeIterator.values();
 
-        transitionDynamicApiId(values);
-        transitionSqlId(values);
+        final Map<MetaDataRowKey, List<ApiMetaDataBo>> apiMetaData = apiMetaDataDao.getApiMetaData(collectApiMetaDataKeys(values));
+        final Map<MetaDataRowKey, List<SqlMetaDataBo>> sqlMetaData = sqlMetaDataDao.getSqlMetaData(collectSqlMetaDataKeys(values));
+        final Map<MetaDataRowKey, List<StringMetaDataBo>> stringMetaData = stringMetaDataDao.getStringMetaData(collectStringMetaDataKeys(values));
+        logger.debug("selectSpan metaData api:{} sql:{} string:{}", apiMetaData.size(), sqlMetaData.size(), stringMetaData.size());
+
+        transitionDynamicApiId(values, apiMetaData);
+        transitionSqlId(values, sqlMetaData);
         transitionMongoJson(values);
-        transitionCachedString(values);
-        transitionException(values);
+        transitionCachedString(values, stringMetaData);
+        transitionException(values, stringMetaData);
 
         // TODO need to at least show the row data when root span is not found.
         return result;
@@ -184,6 +194,67 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
+    private Set<MetaDataRowKey> collectApiMetaDataKeys(List<Align> alignList) {
+        final Set<MetaDataRowKey> keys = new HashSet<>();
+        for (Align align : alignList) {
+            final int apiId = align.getApiId();
+            if (apiId == 0 && align.getAnnotationBoList() != null
+                    && AnnotationUtils.findApiAnnotation(align.getAnnotationBoList()) != null) {
+                continue;
+            }
+            keys.add(newMetaDataRowKey(align, apiId));
+        }
+        return keys;
+    }
+
+    private Set<MetaDataRowKey> collectSqlMetaDataKeys(List<Align> alignList) {
+        final Set<MetaDataRowKey> keys = new HashSet<>();
+        for (Align align : alignList) {
+            final List<AnnotationBo> annotationBoList = align.getAnnotationBoList();
+            if (annotationBoList == null) {
+                continue;
+            }
+            final AnnotationBo sqlIdAnnotation = findAnnotation(annotationBoList, AnnotationKey.SQL_ID.getCode());
+            if (sqlIdAnnotation == null) {
+                continue;
+            }
+            if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.SQL)) {
+                continue;
+            }
+            final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
+            keys.add(newMetaDataRowKey(align, sqlValue.getIntValue()));
+        }
+        return keys;
+    }
+
+    private Set<MetaDataRowKey> collectStringMetaDataKeys(List<Align> alignList) {
+        final Set<MetaDataRowKey> keys = new HashSet<>();
+        for (Align align : alignList) {
+            final List<AnnotationBo> annotationBoList = align.getAnnotationBoList();
+            if (annotationBoList != null) {
+                for (AnnotationBo annotationBo : findCachedStringAnnotation(annotationBoList)) {
+                    keys.add(newMetaDataRowKey(align, (Integer) annotationBo.getValue()));
+                }
+            }
+            if (align.hasException()) {
+                keys.add(newMetaDataRowKey(align, align.getExceptionId()));
+            }
+        }
+        return keys;
+    }
+
+    private MetaDataRowKey newMetaDataRowKey(Align align, int id) {
+        return new DefaultMetaDataRowKey(align.getAgentId(), align.getAgentStartTime(), id);
+    }
+
+    private <T> List<T> getMetaData(Map<MetaDataRowKey, List<T>> metaDataMap, Align align, int id, Supplier<List<T>> fallback) {
+        final List<T> metaDataList = metaDataMap.get(newMetaDataRowKey(align, id));
+        if (metaDataList != null) {
+            return metaDataList;
+        }
+        return fallback.get();
+    }
+
     private void transitionAnnotation(List<Align> spans, AnnotationReplacementCallback annotationReplacementCallback) {
         for (Align align : spans) {
             List<AnnotationBo> annotationBoList = align.getAnnotationBoList();
@@ -195,7 +266,7 @@ public class SpanServiceImpl implements SpanService {
         }
     }
 
-    private void transitionSqlId(final List<Align> spans) {
+    private void transitionSqlId(final List<Align> spans, final Map<MetaDataRowKey, List<SqlMetaDataBo>> sqlMetaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(Align align, List<AnnotationBo> annotationBoList) {
@@ -213,7 +284,8 @@ public class SpanServiceImpl implements SpanService {
                 final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
                 final int sqlId = sqlValue.getIntValue();
                 final String sqlParam = sqlValue.getStringValue1();
-                final List<SqlMetaDataBo> sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(align.getAgentId(), align.getAgentStartTime(), sqlId);
+                final List<SqlMetaDataBo> sqlMetaDataList = getMetaData(sqlMetaData, align, sqlId,
+                        () -> sqlMetaDataDao.getSqlMetaData(align.getAgentId(), align.getAgentStartTime(), sqlId));
                 final int size = sqlMetaDataList.size();
                 if (size == 0) {
                     String errorMessage = "SQL-ID not found sqlId:" + sqlId;
@@ -343,7 +415,7 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
-    private void transitionDynamicApiId(List<Align> spans) {
+    private void transitionDynamicApiId(List<Align> spans, Map<MetaDataRowKey, List<ApiMetaDataBo>> apiMetaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(Align align, List<AnnotationBo> annotationBoList) {
@@ -363,7 +435,8 @@ public class SpanServiceImpl implements SpanService {
                 }
 
                 // may be able to get a more accurate data using agentIdentifier.
-                List<ApiMetaDataBo> apiMetaDataList = apiMetaDataDao.getApiMetaData(align.getAgentId(), align.getAgentStartTime(), apiId);
+                List<ApiMetaDataBo> apiMetaDataList = getMetaData(apiMetaData, align, apiId,
+                        () -> apiMetaDataDao.getApiMetaData(align.getAgentId(), align.getAgentStartTime(), apiId));
                 int size = apiMetaDataList.size();
                 if (size == 0) {
                     String errorMessage = "API-DynamicID not found. api:" + apiId;
@@ -394,7 +467,7 @@ public class SpanServiceImpl implements SpanService {
         });
     }
 
-    private void transitionCachedString(List<Align> spans) {
+    private void transitionCachedString(List<Align> spans, Map<MetaDataRowKey, List<StringMetaDataBo>> stringMetaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(Align align, List<AnnotationBo> annotationBoList) {
@@ -406,7 +479,8 @@ public class SpanServiceImpl implements SpanService {
                 for (AnnotationBo annotationBo : cachedStringAnnotation) {
                     final int cachedArgsKey = annotationBo.getKey();
                     int stringMetaDataId = (Integer) annotationBo.getValue();
-                    List<StringMetaDataBo> stringMetaList = stringMetaDataDao.getStringMetaData(align.getAgentId(), align.getAgentStartTime(), stringMetaDataId);
+                    List<StringMetaDataBo> stringMetaList = getMetaData(stringMetaData, align, stringMetaDataId,
+                            () -> stringMetaDataDao.getStringMetaData(align.getAgentId(), align.getAgentStartTime(), stringMetaDataId));
                     int size = stringMetaList.size();
                     if (size == 0) {
                         logger.warn("StringMetaData not Found {}/{}/{}", align.getAgentId(), stringMetaDataId, align.getAgentStartTime());
@@ -439,18 +513,22 @@ public class SpanServiceImpl implements SpanService {
         return findAnnotationBoList;
     }
 
-    private void transitionException(List<Align> alignList) {
+    private void transitionException(List<Align> alignList, Map<MetaDataRowKey, List<StringMetaDataBo>> stringMetaDataMap) {
         for (Align align : alignList) {
             if (align.hasException()) {
-                StringMetaDataBo stringMetaData = selectStringMetaData(align.getAgentId(), align.getExceptionId(), align.getAgentStartTime());
+                StringMetaDataBo stringMetaData = selectStringMetaData(stringMetaDataMap, align);
                 align.setExceptionClass(stringMetaData.getStringValue());
             }
         }
 
     }
 
-    private StringMetaDataBo selectStringMetaData(String agentId, int cacheId, long agentStartTime) {
-        final List<StringMetaDataBo> metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+    private StringMetaDataBo selectStringMetaData(Map<MetaDataRowKey, List<StringMetaDataBo>> stringMetaDataMap, Align align) {
+        final String agentId = align.getAgentId();
+        final long agentStartTime = align.getAgentStartTime();
+        final int cacheId = align.getExceptionId();
+        final List<StringMetaDataBo> metaDataList = getMetaData(stringMetaDataMap, align, cacheId,
+                () -> stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId));
         if (CollectionUtils.isEmpty(metaDataList)) {
             logger.warn("StringMetaData not Found agent:{}, cacheId{}, agentStartTime:{}", agentId, cacheId, agentStartTime);
             return new StringMetaDataBo(agentId, agentStartTime, cacheId, "STRING-META-DATA-NOT-FOUND");
@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.web.service.map;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
@@ -30,11 +32,34 @@ public class ApplicationsMapCreatorFactory {
 
     private final Executor executor;
 
-    public ApplicationsMapCreatorFactory(@Qualifier("applicationsMapCreateExecutor") Executor executor) {
+    private final int linkSelectConcurrency;
+
+    private final long linkSelectTimeBudgetMillis;
+
+    public ApplicationsMapCreatorFactory(Executor executor) {
+        this(executor, 0, -1);
+    }
+
+    @Autowired
+    public ApplicationsMapCreatorFactory(@Qualifier("applicationsMapCreateExecutor") Executor executor,
+                                         @Value("${web.servermap.linkSelect.concurrency:0}") int linkSelectConcurrency,
+                                         @Value("${web.servermap.linkSelect.timeBudget:-1}") long linkSelectTimeBudgetMillis) {
         this.executor = Objects.requireNonNull(executor, "executor");
+        this.linkSelectConcurrency = linkSelectConcurrency;
+        this.linkSelectTimeBudgetMillis = linkSelectTimeBudgetMillis;
     }
 
     public ApplicationsMapCreator create(ApplicationMapCreator applicationMapCreator) {
         return new DefaultApplicationsMapCreator(applicationMapCreator, executor);
     }
+
+    /**
+     * @return null if the pipelined link search is disabled
+     */
+    public LinkSearchPipeline createLinkSearchPipeline(ApplicationMapCreator applicationMapCreator) {
+        if (linkSelectConcurrency <= 0) {
+            return null;
+        }
+        return new LinkSearchPipeline(applicationMapCreator, executor, linkSelectConcurrency, linkSelectTimeBudgetMillis);
+    }
 }
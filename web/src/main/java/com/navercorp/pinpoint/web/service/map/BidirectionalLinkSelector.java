@@ -42,6 +42,8 @@ public class BidirectionalLinkSelector implements LinkSelector {
 
     private final ApplicationsMapCreator applicationsMapCreator;
 
+    private final LinkSearchPipeline linkSearchPipeline;
+
     private final VirtualLinkHandler virtualLinkHandler;
 
     private final ServerMapDataFilter serverMapDataFilter;
@@ -52,7 +54,16 @@ public class BidirectionalLinkSelector implements LinkSelector {
             ApplicationsMapCreator applicationsMapCreator,
             VirtualLinkHandler virtualLinkHandler,
             ServerMapDataFilter serverMapDataFilter) {
+        this(applicationsMapCreator, null, virtualLinkHandler, serverMapDataFilter);
+    }
+
+    BidirectionalLinkSelector(
+            ApplicationsMapCreator applicationsMapCreator,
+            LinkSearchPipeline linkSearchPipeline,
+            VirtualLinkHandler virtualLinkHandler,
+            ServerMapDataFilter serverMapDataFilter) {
         this.applicationsMapCreator = Objects.requireNonNull(applicationsMapCreator, "applicationsMapCreator");
+        this.linkSearchPipeline = linkSearchPipeline;
         this.virtualLinkHandler = Objects.requireNonNull(virtualLinkHandler, "virtualLinkHandler");
         this.serverMapDataFilter = serverMapDataFilter;
     }
@@ -63,10 +74,15 @@ public class BidirectionalLinkSelector implements LinkSelector {
         final SearchDepth callerDepth = new SearchDepth(callerSearchDepth);
         final SearchDepth calleeDepth = new SearchDepth(calleeSearchDepth);
 
-        LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
         List<Application> applications = filterApplications(sourceApplications);
         LinkSelectContext linkSelectContext = new LinkSelectContext(range, callerDepth, calleeDepth, linkVisitChecker);
 
+        if (linkSearchPipeline != null) {
+            LinkDataDuplexMap linkDataDuplexMap = linkSearchPipeline.search(applications, linkSelectContext, this::filterApplications);
+            return virtualLinkHandler.processVirtualLinks(linkDataDuplexMap, linkVisitChecker, range);
+        }
+
+        LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
         while (!applications.isEmpty()) {
 
             logger.info("depth search start. callerDepth:{}, calleeDepth:{}, size:{}, nodes:{}", linkSelectContext.getCallerDepth(), linkSelectContext.getCalleeDepth(), applications.size(), applications);
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pipelined breadth-first link search.
+ * <p>
+ * Applications are searched as soon as they are discovered instead of waiting for the whole depth level.
+ * A search of depth {@code n} starts only after every search of depth {@code n - 2} or less has completed,
+ * so each application is still visited at the same depth as the level-by-level search.
+ * At most {@code concurrency} searches are in flight, and once {@code timeBudgetMillis} has elapsed
+ * the links found so far are returned as a {@link LinkDataDuplexMap#isTruncated() truncated} map.
+ * <p>
+ * not thread safe
+ */
+public class LinkSearchPipeline {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final Comparator<SearchTask> TASK_ORDER = Comparator.comparingInt(SearchTask::getLevel)
+            .thenComparingLong(SearchTask::getSequence);
+
+    private final ApplicationMapCreator applicationMapCreator;
+    private final Executor executor;
+    private final int concurrency;
+    private final long timeBudgetMillis;
+
+    public LinkSearchPipeline(ApplicationMapCreator applicationMapCreator, Executor executor, int concurrency, long timeBudgetMillis) {
+        this.applicationMapCreator = Objects.requireNonNull(applicationMapCreator, "applicationMapCreator");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be > 0 " + concurrency);
+        }
+        this.concurrency = concurrency;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public LinkDataDuplexMap search(List<Application> sourceApplications, LinkSelectContext linkSelectContext, UnaryOperator<List<Application>> applicationFilter) {
+        Objects.requireNonNull(sourceApplications, "sourceApplications");
+        Objects.requireNonNull(linkSelectContext, "linkSelectContext");
+        Objects.requireNonNull(applicationFilter, "applicationFilter");
+
+        final Search search = new Search(linkSelectContext, applicationFilter);
+        search.enqueue(sourceApplications, 0);
+        return search.run();
+    }
+
+    private class Search {
+        private final long startTime = System.currentTimeMillis();
+        private final UnaryOperator<List<Application>> applicationFilter;
+
+        private final List<LinkSelectContext> levelContexts = new ArrayList<>();
+        private final Set<Application> scheduled = new HashSet<>();
+        private final Queue<SearchTask> pending = new PriorityQueue<>(TASK_ORDER);
+        private final Map<Application, SearchTask> pendingApplications = new HashMap<>();
+        private long sequence = 0;
+
+        private final CompletionService<LinkDataDuplexMap> completionService = new ExecutorCompletionService<>(executor);
+        private final Map<Future<LinkDataDuplexMap>, SearchTask> inFlight = new IdentityHashMap<>();
+        private final TreeMap<Integer, Integer> inFlightLevels = new TreeMap<>();
+
+        private final LinkDataDuplexMap result = new LinkDataDuplexMap();
+
+        private Search(LinkSelectContext linkSelectContext, UnaryOperator<List<Application>> applicationFilter) {
+            this.levelContexts.add(linkSelectContext);
+            this.applicationFilter = applicationFilter;
+        }
+
+        private void enqueue(List<Application> applications, int level) {
+            for (Application application : applications) {
+                if (scheduled.add(application)) {
+                    addPending(new SearchTask(application, level, sequence++));
+                    continue;
+                }
+                final SearchTask pendingTask = pendingApplications.get(application);
+                if (pendingTask != null && pendingTask.getLevel() > level) {
+                    // found again at a shallower depth before the search started
+                    pending.remove(pendingTask);
+                    addPending(new SearchTask(application, level, sequence++));
+                }
+            }
+        }
+
+        private void addPending(SearchTask task) {
+            pending.add(task);
+            pendingApplications.put(task.getApplication(), task);
+        }
+
+        private LinkDataDuplexMap run() {
+            try {
+                dispatch();
+                while (!inFlight.isEmpty()) {
+                    final Future<LinkDataDuplexMap> future = take();
+                    if (future == null) {
+                        logger.warn("link search time budget exceeded. timeBudget:{}ms, inFlight:{}, pending:{}", timeBudgetMillis, inFlight.size(), pending.size());
+                        result.setTruncated(true);
+                        break;
+                    }
+                    final SearchTask task = inFlight.remove(future);
+                    inFlightLevels.computeIfPresent(task.getLevel(), (level, count) -> count == 1 ? null : count - 1);
+                    result.addLinkDataDuplexMap(future.get());
+
+                    final LinkSelectContext context = levelContexts.get(task.getLevel());
+                    enqueue(applicationFilter.apply(context.getNextApplications()), task.getLevel() + 1);
+                    dispatch();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("link search interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("an error occurred while selecting links", e.getCause());
+            } finally {
+                for (Future<LinkDataDuplexMap> future : inFlight.keySet()) {
+                    future.cancel(true);
+                }
+            }
+            logger.info("link search end. searched:{}, maxDepth:{}, elapsed:{}ms", scheduled.size() - pending.size() - inFlight.size(),
+                    levelContexts.size() - 1, System.currentTimeMillis() - startTime);
+            return result;
+        }
+
+        private void dispatch() {
+            while (inFlight.size() < concurrency && !pending.isEmpty()) {
+                final SearchTask task = pending.peek();
+                if (!inFlightLevels.isEmpty() && inFlightLevels.firstKey() < task.getLevel() - 1) {
+                    // an application may still be discovered at a shallower depth
+                    return;
+                }
+                pending.poll();
+                pendingApplications.remove(task.getApplication());
+                final LinkSelectContext context = getContext(task.getLevel());
+                final Future<LinkDataDuplexMap> future = completionService.submit(() -> applicationMapCreator.createMap(task.getApplication(), context));
+                inFlight.put(future, task);
+                inFlightLevels.merge(task.getLevel(), 1, Integer::sum);
+            }
+        }
+
+        private LinkSelectContext getContext(int level) {
+            while (levelContexts.size() <= level) {
+                final LinkSelectContext last = levelContexts.get(levelContexts.size() - 1);
+                levelContexts.add(last.advance());
+            }
+            return levelContexts.get(level);
+        }
+
+        private Future<LinkDataDuplexMap> take() throws InterruptedException {
+            if (timeBudgetMillis <= 0) {
+                return completionService.take();
+            }
+            final long remainingMillis = timeBudgetMillis - (System.currentTimeMillis() - startTime);
+            return completionService.poll(Math.max(remainingMillis, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class SearchTask {
+        private final Application application;
+        private final int level;
+        private final long sequence;
+
+        private SearchTask(Application application, int level, long sequence) {
+            this.application = application;
+            this.level = level;
+            this.sequence = sequence;
+        }
+
+        public Application getApplication() {
+            return application;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -81,7 +81,8 @@ public class LinkSelectorFactory {
         if (LinkSelectorType.UNIDIRECTIONAL == linkSelectorType) {
             return new UnidirectionalLinkSelector(applicationsMapCreator, virtualLinkHandler, serverMapDataFilter);
         } else {
-            return new BidirectionalLinkSelector(applicationsMapCreator, virtualLinkHandler, serverMapDataFilter);
+            LinkSearchPipeline linkSearchPipeline = applicationsMapCreatorFactory.createLinkSearchPipeline(applicationMapCreator);
+            return new BidirectionalLinkSelector(applicationsMapCreator, linkSearchPipeline, virtualLinkHandler, serverMapDataFilter);
         }
     }
 }
@@ -17,6 +17,12 @@ public class AgentStatPointSummary {
         DoubleSummaryStatistics stats = values.stream()
                 .mapToDouble(Double::doubleValue)
                 .summaryStatistics();
+        return doubleSummary(timestamp, stats, avgScale);
+    }
+
+    public static AgentStatPoint<Double> doubleSummary(long timestamp, DoubleSummaryStatistics stats, int avgScale) {
+        Objects.requireNonNull(stats, "stats");
+
         double average = round(stats.getAverage(), avgScale);
         return new AgentStatPoint<>(timestamp, stats.getMin(), stats.getMax(), average, stats.getSum());
     }
@@ -27,6 +33,12 @@ public class AgentStatPointSummary {
         DoubleSummaryStatistics stats = values.stream()
                 .mapToDouble(Double::doubleValue)
                 .summaryStatistics();
+        return doubleSummaryWithAllScale(timestamp, stats, allScale);
+    }
+
+    public static AgentStatPoint<Double> doubleSummaryWithAllScale(long timestamp, DoubleSummaryStatistics stats, int allScale) {
+        Objects.requireNonNull(stats, "stats");
+
         double min = round(stats.getMin(), allScale);
         double max = round(stats.getMax(), allScale);
         double average = round(stats.getAverage(), allScale);
@@ -40,6 +52,12 @@ public class AgentStatPointSummary {
         LongSummaryStatistics stats = values.stream()
                 .mapToLong(Long::longValue)
                 .summaryStatistics();
+        return longSummary(timestamp, stats);
+    }
+
+    public static AgentStatPoint<Long> longSummary(long timestamp, LongSummaryStatistics stats) {
+        Objects.requireNonNull(stats, "stats");
+
         return new AgentStatPoint<>(timestamp, stats.getMin(), stats.getMax(), stats.getAverage(), stats.getSum());
     }
 
@@ -68,6 +86,12 @@ public class AgentStatPointSummary {
         IntSummaryStatistics stats = values.stream()
                 .mapToInt(Integer::intValue)
                 .summaryStatistics();
+        return intSummary(timestamp, stats, avgScale);
+    }
+
+    public static AgentStatPoint<Integer> intSummary(long timestamp, IntSummaryStatistics stats, int avgScale) {
+        Objects.requireNonNull(stats, "stats");
+
         double average = round(stats.getAverage(), avgScale);
         return new AgentStatPoint<>(timestamp, stats.getMin(), stats.getMax(), average, (int) stats.getSum());
     }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.applicationmap;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.navercorp.pinpoint.common.server.util.time.Range;
@@ -23,6 +24,7 @@ import com.navercorp.pinpoint.web.applicationmap.link.LinkList;
 import com.navercorp.pinpoint.web.applicationmap.nodes.NodeList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -48,4 +50,14 @@ public class ApplicationMapTest {
         String s = MAPPER.writeValueAsString(app);
         logger.debug(s);
     }
+
+    @Test
+    public void truncated() throws IOException {
+        ApplicationMap app = new DefaultApplicationMap(Range.between(0, 1), new NodeList(), new LinkList(), true);
+        JsonNode jsonNode = MAPPER.readTree(MAPPER.writeValueAsString(app));
+        Assertions.assertTrue(jsonNode.get("truncated").asBoolean());
+
+        ApplicationMap complete = new DefaultApplicationMap(Range.between(0, 1), new NodeList(), new LinkList());
+        Assertions.assertFalse(MAPPER.readTree(MAPPER.writeValueAsString(complete)).get("truncated").asBoolean());
+    }
 }
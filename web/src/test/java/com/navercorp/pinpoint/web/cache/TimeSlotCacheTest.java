@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimeSlotCacheTest {
+
+    private static final long SLOT = TimeSlotCache.SLOT_SIZE;
+    private static final long CLOSE_DELAY = 3 * SLOT;
+
+    private final Application application = new Application("APP_A", ServiceType.TEST_STAND_ALONE);
+    private final AtomicLong now = new AtomicLong(1000 * SLOT);
+
+    private final List<Range> loadedRanges = new ArrayList<>();
+
+    @Test
+    public void select_closedSlotsAreCached() {
+        TimeSlotCache<Long> cache = newCache(1024 * 1024);
+        // slots 980 ~ 996 are closed, 997 ~ 999 are open
+        Range range = Range.between(980 * SLOT, 999 * SLOT + 10);
+
+        Assertions.assertEquals(expected(980, 999), select(cache, range));
+        Assertions.assertEquals(Range.between(980 * SLOT, 999 * SLOT), loadedRanges.get(0));
+
+        Assertions.assertEquals(expected(980, 999), select(cache, range));
+        Assertions.assertEquals(Range.between(997 * SLOT, 999 * SLOT), loadedRanges.get(1));
+
+        TimeSlotCache.Stats stats = cache.getStats();
+        Assertions.assertEquals(17, stats.getHitCount());
+        Assertions.assertEquals(23, stats.getMissCount());
+        Assertions.assertTrue(stats.getSavedBytes() > 0);
+    }
+
+    @Test
+    public void select_allCached() {
+        TimeSlotCache<Long> cache = newCache(1024 * 1024);
+        Range range = Range.between(900 * SLOT, 910 * SLOT);
+
+        select(cache, range);
+        Assertions.assertEquals(expected(900, 910), select(cache, range));
+        Assertions.assertEquals(1, loadedRanges.size());
+    }
+
+    @Test
+    public void select_emptySlotsAreCached() {
+        TimeSlotCache<Long> cache = newCache(1024 * 1024);
+        Range range = Range.between(900 * SLOT, 910 * SLOT);
+
+        List<Long> result = new ArrayList<>();
+        cache.select(application, range, slotRange -> {
+            loadedRanges.add(slotRange);
+            return new ArrayList<>();
+        }, result::add);
+        cache.select(application, range, slotRange -> {
+            loadedRanges.add(slotRange);
+            return new ArrayList<>();
+        }, result::add);
+
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(1, loadedRanges.size());
+    }
+
+    @Test
+    public void select_gap() {
+        TimeSlotCache<Long> cache = newCache(1024 * 1024);
+        select(cache, Range.between(905 * SLOT, 906 * SLOT));
+
+        // a single scan covers the missing slots around the cached ones, which are not consumed twice
+        Assertions.assertEquals(expected(900, 910), select(cache, Range.between(900 * SLOT, 910 * SLOT)));
+        Assertions.assertEquals(Range.between(900 * SLOT, 910 * SLOT), loadedRanges.get(1));
+    }
+
+    @Test
+    public void select_slotClosedLater() {
+        TimeSlotCache<Long> cache = newCache(1024 * 1024);
+        Range range = Range.between(998 * SLOT, 999 * SLOT);
+        select(cache, range);
+
+        now.addAndGet(10 * SLOT);
+        select(cache, range);
+        Assertions.assertEquals(expected(998, 999), select(cache, range));
+        Assertions.assertEquals(2, loadedRanges.size());
+    }
+
+    @Test
+    public void eviction() {
+        TimeSlotCache<Long> cache = newCache(200);
+        Range range = Range.between(900 * SLOT, 910 * SLOT);
+
+        select(cache, range);
+        cache.cleanUp();
+        select(cache, range);
+        Assertions.assertEquals(2, loadedRanges.size());
+        Assertions.assertTrue(cache.getStats().getCachedBytes() <= 200);
+    }
+
+    private TimeSlotCache<Long> newCache(long maximumBytes) {
+        return new TimeSlotCache<>("test", maximumBytes, CLOSE_DELAY, value -> 8, now::get);
+    }
+
+    private List<Long> select(TimeSlotCache<Long> cache, Range range) {
+        List<Long> result = new ArrayList<>();
+        cache.select(application, range, slotRange -> {
+            loadedRanges.add(slotRange);
+            List<TimeSlotCache.SlotValue<Long>> rows = new ArrayList<>();
+            for (long slot = slotRange.getFrom(); slot <= slotRange.getTo(); slot += SLOT) {
+                rows.add(new TimeSlotCache.SlotValue<>(slot, slot / SLOT));
+            }
+            return rows;
+        }, result::add);
+        result.sort(Long::compare);
+        return result;
+    }
+
+    private List<Long> expected(long fromSlot, long toSlot) {
+        List<Long> expected = new ArrayList<>();
+        for (long slot = fromSlot; slot <= toSlot; slot++) {
+            expected.add(slot);
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.DefaultMetaDataRowKey;
+import com.navercorp.pinpoint.common.server.bo.serializer.metadata.MetaDataRowKey;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedMetaDataMultiGetterTest {
+
+    private final TableName tableName = TableName.valueOf("StringMetaData");
+
+    private HbaseOperations2 hbaseOperations2;
+    private RowMapper<List<StringMetaDataBo>> mapper;
+    private Cache cache;
+    private CachedMetaDataMultiGetter<StringMetaDataBo> multiGetter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        hbaseOperations2 = mock(HbaseOperations2.class);
+        mapper = mock(RowMapper.class);
+        cache = new ConcurrentMapCache("stringMetaData");
+
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(any(HbaseTable.class))).thenReturn(tableName);
+        RowKeyDistributorByHashPrefix rowKeyDistributor = mock(RowKeyDistributorByHashPrefix.class);
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).then(returnsFirstArg());
+
+        multiGetter = new CachedMetaDataMultiGetter<>(hbaseOperations2, tableNameProvider, HbaseColumnFamily.STRING_METADATA_STR,
+                mapper, rowKeyDistributor, cache);
+    }
+
+    @Test
+    public void cacheKey() {
+        String key = CachedMetaDataMultiGetter.cacheKey(new DefaultMetaDataRowKey("foo", 1, 2));
+        assertEquals("foo.1.2", key);
+    }
+
+    @Test
+    public void fetchMissesInOneGet() {
+        MetaDataRowKey hit = new DefaultMetaDataRowKey("agent", 1, 10);
+        MetaDataRowKey miss = new DefaultMetaDataRowKey("agent", 1, 20);
+        MetaDataRowKey notFound = new DefaultMetaDataRowKey("agent", 1, 30);
+
+        List<StringMetaDataBo> hitValue = Collections.singletonList(new StringMetaDataBo("agent", 1, 10, "hit"));
+        List<StringMetaDataBo> missValue = Collections.singletonList(new StringMetaDataBo("agent", 1, 20, "miss"));
+        cache.put(CachedMetaDataMultiGetter.cacheKey(hit), hitValue);
+        when(hbaseOperations2.get(eq(tableName), anyList(), eq(mapper)))
+                .thenReturn(Arrays.asList(missValue, Collections.emptyList()));
+
+        Map<MetaDataRowKey, List<StringMetaDataBo>> result = multiGetter.get(Arrays.asList(hit, miss, notFound, miss));
+
+        assertEquals(3, result.size());
+        assertEquals(hitValue, result.get(hit));
+        assertEquals(missValue, result.get(miss));
+        assertEquals(Collections.emptyList(), result.get(notFound));
+        verify(hbaseOperations2).get(eq(tableName), anyList(), eq(mapper));
+
+        assertNotNull(cache.get(CachedMetaDataMultiGetter.cacheKey(miss)));
+        assertNull(cache.get(CachedMetaDataMultiGetter.cacheKey(notFound)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void allCached() {
+        MetaDataRowKey key = new DefaultMetaDataRowKey("agent", 1, 10);
+        cache.put(CachedMetaDataMultiGetter.cacheKey(key), Collections.emptyList());
+
+        Map<MetaDataRowKey, List<StringMetaDataBo>> result = multiGetter.get(Collections.singletonList(key));
+
+        assertEquals(Collections.emptyList(), result.get(key));
+        verify(hbaseOperations2, never()).get(any(TableName.class), any(List.class), any(RowMapper.class));
+    }
+}
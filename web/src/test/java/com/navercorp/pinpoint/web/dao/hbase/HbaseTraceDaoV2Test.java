@@ -0,0 +1,181 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.TraceRowKeyDecoderV2;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HbaseTraceDaoV2Test {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TableNameProvider tableNameProvider = new TableNameProvider() {
+        @Override
+        public TableName getTableName(HbaseTable hBaseTable) {
+            return getTableName(hBaseTable.getName());
+        }
+
+        @Override
+        public TableName getTableName(String tableName) {
+            return TableName.valueOf(tableName);
+        }
+
+        @Override
+        public boolean hasDefaultNameSpace() {
+            return true;
+        }
+    };
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void selectAllSpans_keepOrder() {
+        HbaseOperations2 template = newLatencyTemplate(10, new AtomicInteger());
+        HbaseTraceDaoV2 dao = newTraceDao(template, 4, 5, 10000);
+
+        List<TransactionId> transactionIdList = newTransactionIdList(23);
+        List<List<SpanBo>> result = dao.selectAllSpans(transactionIdList);
+
+        Assertions.assertEquals(transactionIdList.size(), result.size());
+        for (int i = 0; i < transactionIdList.size(); i++) {
+            Assertions.assertEquals(transactionIdList.get(i).getTransactionSequence(), result.get(i).get(0).getTransactionId().getTransactionSequence());
+        }
+    }
+
+    @Test
+    public void selectAllSpans_consumer() {
+        AtomicInteger concurrency = new AtomicInteger();
+        HbaseOperations2 template = newLatencyTemplate(10, concurrency);
+        HbaseTraceDaoV2 dao = newTraceDao(template, 2, 5, 10000);
+
+        List<TransactionId> transactionIdList = newTransactionIdList(50);
+        List<List<SpanBo>> result = new ArrayList<>();
+        dao.selectAllSpans(transactionIdList, null, result::add);
+
+        Assertions.assertEquals(transactionIdList.size(), result.size());
+        Assertions.assertTrue(concurrency.get() <= 2, "max concurrency " + concurrency.get());
+    }
+
+    @Test
+    public void selectAllSpans_timeout() {
+        HbaseOperations2 template = newLatencyTemplate(1000, new AtomicInteger());
+        HbaseTraceDaoV2 dao = newTraceDao(template, 2, 5, 50);
+
+        List<TransactionId> transactionIdList = newTransactionIdList(50);
+        Assertions.assertThrows(RuntimeException.class, () -> dao.selectAllSpans(transactionIdList, null, spanBos -> {}));
+    }
+
+    @Disabled
+    @Test
+    public void selectAllSpans_benchmark() {
+        final int latencyMillis = 50;
+        List<TransactionId> transactionIdList = newTransactionIdList(10000);
+        for (int concurrency : new int[]{1, 2, 4, 8}) {
+            HbaseOperations2 template = newLatencyTemplate(latencyMillis, new AtomicInteger());
+            HbaseTraceDaoV2 dao = newTraceDao(template, concurrency, 500, 600000);
+
+            AtomicInteger count = new AtomicInteger();
+            long startTime = System.nanoTime();
+            dao.selectAllSpans(transactionIdList, null, spanBos -> count.incrementAndGet());
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            logger.info("concurrency:{} transactions:{} latency:{}ms elapsed:{}ms", concurrency, count.get(), latencyMillis, elapsed);
+        }
+    }
+
+    private HbaseTraceDaoV2 newTraceDao(HbaseOperations2 template, int concurrency, int partitionSize, long timeoutMillis) {
+        HbaseTraceDaoV2 dao = new HbaseTraceDaoV2(template, tableNameProvider,
+                this::encodeRowKey, new TraceRowKeyDecoderV2(), executor);
+        ReflectionTestUtils.setField(dao, "selectAllSpansLimit", partitionSize);
+        ReflectionTestUtils.setField(dao, "selectConcurrency", concurrency);
+        ReflectionTestUtils.setField(dao, "selectTimeoutMillis", timeoutMillis);
+        return dao;
+    }
+
+    private byte[] encodeRowKey(TransactionId transactionId) {
+        return Bytes.toBytes(transactionId.getTransactionSequence());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HbaseOperations2 newLatencyTemplate(long latencyMillis, AtomicInteger maxConcurrency) {
+        final AtomicInteger concurrency = new AtomicInteger();
+        HbaseOperations2 template = mock(HbaseOperations2.class);
+        when(template.get(any(TableName.class), anyList(), any(RowMapper.class))).thenAnswer(invocation -> {
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+                List<Get> getList = invocation.getArgument(1);
+                List<List<SpanBo>> result = new ArrayList<>(getList.size());
+                for (Get get : getList) {
+                    long sequence = Bytes.toLong(get.getRow());
+                    SpanBo spanBo = new SpanBo();
+                    spanBo.setTransactionId(new TransactionId("agent", 1, sequence));
+                    result.add(Collections.singletonList(spanBo));
+                }
+                return result;
+            } finally {
+                concurrency.decrementAndGet();
+            }
+        });
+        return template;
+    }
+
+    private List<TransactionId> newTransactionIdList(int size) {
+        List<TransactionId> transactionIdList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactionIdList.add(new TransactionId("agent", 1, i));
+        }
+        return transactionIdList;
+    }
+}
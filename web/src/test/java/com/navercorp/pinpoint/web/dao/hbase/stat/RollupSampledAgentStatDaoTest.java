@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.stat;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.dao.SampledAgentStatDao;
+import com.navercorp.pinpoint.web.util.FixedTimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RollupSampledAgentStatDaoTest {
+
+    private static final String AGENT_ID = "agentId";
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long WINDOW_FROM = 19000 * DAY;
+
+    private SampledAgentStatDao<SampledCpuLoad> rawDao;
+    private SampledAgentStatDao<SampledCpuLoad> minuteDao;
+    private SampledAgentStatDao<SampledCpuLoad> hourDao;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        rawDao = mock(SampledAgentStatDao.class);
+        minuteDao = mock(SampledAgentStatDao.class);
+        hourDao = mock(SampledAgentStatDao.class);
+        // raw data exists for every slot
+        when(rawDao.getSampledAgentStatList(anyString(), any(TimeWindow.class)))
+                .thenAnswer(invocation -> newSampledCpuLoads(invocation.getArgument(1)));
+    }
+
+    private RollupSampledAgentStatDao<SampledCpuLoad> newDao() {
+        Map<Long, SampledAgentStatDao<SampledCpuLoad>> rollupDaos = new HashMap<>();
+        rollupDaos.put(MINUTE, minuteDao);
+        rollupDaos.put(HOUR, hourDao);
+        return new RollupSampledAgentStatDao<>(rawDao, rollupDaos, RollupSampledAgentStatDaoTest::getTimestamp);
+    }
+
+    private static long getTimestamp(SampledCpuLoad sampledCpuLoad) {
+        return sampledCpuLoad.getJvmCpuLoad().getXVal();
+    }
+
+    private TimeWindow newTimeWindow(long windowSlotSize, int slotCount) {
+        Range range = Range.between(WINDOW_FROM, WINDOW_FROM + (slotCount - 1) * windowSlotSize);
+        return new TimeWindow(range, new FixedTimeWindowSampler(windowSlotSize));
+    }
+
+    private List<SampledCpuLoad> newSampledCpuLoads(TimeWindow timeWindow) {
+        List<SampledCpuLoad> result = new ArrayList<>();
+        for (Long timestamp : timeWindow) {
+            result.add(newSampledCpuLoad(timestamp));
+        }
+        return result;
+    }
+
+    private SampledCpuLoad newSampledCpuLoad(long timestamp) {
+        AgentStatPoint<Double> point = new AgentStatPoint<>(timestamp, 1D);
+        return new SampledCpuLoad(point, point);
+    }
+
+    private List<SampledCpuLoad> newSampledCpuLoads(TimeWindow timeWindow, int... slotIndexes) {
+        List<SampledCpuLoad> result = new ArrayList<>();
+        for (int slotIndex : slotIndexes) {
+            result.add(newSampledCpuLoad(timeWindow.getWindowRange().getFrom() + slotIndex * timeWindow.getWindowSlotSize()));
+        }
+        return result;
+    }
+
+    private List<Long> timestamps(List<SampledCpuLoad> sampledCpuLoads) {
+        return sampledCpuLoads.stream()
+                .map(RollupSampledAgentStatDaoTest::getTimestamp)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void coarsestGranularity() {
+        TimeWindow timeWindow = newTimeWindow(3 * HOUR, 4);
+        List<SampledCpuLoad> hourResult = newSampledCpuLoads(timeWindow);
+        when(hourDao.getSampledAgentStatList(AGENT_ID, timeWindow)).thenReturn(hourResult);
+
+        Assertions.assertSame(hourResult, newDao().getSampledAgentStatList(AGENT_ID, timeWindow));
+        verify(minuteDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+        verify(rawDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test
+    public void granularityDividesSlotSize() {
+        // 90 minutes is not a multiple of an hour
+        TimeWindow timeWindow = newTimeWindow(90 * MINUTE, 4);
+        List<SampledCpuLoad> minuteResult = newSampledCpuLoads(timeWindow);
+        when(minuteDao.getSampledAgentStatList(AGENT_ID, timeWindow)).thenReturn(minuteResult);
+
+        Assertions.assertSame(minuteResult, newDao().getSampledAgentStatList(AGENT_ID, timeWindow));
+        verify(hourDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+        verify(rawDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test
+    public void noGranularityFits_raw() {
+        TimeWindow timeWindow = newTimeWindow(TimeUnit.SECONDS.toMillis(5), 4);
+
+        Assertions.assertEquals(4, newDao().getSampledAgentStatList(AGENT_ID, timeWindow).size());
+        verify(rawDao).getSampledAgentStatList(AGENT_ID, timeWindow);
+        verify(minuteDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+        verify(hourDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test
+    public void emptyRollup_raw() {
+        TimeWindow timeWindow = newTimeWindow(HOUR, 4);
+        when(hourDao.getSampledAgentStatList(AGENT_ID, timeWindow)).thenReturn(Collections.emptyList());
+
+        Assertions.assertEquals(4, newDao().getSampledAgentStatList(AGENT_ID, timeWindow).size());
+        verify(rawDao).getSampledAgentStatList(AGENT_ID, timeWindow);
+        // finer rollups were written by the same collectors, so they are not tried either
+        verify(minuteDao, never()).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test
+    public void partialRollup_rawForMissingSlots() {
+        // the range partly predates the rollups, and the rollup of slot 4 was lost
+        TimeWindow timeWindow = newTimeWindow(HOUR, 6);
+        List<SampledCpuLoad> hourResult = newSampledCpuLoads(timeWindow, 2, 3, 5);
+        when(hourDao.getSampledAgentStatList(AGENT_ID, timeWindow)).thenReturn(hourResult);
+
+        List<SampledCpuLoad> result = newDao().getSampledAgentStatList(AGENT_ID, timeWindow);
+
+        List<Long> expectedTimestamps = new ArrayList<>();
+        timeWindow.forEach(expectedTimestamps::add);
+        Assertions.assertEquals(expectedTimestamps, timestamps(result));
+        Assertions.assertSame(hourResult.get(0), result.get(2));
+        Assertions.assertSame(hourResult.get(1), result.get(3));
+        Assertions.assertSame(hourResult.get(2), result.get(5));
+
+        ArgumentCaptor<TimeWindow> rawTimeWindows = ArgumentCaptor.forClass(TimeWindow.class);
+        verify(rawDao, times(2)).getSampledAgentStatList(eq(AGENT_ID), rawTimeWindows.capture());
+        TimeWindow predating = rawTimeWindows.getAllValues().get(0);
+        Assertions.assertEquals(Range.between(WINDOW_FROM, WINDOW_FROM + HOUR), predating.getWindowRange());
+        Assertions.assertEquals(HOUR, predating.getWindowSlotSize());
+        TimeWindow lost = rawTimeWindows.getAllValues().get(1);
+        Assertions.assertEquals(Range.between(WINDOW_FROM + 4 * HOUR, WINDOW_FROM + 4 * HOUR), lost.getWindowRange());
+    }
+
+    @Test
+    public void fragmentedRollup_raw() {
+        TimeWindow timeWindow = newTimeWindow(HOUR, 11);
+        // slots 0, 2, 4, 6, 8 and 10 are missing
+        List<SampledCpuLoad> hourResult = newSampledCpuLoads(timeWindow, 1, 3, 5, 7, 9);
+        when(hourDao.getSampledAgentStatList(AGENT_ID, timeWindow)).thenReturn(hourResult);
+
+        List<SampledCpuLoad> result = newDao().getSampledAgentStatList(AGENT_ID, timeWindow);
+
+        Assertions.assertEquals(11, result.size());
+        verify(rawDao).getSampledAgentStatList(AGENT_ID, timeWindow);
+        verify(rawDao, times(1)).getSampledAgentStatList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test
+    public void chartType() {
+        when(rawDao.getChartType()).thenReturn("cpuLoad");
+
+        Assertions.assertEquals("cpuLoad", newDao().getChartType());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling;
+
+import com.navercorp.pinpoint.common.server.bo.JvmGcType;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.CpuLoadSampler;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.DataSourceSampler;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.JvmGcSampler;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.TransactionSampler;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Samples the JVM GC, CPU, transaction and data source charts of one agent over 1 hour, 1 day and 7 day windows
+ * and reports the elapsed time and the bytes allocated by the sampling.
+ */
+@Disabled
+public class EagerSamplingHandlerBenchmark {
+
+    private static final long COLLECT_INTERVAL = 5000;
+    private static final long TO = 1487149800000L;
+    private static final long START_TIMESTAMP = TO - TimeUnit.DAYS.toMillis(30);
+
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 50;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void benchmark() {
+        final Random random = new Random(1234);
+        final long[] durations = {TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(7)};
+        for (long duration : durations) {
+            final TimeWindow timeWindow = new TimeWindow(Range.between(TO - duration, TO));
+            final String name = TimeUnit.MILLISECONDS.toHours(duration) + "h";
+            run(name + " jvmGc", timeWindow, createDataPoints(duration, timestamp -> jvmGcBo(random, timestamp)), new JvmGcSampler());
+            run(name + " cpuLoad", timeWindow, createDataPoints(duration, timestamp -> cpuLoadBo(random, timestamp)), new CpuLoadSampler());
+            run(name + " transaction", timeWindow, createDataPoints(duration, timestamp -> transactionBo(random, timestamp)), new TransactionSampler());
+            run(name + " dataSource", timeWindow, createDataPoints(duration, timestamp -> dataSourceBo(random, timestamp)), new DataSourceSampler());
+        }
+    }
+
+    private <T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> void run(String name, TimeWindow timeWindow, List<T> dataPoints, AgentStatSampler<T, S> sampler) {
+        List<S> sampledPoints = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sampledPoints = sample(timeWindow, dataPoints, sampler);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sampledPoints = sample(timeWindow, dataPoints, sampler);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+        logger.info("{} dataPoints:{} sampledPoints:{} elapsed:{}us allocated:{}KB digest:{}", name, dataPoints.size(), sampledPoints.size(),
+                TimeUnit.NANOSECONDS.toMicros(elapsed / ITERATIONS), allocated / ITERATIONS / 1024, sampledPoints.toString().hashCode());
+    }
+
+    private <T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> List<S> sample(TimeWindow timeWindow, List<T> dataPoints, AgentStatSampler<T, S> sampler) {
+        final AgentStatSamplingHandler<T, S> samplingHandler = new EagerSamplingHandler<>(timeWindow, sampler);
+        for (T dataPoint : dataPoints) {
+            samplingHandler.addDataPoint(dataPoint);
+        }
+        return samplingHandler.getSampledDataPoints();
+    }
+
+    private <T extends AgentStatDataPoint> List<T> createDataPoints(long duration, LongFunction<T> factory) {
+        // descending order, as read from the reverse timestamp row keys
+        final List<T> dataPoints = new ArrayList<>();
+        for (long timestamp = TO; timestamp >= TO - duration; timestamp -= COLLECT_INTERVAL) {
+            final T dataPoint = factory.apply(timestamp);
+            dataPoint.setAgentId("agent");
+            dataPoint.setStartTimestamp(START_TIMESTAMP);
+            dataPoint.setTimestamp(timestamp);
+            dataPoints.add(dataPoint);
+        }
+        return dataPoints;
+    }
+
+    private static JvmGcBo jvmGcBo(Random random, long timestamp) {
+        final JvmGcBo jvmGcBo = new JvmGcBo();
+        jvmGcBo.setGcType(JvmGcType.G1);
+        jvmGcBo.setHeapUsed(random.nextInt(1 << 30));
+        jvmGcBo.setHeapMax(1L << 31);
+        jvmGcBo.setNonHeapUsed(random.nextInt(1 << 28));
+        jvmGcBo.setNonHeapMax(1L << 29);
+        // monotonically increasing as the data points are created in descending order
+        jvmGcBo.setGcOldCount((timestamp - START_TIMESTAMP) / 60000);
+        jvmGcBo.setGcOldTime((timestamp - START_TIMESTAMP) / 6000);
+        return jvmGcBo;
+    }
+
+    private static CpuLoadBo cpuLoadBo(Random random, long timestamp) {
+        final CpuLoadBo cpuLoadBo = new CpuLoadBo();
+        cpuLoadBo.setJvmCpuLoad(random.nextDouble());
+        cpuLoadBo.setSystemCpuLoad(random.nextDouble());
+        return cpuLoadBo;
+    }
+
+    private static TransactionBo transactionBo(Random random, long timestamp) {
+        final TransactionBo transactionBo = new TransactionBo();
+        transactionBo.setCollectInterval(COLLECT_INTERVAL);
+        transactionBo.setSampledNewCount(random.nextInt(1000));
+        transactionBo.setSampledContinuationCount(random.nextInt(1000));
+        transactionBo.setUnsampledNewCount(random.nextInt(1000));
+        transactionBo.setUnsampledContinuationCount(random.nextInt(1000));
+        transactionBo.setSkippedNewSkipCount(random.nextInt(100));
+        transactionBo.setSkippedContinuationCount(random.nextInt(100));
+        return transactionBo;
+    }
+
+    private static DataSourceBo dataSourceBo(Random random, long timestamp) {
+        final DataSourceBo dataSourceBo = new DataSourceBo();
+        dataSourceBo.setId(1);
+        dataSourceBo.setServiceTypeCode((short) 6050);
+        dataSourceBo.setDatabaseName("database");
+        dataSourceBo.setJdbcUrl("jdbc:mysql://localhost:3306/database");
+        dataSourceBo.setActiveConnectionSize(random.nextInt(300));
+        dataSourceBo.setMaxConnectionSize(300);
+        return dataSourceBo;
+    }
+}
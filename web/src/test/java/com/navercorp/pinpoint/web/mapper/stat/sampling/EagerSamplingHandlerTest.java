@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling;
+
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.AgentStatSampler;
+import com.navercorp.pinpoint.web.util.FixedTimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EagerSamplingHandlerTest {
+
+    private static final long SLOT_SIZE = 10000;
+    private static final long FROM = 1487149800000L;
+
+    private final TimeWindow timeWindow = new TimeWindow(Range.between(FROM, FROM + SLOT_SIZE * 4), new FixedTimeWindowSampler(SLOT_SIZE));
+
+    @Test
+    public void sampleDataPointsBySlot() {
+        EagerSamplingHandler<CpuLoadBo, TestSampledPoint> handler = new EagerSamplingHandler<>(timeWindow, new TestSampler());
+        // descending timestamps, two points per slot
+        for (long timestamp = FROM + SLOT_SIZE * 4 + 5000; timestamp >= FROM; timestamp -= 5000) {
+            handler.addDataPoint(cpuLoadBo(100, timestamp));
+        }
+
+        List<TestSampledPoint> sampledPoints = handler.getSampledDataPoints();
+
+        Assertions.assertEquals(5, sampledPoints.size());
+        for (int i = 0; i < sampledPoints.size(); i++) {
+            TestSampledPoint sampledPoint = sampledPoints.get(i);
+            Assertions.assertEquals(i, sampledPoint.index);
+            Assertions.assertEquals(FROM + SLOT_SIZE * i, sampledPoint.timestamp);
+            Assertions.assertEquals(2, sampledPoint.dataPoints.size());
+            if (i == 0) {
+                Assertions.assertNull(sampledPoint.previousDataPoint);
+            } else {
+                // the latest point of the preceding slot
+                Assertions.assertEquals(FROM + SLOT_SIZE * (i - 1) + 5000, sampledPoint.previousDataPoint.getTimestamp());
+            }
+        }
+    }
+
+    @Test
+    public void latestAgentStartTimestampWins() {
+        EagerSamplingHandler<CpuLoadBo, TestSampledPoint> handler = new EagerSamplingHandler<>(timeWindow, new TestSampler());
+        handler.addDataPoint(cpuLoadBo(200, FROM + SLOT_SIZE + 5000));
+        handler.addDataPoint(cpuLoadBo(100, FROM + SLOT_SIZE + 1000));
+        handler.addDataPoint(cpuLoadBo(200, FROM + SLOT_SIZE));
+        handler.addDataPoint(cpuLoadBo(100, FROM));
+
+        List<TestSampledPoint> sampledPoints = handler.getSampledDataPoints();
+
+        Assertions.assertEquals(2, sampledPoints.size());
+        Assertions.assertEquals(FROM, sampledPoints.get(0).timestamp);
+        Assertions.assertEquals(100, sampledPoints.get(0).dataPoints.get(0).getStartTimestamp());
+        Assertions.assertEquals(FROM + SLOT_SIZE, sampledPoints.get(1).timestamp);
+        Assertions.assertEquals(200, sampledPoints.get(1).dataPoints.get(0).getStartTimestamp());
+        Assertions.assertEquals(2, sampledPoints.get(1).dataPoints.size());
+    }
+
+    @Test
+    public void sampleDataPointsOutsideOfWindow() {
+        EagerSamplingHandler<CpuLoadBo, TestSampledPoint> handler = new EagerSamplingHandler<>(timeWindow, new TestSampler());
+        handler.addDataPoint(cpuLoadBo(100, FROM + SLOT_SIZE * 7));
+        handler.addDataPoint(cpuLoadBo(100, FROM + SLOT_SIZE * 2));
+        handler.addDataPoint(cpuLoadBo(100, FROM - SLOT_SIZE * 2));
+
+        List<TestSampledPoint> sampledPoints = handler.getSampledDataPoints();
+
+        Assertions.assertEquals(3, sampledPoints.size());
+        Assertions.assertEquals(FROM - SLOT_SIZE * 2, sampledPoints.get(0).timestamp);
+        Assertions.assertEquals(-2, sampledPoints.get(0).index);
+        Assertions.assertEquals(FROM + SLOT_SIZE * 2, sampledPoints.get(1).timestamp);
+        Assertions.assertEquals(FROM + SLOT_SIZE * 7, sampledPoints.get(2).timestamp);
+        Assertions.assertEquals(7, sampledPoints.get(2).index);
+    }
+
+    @Test
+    public void outOfOrderDataPoint() {
+        EagerSamplingHandler<CpuLoadBo, TestSampledPoint> handler = new EagerSamplingHandler<>(timeWindow, new TestSampler());
+        handler.addDataPoint(cpuLoadBo(100, FROM));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> handler.addDataPoint(cpuLoadBo(100, FROM + SLOT_SIZE)));
+    }
+
+    @Test
+    public void empty() {
+        EagerSamplingHandler<CpuLoadBo, TestSampledPoint> handler = new EagerSamplingHandler<>(timeWindow, new TestSampler());
+
+        Assertions.assertTrue(handler.getSampledDataPoints().isEmpty());
+    }
+
+    private static CpuLoadBo cpuLoadBo(long startTimestamp, long timestamp) {
+        CpuLoadBo cpuLoadBo = new CpuLoadBo();
+        cpuLoadBo.setStartTimestamp(startTimestamp);
+        cpuLoadBo.setTimestamp(timestamp);
+        return cpuLoadBo;
+    }
+
+    private static class TestSampler implements AgentStatSampler<CpuLoadBo, TestSampledPoint> {
+        @Override
+        public TestSampledPoint sampleDataPoints(int index, long timestamp, List<CpuLoadBo> dataPoints, CpuLoadBo previousDataPoint) {
+            return new TestSampledPoint(index, timestamp, new ArrayList<>(dataPoints), previousDataPoint);
+        }
+    }
+
+    private static class TestSampledPoint implements SampledAgentStatDataPoint {
+        private final int index;
+        private final long timestamp;
+        private final List<CpuLoadBo> dataPoints;
+        private final CpuLoadBo previousDataPoint;
+
+        private TestSampledPoint(int index, long timestamp, List<CpuLoadBo> dataPoints, CpuLoadBo previousDataPoint) {
+            this.index = index;
+            this.timestamp = timestamp;
+            this.dataPoints = dataPoints;
+            this.previousDataPoint = previousDataPoint;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.SampledLoadedClassCount;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AgentStatRollupPointsTest {
+
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+
+    @Test
+    public void mergeField() {
+        // the same slot written by two collectors
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer1.getField(0).accept(100);
+        writer1.getField(0).accept(200);
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer2.getField(0).accept(50);
+        writer2.getField(0).accept(300);
+
+        AgentStatRollupFieldBo merged = AgentStatRollupPoints.mergeField(Arrays.asList(writer1, writer2), 0);
+
+        Assertions.assertEquals(4, merged.getCount());
+        Assertions.assertEquals(50, merged.getMin());
+        Assertions.assertEquals(300, merged.getMax());
+        Assertions.assertEquals(650, merged.getSum());
+    }
+
+    @Test
+    public void mergeField_skipEmpty() {
+        AgentStatRollupBo empty = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        AgentStatRollupBo writer = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer.getField(0).accept(100);
+
+        AgentStatRollupFieldBo merged = AgentStatRollupPoints.mergeField(Arrays.asList(empty, writer), 0);
+
+        // min is not pulled down to 0 by the empty rollup
+        Assertions.assertEquals(1, merged.getCount());
+        Assertions.assertEquals(100, merged.getMin());
+        Assertions.assertEquals(100, merged.getMax());
+    }
+
+    @Test
+    public void longPoint() {
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer1.getField(0).accept(100);
+        writer1.getField(0).accept(200);
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer2.getField(0).accept(300);
+
+        AgentStatPoint<Long> point = AgentStatRollupPoints.longPoint(TIMESTAMP, Arrays.asList(writer1, writer2), 0, SampledLoadedClassCount.UNCOLLECTED_POINT_CREATOR);
+
+        Assertions.assertEquals(new AgentStatPoint<>(TIMESTAMP, 100L, 300L, 200.0, 600L), point);
+    }
+
+    @Test
+    public void fixedPointPoint_percentage() {
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.CPU_LOAD, 2);
+        writer1.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.1));
+        writer1.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.3));
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.CPU_LOAD, 2);
+        writer2.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.2));
+
+        AgentStatPoint<Double> point = AgentStatRollupPoints.fixedPointPoint(TIMESTAMP, Arrays.asList(writer1, writer2), 0, 100, 1, SampledCpuLoad.UNCOLLECTED_POINT_CREATOR);
+
+        Assertions.assertEquals(10.0, point.getMinYVal(), 0.001);
+        Assertions.assertEquals(30.0, point.getMaxYVal(), 0.001);
+        Assertions.assertEquals(20.0, point.getAvgYVal(), 0.001);
+        Assertions.assertEquals(60.0, point.getSumYVal(), 0.001);
+    }
+
+    @Test
+    public void uncollected() {
+        List<AgentStatRollupBo> dataPoints = Collections.singletonList(newRollupBo(AgentStatType.CPU_LOAD, 2));
+
+        AgentStatPoint<Double> point = AgentStatRollupPoints.fixedPointPoint(TIMESTAMP, dataPoints, 0, 100, 1, SampledCpuLoad.UNCOLLECTED_POINT_CREATOR);
+
+        Assertions.assertEquals(SampledCpuLoad.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(TIMESTAMP), point);
+    }
+
+    static AgentStatRollupBo newRollupBo(AgentStatType agentStatType, int fieldCount) {
+        AgentStatRollupBo rollupBo = new AgentStatRollupBo(agentStatType, fieldCount);
+        rollupBo.setAgentId("agentId");
+        rollupBo.setTimestamp(TIMESTAMP);
+        return rollupBo;
+    }
+}
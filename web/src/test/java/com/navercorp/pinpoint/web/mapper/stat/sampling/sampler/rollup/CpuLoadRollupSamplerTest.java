@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import com.navercorp.pinpoint.web.vo.stat.SampledCpuLoad;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup.AgentStatRollupPointsTest.newRollupBo;
+
+public class CpuLoadRollupSamplerTest {
+
+    @Test
+    public void sampleDataPoints() {
+        final long timestamp = 1_600_000_000_000L;
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.CPU_LOAD, 2);
+        writer1.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.25));
+        writer1.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.75));
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.CPU_LOAD, 2);
+        writer2.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(0.123));
+        writer2.getField(1).accept(AgentStatRollupFunctions.toFixedPoint(0.9));
+
+        SampledCpuLoad sampledCpuLoad = new CpuLoadRollupSampler().sampleDataPoints(0, timestamp, Arrays.asList(writer1, writer2), null);
+
+        AgentStatPoint<Double> jvmCpuLoad = sampledCpuLoad.getJvmCpuLoad();
+        Assertions.assertEquals(12.3, jvmCpuLoad.getMinYVal(), 0.001);
+        Assertions.assertEquals(75.0, jvmCpuLoad.getMaxYVal(), 0.001);
+        // (25 + 75 + 12.3) / 3 rounded to one decimal place
+        Assertions.assertEquals(37.4, jvmCpuLoad.getAvgYVal(), 0.001);
+
+        AgentStatPoint<Double> systemCpuLoad = sampledCpuLoad.getSystemCpuLoad();
+        Assertions.assertEquals(90.0, systemCpuLoad.getMinYVal(), 0.001);
+        Assertions.assertEquals(90.0, systemCpuLoad.getMaxYVal(), 0.001);
+    }
+
+    @Test
+    public void sampleDataPoints_uncollected() {
+        final long timestamp = 1_600_000_000_000L;
+        AgentStatRollupBo rollupBo = newRollupBo(AgentStatType.CPU_LOAD, 2);
+
+        SampledCpuLoad sampledCpuLoad = new CpuLoadRollupSampler().sampleDataPoints(0, timestamp, Arrays.asList(rollupBo), null);
+
+        Assertions.assertEquals(SampledCpuLoad.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp), sampledCpuLoad.getJvmCpuLoad());
+        Assertions.assertEquals(SampledCpuLoad.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp), sampledCpuLoad.getSystemCpuLoad());
+    }
+}
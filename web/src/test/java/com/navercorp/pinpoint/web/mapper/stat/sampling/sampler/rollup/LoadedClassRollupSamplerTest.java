@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.web.vo.stat.SampledLoadedClassCount;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup.AgentStatRollupPointsTest.newRollupBo;
+
+public class LoadedClassRollupSamplerTest {
+
+    @Test
+    public void sampleDataPoints() {
+        final long timestamp = 1_600_000_000_000L;
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer1.getField(0).accept(1000);
+        writer1.getField(1).accept(10);
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.LOADED_CLASS, 2);
+        writer2.getField(0).accept(3000);
+        writer2.getField(1).accept(30);
+
+        SampledLoadedClassCount sampled = new LoadedClassRollupSampler().sampleDataPoints(0, timestamp, Arrays.asList(writer1, writer2), null);
+
+        Assertions.assertEquals(new AgentStatPoint<>(timestamp, 1000L, 3000L, 2000.0, 4000L), sampled.getLoadedClassCount());
+        Assertions.assertEquals(new AgentStatPoint<>(timestamp, 10L, 30L, 20.0, 40L), sampled.getUnloadedClassCount());
+    }
+}
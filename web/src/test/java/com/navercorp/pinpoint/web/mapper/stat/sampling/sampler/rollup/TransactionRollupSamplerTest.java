@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.server.bo.stat.rollup.AgentStatRollupFunctions;
+import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
+import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.rollup.AgentStatRollupPointsTest.newRollupBo;
+
+public class TransactionRollupSamplerTest {
+
+    private static final int TOTAL = 6;
+
+    @Test
+    public void sampleDataPoints() {
+        final long timestamp = 1_600_000_000_000L;
+        // rollups hold tps as fixed-point values
+        AgentStatRollupBo writer1 = newRollupBo(AgentStatType.TRANSACTION, 7);
+        writer1.getField(0).accept(AgentStatRollupFunctions.toFixedPoint(1.5));
+        writer1.getField(TOTAL).accept(AgentStatRollupFunctions.toFixedPoint(1.5));
+        writer1.getField(TOTAL).accept(AgentStatRollupFunctions.toFixedPoint(2.5));
+        AgentStatRollupBo writer2 = newRollupBo(AgentStatType.TRANSACTION, 7);
+        writer2.getField(TOTAL).accept(AgentStatRollupFunctions.toFixedPoint(3.5));
+
+        SampledTransaction sampledTransaction = new TransactionRollupSampler().sampleDataPoints(0, timestamp, Arrays.asList(writer1, writer2), null);
+
+        Assertions.assertEquals(new AgentStatPoint<>(timestamp, 1.5, 3.5, 2.5, 7.5), sampledTransaction.getTotal());
+        Assertions.assertEquals(new AgentStatPoint<>(timestamp, 1.5, 1.5, 1.5, 1.5), sampledTransaction.getSampledNew());
+        Assertions.assertEquals(SampledTransaction.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp), sampledTransaction.getSampledContinuation());
+        Assertions.assertEquals(SampledTransaction.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp), sampledTransaction.getSkippedNew());
+    }
+}
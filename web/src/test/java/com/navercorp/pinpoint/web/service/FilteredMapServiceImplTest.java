@@ -67,6 +67,7 @@ import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -74,6 +75,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyShort;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -201,7 +203,7 @@ public class FilteredMapServiceImplTest {
         SpanEventBo appACacheSpanEvent = new TestTraceUtils.CacheSpanEventBuilder("CacheName", "1.1.1.1", cacheStartElapsed, cacheEndElapsed).build();
         appASpan.addSpanEvent(appACacheSpanEvent);
 
-        when(traceDao.selectAllSpans(anyList(), isNull())).thenReturn(Collections.singletonList(Arrays.asList(rootSpan, appASpan)));
+        stubSelectAllSpans(Collections.singletonList(Arrays.asList(rootSpan, appASpan)));
 
         // When
         final FilteredMapServiceOption option = new FilteredMapServiceOption.Builder(Collections.emptyList(), originalRange, 1, 1, Filter.acceptAllFilter(), 0).build();
@@ -369,6 +371,15 @@ public class FilteredMapServiceImplTest {
         fail("Expected " + slotName + " but had none.");
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubSelectAllSpans(List<List<SpanBo>> transactionList) {
+        doAnswer(invocation -> {
+            Consumer<List<SpanBo>> consumer = invocation.getArgument(2);
+            transactionList.forEach(consumer);
+            return null;
+        }).when(traceDao).selectAllSpans(anyList(), isNull(), any(Consumer.class));
+    }
+
     private void assertAgentHistogram(Map<String, Histogram> agentHistogramMap, String agentId, int fastCount, int normalCount, int slowCount, int verySlowCount, int totalErrorCount) {
         Histogram agentHistogram = agentHistogramMap.get(agentId);
         if (agentHistogram != null) {
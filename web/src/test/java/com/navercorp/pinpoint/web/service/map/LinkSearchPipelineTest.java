@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.dao.HostApplicationMapDao;
+import com.navercorp.pinpoint.web.service.LinkDataMapService;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.LinkKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bidirectional link search with {@link LinkSearchPipeline} enabled.
+ */
+public class LinkSearchPipelineTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final Range range = Range.between(0, 100);
+
+    private LinkDataMapService linkDataMapService;
+    private HostApplicationMapDao hostApplicationMapDao;
+
+    @BeforeEach
+    public void setUp() {
+        this.linkDataMapService = mock(LinkDataMapService.class);
+        this.hostApplicationMapDao = mock(HostApplicationMapDao.class);
+        when(hostApplicationMapDao.findAcceptApplicationName(any(Application.class), any(Range.class))).thenReturn(new HashSet<>());
+    }
+
+    @AfterEach
+    public void cleanUp() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private LinkSelector newLinkSelector(int concurrency, long timeBudgetMillis) {
+        ApplicationsMapCreatorFactory applicationsMapCreatorFactory = new ApplicationsMapCreatorFactory(executor, concurrency, timeBudgetMillis);
+        LinkSelectorFactory linkSelectorFactory = new LinkSelectorFactory(linkDataMapService, applicationsMapCreatorFactory, hostApplicationMapDao);
+        return linkSelectorFactory.createLinkSelector(LinkSelectorType.BIDIRECTIONAL);
+    }
+
+    @Test
+    public void sameLinksAsLevelByLevelSearch() {
+        // APP_0 -> APP_1, APP_2 / APP_n -> APP_2n+1, APP_2n+2 ... with callers of every application
+        final Application[] apps = new Application[31];
+        for (int i = 0; i < apps.length; i++) {
+            apps[i] = new Application("APP_" + i, ServiceType.TEST_STAND_ALONE);
+        }
+        final Map<Application, LinkDataMap> callerLinks = new HashMap<>();
+        final Map<Application, LinkDataMap> calleeLinks = new HashMap<>();
+        for (int i = 0; i * 2 + 2 < apps.length; i++) {
+            callerLinks.put(apps[i], newLinkDataMap(apps[i], apps[i * 2 + 1], apps[i * 2 + 2]));
+            calleeLinks.put(apps[i * 2 + 1], newLinkDataMap(apps[i], apps[i * 2 + 1]));
+            calleeLinks.put(apps[i * 2 + 2], newLinkDataMap(apps[i], apps[i * 2 + 2]));
+        }
+        when(linkDataMapService.selectCallerLinkDataMap(any(Application.class), any(Range.class))).thenAnswer(invocation -> {
+            Uninterruptibles.sleepUninterruptibly(5, TimeUnit.MILLISECONDS);
+            return callerLinks.getOrDefault(invocation.<Application>getArgument(0), new LinkDataMap());
+        });
+        when(linkDataMapService.selectCalleeLinkDataMap(any(Application.class), any(Range.class))).thenAnswer(invocation ->
+                calleeLinks.getOrDefault(invocation.<Application>getArgument(0), new LinkDataMap()));
+
+        final Application source = apps[1];
+        LinkDataDuplexMap expected = newLinkSelector(0, -1).select(Collections.singletonList(source), range, 3, 2);
+        LinkDataDuplexMap actual = newLinkSelector(3, -1).select(Collections.singletonList(source), range, 3, 2);
+
+        Assertions.assertFalse(actual.isTruncated());
+        Assertions.assertEquals(linkKeys(expected.getSourceLinkDataList()), linkKeys(actual.getSourceLinkDataList()));
+        Assertions.assertEquals(linkKeys(expected.getTargetLinkDataList()), linkKeys(actual.getTargetLinkDataList()));
+        Assertions.assertEquals(expected.getTotalCount(), actual.getTotalCount());
+    }
+
+    @Test
+    public void shallowestDepthWins() {
+        // APP_A -> APP_B(slow) -> APP_X -> APP_Y
+        //  |-> APP_C -> APP_D -> APP_X
+        final Application APP_A = new Application("APP_A", ServiceType.TEST_STAND_ALONE);
+        final Application APP_B = new Application("APP_B", ServiceType.TEST_STAND_ALONE);
+        final Application APP_C = new Application("APP_C", ServiceType.TEST_STAND_ALONE);
+        final Application APP_D = new Application("APP_D", ServiceType.TEST_STAND_ALONE);
+        final Application APP_X = new Application("APP_X", ServiceType.TEST_STAND_ALONE);
+        final Application APP_Y = new Application("APP_Y", ServiceType.TEST_STAND_ALONE);
+
+        final Map<Application, LinkDataMap> callerLinks = new HashMap<>();
+        callerLinks.put(APP_A, newLinkDataMap(APP_A, APP_B, APP_C));
+        callerLinks.put(APP_B, newLinkDataMap(APP_B, APP_X));
+        callerLinks.put(APP_C, newLinkDataMap(APP_C, APP_D));
+        callerLinks.put(APP_D, newLinkDataMap(APP_D, APP_X));
+        callerLinks.put(APP_X, newLinkDataMap(APP_X, APP_Y));
+
+        when(linkDataMapService.selectCallerLinkDataMap(any(Application.class), any(Range.class))).thenAnswer(invocation -> {
+            Application application = invocation.getArgument(0);
+            if (application.equals(APP_B)) {
+                Uninterruptibles.sleepUninterruptibly(300, TimeUnit.MILLISECONDS);
+            }
+            return callerLinks.getOrDefault(application, new LinkDataMap());
+        });
+        when(linkDataMapService.selectCalleeLinkDataMap(any(Application.class), any(Range.class))).thenReturn(new LinkDataMap());
+
+        LinkDataDuplexMap linkDataDuplexMap = newLinkSelector(2, -1).select(Collections.singletonList(APP_A), range, 3, 0);
+
+        // APP_X is searched at depth 2 (via APP_B), not depth 3 (via APP_D)
+        Assertions.assertNotNull(linkDataDuplexMap.getSourceLinkData(new LinkKey(APP_X, APP_Y)));
+        Assertions.assertNotNull(linkDataDuplexMap.getSourceLinkData(new LinkKey(APP_D, APP_X)));
+        Assertions.assertFalse(linkDataDuplexMap.isTruncated());
+    }
+
+    @Test
+    public void timeBudget_truncated() {
+        // APP_A -> APP_B(slow) -> APP_C
+        final Application APP_A = new Application("APP_A", ServiceType.TEST_STAND_ALONE);
+        final Application APP_B = new Application("APP_B", ServiceType.TEST_STAND_ALONE);
+        final Application APP_C = new Application("APP_C", ServiceType.TEST_STAND_ALONE);
+        final LinkDataMap link_A_B = newLinkDataMap(APP_A, APP_B);
+        final LinkDataMap link_B_C = newLinkDataMap(APP_B, APP_C);
+
+        when(linkDataMapService.selectCallerLinkDataMap(any(Application.class), any(Range.class))).thenAnswer(invocation -> {
+            Application application = invocation.getArgument(0);
+            if (application.equals(APP_A)) {
+                return link_A_B;
+            }
+            if (application.equals(APP_B)) {
+                Uninterruptibles.sleepUninterruptibly(1000, TimeUnit.MILLISECONDS);
+                return link_B_C;
+            }
+            return new LinkDataMap();
+        });
+        when(linkDataMapService.selectCalleeLinkDataMap(any(Application.class), any(Range.class))).thenReturn(new LinkDataMap());
+
+        LinkDataDuplexMap linkDataDuplexMap = newLinkSelector(2, 200).select(Collections.singletonList(APP_A), range, 2, 0);
+
+        Assertions.assertTrue(linkDataDuplexMap.isTruncated());
+        Assertions.assertNotNull(linkDataDuplexMap.getSourceLinkData(new LinkKey(APP_A, APP_B)));
+        Assertions.assertNull(linkDataDuplexMap.getSourceLinkData(new LinkKey(APP_B, APP_C)));
+    }
+
+    private Set<LinkKey> linkKeys(Collection<LinkData> linkDataList) {
+        return linkDataList.stream()
+                .map(linkData -> new LinkKey(linkData.getFromApplication(), linkData.getToApplication()))
+                .collect(Collectors.toSet());
+    }
+
+    private LinkDataMap newLinkDataMap(Application from, Application... toList) {
+        LinkDataMap linkDataMap = new LinkDataMap();
+        for (Application to : toList) {
+            linkDataMap.addLinkData(from, from.getName(), to, to.getName(),
+                    1000, ServiceType.TEST_STAND_ALONE.getHistogramSchema().getNormalSlot().getSlotTime(), 1);
+        }
+        return linkDataMap;
+    }
+}